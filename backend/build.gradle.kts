@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.7"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.school"
@@ -88,3 +89,77 @@ val integrationTest by tasks.registering(Test::class) {
 tasks.check {
     dependsOn(integrationTest)
 }
+
+// ---------------------------------------------------------------------------
+// Micro-benchmarks (src/jmh). `./gradlew jmh -Pjmh.includes=FeeMath` narrows
+// the run; `jmhSaveBaseline` keeps the last results and `jmhCompare` reports
+// throughput and allocation per operation against them.
+// ---------------------------------------------------------------------------
+
+val jmhResults = layout.buildDirectory.file("reports/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("src/jmh/baseline.json")
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(jmhResults)
+    profilers.set(listOf("gc"))
+    findProperty("jmh.includes")?.let { includes.set(listOf(it.toString())) }
+}
+
+tasks.register("jmhSaveBaseline") {
+    group = "benchmark"
+    description = "Saves the last JMH results as the baseline for jmhCompare."
+    doLast {
+        val results = jmhResults.get().asFile
+        check(results.exists()) { "No JMH results at $results; run ./gradlew jmh first" }
+        results.copyTo(jmhBaseline.asFile, overwrite = true)
+        println("Baseline saved to ${jmhBaseline.asFile}")
+    }
+}
+
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the last JMH results with the saved baseline."
+    doLast {
+        val results = jmhResults.get().asFile
+        val baseline = jmhBaseline.asFile
+        check(results.exists()) { "No JMH results at $results; run ./gradlew jmh first" }
+        check(baseline.exists()) { "No baseline at $baseline; run ./gradlew jmhSaveBaseline first" }
+
+        // benchmark[params] -> (ops/s, bytes allocated per op)
+        fun scores(file: File): Map<String, Pair<Double, Double?>> {
+            @Suppress("UNCHECKED_CAST")
+            val runs = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+            return runs.associate { run ->
+                @Suppress("UNCHECKED_CAST")
+                val params = (run["params"] as Map<String, Any?>?).orEmpty()
+                @Suppress("UNCHECKED_CAST")
+                val primary = run["primaryMetric"] as Map<String, Any?>
+                @Suppress("UNCHECKED_CAST")
+                val secondary = (run["secondaryMetrics"] as Map<String, Map<String, Any?>>?).orEmpty()
+                val name = run["benchmark"].toString().substringAfterLast('.', "") +
+                        params.entries.joinToString(",", "[", "]") { "${it.key}=${it.value}" }
+                name to Pair(
+                    (primary["score"] as Number).toDouble(),
+                    (secondary["gc.alloc.rate.norm"]?.get("score") as Number?)?.toDouble())
+            }
+        }
+
+        val before = scores(baseline)
+        val after = scores(results)
+        println(String.format("%-48s %14s %14s %8s %10s %10s",
+            "benchmark", "base ops/s", "ops/s", "change", "base B/op", "B/op"))
+        for ((name, current) in after.toSortedMap()) {
+            val base = before[name]
+            val change = base?.let { String.format("%+.1f%%", (current.first - it.first) * 100 / it.first) } ?: "new"
+            println(String.format("%-48s %14s %14.0f %8s %10s %10s",
+                name,
+                base?.let { String.format("%.0f", it.first) } ?: "-",
+                current.first,
+                change,
+                base?.second?.let { String.format("%.1f", it) } ?: "-",
+                current.second?.let { String.format("%.1f", it) } ?: "-"))
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.common.enums.FeeFrequency;
+import com.school.backend.common.enums.LateFeeCapType;
+import com.school.backend.common.enums.LateFeeType;
+import com.school.backend.fee.entity.FeeStructure;
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.school.entity.AcademicSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-assignment fee arithmetic as run for every row of the defaulter,
+ * summary and challan computations. Each invocation walks a fixed mix of
+ * {@value #MIX_SIZE} assignments, so scores are per assignment.
+ * <p>
+ * Run with {@code ./gradlew jmh}; {@code jmhSaveBaseline} and
+ * {@code jmhCompare} track the results run over run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeeMathBenchmark {
+
+    static final int MIX_SIZE = 1024;
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+    private static final LocalDate SESSION_START = LocalDate.of(2025, 4, 1);
+    private static final LocalDate SESSION_END = LocalDate.of(2026, 3, 31);
+
+    // Money is stored as NUMERIC(19,2), so every amount below carries scale 2
+    private static final BigDecimal ZERO = new BigDecimal("0.00");
+
+    private static final LateFeeType[] LATE_FEE_TYPES = LateFeeType.values();
+    private static final LateFeeCapType[] CAP_TYPES = LateFeeCapType.values();
+
+    /**
+     * MONTHLY and ONE_TIME are single-head schools; MIXED is the usual
+     * tuition, transport, exam and admission spread.
+     */
+    @Param({"MONTHLY", "ONE_TIME", "MIXED"})
+    public String heads;
+
+    private StudentFeeAssignment[] assignments;
+    private FeeStructure[] structures;
+    private BigDecimal[] unpaid;
+    private int[] periodsElapsed;
+    private LocalDate[] enrollmentDates;
+
+    private final AcademicSession session = AcademicSession.builder()
+            .name("2025-26")
+            .startDate(SESSION_START)
+            .endDate(SESSION_END)
+            .build();
+    private final LateFeeCalculator lateFeeCalculator = new LateFeeCalculator();
+    // Only the preloaded-data overload is measured, which needs no repositories
+    private final FeeCalculationService feeCalculationService = new FeeCalculationService(null, null);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        assignments = new StudentFeeAssignment[MIX_SIZE];
+        structures = new FeeStructure[MIX_SIZE];
+        unpaid = new BigDecimal[MIX_SIZE];
+        periodsElapsed = new int[MIX_SIZE];
+        enrollmentDates = new LocalDate[MIX_SIZE];
+
+        for (int i = 0; i < MIX_SIZE; i++) {
+            FeeFrequency frequency = frequencyFor(i);
+            BigDecimal perPeriod = money(500 + random.nextInt(40) * 50L);
+            BigDecimal amount = perPeriod.multiply(BigDecimal.valueOf(frequency.getPeriodsPerYear()));
+            structures[i] = FeeStructure.builder()
+                    .amount(perPeriod)
+                    .frequency(frequency)
+                    .sessionId(1L)
+                    .schoolId(1L)
+                    .build();
+
+            // Every late-fee type meets every cap type across the mix
+            LateFeeType lateFeeType = LATE_FEE_TYPES[i % LATE_FEE_TYPES.length];
+            LateFeeCapType capType = CAP_TYPES[(i / LATE_FEE_TYPES.length) % CAP_TYPES.length];
+            BigDecimal principalPaid = amount.multiply(BigDecimal.valueOf(random.nextInt(5)))
+                    .divide(BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP);
+            BigDecimal discount = i % 7 == 0 ? new BigDecimal("250.00") : ZERO;
+            BigDecimal accrued = lateFeeType == LateFeeType.NONE
+                    ? ZERO
+                    : money(random.nextInt(300));
+            assignments[i] = StudentFeeAssignment.builder()
+                    .studentId((long) i)
+                    .feeStructureId((long) i)
+                    .sessionId(1L)
+                    .schoolId(1L)
+                    .amount(amount)
+                    .dueDate(TODAY.minusDays(random.nextInt(90)))
+                    .lateFeeType(lateFeeType)
+                    .lateFeeValue(lateFeeValueFor(lateFeeType))
+                    .lateFeeGraceDays(random.nextInt(3) * 5)
+                    .lateFeeCapType(capType)
+                    .lateFeeCapValue(capType == LateFeeCapType.PERCENTAGE
+                            ? new BigDecimal("10")
+                            : new BigDecimal("500.00"))
+                    .lateFeeApplied(random.nextInt(4) == 0)
+                    .lateFeeAccrued(accrued)
+                    .lateFeePaid(accrued.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP))
+                    .lateFeeWaived(i % 11 == 0 ? accrued.divide(BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP) : ZERO)
+                    .principalPaid(principalPaid)
+                    .totalDiscountAmount(discount)
+                    .build();
+            unpaid[i] = amount.subtract(principalPaid).max(ZERO);
+            periodsElapsed[i] = 1 + random.nextInt(frequency.getPeriodsPerYear());
+            enrollmentDates[i] = random.nextInt(3) == 0 ? SESSION_START.plusMonths(random.nextInt(9)) : null;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void computePending(Blackhole bh) {
+        for (StudentFeeAssignment assignment : assignments) {
+            bh.consume(FeeMath.computePending(assignment));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void computePendingPaise(Blackhole bh) {
+        for (StudentFeeAssignment assignment : assignments) {
+            bh.consume(FeeMath.computePendingPaise(assignment));
+        }
+    }
+
+    /**
+     * Student summary totals reduced the way FeeSummaryService did before the
+     * paise path: one BigDecimal stream per component.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void summaryTotalsBigDecimal(Blackhole bh) {
+        List<StudentFeeAssignment> list = Arrays.asList(assignments);
+        bh.consume(list.stream().map(a -> nz(a.getAmount())).reduce(BigDecimal.ZERO, BigDecimal::add));
+        bh.consume(list.stream().map(a -> nz(a.getTotalDiscountAmount())).reduce(BigDecimal.ZERO, BigDecimal::add));
+        bh.consume(list.stream().map(a -> nz(a.getLateFeeWaived())).reduce(BigDecimal.ZERO, BigDecimal::add));
+        bh.consume(list.stream().map(a -> nz(a.getLateFeeAccrued())).reduce(BigDecimal.ZERO, BigDecimal::add));
+        bh.consume(list.stream().map(a -> nz(a.getLateFeePaid())).reduce(BigDecimal.ZERO, BigDecimal::add));
+        bh.consume(list.stream().map(a -> nz(a.getPrincipalPaid())).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void summaryTotalsPaise(Blackhole bh) {
+        long amount = 0, discount = 0, waived = 0, accrued = 0, lateFeePaid = 0, principalPaid = 0;
+        for (StudentFeeAssignment a : assignments) {
+            amount = Paise.add(amount, Paise.of(a.getAmount()));
+            discount = Paise.add(discount, Paise.of(a.getTotalDiscountAmount()));
+            waived = Paise.add(waived, Paise.of(a.getLateFeeWaived()));
+            accrued = Paise.add(accrued, Paise.of(a.getLateFeeAccrued()));
+            lateFeePaid = Paise.add(lateFeePaid, Paise.of(a.getLateFeePaid()));
+            principalPaid = Paise.add(principalPaid, Paise.of(a.getPrincipalPaid()));
+        }
+        bh.consume(Paise.toBigDecimal(amount));
+        bh.consume(Paise.toBigDecimal(discount));
+        bh.consume(Paise.toBigDecimal(waived));
+        bh.consume(Paise.toBigDecimal(accrued));
+        bh.consume(Paise.toBigDecimal(lateFeePaid));
+        bh.consume(Paise.toBigDecimal(principalPaid));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void calculateLateFee(Blackhole bh) {
+        for (int i = 0; i < MIX_SIZE; i++) {
+            bh.consume(lateFeeCalculator.calculateLateFee(assignments[i], unpaid[i], TODAY));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void pendingTillDate(Blackhole bh) {
+        for (int i = 0; i < MIX_SIZE; i++) {
+            StudentFeeAssignment assignment = assignments[i];
+            int periodsPerYear = structures[i].getFrequency().getPeriodsPerYear();
+            BigDecimal annual = assignment.getAmount();
+            BigDecimal perPeriod = annual.divide(BigDecimal.valueOf(periodsPerYear), 2, RoundingMode.HALF_UP);
+            BigDecimal due = FeeMath.dueTillDate(annual, perPeriod, periodsElapsed[i]);
+            bh.consume(FeeMath.pendingTillDate(assignment, due));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void calculateAssignableAmount(Blackhole bh) {
+        for (int i = 0; i < MIX_SIZE; i++) {
+            bh.consume(feeCalculationService.calculateAssignableAmount(structures[i], session, enrollmentDates[i]));
+        }
+    }
+
+    private FeeFrequency frequencyFor(int i) {
+        return switch (heads) {
+            case "MONTHLY" -> FeeFrequency.MONTHLY;
+            case "ONE_TIME" -> FeeFrequency.ONE_TIME;
+            default -> switch (i % 8) {
+                case 0, 1, 2, 3 -> FeeFrequency.MONTHLY;
+                case 4, 5 -> FeeFrequency.QUARTERLY;
+                case 6 -> FeeFrequency.ANNUALLY;
+                default -> FeeFrequency.ONE_TIME;
+            };
+        };
+    }
+
+    private static BigDecimal money(long rupees) {
+        return BigDecimal.valueOf(rupees).setScale(2);
+    }
+
+    private static BigDecimal nz(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static BigDecimal lateFeeValueFor(LateFeeType type) {
+        return switch (type) {
+            case FLAT -> new BigDecimal("200.00");
+            case PERCENTAGE -> new BigDecimal("5");
+            case DAILY_PERCENTAGE -> new BigDecimal("0.1");
+            default -> BigDecimal.ZERO;
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.school.backend.common.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small in-process cache with a fixed time-to-live, used for per-request
+ * lookups on hot paths (security filter, subscription guard).
+ * <p>
+ * A {@code null} result from the loader is returned but not cached.
+ * Invalidations requested inside a transaction are repeated after commit, so
+ * a concurrent reader cannot re-cache the pre-commit state, and a load that
+ * overlaps any invalidation is not stored.
+ */
+public final class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Clock clock;
+    private final Duration ttl;
+
+    public TtlCache(Clock clock, Duration ttl) {
+        this.clock = clock;
+        this.ttl = ttl;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        Instant now = clock.instant();
+        Entry<V> cached = entries.get(key);
+        if (cached != null && cached.isValidAt(now)) {
+            hits.increment();
+            return cached.value();
+        }
+
+        misses.increment();
+        long observedGeneration = generation.get();
+        V value = loader.apply(key);
+        if (value != null && generation.get() == observedGeneration) {
+            entries.put(key, new Entry<>(value, now, now.plus(ttl)));
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        if (key == null) {
+            return;
+        }
+        evict(key);
+        afterCommit(() -> evict(key));
+    }
+
+    public void invalidateAll() {
+        evictAll();
+        afterCommit(this::evictAll);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void evict(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry<V>(V value, Instant loadedAt, Instant expiresAt) {
+
+        // An entry loaded "in the future" (clock moved backwards) is treated as stale
+        boolean isValidAt(Instant now) {
+            return !now.isBefore(loadedAt) && now.isBefore(expiresAt);
+        }
+    }
+}
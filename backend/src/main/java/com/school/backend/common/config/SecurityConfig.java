@@ -50,6 +50,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**").hasRole("SUPER_ADMIN")
                         .requestMatchers("/v3/api-docs/**").hasRole("SUPER_ADMIN")
+                        .requestMatchers("/actuator/metrics/**").hasRole("SUPER_ADMIN")
                         // Explicitly allow fee stats for authenticated users
                         .requestMatchers("/api/fees/summary/stats").authenticated()
                         .requestMatchers("/api/fees/payments/recent").authenticated()
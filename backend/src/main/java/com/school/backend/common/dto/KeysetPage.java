@@ -0,0 +1,15 @@
+package com.school.backend.common.dto;
+
+import java.util.List;
+
+/**
+ * A page read after a cursor instead of at an offset. Pass {@code nextCursor}
+ * back to read the following page; it is {@code null} on the last page.
+ */
+public record KeysetPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,22 @@
+package com.school.backend.common.enums;
+
+public enum BatchDocumentFormat {
+    PDF("application/pdf", "pdf"),
+    ZIP("application/zip", "zip");
+
+    private final String contentType;
+    private final String extension;
+
+    BatchDocumentFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,20 @@
+package com.school.backend.common.enums;
+
+/**
+ * Counters materialised for the dashboards. The scope of a row decides the
+ * meaning: {@link #STUDENTS} is every student platform-wide but the students
+ * enrolled in the session at session scope.
+ */
+public enum DashboardCounterType {
+    // platform scope
+    SCHOOLS,
+    ACTIVE_SESSIONS,
+    SUBSCRIPTIONS_DUE,
+    // platform and school scope
+    TEACHERS,
+    // platform and session scope
+    STUDENTS,
+    // session scope
+    TRANSPORT_ENROLLMENTS,
+    FEE_DEFAULTERS
+}
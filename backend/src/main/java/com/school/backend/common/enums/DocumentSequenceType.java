@@ -0,0 +1,5 @@
+package com.school.backend.common.enums;
+
+public enum DocumentSequenceType {
+    EXPENSE_VOUCHER
+}
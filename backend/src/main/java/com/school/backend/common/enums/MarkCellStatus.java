@@ -0,0 +1,9 @@
+package com.school.backend.common.enums;
+
+public enum MarkCellStatus {
+    SAVED,
+    SKIPPED,
+    REJECTED,
+    // A later cell in the same request for the same student and subject was saved instead
+    SUPERSEDED
+}
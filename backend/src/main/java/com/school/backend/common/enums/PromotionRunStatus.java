@@ -0,0 +1,7 @@
+package com.school.backend.common.enums;
+
+public enum PromotionRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
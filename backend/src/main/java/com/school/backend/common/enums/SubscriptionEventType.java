@@ -5,5 +5,7 @@ public enum SubscriptionEventType {
     SUBSCRIPTION_EXTENDED,
     PLAN_UPGRADED,
     MANUAL_SUSPENDED,
-    MANUAL_REACTIVATED
+    MANUAL_REACTIVATED,
+    AUTO_PAST_DUE,
+    AUTO_SUSPENDED
 }
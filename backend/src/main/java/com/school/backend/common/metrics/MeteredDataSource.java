@@ -0,0 +1,84 @@
+package com.school.backend.common.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Feeds {@link QueryStats} from the application {@link DataSource}, so
+ * Hibernate and {@code JdbcTemplate} work are counted alike: every statement
+ * prepared or created on a connection is counted, and the time spent in its
+ * {@code execute*} calls, batches included, is added to the current scope.
+ * Statements created outside any scope are handed out unwrapped.
+ */
+public class MeteredDataSource extends DelegatingDataSource {
+
+    public MeteredDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return metered(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return metered(super.getConnection(username, password));
+    }
+
+    private static Connection metered(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = MeteredDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && isStatementFactory(method.getName())
+                    && QueryStats.current() != null) {
+                QueryStats.recordStatement();
+                return Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(),
+                        new Class<?>[] { method.getReturnType() }, new StatementHandler(statement));
+            }
+            return result;
+        }
+
+        private static boolean isStatementFactory(String name) {
+            return name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement");
+        }
+    }
+
+    private record StatementHandler(Statement target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return MeteredDataSource.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return MeteredDataSource.invoke(target, method, args);
+            } finally {
+                QueryStats.recordDbTime(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.school.backend.common.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the JDBC work of each {@code @Service} method, including the flush
+ * on commit: the aspect runs outside the transaction interceptor. Nested
+ * service calls are counted in both the inner and the outer method.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryMetricsAspect {
+
+    private final QueryMetricsRecorder recorder;
+
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryStats current = QueryStats.current();
+        // Scheduled jobs and other calls outside a request get their own scope
+        boolean opened = current == null;
+        if (opened) {
+            QueryStats.open();
+            current = QueryStats.current();
+        }
+        QueryStats.Snapshot before = current.snapshot();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            QueryStats.Snapshot stats = current.snapshot().minus(before);
+            if (opened) {
+                QueryStats.close(null);
+            }
+            recorder.recordService(joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(), stats);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.school.backend.common.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Hooks {@link QueryStats} into the persistence layer: statements and their
+ * execution time are counted by wrapping the application {@link DataSource}
+ * in a {@link MeteredDataSource}, so {@code JdbcTemplate} bulk paths are
+ * included, and entity loads by a Hibernate post-load listener.
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof MeteredDataSource)
+                        ? new MeteredDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton queryMetricsLoadListener(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> QueryStats.recordEntityLoad());
+    }
+}
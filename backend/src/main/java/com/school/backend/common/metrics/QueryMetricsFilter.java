@@ -0,0 +1,42 @@
+package com.school.backend.common.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link QueryStats} scope around each request and records it against
+ * the matched route pattern, so {@code /api/students/42} and
+ * {@code /api/students/43} share one {@code /api/students/{id}} series.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final QueryMetricsRecorder recorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats previous = QueryStats.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryStats.Snapshot stats = QueryStats.close(previous);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            recorder.recordRequest(request.getMethod(), pattern == null ? UNMAPPED : pattern.toString(), stats);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.school.backend.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link QueryStats} per HTTP route ({@code db.request.*}, tagged
+ * {@code method} and {@code uri}) and per service method
+ * ({@code db.service.*}, tagged {@code service} and {@code method}).
+ * Requests that prepare more statements than the configured budget are logged.
+ */
+@Slf4j
+@Component
+public class QueryMetricsRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public QueryMetricsRecorder(
+            MeterRegistry meterRegistry,
+            @Value("${db.metrics.statement-budget:100}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    public void recordRequest(String method, String uri, QueryStats.Snapshot stats) {
+        record("db.request", "method", method, "uri", uri, stats);
+        if (statementBudget > 0 && stats.statements() > statementBudget) {
+            log.warn("event=statement_budget_exceeded method={} uri={} statements={} budget={} entityLoads={} dbMs={}",
+                    method, uri, stats.statements(), statementBudget, stats.entityLoads(), stats.dbMillis());
+        }
+    }
+
+    public void recordService(String service, String method, QueryStats.Snapshot stats) {
+        record("db.service", "service", service, "method", method, stats);
+    }
+
+    private void record(String prefix, String tag1, String value1, String tag2, String value2,
+            QueryStats.Snapshot stats) {
+        DistributionSummary.builder(prefix + ".statements")
+                .description("JDBC statements prepared")
+                .tags(tag1, value1, tag2, value2)
+                .register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder(prefix + ".entity.loads")
+                .description("Entities loaded by Hibernate")
+                .tags(tag1, value1, tag2, value2)
+                .register(meterRegistry)
+                .record(stats.entityLoads());
+        Timer.builder(prefix + ".time")
+                .description("Time spent executing JDBC statements")
+                .tags(tag1, value1, tag2, value2)
+                .register(meterRegistry)
+                .record(stats.dbNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,117 @@
+package com.school.backend.common.metrics;
+
+/**
+ * Per-thread tally of the JDBC work done on the application data source, by
+ * Hibernate and {@code JdbcTemplate} alike: statements prepared, time spent
+ * executing them and entities loaded.
+ * <p>
+ * A tally only exists while a scope is open, normally the HTTP request opened
+ * by {@link QueryMetricsFilter}; work outside any scope is ignored. Nested
+ * scopes, such as a service method, read a {@link #snapshot()} before and
+ * after and record the difference.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long dbNanos;
+    private long entityLoads;
+
+    public record Snapshot(long statements, long dbNanos, long entityLoads) {
+
+        public Snapshot minus(Snapshot earlier) {
+            return new Snapshot(statements - earlier.statements,
+                    dbNanos - earlier.dbNanos,
+                    entityLoads - earlier.entityLoads);
+        }
+
+        public long dbMillis() {
+            return dbNanos / 1_000_000;
+        }
+    }
+
+    private QueryStats() {
+    }
+
+    /**
+     * @return the tally of the open scope, or {@code null} outside any scope
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens a fresh scope on this thread and returns the scope it replaced,
+     * which must be handed back to {@link #close}.
+     */
+    public static QueryStats open() {
+        QueryStats previous = CURRENT.get();
+        CURRENT.set(new QueryStats());
+        return previous;
+    }
+
+    /**
+     * Closes the current scope, restoring {@code previous}.
+     *
+     * @return what was counted in the closed scope
+     */
+    public static Snapshot close(QueryStats previous) {
+        QueryStats closing = CURRENT.get();
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+        return closing == null ? new Snapshot(0, 0, 0) : closing.snapshot();
+    }
+
+    /**
+     * Runs {@code work} in its own scope and returns what it cost, e.g. to
+     * assert on the statement count of a service call in a test.
+     */
+    public static Snapshot measure(Runnable work) {
+        QueryStats previous = open();
+        Snapshot measured;
+        try {
+            work.run();
+        } finally {
+            measured = close(previous);
+            if (previous != null) {
+                previous.add(measured);
+            }
+        }
+        return measured;
+    }
+
+    static void recordStatement() {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void recordDbTime(long nanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.dbNanos += nanos;
+        }
+    }
+
+    static void recordEntityLoad() {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(statements, dbNanos, entityLoads);
+    }
+
+    private void add(Snapshot nested) {
+        statements += nested.statements();
+        dbNanos += nested.dbNanos();
+        entityLoads += nested.entityLoads();
+    }
+}
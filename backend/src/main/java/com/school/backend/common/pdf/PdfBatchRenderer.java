@@ -0,0 +1,242 @@
+package com.school.backend.common.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfReader;
+import com.school.backend.common.enums.BatchDocumentFormat;
+import com.school.backend.common.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.ThrowingSupplier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders many single-student PDFs on a bounded pool and streams them, in input
+ * order, as one merged PDF or a ZIP of individual files.
+ * <p>
+ * Render functions run on pool threads without tenant, session or persistence
+ * context, so callers must hand in fully loaded data and render functions must
+ * not touch repositories. Loading in a short read-only transaction beforehand
+ * also means no connection is held while PDFs are produced. At most
+ * {@code 2 * threads} rendered documents are held in memory at a time.
+ */
+@Slf4j
+@Component
+public class PdfBatchRenderer {
+
+    private final ExecutorService executor;
+    private final int window;
+    private final MeterRegistry meterRegistry;
+
+    public PdfBatchRenderer(
+            MeterRegistry meterRegistry,
+            @Value("${pdf.batch.threads:4}") int threads) {
+        int poolSize = Math.max(1, threads);
+        this.meterRegistry = meterRegistry;
+        this.window = poolSize * 2;
+        this.executor = Executors.newFixedThreadPool(poolSize, new RendererThreadFactory());
+    }
+
+    /**
+     * @param documentType metric tag and log label, e.g. {@code challan}
+     * @param fileName     ZIP entry name for an item, without extension
+     * @param output       opened once the first document has rendered, so render
+     *                     failures on the first item still surface as API errors
+     */
+    public <T> PdfBatchStats render(
+            String documentType,
+            List<T> items,
+            Function<T, String> fileName,
+            Function<T, byte[]> renderer,
+            BatchDocumentFormat format,
+            ThrowingSupplier<OutputStream> output) {
+        if (items.isEmpty()) {
+            throw new ResourceNotFoundException("No documents to generate");
+        }
+
+        long startedAt = System.nanoTime();
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        int pages = 0;
+        try {
+            while (next < items.size() && inFlight.size() < window) {
+                T item = items.get(next++);
+                inFlight.add(executor.submit(() -> renderer.apply(item)));
+            }
+
+            try (BatchSink sink = openSink(format, output)) {
+                for (T item : items) {
+                    byte[] pdf = await(inFlight.poll());
+                    if (next < items.size()) {
+                        T queued = items.get(next++);
+                        inFlight.add(executor.submit(() -> renderer.apply(queued)));
+                    }
+                    pages += sink.add(fileName.apply(item), pdf);
+                }
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to write " + documentType + " batch", e);
+        } finally {
+            inFlight.forEach(f -> f.cancel(true));
+        }
+
+        PdfBatchStats stats = new PdfBatchStats(items.size(), pages, System.nanoTime() - startedAt);
+        DistributionSummary.builder("pdf.batch.throughput")
+                .description("Pages rendered per second by bulk PDF generation")
+                .baseUnit("pages/s")
+                .tag("type", documentType)
+                .register(meterRegistry)
+                .record(stats.pagesPerSecond());
+        log.info("Rendered {} {} documents ({} pages) in {} ms, {} pages/s",
+                stats.documents(), documentType, stats.pages(), stats.elapsedMillis(),
+                String.format("%.1f", stats.pagesPerSecond()));
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static byte[] await(Future<byte[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering PDF batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Failed to render PDF", e.getCause());
+        }
+    }
+
+    private static BatchSink openSink(BatchDocumentFormat format, ThrowingSupplier<OutputStream> output) {
+        return switch (format) {
+            case PDF -> new MergedPdfSink(output);
+            case ZIP -> new ZipSink(output);
+        };
+    }
+
+    private interface BatchSink extends AutoCloseable {
+
+        /**
+         * @return number of pages in {@code pdf}
+         */
+        int add(String name, byte[] pdf) throws Exception;
+    }
+
+    private static final class MergedPdfSink implements BatchSink {
+
+        private final ThrowingSupplier<OutputStream> output;
+        private Document document;
+        private PdfCopy copy;
+
+        private MergedPdfSink(ThrowingSupplier<OutputStream> output) {
+            this.output = output;
+        }
+
+        @Override
+        public int add(String name, byte[] pdf) throws Exception {
+            if (document == null) {
+                document = new Document();
+                copy = new PdfCopy(document, output.get());
+                document.open();
+            }
+            PdfReader reader = new PdfReader(pdf);
+            try {
+                int pages = reader.getNumberOfPages();
+                for (int page = 1; page <= pages; page++) {
+                    copy.addPage(copy.getImportedPage(reader, page));
+                }
+                copy.freeReader(reader);
+                return pages;
+            } finally {
+                reader.close();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (document != null) {
+                document.close();
+            }
+        }
+    }
+
+    private static final class ZipSink implements BatchSink {
+
+        private final ThrowingSupplier<OutputStream> output;
+        private final Set<String> names = new HashSet<>();
+        private ZipOutputStream zip;
+
+        private ZipSink(ThrowingSupplier<OutputStream> output) {
+            this.output = output;
+        }
+
+        @Override
+        public int add(String name, byte[] pdf) throws IOException {
+            if (zip == null) {
+                zip = new ZipOutputStream(output.get());
+            }
+            String safeName = name.replaceAll("[^A-Za-z0-9._-]", "_");
+            String entryName = safeName + ".pdf";
+            for (int i = 2; !names.add(entryName); i++) {
+                entryName = safeName + "_" + i + ".pdf";
+            }
+            zip.putNextEntry(new ZipEntry(entryName));
+            zip.write(pdf);
+            zip.closeEntry();
+
+            PdfReader reader = new PdfReader(pdf);
+            try {
+                return reader.getNumberOfPages();
+            } finally {
+                reader.close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (zip != null) {
+                zip.finish();
+                zip.flush();
+            }
+        }
+    }
+
+    private static final class RendererThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "pdf-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.school.backend.common.pdf;
+
+public record PdfBatchStats(int documents, int pages, long elapsedNanos) {
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double pagesPerSecond() {
+        return elapsedNanos == 0 ? 0 : pages * 1_000_000_000.0 / elapsedNanos;
+    }
+}
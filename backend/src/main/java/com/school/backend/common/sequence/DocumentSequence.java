@@ -0,0 +1,40 @@
+package com.school.backend.common.sequence;
+
+import com.school.backend.common.entity.TenantEntity;
+import com.school.backend.common.enums.DocumentSequenceType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Counter row of one numbered document series per school and session.
+ * {@code nextValue} is the first number not yet reserved by any node.
+ */
+@Entity
+@Table(name = "document_sequences", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_document_sequence", columnNames = { "school_id", "session_id",
+                "sequence_type" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+public class DocumentSequence extends TenantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "sequence_type", nullable = false, length = 40)
+    private DocumentSequenceType sequenceType;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
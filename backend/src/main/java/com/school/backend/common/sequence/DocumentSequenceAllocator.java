@@ -0,0 +1,96 @@
+package com.school.backend.common.sequence;
+
+import com.school.backend.common.enums.DocumentSequenceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out document numbers per (school, session, type) from in-memory
+ * blocks reserved through {@link SequenceBlockReserver}, so most numbers cost
+ * no database round trip and concurrent writers never receive the same one.
+ * <p>
+ * A reservation runs in its own transaction and so needs a second pooled
+ * connection while the caller holds its own. It is therefore made without
+ * holding any lock: a caller that finds the blocks used up reserves one
+ * itself, and only the hand-out from memory is synchronised. Callers that run
+ * out at the same moment each reserve a block and share what is left of them.
+ * <p>
+ * Numbers are unique but neither gap-free nor strictly in issue order: a
+ * rolled back caller or a restart discards the rest of its block, concurrent
+ * reservations may be handed out interleaved, and with several nodes each
+ * draws from its own blocks.
+ */
+@Component
+public class DocumentSequenceAllocator {
+
+    private final SequenceBlockReserver reserver;
+    private final int blockSize;
+    private final Map<SequenceKey, Series> series = new ConcurrentHashMap<>();
+
+    public DocumentSequenceAllocator(
+            SequenceBlockReserver reserver,
+            @Value("${sequence.block-size:20}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("sequence.block-size must be positive");
+        }
+        this.reserver = reserver;
+        this.blockSize = blockSize;
+    }
+
+    private record SequenceKey(Long schoolId, Long sessionId, DocumentSequenceType type) {
+    }
+
+    // Unused numbers of the reserved blocks of one series, lowest block first
+    private static final class Series {
+        private final Deque<long[]> ranges = new ArrayDeque<>();
+
+        synchronized OptionalLong take() {
+            while (!ranges.isEmpty()) {
+                long[] range = ranges.peekFirst();
+                if (range[0] < range[1]) {
+                    return OptionalLong.of(range[0]++);
+                }
+                ranges.pollFirst();
+            }
+            return OptionalLong.empty();
+        }
+
+        synchronized void add(long from, long end) {
+            if (from < end) {
+                ranges.addLast(new long[] { from, end });
+            }
+        }
+    }
+
+    /**
+     * @param lastIssued highest number already in use for this series; read only
+     *                   when the series' counter row does not exist yet
+     */
+    public long next(Long schoolId, Long sessionId, DocumentSequenceType type, LongSupplier lastIssued) {
+        Series numbers = series.computeIfAbsent(new SequenceKey(schoolId, sessionId, type), k -> new Series());
+        OptionalLong available = numbers.take();
+        if (available.isPresent()) {
+            return available.getAsLong();
+        }
+        long first = reserve(schoolId, sessionId, type, lastIssued);
+        numbers.add(first + 1, first + blockSize);
+        return first;
+    }
+
+    private long reserve(Long schoolId, Long sessionId, DocumentSequenceType type, LongSupplier lastIssued) {
+        try {
+            return reserver.reserve(schoolId, sessionId, type, blockSize, lastIssued);
+        } catch (DataIntegrityViolationException ex) {
+            // Another node created the counter row first; it exists now
+            return reserver.reserve(schoolId, sessionId, type, blockSize, lastIssued);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.school.backend.common.sequence;
+
+import com.school.backend.common.enums.DocumentSequenceType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface DocumentSequenceRepository extends JpaRepository<DocumentSequence, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT s FROM DocumentSequence s
+            WHERE s.schoolId = :schoolId
+              AND s.sessionId = :sessionId
+              AND s.sequenceType = :type
+            """)
+    Optional<DocumentSequence> findForUpdate(@Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("type") DocumentSequenceType type);
+}
@@ -0,0 +1,47 @@
+package com.school.backend.common.sequence;
+
+import com.school.backend.common.enums.DocumentSequenceType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Reserves blocks of a {@link DocumentSequence} under a row lock. Each
+ * reservation commits on its own, so the lock is held only for the counter
+ * update and never for the caller's business transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceBlockReserver {
+
+    private final DocumentSequenceRepository sequenceRepository;
+
+    /**
+     * @param lastIssued highest number already in use, consulted only when the
+     *                   counter row is first created
+     * @return first number of the reserved block of {@code blockSize} numbers
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(Long schoolId, Long sessionId, DocumentSequenceType type, int blockSize,
+            LongSupplier lastIssued) {
+        DocumentSequence sequence = sequenceRepository.findForUpdate(schoolId, sessionId, type).orElse(null);
+        if (sequence == null) {
+            long first = lastIssued.getAsLong() + 1;
+            // A concurrent first reservation fails here on uk_document_sequence
+            sequenceRepository.saveAndFlush(DocumentSequence.builder()
+                    .schoolId(schoolId)
+                    .sessionId(sessionId)
+                    .sequenceType(type)
+                    .nextValue(first + blockSize)
+                    .build());
+            return first;
+        }
+        long first = sequence.getNextValue();
+        sequence.setNextValue(first + blockSize);
+        sequenceRepository.save(sequence);
+        return first;
+    }
+}
@@ -7,6 +7,9 @@ import com.school.backend.school.repository.SchoolRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 @RequiredArgsConstructor
 public class SessionResolver {
@@ -14,6 +17,10 @@ public class SessionResolver {
     private final SchoolRepository schoolRepository;
     private final AcademicSessionRepository sessionRepository;
 
+    // Session ownership never changes once created, so verified (school, session)
+    // pairs are kept for the lifetime of the process.
+    private final Set<SessionOwnership> verifiedOwnership = ConcurrentHashMap.newKeySet();
+
     public Long resolveForCurrentSchool() {
         Long schoolId = TenantContext.getSchoolId();
         if (schoolId == null) {
@@ -49,9 +56,17 @@ public class SessionResolver {
         if (sessionId == null) {
             throw new InvalidOperationException("Session context is missing in request");
         }
+        SessionOwnership ownership = new SessionOwnership(schoolId, sessionId);
+        if (verifiedOwnership.contains(ownership)) {
+            return sessionId;
+        }
         if (!sessionRepository.existsByIdAndSchoolId(sessionId, schoolId)) {
             throw new InvalidOperationException("Session does not belong to this school");
         }
+        verifiedOwnership.add(ownership);
         return sessionId;
     }
+
+    private record SessionOwnership(Long schoolId, Long sessionId) {
+    }
 }
@@ -1,6 +1,7 @@
 package com.school.backend.core.attendance.controller;
 
 import com.school.backend.core.attendance.dto.AttendanceResponse;
+import com.school.backend.core.attendance.dto.AttendanceSummaryDto;
 import com.school.backend.core.attendance.entity.StudentAttendance;
 import com.school.backend.core.attendance.enums.AttendanceStatus;
 import com.school.backend.core.attendance.service.AttendanceService;
@@ -49,4 +50,29 @@ public class AttendanceController {
         double stats = attendanceService.getTodayStats(SecurityUtil.schoolId());
         return Map.of("percentage", stats);
     }
+
+    @GetMapping("/stats/classes")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public List<AttendanceSummaryDto> getClassStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start;
+        return attendanceService.getClassSummaries(SecurityUtil.schoolId(), start, end);
+    }
+
+    @GetMapping("/stats/monthly")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public List<AttendanceSummaryDto> getMonthlyStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long classId) {
+        return attendanceService.getMonthlySummaries(SecurityUtil.schoolId(), from, to, classId);
+    }
+
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public Map<String, Integer> rebuildStats() {
+        return Map.of("rows", attendanceService.rebuildRollup(SecurityUtil.schoolId()));
+    }
 }
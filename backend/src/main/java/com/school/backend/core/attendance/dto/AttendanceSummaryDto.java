@@ -0,0 +1,28 @@
+package com.school.backend.core.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attendance counts aggregated from the daily rollup, either per class or per
+ * calendar month. PRESENT, LATE and HALF_DAY count as attended.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSummaryDto {
+    private Long classId;
+    private String className;
+    /** {@code yyyy-MM}; set on monthly summaries only. */
+    private String month;
+
+    private long presentCount;
+    private long absentCount;
+    private long lateCount;
+    private long halfDayCount;
+    private long markedCount;
+    private double attendancePercentage;
+}
@@ -0,0 +1,59 @@
+package com.school.backend.core.attendance.entity;
+
+import com.school.backend.common.entity.TenantEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+
+/**
+ * Per-class, per-day attendance counts by status. Maintained incrementally by
+ * {@code AttendanceRollupService} whenever attendance is marked, so dashboard
+ * and monthly reports never scan {@link StudentAttendance}.
+ */
+@Entity
+@Table(name = "attendance_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_rollup", columnNames = { "school_id", "session_id", "class_id",
+                "attendance_date" })
+}, indexes = {
+        @Index(name = "idx_attendance_rollup_school_date", columnList = "school_id,session_id,attendance_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+public class AttendanceDailyRollup extends TenantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    @Column(name = "attendance_date", nullable = false)
+    private LocalDate attendanceDate;
+
+    @Builder.Default
+    @Column(name = "present_count", nullable = false)
+    private int presentCount = 0;
+
+    @Builder.Default
+    @Column(name = "absent_count", nullable = false)
+    private int absentCount = 0;
+
+    @Builder.Default
+    @Column(name = "late_count", nullable = false)
+    private int lateCount = 0;
+
+    @Builder.Default
+    @Column(name = "half_day_count", nullable = false)
+    private int halfDayCount = 0;
+}
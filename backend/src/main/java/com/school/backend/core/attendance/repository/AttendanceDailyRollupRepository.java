@@ -0,0 +1,105 @@
+package com.school.backend.core.attendance.repository;
+
+import com.school.backend.core.attendance.entity.AttendanceDailyRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AttendanceDailyRollupRepository extends JpaRepository<AttendanceDailyRollup, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT r FROM AttendanceDailyRollup r
+            WHERE r.schoolId = :schoolId
+              AND r.attendanceDate = :date
+              AND r.classId IN :classIds
+            """)
+    List<AttendanceDailyRollup> findForUpdate(
+            @Param("schoolId") Long schoolId,
+            @Param("date") LocalDate date,
+            @Param("classIds") Collection<Long> classIds);
+
+    /**
+     * @return one {@code [present, absent, late, halfDay]} row of totals
+     */
+    @Query("""
+            SELECT COALESCE(SUM(r.presentCount), 0),
+                   COALESCE(SUM(r.absentCount), 0),
+                   COALESCE(SUM(r.lateCount), 0),
+                   COALESCE(SUM(r.halfDayCount), 0)
+            FROM AttendanceDailyRollup r
+            WHERE r.schoolId = :schoolId
+              AND r.sessionId = :sessionId
+              AND r.attendanceDate BETWEEN :from AND :to
+            """)
+    List<Object[]> sumBySchool(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * @return {@code [classId, present, absent, late, halfDay]} rows, one per class
+     */
+    @Query("""
+            SELECT r.classId,
+                   SUM(r.presentCount),
+                   SUM(r.absentCount),
+                   SUM(r.lateCount),
+                   SUM(r.halfDayCount)
+            FROM AttendanceDailyRollup r
+            WHERE r.schoolId = :schoolId
+              AND r.sessionId = :sessionId
+              AND r.attendanceDate BETWEEN :from AND :to
+            GROUP BY r.classId
+            ORDER BY r.classId
+            """)
+    List<Object[]> sumByClass(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * @param classId optional class filter
+     * @return {@code [year, month, present, absent, late, halfDay]} rows in calendar order
+     */
+    @Query("""
+            SELECT YEAR(r.attendanceDate),
+                   MONTH(r.attendanceDate),
+                   SUM(r.presentCount),
+                   SUM(r.absentCount),
+                   SUM(r.lateCount),
+                   SUM(r.halfDayCount)
+            FROM AttendanceDailyRollup r
+            WHERE r.schoolId = :schoolId
+              AND r.sessionId = :sessionId
+              AND r.attendanceDate BETWEEN :from AND :to
+              AND (:classId IS NULL OR r.classId = :classId)
+            GROUP BY YEAR(r.attendanceDate), MONTH(r.attendanceDate)
+            ORDER BY YEAR(r.attendanceDate), MONTH(r.attendanceDate)
+            """)
+    List<Object[]> sumByMonth(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("classId") Long classId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("""
+            DELETE FROM AttendanceDailyRollup r
+            WHERE r.schoolId = :schoolId
+              AND r.sessionId = :sessionId
+            """)
+    int deleteBySchoolIdAndSessionId(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId);
+}
@@ -3,6 +3,8 @@ package com.school.backend.core.attendance.repository;
 import com.school.backend.core.attendance.entity.StudentAttendance;
 import com.school.backend.core.attendance.enums.AttendanceStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -20,4 +22,20 @@ public interface AttendanceRepository extends JpaRepository<StudentAttendance, L
             AttendanceStatus status, Long schoolId);
 
     long countByAttendanceDateAndSchoolId(LocalDate date, Long schoolId);
+
+    /**
+     * Single-pass status counts used to (re)build the daily rollup.
+     *
+     * @return {@code [classId, attendanceDate, status, count]} rows
+     */
+    @Query("""
+            SELECT a.classId, a.attendanceDate, a.status, COUNT(a)
+            FROM StudentAttendance a
+            WHERE a.schoolId = :schoolId
+              AND a.sessionId = :sessionId
+            GROUP BY a.classId, a.attendanceDate, a.status
+            """)
+    List<Object[]> countByClassDateAndStatus(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId);
 }
@@ -0,0 +1,36 @@
+package com.school.backend.core.attendance.service;
+
+import com.school.backend.core.attendance.entity.AttendanceDailyRollup;
+import com.school.backend.core.attendance.repository.AttendanceDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Creates empty {@link AttendanceDailyRollup} rows in their own transaction,
+ * so the first markings of a class-day from two requests race only on this
+ * short insert and both go on to lock the committed row.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceRollupSeeder {
+
+    private final AttendanceDailyRollupRepository rollupRepository;
+
+    /**
+     * @throws org.springframework.dao.DataIntegrityViolationException when a
+     *         concurrent request created the row first
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void seed(Long schoolId, Long sessionId, Long classId, LocalDate date) {
+        rollupRepository.saveAndFlush(AttendanceDailyRollup.builder()
+                .classId(classId)
+                .sessionId(sessionId)
+                .attendanceDate(date)
+                .schoolId(schoolId)
+                .build());
+    }
+}
@@ -0,0 +1,148 @@
+package com.school.backend.core.attendance.service;
+
+import com.school.backend.core.attendance.entity.AttendanceDailyRollup;
+import com.school.backend.core.attendance.enums.AttendanceStatus;
+import com.school.backend.core.attendance.repository.AttendanceDailyRollupRepository;
+import com.school.backend.core.attendance.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link AttendanceDailyRollup} in step with marked attendance. Changes
+ * are applied as per-status deltas under a row lock on the affected class-day
+ * rows, so concurrent markings of the same class do not lose counts. Missing
+ * rows are first created empty by {@link AttendanceRollupSeeder}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupService {
+
+    private final AttendanceDailyRollupRepository rollupRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceRollupSeeder rollupSeeder;
+
+    /**
+     * One student's status change on the rollup's date.
+     *
+     * @param from previous status, {@code null} for a newly marked student
+     */
+    public record StatusChange(Long classId, Long sessionId, AttendanceStatus from, AttendanceStatus to) {
+    }
+
+    private record ClassKey(Long classId, Long sessionId) {
+    }
+
+    @Transactional
+    public void apply(Long schoolId, LocalDate date, Collection<StatusChange> changes) {
+        Map<ClassKey, int[]> deltas = new LinkedHashMap<>();
+        for (StatusChange change : changes) {
+            if (change.from() == change.to()) {
+                continue;
+            }
+            int[] delta = deltas.computeIfAbsent(new ClassKey(change.classId(), change.sessionId()),
+                    k -> new int[AttendanceStatus.values().length]);
+            if (change.from() != null) {
+                delta[change.from().ordinal()]--;
+            }
+            if (change.to() != null) {
+                delta[change.to().ordinal()]++;
+            }
+        }
+        deltas.values().removeIf(d -> Arrays.stream(d).allMatch(v -> v == 0));
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<Long> classIds = deltas.keySet().stream().map(ClassKey::classId).collect(Collectors.toSet());
+        Map<ClassKey, AttendanceDailyRollup> rows = lockRows(schoolId, date, classIds);
+        boolean seeded = false;
+        for (ClassKey key : deltas.keySet()) {
+            if (!rows.containsKey(key)) {
+                seed(schoolId, key, date);
+                seeded = true;
+            }
+        }
+        if (seeded) {
+            rows = lockRows(schoolId, date, classIds);
+        }
+
+        List<AttendanceDailyRollup> toSave = new ArrayList<>(deltas.size());
+        for (Map.Entry<ClassKey, int[]> entry : deltas.entrySet()) {
+            AttendanceDailyRollup row = rows.get(entry.getKey());
+            int[] delta = entry.getValue();
+            for (AttendanceStatus status : AttendanceStatus.values()) {
+                add(row, status, delta[status.ordinal()]);
+            }
+            toSave.add(row);
+        }
+        rollupRepository.saveAll(toSave);
+    }
+
+    /**
+     * Recomputes the rollup of a session from the raw attendance rows, for
+     * backfilling data marked before the rollup existed.
+     *
+     * @return number of class-day rows written
+     */
+    @Transactional
+    public int rebuild(Long schoolId, Long sessionId) {
+        rollupRepository.deleteBySchoolIdAndSessionId(schoolId, sessionId);
+
+        Map<List<Object>, AttendanceDailyRollup> rows = new LinkedHashMap<>();
+        for (Object[] r : attendanceRepository.countByClassDateAndStatus(schoolId, sessionId)) {
+            Long classId = (Long) r[0];
+            LocalDate date = (LocalDate) r[1];
+            AttendanceDailyRollup row = rows.computeIfAbsent(List.of(classId, date),
+                    k -> AttendanceDailyRollup.builder()
+                            .classId(classId)
+                            .sessionId(sessionId)
+                            .attendanceDate(date)
+                            .schoolId(schoolId)
+                            .build());
+            add(row, (AttendanceStatus) r[2], ((Number) r[3]).intValue());
+        }
+        rollupRepository.saveAll(rows.values());
+        return rows.size();
+    }
+
+    private Map<ClassKey, AttendanceDailyRollup> lockRows(Long schoolId, LocalDate date, Set<Long> classIds) {
+        Map<ClassKey, AttendanceDailyRollup> rows = new HashMap<>();
+        for (AttendanceDailyRollup row : rollupRepository.findForUpdate(schoolId, date, classIds)) {
+            rows.put(new ClassKey(row.getClassId(), row.getSessionId()), row);
+        }
+        return rows;
+    }
+
+    private void seed(Long schoolId, ClassKey key, LocalDate date) {
+        try {
+            rollupSeeder.seed(schoolId, key.sessionId(), key.classId(), date);
+        } catch (DataIntegrityViolationException ex) {
+            // Another request created the row first; it is locked below like any other
+        }
+    }
+
+    private void add(AttendanceDailyRollup row, AttendanceStatus status, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        switch (status) {
+            case PRESENT -> row.setPresentCount(row.getPresentCount() + delta);
+            case ABSENT -> row.setAbsentCount(row.getAbsentCount() + delta);
+            case LATE -> row.setLateCount(row.getLateCount() + delta);
+            case HALF_DAY -> row.setHalfDayCount(row.getHalfDayCount() + delta);
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.school.backend.core.attendance.service;
 import com.school.backend.common.exception.BusinessException;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.tenant.SessionContext;
+import com.school.backend.core.attendance.dto.AttendanceSummaryDto;
 import com.school.backend.core.attendance.entity.StudentAttendance;
 import com.school.backend.core.attendance.enums.AttendanceStatus;
+import com.school.backend.core.attendance.repository.AttendanceDailyRollupRepository;
 import com.school.backend.core.attendance.repository.AttendanceRepository;
+import com.school.backend.core.classsubject.entity.SchoolClass;
 import com.school.backend.core.classsubject.repository.SchoolClassRepository;
 import com.school.backend.core.student.entity.StudentEnrollment;
 import com.school.backend.core.student.repository.StudentEnrollmentRepository;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +32,8 @@ public class AttendanceService {
     private final AttendanceRepository attendanceRepository;
     private final StudentEnrollmentRepository enrollmentRepository;
     private final SchoolClassRepository classRepository;
+    private final AttendanceDailyRollupRepository rollupRepository;
+    private final AttendanceRollupService rollupService;
 
     /**
      * Timezone-safe validation - Teachers can only edit today's attendance
@@ -84,6 +90,7 @@ public class AttendanceService {
                 .collect(Collectors.toMap(StudentAttendance::getStudentId, a -> a));
 
         List<StudentAttendance> toSave = new ArrayList<>();
+        List<AttendanceRollupService.StatusChange> changes = new ArrayList<>();
 
         for (Map.Entry<Long, AttendanceStatus> entry : attendanceMap.entrySet()) {
             Long studentId = entry.getKey();
@@ -98,11 +105,14 @@ public class AttendanceService {
                             .schoolId(schoolId)
                             .build());
 
+            changes.add(new AttendanceRollupService.StatusChange(attendance.getClassId(),
+                    attendance.getSessionId(), attendance.getStatus(), status));
             attendance.setStatus(status);
             toSave.add(attendance);
         }
 
         attendanceRepository.saveAll(toSave);
+        rollupService.apply(schoolId, date, changes);
     }
 
     @Transactional(readOnly = true)
@@ -136,15 +146,74 @@ public class AttendanceService {
             return 0.0;
         }
 
+        LocalDate today = LocalDate.now();
+        Object[] totals = rollupRepository.sumBySchool(schoolId, sessionId, today, today).get(0);
+
         // Count PRESENT + LATE + HALF_DAY as present
-        long present = attendanceRepository.countByAttendanceDateAndStatusAndSchoolId(LocalDate.now(),
-                AttendanceStatus.PRESENT, schoolId);
-        long late = attendanceRepository.countByAttendanceDateAndStatusAndSchoolId(LocalDate.now(),
-                AttendanceStatus.LATE, schoolId);
-        long halfDay = attendanceRepository.countByAttendanceDateAndStatusAndSchoolId(LocalDate.now(),
-                AttendanceStatus.HALF_DAY, schoolId);
-
-        return ((double) (present + late + halfDay) / totalStudents) * 100.0;
+        AttendanceSummaryDto summary = toSummary(null, null, totals, 0);
+        return ((double) attended(summary) / totalStudents) * 100.0;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceSummaryDto> getClassSummaries(Long schoolId, LocalDate from, LocalDate to) {
+        List<Object[]> rows = rollupRepository.sumByClass(schoolId, requireSessionId(), from, to);
+        Map<Long, SchoolClass> classes = classRepository
+                .findAllById(rows.stream().map(r -> (Long) r[0]).toList())
+                .stream()
+                .collect(Collectors.toMap(SchoolClass::getId, c -> c));
+
+        return rows.stream()
+                .map(r -> {
+                    SchoolClass c = classes.get((Long) r[0]);
+                    String className = c == null ? null
+                            : c.getSection() != null ? c.getName() + " " + c.getSection() : c.getName();
+                    AttendanceSummaryDto summary = toSummary((Long) r[0], null, r, 1);
+                    summary.setClassName(className);
+                    return summary;
+                })
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceSummaryDto> getMonthlySummaries(Long schoolId, LocalDate from, LocalDate to,
+            Long classId) {
+        return rollupRepository.sumByMonth(schoolId, requireSessionId(), classId, from, to).stream()
+                .map(r -> toSummary(classId,
+                        YearMonth.of(((Number) r[0]).intValue(), ((Number) r[1]).intValue()).toString(), r, 2))
+                .toList();
+    }
+
+    @Transactional
+    public int rebuildRollup(Long schoolId) {
+        return rollupService.rebuild(schoolId, requireSessionId());
+    }
+
+    /**
+     * @param counts aggregate row holding present, absent, late and half-day
+     *               counts starting at {@code offset}
+     */
+    private AttendanceSummaryDto toSummary(Long classId, String month, Object[] counts, int offset) {
+        long present = ((Number) counts[offset]).longValue();
+        long absent = ((Number) counts[offset + 1]).longValue();
+        long late = ((Number) counts[offset + 2]).longValue();
+        long halfDay = ((Number) counts[offset + 3]).longValue();
+        long marked = present + absent + late + halfDay;
+        double percentage = marked == 0 ? 0 : (double) (present + late + halfDay) * 100 / marked;
+
+        return AttendanceSummaryDto.builder()
+                .classId(classId)
+                .month(month)
+                .presentCount(present)
+                .absentCount(absent)
+                .lateCount(late)
+                .halfDayCount(halfDay)
+                .markedCount(marked)
+                .attendancePercentage(Math.round(percentage * 10.0) / 10.0)
+                .build();
+    }
+
+    private long attended(AttendanceSummaryDto summary) {
+        return summary.getPresentCount() + summary.getLateCount() + summary.getHalfDayCount();
     }
 
     private Long requireSessionId() {
@@ -1,12 +1,15 @@
 package com.school.backend.core.student.controller;
 
+import com.school.backend.core.student.dto.PromotionProgressDto;
 import com.school.backend.core.student.dto.PromotionRequest;
+import com.school.backend.core.student.dto.SchoolPromotionRequest;
 import com.school.backend.core.student.entity.PromotionRecord;
 import com.school.backend.core.student.service.PromotionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -26,4 +29,16 @@ public class PromotionController {
     public ResponseEntity<List<PromotionRecord>> promoteStudents(@Valid @RequestBody PromotionRequest request) {
         return ResponseEntity.ok(promotionService.promoteStudents(request));
     }
+
+    @PostMapping("/school")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public ResponseEntity<PromotionProgressDto> promoteSchool(@Valid @RequestBody SchoolPromotionRequest request) {
+        return ResponseEntity.ok(promotionService.promoteSchool(request));
+    }
+
+    @GetMapping("/school/progress")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public ResponseEntity<PromotionProgressDto> schoolPromotionProgress() {
+        return ResponseEntity.ok(promotionService.getSchoolPromotionProgress());
+    }
 }
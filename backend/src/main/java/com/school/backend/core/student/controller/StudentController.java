@@ -1,5 +1,6 @@
 package com.school.backend.core.student.controller;
 
+import com.school.backend.common.dto.KeysetPage;
 import com.school.backend.common.dto.PageResponse;
 import com.school.backend.common.dto.PageResponseMapper;
 import com.school.backend.core.student.dto.StudentCreateRequest;
@@ -52,6 +53,15 @@ public class StudentController {
         return ResponseEntity.ok(PageResponseMapper.fromPage(p));
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'TEACHER', 'ACCOUNTANT', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public ResponseEntity<KeysetPage<StudentDto>> scroll(
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(service.scrollBySchool(SecurityUtil.schoolId(), classId, cursor, size));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'SCHOOL_ADMIN', 'ACCOUNTANT', 'PLATFORM_ADMIN')")
     public ResponseEntity<StudentDto> update(
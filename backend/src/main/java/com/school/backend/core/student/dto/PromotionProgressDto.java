@@ -0,0 +1,26 @@
+package com.school.backend.core.student.dto;
+
+import com.school.backend.common.enums.PromotionRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionProgressDto {
+    private Long schoolId;
+    private PromotionRunStatus status;
+    private int totalClasses;
+    private int completedClasses;
+    private int totalStudents;
+    private int processedStudents;
+    private int promotedCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
@@ -0,0 +1,41 @@
+package com.school.backend.core.student.dto;
+
+import com.school.backend.common.enums.PromotionType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Year-end promotion of every active student in the listed source classes.
+ */
+@Data
+public class SchoolPromotionRequest {
+
+    @NotNull
+    private Long sourceSessionId;
+
+    @NotNull
+    private Long targetSessionId;
+
+    @NotNull
+    private PromotionType promotionType;
+
+    private String remarks;
+
+    @NotEmpty
+    @Valid
+    private List<ClassMapping> classMappings;
+
+    @Data
+    public static class ClassMapping {
+
+        @NotNull
+        private Long sourceClassId;
+
+        @NotNull
+        private Long targetClassId;
+    }
+}
@@ -44,4 +44,7 @@ public class StudentDto {
     private String previousSchoolContact;
     private String reasonForLeavingPreviousSchool;
     private boolean enrollmentActive;
+    private String currentClassName;
+    private String currentSection;
+    private Integer rollNumber;
 }
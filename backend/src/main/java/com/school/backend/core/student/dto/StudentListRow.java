@@ -0,0 +1,11 @@
+package com.school.backend.core.student.dto;
+
+import com.school.backend.core.student.entity.Student;
+
+/**
+ * One student list row: the student with its current enrollment of the
+ * session, read by a single projection query.
+ */
+public record StudentListRow(Student student, boolean enrollmentActive, Long classId, String className,
+        String section, Integer rollNumber) {
+}
@@ -17,7 +17,9 @@ import java.time.LocalDate;
                 )
         },
         indexes = {
-                @Index(name = "idx_enroll_student_session", columnList = "student_id,session_id")
+                @Index(name = "idx_enroll_student_session", columnList = "student_id,session_id"),
+                @Index(name = "idx_enroll_list_keyset",
+                        columnList = "school_id,session_id,class_id,roll_number,student_id")
         })
 @Getter
 @Setter
@@ -2,6 +2,7 @@ package com.school.backend.core.student.mapper;
 
 import com.school.backend.core.student.dto.StudentCreateRequest;
 import com.school.backend.core.student.dto.StudentDto;
+import com.school.backend.core.student.dto.StudentListRow;
 import com.school.backend.core.student.entity.Student;
 
 public interface StudentMapper {
@@ -9,5 +10,7 @@ public interface StudentMapper {
 
     StudentDto toDto(Student entity, boolean enrollmentActive);
 
+    StudentDto toDto(StudentListRow row);
+
     Student toEntity(StudentCreateRequest dto);
 }
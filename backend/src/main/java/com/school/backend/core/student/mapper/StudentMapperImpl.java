@@ -3,6 +3,7 @@ package com.school.backend.core.student.mapper;
 import com.school.backend.common.tenant.TenantContext;
 import com.school.backend.core.student.dto.StudentCreateRequest;
 import com.school.backend.core.student.dto.StudentDto;
+import com.school.backend.core.student.dto.StudentListRow;
 import com.school.backend.core.student.entity.Student;
 import org.springframework.stereotype.Component;
 
@@ -61,6 +62,17 @@ public class StudentMapperImpl implements StudentMapper {
         return dto;
     }
 
+    @Override
+    public StudentDto toDto(StudentListRow row) {
+        if (row == null)
+            return null;
+        StudentDto dto = toDto(row.student(), row.enrollmentActive());
+        dto.setCurrentClassName(row.className());
+        dto.setCurrentSection(row.section());
+        dto.setRollNumber(row.rollNumber());
+        return dto;
+    }
+
     @Override
     public Student toEntity(StudentCreateRequest dto) {
         if (dto == null)
@@ -0,0 +1,88 @@
+package com.school.backend.core.student.repository;
+
+import com.school.backend.core.student.entity.PromotionRecord;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk promotion; see {@link com.school.backend.fee.repository.FeePaymentJdbcRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PromotionJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ENROLLMENT = """
+            INSERT INTO student_enrollments
+                (student_id, class_id, section, session_id, roll_number, enrollment_date, start_date, end_date,
+                 admission_type, active, remarks, school_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_PROMOTION_RECORD = """
+            INSERT INTO promotion_records
+                (student_id, source_session_id, target_session_id, source_class_id, target_class_id,
+                 promotion_type, promoted_by, promoted_at, remarks, school_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertEnrollments(List<StudentEnrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, enrollments, BATCH_SIZE, (ps, e) -> {
+            ps.setLong(1, e.getStudentId());
+            ps.setLong(2, e.getClassId());
+            ps.setString(3, e.getSection());
+            ps.setLong(4, e.getSessionId());
+            ps.setObject(5, e.getRollNumber(), Types.INTEGER);
+            ps.setDate(6, toDate(e.getEnrollmentDate()));
+            ps.setDate(7, toDate(e.getStartDate()));
+            ps.setDate(8, toDate(e.getEndDate()));
+            ps.setString(9, e.getAdmissionType() != null ? e.getAdmissionType().name() : null);
+            ps.setBoolean(10, e.isActive());
+            ps.setString(11, e.getRemarks());
+            ps.setLong(12, e.getSchoolId());
+            ps.setTimestamp(13, now);
+            ps.setTimestamp(14, now);
+        });
+    }
+
+    public void insertPromotionRecords(List<PromotionRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PROMOTION_RECORD, records, BATCH_SIZE, (ps, r) -> {
+            ps.setLong(1, r.getStudentId());
+            ps.setLong(2, r.getSourceSessionId());
+            ps.setLong(3, r.getTargetSessionId());
+            ps.setLong(4, r.getSourceClassId());
+            ps.setLong(5, r.getTargetClassId());
+            ps.setString(6, r.getPromotionType().name());
+            ps.setString(7, r.getPromotedBy());
+            ps.setTimestamp(8, Timestamp.valueOf(r.getPromotedAt()));
+            ps.setString(9, r.getRemarks());
+            ps.setLong(10, r.getSchoolId());
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    private Date toDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+}
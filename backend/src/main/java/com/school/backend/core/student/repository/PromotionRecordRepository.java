@@ -3,6 +3,7 @@ package com.school.backend.core.student.repository;
 import com.school.backend.core.student.entity.PromotionRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PromotionRecordRepository extends JpaRepository<PromotionRecord, Long> {
@@ -10,4 +11,7 @@ public interface PromotionRecordRepository extends JpaRepository<PromotionRecord
     List<PromotionRecord> findByStudentIdOrderByPromotedAtAsc(Long studentId);
 
     List<PromotionRecord> findByStudentIdAndSchoolIdOrderByPromotedAtAsc(Long studentId, Long schoolId);
+
+    List<PromotionRecord> findByStudentIdInAndTargetSessionIdOrderByIdAsc(Collection<Long> studentIds,
+            Long targetSessionId);
 }
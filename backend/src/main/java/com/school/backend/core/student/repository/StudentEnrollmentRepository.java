@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,9 @@ public interface StudentEnrollmentRepository extends JpaRepository<StudentEnroll
 
   Optional<StudentEnrollment> findFirstByStudentIdAndSessionIdAndActiveTrue(Long studentId, Long sessionId);
 
+  List<StudentEnrollment> findByStudentIdInAndSessionIdInAndActiveTrueOrderByIdAsc(
+      Collection<Long> studentIds, Collection<Long> sessionIds);
+
   Page<StudentEnrollment> findByClassId(Long classId, Pageable pageable);
 
   Page<StudentEnrollment> findByClassIdAndSessionId(Long classId, Long sessionId, Pageable pageable);
@@ -30,6 +34,9 @@ public interface StudentEnrollmentRepository extends JpaRepository<StudentEnroll
 
   List<StudentEnrollment> findByClassIdAndSessionId(Long classId, Long sessionId);
 
+  List<StudentEnrollment> findByClassIdAndSessionIdAndActiveTrueOrderByRollNumberAscStudentIdAsc(
+      Long classId, Long sessionId);
+
   long countBySchoolIdAndSessionIdAndActiveTrue(Long schoolId, Long sessionId);
 
   long countByClassIdAndSessionIdAndActiveTrue(Long classId, Long sessionId);
@@ -42,6 +49,29 @@ public interface StudentEnrollmentRepository extends JpaRepository<StudentEnroll
       """)
   List<StudentEnrollment> findActiveByStudentIdForUpdate(@Param("studentId") Long studentId);
 
+  /**
+   * Locks the active enrollments of many students at once, in student order so
+   * concurrent batches acquire row locks in the same sequence.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+      select e from StudentEnrollment e
+      where e.studentId in :studentIds
+        and e.active = true
+      order by e.studentId asc, e.id asc
+      """)
+  List<StudentEnrollment> findActiveByStudentIdInForUpdate(@Param("studentIds") Collection<Long> studentIds);
+
+  @Query("""
+      select distinct e.studentId from StudentEnrollment e
+      where e.classId = :classId
+        and e.sessionId = :sessionId
+        and e.active = true
+      order by e.studentId asc
+      """)
+  List<Long> findActiveStudentIdsByClassIdAndSessionId(@Param("classId") Long classId,
+      @Param("sessionId") Long sessionId);
+
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("""
       select e from StudentEnrollment e
@@ -57,6 +87,8 @@ public interface StudentEnrollmentRepository extends JpaRepository<StudentEnroll
 
   boolean existsByStudentIdAndSessionIdAndActiveTrue(Long studentId, Long sessionId);
 
+  boolean existsByStudentIdAndSessionId(Long studentId, Long sessionId);
+
   long countByStudentIdAndSessionIdAndSchoolIdAndActiveTrue(Long studentId, Long sessionId, Long schoolId);
 
 }
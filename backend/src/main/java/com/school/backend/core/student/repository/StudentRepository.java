@@ -1,5 +1,6 @@
 package com.school.backend.core.student.repository;
 
+import com.school.backend.core.student.dto.StudentListRow;
 import com.school.backend.core.student.entity.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,32 +8,113 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
-  @Query("""
-      select s from Student s
-      join StudentEnrollment e on s.id = e.studentId
+  /**
+   * Students of a class with their current enrollment in the session, the one
+   * with the highest id. Unordered so callers can sort on student fields.
+   */
+  @Query(value = """
+      select new com.school.backend.core.student.dto.StudentListRow(
+          s, e.active, e.classId, c.name, e.section, e.rollNumber)
+      from Student s
+      join StudentEnrollment e on e.studentId = s.id
+      left join SchoolClass c on c.id = e.classId
       where e.classId = :classId
-        and e.sessionId = :sessionId""")
-  Page<Student> findByClassIdAndSessionId(@Param("classId") Long classId,
+        and e.sessionId = :sessionId
+        and not exists (
+          select 1 from StudentEnrollment n
+          where n.studentId = e.studentId
+            and n.sessionId = e.sessionId
+            and n.id > e.id)""", countQuery = """
+      select count(e) from StudentEnrollment e
+      where e.classId = :classId
+        and e.sessionId = :sessionId
+        and not exists (
+          select 1 from StudentEnrollment n
+          where n.studentId = e.studentId
+            and n.sessionId = e.sessionId
+            and n.id > e.id)""")
+  Page<StudentListRow> findListRowsByClass(@Param("classId") Long classId,
       @Param("sessionId") Long sessionId,
       Pageable pageable);
 
   Page<Student> findBySchoolId(Long schoolId, Pageable pageable);
 
-  @Query("""
-      select distinct s from Student s
-      join StudentEnrollment e on s.id = e.studentId
-      where s.schoolId = :schoolId
-        and e.sessionId = :sessionId""")
-  Page<Student> findBySchoolIdAndSessionId(@Param("schoolId") Long schoolId,
+  /**
+   * Students enrolled in the session, one row each for their current
+   * enrollment, ordered by (class, roll, id).
+   */
+  @Query(value = """
+      select new com.school.backend.core.student.dto.StudentListRow(
+          s, e.active, e.classId, c.name, e.section, e.rollNumber)
+      from Student s
+      join StudentEnrollment e on e.studentId = s.id
+      left join SchoolClass c on c.id = e.classId
+      where e.schoolId = :schoolId
+        and e.sessionId = :sessionId
+        and not exists (
+          select 1 from StudentEnrollment n
+          where n.studentId = e.studentId
+            and n.sessionId = e.sessionId
+            and n.id > e.id)
+      order by e.classId, e.rollNumber nulls last, s.id""", countQuery = """
+      select count(e) from StudentEnrollment e
+      where e.schoolId = :schoolId
+        and e.sessionId = :sessionId
+        and not exists (
+          select 1 from StudentEnrollment n
+          where n.studentId = e.studentId
+            and n.sessionId = e.sessionId
+            and n.id > e.id)""")
+  Page<StudentListRow> findListRowsBySession(@Param("schoolId") Long schoolId,
       @Param("sessionId") Long sessionId,
       Pageable pageable);
 
+  /**
+   * Keyset page of {@link #findListRowsBySession}, optionally limited to one
+   * class: the rows after the cursor {@code (afterClassId, afterRoll, afterId)}
+   * in (class, roll, id) order, rolls without a number sorting last. The
+   * redundant {@code e.classId >= :afterClassId} bound lets the
+   * {@code idx_enroll_list_keyset} range scan start at the cursor, so deep
+   * pages cost the same as the first. Pass a null {@code afterId} for the first
+   * page.
+   */
+  @Query("""
+      select new com.school.backend.core.student.dto.StudentListRow(
+          s, e.active, e.classId, c.name, e.section, e.rollNumber)
+      from Student s
+      join StudentEnrollment e on e.studentId = s.id
+      left join SchoolClass c on c.id = e.classId
+      where e.schoolId = :schoolId
+        and e.sessionId = :sessionId
+        and (:classId is null or e.classId = :classId)
+        and not exists (
+          select 1 from StudentEnrollment n
+          where n.studentId = e.studentId
+            and n.sessionId = e.sessionId
+            and n.id > e.id)
+        and (:afterId is null
+          or (e.classId >= :afterClassId
+            and (e.classId > :afterClassId
+              or (:afterRoll is not null
+                and (e.rollNumber > :afterRoll
+                  or e.rollNumber is null
+                  or (e.rollNumber = :afterRoll and s.id > :afterId)))
+              or (:afterRoll is null and e.rollNumber is null and s.id > :afterId)))))
+      order by e.classId, e.rollNumber nulls last, s.id""")
+  List<StudentListRow> findListRowsAfter(@Param("schoolId") Long schoolId,
+      @Param("sessionId") Long sessionId,
+      @Param("classId") Long classId,
+      @Param("afterClassId") Long afterClassId,
+      @Param("afterRoll") Integer afterRoll,
+      @Param("afterId") Long afterId,
+      Pageable limit);
+
   @Query("""
       select count(distinct s.id) from Student s
       join StudentEnrollment e on s.id = e.studentId
@@ -58,93 +140,68 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
       """)
   long countActiveStudentsInSession(@Param("schoolId") Long schoolId, @Param("sessionId") Long sessionId);
 
+  /**
+   * Grouped form of {@link #countActiveStudentsInSession} for many schools at
+   * once. Sessions belong to a single school, so matching enrollments against
+   * the set of current sessions counts each school in its own session only.
+   *
+   * @return {@code [schoolId, count]} rows; schools without active students are
+   *         absent
+   */
   @Query("""
-      SELECT COUNT(DISTINCT s.id)
-      FROM Student s
-      JOIN StudentEnrollment e ON s.id = e.studentId
-      WHERE s.schoolId = :schoolId
-        AND e.sessionId = :sessionId
-        AND (:classId IS NULL OR e.classId = :classId)
-        AND (:search IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%'))
-             OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%'))
-             OR LOWER(s.admissionNumber) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (
-             (SELECT COALESCE(SUM(a.amount), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             + (SELECT COALESCE(SUM(a.lateFeeAccrued), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.totalDiscountAmount), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.lateFeeWaived), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.principalPaid), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.lateFeePaid), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-            ) >= :minAmountDue
-        AND (:maxPaymentDate IS NULL OR COALESCE((SELECT MAX(p.paymentDate) FROM FeePayment p WHERE p.studentId = s.id AND p.sessionId = :sessionId), :sessionStart) <= :maxPaymentDate)
+      select s.schoolId, count(distinct s.id) from Student s
+      join StudentEnrollment e on s.id = e.studentId
+      where s.schoolId in :schoolIds
+        and s.active = true
+        and e.sessionId in :sessionIds
+        and e.active = true
+      group by s.schoolId
       """)
-  long countDefaulters(
-      @Param("schoolId") Long schoolId,
-      @Param("sessionId") Long sessionId,
-      @Param("classId") Long classId,
-      @Param("search") String search,
-      @Param("minAmountDue") BigDecimal minAmountDue,
-      @Param("maxPaymentDate") LocalDate maxPaymentDate,
-      @Param("sessionStart") LocalDate sessionStart);
+  List<Object[]> countActiveStudentsInSessionsGroupedBySchool(@Param("schoolIds") Collection<Long> schoolIds,
+      @Param("sessionIds") Collection<Long> sessionIds);
+
+  @Query("select s.id from Student s where s.id in :ids")
+  java.util.List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
 
   @Query("""
-      SELECT s.id, s.firstName, s.lastName, s.admissionNumber, s.contactNumber, c.name, c.section,
-             (SELECT COALESCE(SUM(a.amount), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true),
-             (SELECT COALESCE(SUM(a.lateFeeAccrued), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true),
-             (SELECT COALESCE(SUM(a.totalDiscountAmount), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true),
-             (SELECT COALESCE(SUM(a.lateFeeWaived), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true),
-             (SELECT COALESCE(SUM(a.principalPaid), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true),
-             (SELECT COALESCE(SUM(a.lateFeePaid), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true),
-             (SELECT MAX(p.paymentDate) FROM FeePayment p WHERE p.studentId = s.id AND p.sessionId = :sessionId)
+      SELECT s.id, s.firstName, s.lastName, s.admissionNumber, s.contactNumber, e.classId, c.name, c.section,
+             lp.lastPaymentDate, e.active
       FROM Student s
       JOIN StudentEnrollment e ON s.id = e.studentId
       LEFT JOIN SchoolClass c ON e.classId = c.id
+      LEFT JOIN (
+          SELECT p.studentId AS studentId, MAX(p.paymentDate) AS lastPaymentDate
+          FROM FeePayment p
+          WHERE p.schoolId = :schoolId
+            AND p.sessionId = :sessionId
+          GROUP BY p.studentId) lp ON lp.studentId = s.id
       WHERE s.schoolId = :schoolId
         AND e.sessionId = :sessionId
-        AND (:classId IS NULL OR e.classId = :classId)
-        AND (:search IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%'))
-             OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%'))
-             OR LOWER(s.admissionNumber) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (
-             (SELECT COALESCE(SUM(a.amount), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             + (SELECT COALESCE(SUM(a.lateFeeAccrued), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.totalDiscountAmount), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.lateFeeWaived), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.principalPaid), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-             - (SELECT COALESCE(SUM(a.lateFeePaid), 0) FROM StudentFeeAssignment a WHERE a.studentId = s.id AND a.sessionId = :sessionId AND a.active = true)
-            ) >= :minAmountDue
-        AND (:maxPaymentDate IS NULL OR COALESCE((SELECT MAX(p.paymentDate) FROM FeePayment p WHERE p.studentId = s.id AND p.sessionId = :sessionId), :sessionStart) <= :maxPaymentDate)
       """)
-  Page<Object[]> findDefaulterDetails(
+  java.util.List<Object[]> findDefaulterIndexRows(
       @Param("schoolId") Long schoolId,
-      @Param("sessionId") Long sessionId,
-      @Param("classId") Long classId,
-      @Param("search") String search,
-      @Param("minAmountDue") BigDecimal minAmountDue,
-      @Param("maxPaymentDate") LocalDate maxPaymentDate,
-      @Param("sessionStart") LocalDate sessionStart,
-      Pageable pageable);
+      @Param("sessionId") Long sessionId);
 
   @Query("""
-      SELECT s.id, s.firstName, s.lastName, s.admissionNumber, s.contactNumber, c.name, c.section,
-             (SELECT MAX(p.paymentDate) FROM FeePayment p WHERE p.studentId = s.id AND p.sessionId = :sessionId)
+      SELECT s.id, s.firstName, s.lastName, s.admissionNumber, s.contactNumber, e.classId, c.name, c.section,
+             lp.lastPaymentDate, e.active
       FROM Student s
       JOIN StudentEnrollment e ON s.id = e.studentId
       LEFT JOIN SchoolClass c ON e.classId = c.id
+      LEFT JOIN (
+          SELECT p.studentId AS studentId, MAX(p.paymentDate) AS lastPaymentDate
+          FROM FeePayment p
+          WHERE p.schoolId = :schoolId
+            AND p.sessionId = :sessionId
+            AND p.studentId IN :studentIds
+          GROUP BY p.studentId) lp ON lp.studentId = s.id
       WHERE s.schoolId = :schoolId
         AND e.sessionId = :sessionId
-        AND (:classId IS NULL OR e.classId = :classId)
-        AND (:search IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%'))
-             OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%'))
-             OR LOWER(s.admissionNumber) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:maxPaymentDate IS NULL OR COALESCE((SELECT MAX(p.paymentDate) FROM FeePayment p WHERE p.studentId = s.id AND p.sessionId = :sessionId), :sessionStart) <= :maxPaymentDate)
+        AND s.id IN :studentIds
       """)
-  java.util.List<Object[]> findDefaulterCandidates(
+  java.util.List<Object[]> findDefaulterIndexRowsByStudentIds(
       @Param("schoolId") Long schoolId,
       @Param("sessionId") Long sessionId,
-      @Param("classId") Long classId,
-      @Param("search") String search,
-      @Param("maxPaymentDate") LocalDate maxPaymentDate,
-      @Param("sessionStart") LocalDate sessionStart);
+      @Param("studentIds") Collection<Long> studentIds);
 
 }
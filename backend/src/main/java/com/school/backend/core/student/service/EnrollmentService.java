@@ -1,5 +1,6 @@
 package com.school.backend.core.student.service;
 
+import com.school.backend.common.enums.DashboardCounterType;
 import com.school.backend.common.enums.StudentStatus;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
@@ -16,6 +17,7 @@ import com.school.backend.core.student.repository.StudentRepository;
 import com.school.backend.fee.entity.FeeStructure;
 import com.school.backend.fee.repository.FeeStructureRepository;
 import com.school.backend.fee.service.FeeStructureService;
+import com.school.backend.platform.dashboard.DashboardCounterService;
 import com.school.backend.school.service.SubscriptionAccessService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -38,6 +40,7 @@ public class EnrollmentService {
     private final FeeStructureService feeStructureService;
     private final FeeStructureRepository feeStructureRepository;
     private final SubscriptionAccessService subscriptionAccessService;
+    private final DashboardCounterService dashboardCounterService;
 
     @Transactional
     public StudentEnrollmentDto enroll(StudentEnrollmentRequest req) {
@@ -67,9 +70,15 @@ public class EnrollmentService {
         // Cap enforcement for active students (active + enrolled in current session).
         subscriptionAccessService.validateStudentCreationAllowed(schoolId);
 
+        // The dashboard counts distinct students with any enrollment in the session
+        boolean firstInSession = !enrollmentRepository.existsByStudentIdAndSessionId(req.getStudentId(), sessionId);
+
         StudentEnrollment ent = enrollmentMapper.toEntity(req);
         ent.setEnrollmentDate(req.getEnrollmentDate() != null ? req.getEnrollmentDate() : LocalDate.now());
         StudentEnrollment saved = enrollmentRepository.save(ent);
+        if (firstInSession) {
+            dashboardCounterService.addSession(schoolId, sessionId, DashboardCounterType.STUDENTS, 1);
+        }
 
         // update student's currentClass reference
         studentRepository.findById(req.getStudentId()).ifPresent(s -> {
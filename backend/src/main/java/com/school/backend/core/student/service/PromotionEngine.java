@@ -0,0 +1,175 @@
+package com.school.backend.core.student.service;
+
+import com.school.backend.common.enums.AdmissionType;
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.common.enums.PromotionType;
+import com.school.backend.common.exception.InvalidOperationException;
+import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.core.student.entity.PromotionRecord;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.core.student.repository.PromotionJdbcRepository;
+import com.school.backend.core.student.repository.PromotionRecordRepository;
+import com.school.backend.core.student.repository.StudentEnrollmentRepository;
+import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.platform.dashboard.DashboardCounterService;
+import com.school.backend.testmanagement.repository.ExamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Promotes a set of students into one target class in a single pass.
+ * <p>
+ * All active enrollments are locked with one ordered query, exam locks are
+ * checked once per distinct source (session, class), the old enrollments are
+ * closed with one flushed batch update and the new enrollments and promotion
+ * records are written with JDBC batch inserts. Any validation failure rejects
+ * the whole set before anything is written.
+ */
+@Component
+@RequiredArgsConstructor
+public class PromotionEngine {
+
+    private final StudentRepository studentRepository;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final PromotionRecordRepository promotionRecordRepository;
+    private final PromotionJdbcRepository promotionJdbcRepository;
+    private final ExamRepository examRepository;
+    private final DashboardCounterService dashboardCounterService;
+
+    /**
+     * Where the students are promoted to, resolved and validated by the caller.
+     */
+    public record PromotionTarget(Long sessionId, Long classId, String section, PromotionType promotionType,
+            String remarks, String promotedBy) {
+    }
+
+    private record ClassKey(Long sessionId, Long classId) {
+    }
+
+    /**
+     * @return the created promotion records in request order; students already
+     *         enrolled in the target class are left unchanged and omitted
+     */
+    @Transactional
+    public List<PromotionRecord> promote(PromotionTarget target, Collection<Long> studentIds) {
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> existingStudents = new HashSet<>(studentRepository.findIdsByIdIn(requested));
+        for (Long studentId : requested) {
+            if (!existingStudents.contains(studentId)) {
+                throw new ResourceNotFoundException("Student not found: " + studentId);
+            }
+        }
+
+        Map<Long, List<StudentEnrollment>> activeByStudent = studentEnrollmentRepository
+                .findActiveByStudentIdInForUpdate(requested)
+                .stream()
+                .collect(Collectors.groupingBy(StudentEnrollment::getStudentId));
+
+        List<StudentEnrollment> toClose = new ArrayList<>();
+        Set<ClassKey> sourceClasses = new LinkedHashSet<>();
+        for (Long studentId : requested) {
+            List<StudentEnrollment> active = activeByStudent.getOrDefault(studentId, List.of());
+            if (active.size() != 1) {
+                throw new InvalidOperationException(
+                        "Student must have exactly one active enrollment. Please verify the student's enrollment status.");
+            }
+            StudentEnrollment current = active.get(0);
+            boolean alreadyAtTarget = target.sessionId().equals(current.getSessionId())
+                    && target.classId().equals(current.getClassId());
+            if (!alreadyAtTarget) {
+                toClose.add(current);
+                sourceClasses.add(new ClassKey(current.getSessionId(), current.getClassId()));
+            }
+        }
+        if (toClose.isEmpty()) {
+            return List.of();
+        }
+
+        for (ClassKey source : sourceClasses) {
+            if (examRepository.countNonLockedBySessionIdAndClassId(source.sessionId(), source.classId()) > 0) {
+                throw new InvalidOperationException(
+                        "All exams must be LOCKED for the current session/class before a student can be promoted. Please lock all exams first.");
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        AdmissionType admissionType = target.promotionType() == PromotionType.REPEAT
+                ? AdmissionType.REPEAT
+                : AdmissionType.PROMOTION;
+
+        List<StudentEnrollment> newEnrollments = new ArrayList<>(toClose.size());
+        List<PromotionRecord> records = new ArrayList<>(toClose.size());
+        for (StudentEnrollment current : toClose) {
+            newEnrollments.add(StudentEnrollment.builder()
+                    .studentId(current.getStudentId())
+                    .classId(target.classId())
+                    .section(target.section())
+                    .sessionId(target.sessionId())
+                    .rollNumber(null)
+                    .enrollmentDate(today)
+                    .startDate(today)
+                    .active(true)
+                    .admissionType(admissionType)
+                    .remarks(target.remarks())
+                    .schoolId(current.getSchoolId())
+                    .build());
+            records.add(PromotionRecord.builder()
+                    .studentId(current.getStudentId())
+                    .sourceSessionId(current.getSessionId())
+                    .targetSessionId(target.sessionId())
+                    .sourceClassId(current.getClassId())
+                    .targetClassId(target.classId())
+                    .promotionType(target.promotionType())
+                    .remarks(target.remarks())
+                    .promotedBy(target.promotedBy())
+                    .promotedAt(now)
+                    .schoolId(current.getSchoolId())
+                    .build());
+            current.setActive(false);
+            current.setEndDate(today);
+        }
+
+        // The closing updates must reach the database before the inserts: a
+        // repeat in the same session would otherwise hit uk_student_session.
+        studentEnrollmentRepository.saveAllAndFlush(toClose);
+        promotionJdbcRepository.insertEnrollments(newEnrollments);
+        promotionJdbcRepository.insertPromotionRecords(records);
+
+        // Students moving in from another session are new to the target session's count
+        long joinedTargetSession = toClose.stream()
+                .filter(current -> !target.sessionId().equals(current.getSessionId()))
+                .count();
+        dashboardCounterService.addSession(toClose.get(0).getSchoolId(), target.sessionId(),
+                DashboardCounterType.STUDENTS, joinedTargetSession);
+
+        return reloadRecords(records, target.sessionId());
+    }
+
+    private List<PromotionRecord> reloadRecords(List<PromotionRecord> inserted, Long targetSessionId) {
+        List<Long> studentIds = inserted.stream().map(PromotionRecord::getStudentId).toList();
+        Map<Long, PromotionRecord> latest = new HashMap<>();
+        for (PromotionRecord r : promotionRecordRepository.findByStudentIdInAndTargetSessionIdOrderByIdAsc(
+                studentIds, targetSessionId)) {
+            latest.put(r.getStudentId(), r);
+        }
+        return studentIds.stream().map(latest::get).toList();
+    }
+}
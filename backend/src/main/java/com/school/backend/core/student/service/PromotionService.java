@@ -1,42 +1,63 @@
 package com.school.backend.core.student.service;
 
-import com.school.backend.common.enums.AdmissionType;
-import com.school.backend.common.enums.PromotionType;
+import com.school.backend.common.enums.PromotionRunStatus;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.core.classsubject.entity.SchoolClass;
 import com.school.backend.core.classsubject.repository.SchoolClassRepository;
+import com.school.backend.core.student.dto.PromotionProgressDto;
 import com.school.backend.core.student.dto.PromotionRequest;
+import com.school.backend.core.student.dto.SchoolPromotionRequest;
 import com.school.backend.core.student.entity.PromotionRecord;
-import com.school.backend.core.student.entity.StudentEnrollment;
-import com.school.backend.core.student.repository.PromotionRecordRepository;
 import com.school.backend.core.student.repository.StudentEnrollmentRepository;
-import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.core.student.service.PromotionEngine.PromotionTarget;
 import com.school.backend.school.repository.AcademicSessionRepository;
 import com.school.backend.testmanagement.repository.ExamRepository;
 import com.school.backend.user.security.SecurityUtil;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class PromotionService {
 
-    private final StudentRepository studentRepository;
     private final StudentEnrollmentRepository studentEnrollmentRepository;
-    private final PromotionRecordRepository promotionRecordRepository;
     private final AcademicSessionRepository academicSessionRepository;
     private final SchoolClassRepository schoolClassRepository;
     private final ExamRepository examRepository;
+    private final PromotionEngine promotionEngine;
+    private final int chunkSize;
+
+    // Latest school-wide run per school, polled by the progress endpoint
+    private final Map<Long, PromotionProgressDto> schoolRuns = new ConcurrentHashMap<>();
+
+    public PromotionService(
+            StudentEnrollmentRepository studentEnrollmentRepository,
+            AcademicSessionRepository academicSessionRepository,
+            SchoolClassRepository schoolClassRepository,
+            ExamRepository examRepository,
+            PromotionEngine promotionEngine,
+            @Value("${promotion.school-run.chunk-size:500}") int chunkSize) {
+        this.studentEnrollmentRepository = studentEnrollmentRepository;
+        this.academicSessionRepository = academicSessionRepository;
+        this.schoolClassRepository = schoolClassRepository;
+        this.examRepository = examRepository;
+        this.promotionEngine = promotionEngine;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
 
     @Transactional
     public List<PromotionRecord> promoteStudents(@NonNull PromotionRequest request) {
@@ -56,91 +77,146 @@ public class PromotionService {
             throw new InvalidOperationException("targetClass must belong to targetSession");
         }
 
-        LocalDate today = LocalDate.now();
-        LocalDateTime now = LocalDateTime.now();
-        String promotedBy = SecurityUtil.current().getUsername();
-        AdmissionType admissionType = mapAdmissionType(request.getPromotionType());
-
-        Set<Long> uniqueStudentIds = new LinkedHashSet<>(request.getStudentIds());
-        List<PromotionRecord> promotionRecords = new ArrayList<>();
-        for (Long studentId : uniqueStudentIds) {
-            PromotionRecord record = processSingleStudent(studentId, request, targetClass, today, now, promotedBy,
-                    admissionType);
-            if (record != null) {
-                promotionRecords.add(record);
-            }
-        }
-        return promotionRecords;
+        PromotionTarget target = new PromotionTarget(request.getTargetSessionId(), request.getTargetClassId(),
+                targetClass.getSection(), request.getPromotionType(), request.getRemarks(),
+                SecurityUtil.current().getUsername());
+        return promotionEngine.promote(target, request.getStudentIds());
     }
 
-    private PromotionRecord processSingleStudent(Long studentId,
-                                                 PromotionRequest request,
-                                                 SchoolClass targetClass,
-                                                 LocalDate today,
-                                                 LocalDateTime now,
-                                                 String promotedBy,
-                                                 AdmissionType admissionType) {
-        if (!studentRepository.existsById(studentId)) {
-            throw new ResourceNotFoundException("Student not found: " + studentId);
+    /**
+     * Promotes every active student of the mapped source classes. Each chunk of
+     * up to {@code promotion.school-run.chunk-size} students commits in its own transaction so
+     * locks are held briefly; a failed run can simply be repeated because
+     * promoted students no longer have an active enrollment in the source class.
+     * Progress is available from {@link #getSchoolPromotionProgress} while the
+     * run is in flight.
+     */
+    public PromotionProgressDto promoteSchool(@NonNull SchoolPromotionRequest request) {
+        Long schoolId = requireSchoolId();
+        String promotedBy = SecurityUtil.current().getUsername();
+
+        if (!academicSessionRepository.existsById(request.getSourceSessionId())) {
+            throw new ResourceNotFoundException("Source session not found: " + request.getSourceSessionId());
+        }
+        if (!academicSessionRepository.existsById(request.getTargetSessionId())) {
+            throw new ResourceNotFoundException("Target session not found: " + request.getTargetSessionId());
         }
 
-        List<StudentEnrollment> activeEnrollments = studentEnrollmentRepository
-                .findActiveByStudentIdForUpdate(studentId);
-        if (activeEnrollments.size() != 1) {
-            throw new InvalidOperationException(
-                    "Student must have exactly one active enrollment. Please verify the student's enrollment status.");
+        List<SchoolPromotionRequest.ClassMapping> mappings = request.getClassMappings();
+        Set<Long> classIds = new HashSet<>();
+        Set<Long> sourceClassIds = new HashSet<>();
+        for (SchoolPromotionRequest.ClassMapping mapping : mappings) {
+            if (!sourceClassIds.add(mapping.getSourceClassId())) {
+                throw new InvalidOperationException("Source class mapped more than once: " + mapping.getSourceClassId());
+            }
+            classIds.add(mapping.getSourceClassId());
+            classIds.add(mapping.getTargetClassId());
+        }
+        Map<Long, SchoolClass> classes = schoolClassRepository.findAllById(classIds).stream()
+                .collect(Collectors.toMap(SchoolClass::getId, Function.identity()));
+
+        // Validate everything before the first chunk commits
+        List<PromotionBatch> batches = new ArrayList<>(mappings.size());
+        int totalStudents = 0;
+        for (SchoolPromotionRequest.ClassMapping mapping : mappings) {
+            SchoolClass source = requireClass(classes, mapping.getSourceClassId(), "Source");
+            SchoolClass target = requireClass(classes, mapping.getTargetClassId(), "Target");
+            if (!request.getSourceSessionId().equals(source.getSessionId())) {
+                throw new InvalidOperationException("sourceClass must belong to sourceSession: " + source.getId());
+            }
+            if (!request.getTargetSessionId().equals(target.getSessionId())) {
+                throw new InvalidOperationException("targetClass must belong to targetSession: " + target.getId());
+            }
+            if (examRepository.countNonLockedBySessionIdAndClassId(source.getSessionId(), source.getId()) > 0) {
+                throw new InvalidOperationException(
+                        "All exams must be LOCKED for class " + source.getName() + " before it can be promoted. Please lock all exams first.");
+            }
+            List<Long> studentIds = studentEnrollmentRepository
+                    .findActiveStudentIdsByClassIdAndSessionId(source.getId(), source.getSessionId());
+            totalStudents += studentIds.size();
+            batches.add(new PromotionBatch(new PromotionTarget(target.getSessionId(), target.getId(),
+                    target.getSection(), request.getPromotionType(), request.getRemarks(), promotedBy), studentIds));
         }
 
-        StudentEnrollment currentEnrollment = activeEnrollments.get(0);
+        PromotionProgressDto progress = startRun(schoolId, mappings.size(), totalStudents);
+        try {
+            for (PromotionBatch batch : batches) {
+                List<Long> studentIds = batch.studentIds();
+                for (int from = 0; from < studentIds.size(); from += chunkSize) {
+                    List<Long> chunk = studentIds.subList(from, Math.min(from + chunkSize, studentIds.size()));
+                    int promoted = promotionEngine.promote(batch.target(), chunk).size();
+                    progress = progress.toBuilder()
+                            .processedStudents(progress.getProcessedStudents() + chunk.size())
+                            .promotedCount(progress.getPromotedCount() + promoted)
+                            .build();
+                    schoolRuns.put(schoolId, progress);
+                }
+                progress = progress.toBuilder().completedClasses(progress.getCompletedClasses() + 1).build();
+                schoolRuns.put(schoolId, progress);
+            }
+            progress = progress.toBuilder()
+                    .status(PromotionRunStatus.COMPLETED)
+                    .finishedAt(LocalDateTime.now())
+                    .build();
+            schoolRuns.put(schoolId, progress);
+            log.info("event=school_promotion_completed schoolId={} classes={} students={} promoted={}",
+                    schoolId, progress.getTotalClasses(), progress.getTotalStudents(), progress.getPromotedCount());
+            return progress;
+        } catch (RuntimeException ex) {
+            schoolRuns.put(schoolId, progress.toBuilder()
+                    .status(PromotionRunStatus.FAILED)
+                    .finishedAt(LocalDateTime.now())
+                    .errorMessage(ex.getMessage())
+                    .build());
+            log.warn("event=school_promotion_failed schoolId={} processed={} error={}",
+                    schoolId, progress.getProcessedStudents(), ex.getMessage());
+            throw ex;
+        }
+    }
 
-        boolean alreadyAtTarget = request.getTargetSessionId().equals(currentEnrollment.getSessionId())
-                && request.getTargetClassId().equals(currentEnrollment.getClassId());
-        if (alreadyAtTarget) {
-            return null;
+    public PromotionProgressDto getSchoolPromotionProgress() {
+        PromotionProgressDto progress = schoolRuns.get(requireSchoolId());
+        if (progress == null) {
+            throw new ResourceNotFoundException("No school promotion has been run");
         }
+        return progress;
+    }
 
-        long nonLockedExamCount = examRepository.countNonLockedBySessionIdAndClassId(
-                currentEnrollment.getSessionId(), currentEnrollment.getClassId());
-        if (nonLockedExamCount > 0) {
-            throw new InvalidOperationException(
-                    "All exams must be LOCKED for the current session/class before a student can be promoted. Please lock all exams first.");
+    // Platform admins act on a school only through the X-School-Id header
+    private Long requireSchoolId() {
+        Long schoolId = SecurityUtil.schoolId();
+        if (schoolId == null) {
+            throw new InvalidOperationException("School context is missing in request");
         }
+        return schoolId;
+    }
 
-        currentEnrollment.setActive(false);
-        currentEnrollment.setEndDate(today);
-        studentEnrollmentRepository.save(currentEnrollment);
-
-        StudentEnrollment newEnrollment = StudentEnrollment.builder()
-                .studentId(studentId)
-                .classId(request.getTargetClassId())
-                .section(targetClass.getSection())
-                .sessionId(request.getTargetSessionId())
-                .rollNumber(null)
-                .enrollmentDate(today)
-                .startDate(today)
-                .active(true)
-                .admissionType(admissionType)
-                .remarks(request.getRemarks())
-                .schoolId(currentEnrollment.getSchoolId())
-                .build();
-        studentEnrollmentRepository.save(newEnrollment);
-
-        PromotionRecord promotionRecord = PromotionRecord.builder()
-                .studentId(studentId)
-                .sourceSessionId(currentEnrollment.getSessionId())
-                .targetSessionId(request.getTargetSessionId())
-                .sourceClassId(currentEnrollment.getClassId())
-                .targetClassId(request.getTargetClassId())
-                .promotionType(request.getPromotionType())
-                .remarks(request.getRemarks())
-                .promotedBy(promotedBy)
-                .promotedAt(now)
-                .schoolId(currentEnrollment.getSchoolId())
+    private record PromotionBatch(PromotionTarget target, List<Long> studentIds) {
+    }
+
+    private PromotionProgressDto startRun(Long schoolId, int totalClasses, int totalStudents) {
+        PromotionProgressDto started = PromotionProgressDto.builder()
+                .schoolId(schoolId)
+                .status(PromotionRunStatus.RUNNING)
+                .totalClasses(totalClasses)
+                .totalStudents(totalStudents)
+                .startedAt(LocalDateTime.now())
                 .build();
-        return promotionRecordRepository.save(promotionRecord);
+        PromotionProgressDto previous = schoolRuns.compute(schoolId,
+                (id, current) -> current != null && current.getStatus() == PromotionRunStatus.RUNNING
+                        ? current
+                        : started);
+        if (previous != started) {
+            throw new InvalidOperationException("A school promotion is already running");
+        }
+        return started;
     }
 
-    private AdmissionType mapAdmissionType(PromotionType promotionType) {
-        return promotionType == PromotionType.REPEAT ? AdmissionType.REPEAT : AdmissionType.PROMOTION;
+    private SchoolClass requireClass(Map<Long, SchoolClass> classes, Long classId, String role) {
+        SchoolClass schoolClass = classes.get(classId);
+        if (schoolClass == null) {
+            throw new ResourceNotFoundException(role + " class not found: " + classId);
+        }
+        return schoolClass;
     }
 }
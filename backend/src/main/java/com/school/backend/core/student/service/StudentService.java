@@ -1,5 +1,8 @@
 package com.school.backend.core.student.service;
 
+import com.school.backend.common.dto.KeysetPage;
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.common.exception.BusinessException;
 import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.tenant.SessionContext;
@@ -10,6 +13,7 @@ import com.school.backend.core.guardian.service.GuardianService;
 import com.school.backend.core.student.dto.StudentCreateRequest;
 import com.school.backend.core.student.dto.StudentDto;
 import com.school.backend.core.student.dto.StudentGuardianDto;
+import com.school.backend.core.student.dto.StudentListRow;
 import com.school.backend.core.student.dto.StudentUpdateRequest;
 import com.school.backend.core.student.entity.Student;
 import com.school.backend.core.student.entity.StudentGuardian;
@@ -17,10 +21,12 @@ import com.school.backend.core.student.mapper.StudentMapper;
 import com.school.backend.core.student.repository.StudentEnrollmentRepository;
 import com.school.backend.core.student.repository.StudentGuardianRepository;
 import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.platform.dashboard.DashboardCounterService;
 import com.school.backend.school.service.SubscriptionAccessService;
 import com.school.backend.school.service.SetupValidationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -36,6 +42,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StudentService {
 
+    private static final int MAX_SCROLL_SIZE = 500;
+
     private final StudentRepository repository;
     private final StudentMapper mapper;
     private final SetupValidationService setupValidationService;
@@ -43,6 +51,7 @@ public class StudentService {
     private final StudentGuardianRepository studentGuardianRepository;
     private final StudentEnrollmentRepository enrollmentRepository;
     private final SubscriptionAccessService subscriptionAccessService;
+    private final DashboardCounterService dashboardCounterService;
 
     private static void updateStudentDetails(StudentUpdateRequest req, Student existing) {
         if (req.getFirstName() != null)
@@ -200,6 +209,7 @@ public class StudentService {
 
         Student ent = mapper.toEntity(req);
         Student saved = repository.save(ent);
+        dashboardCounterService.addPlatform(DashboardCounterType.STUDENTS, 1);
 
         linkGuardians(saved.getId(), schoolId, req.getGuardians());
 
@@ -321,9 +331,8 @@ public class StudentService {
         Long sessionId = requireSessionId();
 
         return repository
-                .findByClassIdAndSessionId(classId, sessionId, pageable)
-                .map(s -> mapper.toDto(s,
-                        enrollmentRepository.existsByStudentIdAndSessionIdAndActiveTrue(s.getId(), sessionId)));
+                .findListRowsByClass(classId, sessionId, pageable)
+                .map(mapper::toDto);
     }
 
     @Transactional(readOnly = true)
@@ -341,9 +350,63 @@ public class StudentService {
     @Transactional(readOnly = true)
     public Page<StudentDto> listBySchool(Long schoolId, Pageable pageable) {
         Long sessionId = requireSessionId();
-        return repository.findBySchoolIdAndSessionId(schoolId, sessionId, pageable)
-                .map(s -> mapper.toDto(s,
-                        enrollmentRepository.existsByStudentIdAndSessionIdAndActiveTrue(s.getId(), sessionId)));
+        return repository.findListRowsBySession(schoolId, sessionId, pageable)
+                .map(mapper::toDto);
+    }
+
+    /**
+     * Reads the session's students in (class, roll, id) order, continuing after
+     * {@code cursor}. Unlike {@link #listBySchool} the cost of a page does not
+     * grow with its depth, so large schools can be walked end to end.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<StudentDto> scrollBySchool(Long schoolId, Long classId, String cursor, int size) {
+        Long sessionId = requireSessionId();
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        ListCursor after = ListCursor.parse(cursor);
+
+        List<StudentListRow> rows = repository.findListRowsAfter(schoolId, sessionId, classId,
+                after == null ? null : after.classId(),
+                after == null ? null : after.rollNumber(),
+                after == null ? null : after.studentId(),
+                PageRequest.of(0, limit + 1));
+
+        boolean hasMore = rows.size() > limit;
+        List<StudentListRow> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            StudentListRow last = page.get(page.size() - 1);
+            nextCursor = new ListCursor(last.classId(), last.rollNumber(), last.student().getId()).format();
+        }
+        return new KeysetPage<>(page.stream().map(mapper::toDto).toList(), page.size(), nextCursor, hasMore);
+    }
+
+    /**
+     * Position of the last row of a keyset page, {@code classId:roll:studentId}
+     * with an empty roll for students without one.
+     */
+    private record ListCursor(Long classId, Integer rollNumber, Long studentId) {
+
+        static ListCursor parse(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String[] parts = value.split(":", -1);
+            if (parts.length != 3) {
+                throw new BusinessException("Invalid cursor: " + value);
+            }
+            try {
+                return new ListCursor(Long.valueOf(parts[0]),
+                        parts[1].isEmpty() ? null : Integer.valueOf(parts[1]),
+                        Long.valueOf(parts[2]));
+            } catch (NumberFormatException ex) {
+                throw new BusinessException("Invalid cursor: " + value);
+            }
+        }
+
+        String format() {
+            return classId + ":" + (rollNumber == null ? "" : rollNumber) + ":" + studentId;
+        }
     }
 
     @Transactional
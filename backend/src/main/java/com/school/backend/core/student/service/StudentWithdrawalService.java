@@ -10,6 +10,7 @@ import com.school.backend.core.student.repository.StudentEnrollmentRepository;
 import com.school.backend.core.student.repository.StudentRepository;
 import com.school.backend.fee.entity.StudentFeeAssignment;
 import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
+import com.school.backend.fee.service.DefaulterIndexService;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.repository.AcademicSessionRepository;
 import com.school.backend.transport.repository.TransportEnrollmentRepository;
@@ -38,6 +39,7 @@ public class StudentWithdrawalService {
     private final StudentFeeAssignmentRepository assignmentRepository;
     private final TransportEnrollmentRepository transportEnrollmentRepository;
     private final TransportEnrollmentService transportEnrollmentService;
+    private final DefaulterIndexService defaulterIndexService;
 
     @Transactional
     public StudentWithdrawalResponse withdrawStudent(Long studentId, StudentWithdrawalRequest request) {
@@ -105,6 +107,7 @@ public class StudentWithdrawalService {
             transportEnrollmentService.unenrollStudent(enrollment.getStudentId(), enrollment.getSessionId());
             transportUnenrolled = true;
         }
+        defaulterIndexService.refreshStudent(schoolId, enrollment.getSessionId(), enrollment.getStudentId());
 
         String actorId = resolveActorId();
         log.info(
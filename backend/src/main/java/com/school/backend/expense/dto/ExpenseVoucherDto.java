@@ -24,6 +24,7 @@ public class ExpenseVoucherDto {
     private String description;
     private String referenceNumber;
     private Long sessionId;
+    private Long createdById;
     private String createdBy;
     private boolean active;
 }
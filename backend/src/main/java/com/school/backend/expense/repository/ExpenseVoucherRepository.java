@@ -1,6 +1,7 @@
 package com.school.backend.expense.repository;
 
 import com.school.backend.expense.dto.ExpenseHeadTotalDto;
+import com.school.backend.expense.dto.ExpenseVoucherDto;
 import com.school.backend.expense.entity.ExpenseVoucher;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -32,32 +33,51 @@ public interface ExpenseVoucherRepository extends JpaRepository<ExpenseVoucher,
       LocalDate startDate,
       LocalDate endDate);
 
-  List<ExpenseVoucher> findBySchoolIdAndSessionIdAndExpenseDateAndActiveTrueOrderByExpenseDateDescIdDesc(
-      Long schoolId,
-      Long sessionId,
-      LocalDate date);
-
   List<ExpenseVoucher> findBySchoolIdAndSessionIdAndExpenseDateBetweenAndActiveTrueOrderByExpenseDateDescIdDesc(
       Long schoolId,
       Long sessionId,
       LocalDate startDate,
       LocalDate endDate);
 
+  /**
+   * Listing rows with the head name and creator name joined in, so a listing
+   * is one query however many vouchers it returns. {@code createdBy} is null
+   * when the creator is not visible to the current tenant.
+   */
   @Query("""
-      SELECT v
+      SELECT new com.school.backend.expense.dto.ExpenseVoucherDto(
+          v.id, v.voucherNumber, v.expenseDate, h.id, h.name, v.amount, v.paymentMode,
+          v.description, v.referenceNumber, v.sessionId, v.createdBy, u.fullName, v.active)
       FROM ExpenseVoucher v
+      JOIN v.expenseHead h
+      LEFT JOIN User u ON u.id = v.createdBy
       WHERE v.schoolId = :schoolId
         AND v.sessionId = :sessionId
         AND v.active = true
-        AND YEAR(v.expenseDate) = :year
-        AND MONTH(v.expenseDate) = :month
       ORDER BY v.expenseDate DESC, v.id DESC
       """)
-  List<ExpenseVoucher> findMonthly(
+  List<ExpenseVoucherDto> findVoucherRows(
+      @Param("schoolId") Long schoolId,
+      @Param("sessionId") Long sessionId);
+
+  @Query("""
+      SELECT new com.school.backend.expense.dto.ExpenseVoucherDto(
+          v.id, v.voucherNumber, v.expenseDate, h.id, h.name, v.amount, v.paymentMode,
+          v.description, v.referenceNumber, v.sessionId, v.createdBy, u.fullName, v.active)
+      FROM ExpenseVoucher v
+      JOIN v.expenseHead h
+      LEFT JOIN User u ON u.id = v.createdBy
+      WHERE v.schoolId = :schoolId
+        AND v.sessionId = :sessionId
+        AND v.active = true
+        AND v.expenseDate BETWEEN :startDate AND :endDate
+      ORDER BY v.expenseDate DESC, v.id DESC
+      """)
+  List<ExpenseVoucherDto> findVoucherRowsByDateRange(
       @Param("schoolId") Long schoolId,
       @Param("sessionId") Long sessionId,
-      @Param("year") int year,
-      @Param("month") int month);
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
 
   @Query("""
       SELECT COALESCE(SUM(v.amount), 0)
@@ -1,8 +1,10 @@
 package com.school.backend.expense.service;
 
+import com.school.backend.common.enums.DocumentSequenceType;
 import com.school.backend.common.exception.BusinessException;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.common.sequence.DocumentSequenceAllocator;
 import com.school.backend.common.tenant.SessionContext;
 import com.school.backend.common.tenant.TenantContext;
 import com.school.backend.expense.dto.*;
@@ -11,11 +13,12 @@ import com.school.backend.expense.entity.ExpenseVoucher;
 import com.school.backend.expense.repository.ExpenseHeadRepository;
 import com.school.backend.expense.repository.ExpenseVoucherRepository;
 import com.school.backend.finance.repository.DayClosingRepository;
+import com.school.backend.finance.service.FinanceDailyRollupService;
+import com.school.backend.finance.service.FinanceDailyRollupService.DailyTotals;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.repository.AcademicSessionRepository;
-import com.school.backend.user.entity.User;
-import com.school.backend.user.repository.UserRepository;
 import com.school.backend.user.security.SecurityUtil;
+import com.school.backend.user.service.UserDisplayNameCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
@@ -23,19 +26,21 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class ExpenseService {
 
-    private final UserRepository userRepository;
+    private final UserDisplayNameCache userDisplayNameCache;
     private final ExpenseHeadRepository expenseHeadRepository;
     private final ExpenseVoucherRepository expenseVoucherRepository;
     private final AcademicSessionRepository academicSessionRepository;
     private final DayClosingRepository dayClosingRepository;
+    private final FinanceDailyRollupService financeDailyRollupService;
+    private final DocumentSequenceAllocator documentSequenceAllocator;
 
     @Transactional
     public ExpenseHeadDto createHead(ExpenseHeadCreateRequest req) {
@@ -92,7 +97,6 @@ public class ExpenseService {
             throw new InvalidOperationException("Date already closed");
         }
 
-        // Serialize voucher sequencing per school+session using session row lock
         if (!session.isActive()) {
             throw new InvalidOperationException("Cannot create voucher in inactive session");
         }
@@ -112,6 +116,8 @@ public class ExpenseService {
                     .active(true)
                     .schoolId(schoolId)
                     .build());
+            financeDailyRollupService.apply(schoolId, saved.getExpenseDate(),
+                    DailyTotals.expense(saved.getPaymentMode(), saved.getAmount()));
             return toVoucherDto(saved);
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalStateException("Failed to generate voucher number", ex);
@@ -123,16 +129,10 @@ public class ExpenseService {
         Long schoolId = TenantContext.getSchoolId();
         Long sessionId = requireSessionId();
 
-        List<ExpenseVoucher> vouchers = (date == null)
-                ? expenseVoucherRepository.findBySchoolIdAndSessionIdAndActiveTrueOrderByExpenseDateDescIdDesc(schoolId,
-                sessionId)
-                : expenseVoucherRepository
-                .findBySchoolIdAndSessionIdAndExpenseDateAndActiveTrueOrderByExpenseDateDescIdDesc(schoolId,
-                        sessionId, date);
-
-        return vouchers.stream()
-                .map(this::toVoucherDto)
-                .toList();
+        List<ExpenseVoucherDto> rows = (date == null)
+                ? expenseVoucherRepository.findVoucherRows(schoolId, sessionId)
+                : expenseVoucherRepository.findVoucherRowsByDateRange(schoolId, sessionId, date, date);
+        return withCreatorNames(rows);
     }
 
     @Transactional(readOnly = true)
@@ -142,9 +142,9 @@ public class ExpenseService {
         if (month < 1 || month > 12) {
             throw new BusinessException("Month must be between 1 and 12");
         }
-        return expenseVoucherRepository.findMonthly(schoolId, sessionId, year, month).stream()
-                .map(this::toVoucherDto)
-                .toList();
+        YearMonth period = YearMonth.of(year, month);
+        return withCreatorNames(expenseVoucherRepository.findVoucherRowsByDateRange(schoolId, sessionId,
+                period.atDay(1), period.atEndOfMonth()));
     }
 
     @Transactional(readOnly = true)
@@ -166,7 +166,11 @@ public class ExpenseService {
         ExpenseVoucher voucher = expenseVoucherRepository.findByIdAndSchoolId(id, schoolId)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense voucher not found: " + id));
         voucher.setActive(!voucher.isActive());
-        return toVoucherDto(expenseVoucherRepository.save(voucher));
+        ExpenseVoucher saved = expenseVoucherRepository.save(voucher);
+        BigDecimal delta = saved.isActive() ? saved.getAmount() : saved.getAmount().negate();
+        financeDailyRollupService.apply(schoolId, saved.getExpenseDate(),
+                DailyTotals.expense(saved.getPaymentMode(), delta));
+        return toVoucherDto(saved);
     }
 
     private AcademicSession requireActiveSessionForWrite(Long schoolId, Long sessionId) {
@@ -175,10 +179,26 @@ public class ExpenseService {
                 .orElseThrow(() -> new InvalidOperationException("Cannot create voucher in inactive session"));
     }
 
+    // Creators the listing join could not see (e.g. platform users) are resolved by id
+    private List<ExpenseVoucherDto> withCreatorNames(List<ExpenseVoucherDto> rows) {
+        for (ExpenseVoucherDto row : rows) {
+            if (row.getCreatedBy() == null) {
+                row.setCreatedBy(creatorName(row.getCreatedById()));
+            }
+        }
+        return rows;
+    }
+
+    private String creatorName(Long userId) {
+        String name = userDisplayNameCache.get(userId);
+        return name != null ? name : "Unknown";
+    }
+
     private String nextVoucherNumber(Long schoolId, Long sessionId) {
-        int nextSeq = expenseVoucherRepository.findFirstBySchoolIdAndSessionIdOrderByIdDesc(schoolId, sessionId)
-                .map(v -> extractSequence(v.getVoucherNumber()) + 1)
-                .orElse(1);
+        long nextSeq = documentSequenceAllocator.next(schoolId, sessionId, DocumentSequenceType.EXPENSE_VOUCHER,
+                () -> expenseVoucherRepository.findFirstBySchoolIdAndSessionIdOrderByIdDesc(schoolId, sessionId)
+                        .map(v -> extractSequence(v.getVoucherNumber()))
+                        .orElse(0));
         return "EXP-" + sessionId + "-" + String.format("%05d", nextSeq);
     }
 
@@ -240,8 +260,8 @@ public class ExpenseService {
                 .description(voucher.getDescription())
                 .referenceNumber(voucher.getReferenceNumber())
                 .sessionId(voucher.getSessionId())
-                .createdBy(Optional.ofNullable(voucher.getCreatedBy()).flatMap(userRepository::findById)
-                        .map(User::getFullName).orElse("Unknown"))
+                .createdById(voucher.getCreatedBy())
+                .createdBy(creatorName(voucher.getCreatedBy()))
                 .active(voucher.isActive())
                 .build();
     }
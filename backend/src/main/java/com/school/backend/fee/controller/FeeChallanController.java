@@ -1,8 +1,12 @@
 package com.school.backend.fee.controller;
 
+import com.school.backend.common.enums.BatchDocumentFormat;
 import com.school.backend.common.tenant.SessionContext;
 import com.school.backend.fee.service.FeeChallanService;
+import com.school.backend.fee.service.FeeDocumentBatchService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +14,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -18,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class FeeChallanController {
 
     private final FeeChallanService challanService;
+    private final FeeDocumentBatchService documentBatchService;
 
     /**
      * Download fee challan for a student
@@ -40,4 +46,25 @@ public class FeeChallanController {
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(pdf);
     }
+
+    /**
+     * Download the challans of every student enrolled in a class, as one merged
+     * PDF or a ZIP of per-student files
+     */
+    @GetMapping("/class/{classId}")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'ACCOUNTANT', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public void downloadClassChallans(
+            @PathVariable Long classId,
+            @RequestParam(defaultValue = "PDF") BatchDocumentFormat format,
+            HttpServletResponse response) {
+
+        Long sessionId = SessionContext.getSessionId();
+        String filename = "fee_challans_class_" + classId + "_" + sessionId + "." + format.getExtension();
+        documentBatchService.generateClassChallans(classId, format, () -> {
+            response.setContentType(format.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(filename).build().toString());
+            return response.getOutputStream();
+        });
+    }
 }
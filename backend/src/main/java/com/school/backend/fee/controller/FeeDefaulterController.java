@@ -2,11 +2,15 @@ package com.school.backend.fee.controller;
 
 import com.school.backend.common.dto.PageResponse;
 import com.school.backend.common.dto.PageResponseMapper;
+import com.school.backend.common.enums.ExportFormat;
 import com.school.backend.fee.dto.DefaulterDto;
 import com.school.backend.fee.service.FeeSummaryService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,7 +18,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/fees/defaulters")
@@ -31,21 +35,30 @@ public class FeeDefaulterController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long classId,
             @RequestParam(required = false) BigDecimal minAmountDue,
-            @RequestParam(required = false) Integer minDaysOverdue) {
+            @RequestParam(required = false) Integer minDaysOverdue,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "desc") String direction) {
 
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, resolveSort(sortBy, direction));
         return PageResponseMapper
                 .fromPage(service.getPaginatedDefaulters(search, classId, minAmountDue, minDaysOverdue, pageable));
     }
 
     @GetMapping("/export")
     @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'ACCOUNTANT', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
-    public List<DefaulterDto> exportDefaulters(
+    public void exportDefaulters(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long classId,
             @RequestParam(required = false) BigDecimal minAmountDue,
-            @RequestParam(required = false) Integer minDaysOverdue) {
-        return service.exportDefaulters(search, classId, minAmountDue, minDaysOverdue);
+            @RequestParam(required = false) Integer minDaysOverdue,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletResponse response) {
+        String filename = "fee_defaulters_" + LocalDate.now() + "." + format.getExtension();
+        service.exportDefaulters(search, classId, minAmountDue, minDaysOverdue, format, () -> {
+            response.setContentType(format.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+            return response.getOutputStream();
+        });
     }
 
     @GetMapping("/stats")
@@ -53,4 +66,24 @@ public class FeeDefaulterController {
     public com.school.backend.fee.dto.DefaulterStatsDto getDefaulterStats() {
         return service.getDefaulterStats();
     }
+
+    /**
+     * Maps the public sort keys onto columns of the defaulter index. Days overdue
+     * grows as {@code overdueFrom} gets older, so its direction is inverted.
+     */
+    private Sort resolveSort(String sortBy, String direction) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return Sort.unsorted();
+        }
+        Sort.Direction dir = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return switch (sortBy) {
+            case "amountDue" -> Sort.by(dir, "amountDue");
+            case "daysOverdue" -> Sort.by(dir == Sort.Direction.ASC ? Sort.Direction.DESC : Sort.Direction.ASC,
+                    "overdueFrom");
+            case "studentName" -> Sort.by(dir, "firstName", "lastName");
+            case "className" -> Sort.by(dir, "className", "classSection");
+            case "lastPaymentDate" -> Sort.by(dir, "lastPaymentDate");
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        };
+    }
 }
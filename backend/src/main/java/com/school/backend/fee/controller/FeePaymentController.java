@@ -1,12 +1,18 @@
 package com.school.backend.fee.controller;
 
+import com.school.backend.common.enums.BatchDocumentFormat;
+import com.school.backend.fee.dto.FeeBulkPaymentRequest;
+import com.school.backend.fee.dto.FeeBulkPaymentResponse;
 import com.school.backend.fee.dto.FeePaymentDto;
 import com.school.backend.fee.dto.FeePaymentRequest;
 import com.school.backend.fee.dto.FeeTypeHeadSummaryDto;
+import com.school.backend.fee.service.FeeDocumentBatchService;
 import com.school.backend.fee.service.FeePaymentService;
 import com.school.backend.fee.service.FeeReceiptService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +29,7 @@ public class FeePaymentController {
 
     private final FeePaymentService service;
     private final FeeReceiptService receiptService;
+    private final FeeDocumentBatchService documentBatchService;
 
     // Recent payments (global for school)
     @GetMapping("/recent")
@@ -38,6 +45,13 @@ public class FeePaymentController {
         return service.pay(req);
     }
 
+    // Post many payments at once; each item succeeds or fails independently
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'ACCOUNTANT', 'SUPER_ADMIN')")
+    public FeeBulkPaymentResponse payBulk(@Valid @RequestBody FeeBulkPaymentRequest req) {
+        return service.payBulk(req.getPayments());
+    }
+
     // Payment history
     @GetMapping("/students/{studentId}")
     @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'ACCOUNTANT', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
@@ -63,4 +77,22 @@ public class FeePaymentController {
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(pdf);
     }
+
+    // Download receipts of a class for a date range (merged PDF or ZIP)
+    @GetMapping("/receipts/class/{classId}")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'ACCOUNTANT', 'SUPER_ADMIN', 'PLATFORM_ADMIN')")
+    public void downloadClassReceipts(
+            @PathVariable Long classId,
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(defaultValue = "PDF") BatchDocumentFormat format,
+            HttpServletResponse response) {
+        String filename = "receipts_class_" + classId + "_" + from + "_to_" + to + "." + format.getExtension();
+        documentBatchService.generateClassReceipts(classId, from, to, format, () -> {
+            response.setContentType(format.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(filename).build().toString());
+            return response.getOutputStream();
+        });
+    }
 }
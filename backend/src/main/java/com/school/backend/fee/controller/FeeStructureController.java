@@ -1,5 +1,6 @@
 package com.school.backend.fee.controller;
 
+import com.school.backend.fee.dto.FeeAssignmentBatchResult;
 import com.school.backend.fee.dto.FeeStructureCreateRequest;
 import com.school.backend.fee.dto.FeeStructureDto;
 import com.school.backend.fee.dto.FeeStructurePatchRequest;
@@ -32,6 +33,12 @@ public class FeeStructureController {
         return service.update(id, SecurityUtil.schoolId(), req);
     }
 
+    @PostMapping("/{id}/assign")
+    @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'SUPER_ADMIN')")
+    public FeeAssignmentBatchResult assignToClass(@PathVariable Long id) {
+        return service.assignToClass(id, SecurityUtil.schoolId());
+    }
+
     @PatchMapping("/{id}/toggle")
     @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'SUPER_ADMIN')")
     public FeeStructureDto toggle(@PathVariable Long id) {
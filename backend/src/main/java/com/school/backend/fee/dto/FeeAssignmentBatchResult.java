@@ -0,0 +1,15 @@
+package com.school.backend.fee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeAssignmentBatchResult {
+
+    private Long feeStructureId;
+    private int created;
+    private int skipped;
+}
@@ -0,0 +1,17 @@
+package com.school.backend.fee.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FeeBulkPaymentRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<FeePaymentRequest> payments;
+}
@@ -0,0 +1,18 @@
+package com.school.backend.fee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeBulkPaymentResponse {
+    private int successCount;
+    private int failureCount;
+    private List<FeeBulkPaymentResult> results;
+}
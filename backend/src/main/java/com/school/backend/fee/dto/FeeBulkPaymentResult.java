@@ -0,0 +1,19 @@
+package com.school.backend.fee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeBulkPaymentResult {
+    // Position of the item in the request
+    private int index;
+    private Long studentId;
+    private boolean success;
+    private FeePaymentDto payment;
+    private String error;
+}
@@ -28,4 +28,8 @@ public class FeeStructureDto {
     private java.math.BigDecimal lateFeeCapValue;
 
     private boolean active;
+
+    // Set on create: students the structure was assigned to, and those who already had it
+    private Integer assignedCount;
+    private Integer skippedCount;
 }
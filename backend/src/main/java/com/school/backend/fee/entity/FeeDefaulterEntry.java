@@ -0,0 +1,88 @@
+package com.school.backend.fee.entity;
+
+import com.school.backend.common.entity.TenantEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model behind the defaulter list: one row per student per session holding
+ * the accrued pending amount and the data needed to filter, sort and page in SQL.
+ * Maintained by {@code DefaulterIndexService}; never edited directly.
+ */
+@Entity
+@Table(name = "fee_defaulter_index", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_defaulter_school_session_student", columnNames = { "school_id", "session_id",
+                "student_id" })
+}, indexes = {
+        @Index(name = "idx_defaulter_school_session_amount", columnList = "school_id,session_id,amount_due"),
+        @Index(name = "idx_defaulter_school_session_class", columnList = "school_id,session_id,class_id,amount_due"),
+        @Index(name = "idx_defaulter_school_session_overdue", columnList = "school_id,session_id,overdue_from")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+public class FeeDefaulterEntry extends TenantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "class_id")
+    private Long classId;
+
+    // --- Denormalised student / class columns for search and display ---
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    @Column(name = "admission_number")
+    private String admissionNumber;
+
+    @Column(name = "contact_number")
+    private String contactNumber;
+
+    @Column(name = "class_name")
+    private String className;
+
+    @Column(name = "class_section")
+    private String classSection;
+
+    // --- Balance ---
+    @Column(name = "amount_due", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal amountDue = BigDecimal.ZERO;
+
+    @Column(name = "late_fee_accrued", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal lateFeeAccrued = BigDecimal.ZERO;
+
+    @Column(name = "last_payment_date")
+    private LocalDate lastPaymentDate;
+
+    /**
+     * Last payment date, or session start when nothing was paid yet. Days overdue
+     * is derived from this at read time.
+     */
+    @Column(name = "overdue_from")
+    private LocalDate overdueFrom;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
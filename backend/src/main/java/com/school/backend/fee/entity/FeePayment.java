@@ -11,7 +11,8 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "fee_payments", indexes = {
         @Index(name = "idx_fee_payment_student", columnList = "student_id"),
-        @Index(name = "idx_fee_payment_school_session", columnList = "school_id, session_id"),
+        // Covers the last-payment-date aggregate per student; also serves (school_id, session_id) lookups
+        @Index(name = "idx_fee_payment_last_paid", columnList = "school_id, session_id, student_id, payment_date"),
         @Index(name = "idx_fee_payment_school_date", columnList = "school_id, payment_date")
 })
 @Getter
@@ -0,0 +1,52 @@
+package com.school.backend.fee.entity;
+
+import com.school.backend.common.entity.TenantEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the nightly late-fee accrual of one school for one date. Each
+ * chunk advances {@code lastAssignmentId} in the transaction that applies it,
+ * so an interrupted run resumes after the last committed chunk and a finished
+ * run is not repeated.
+ */
+@Entity
+@Table(name = "late_fee_accrual_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_late_fee_accrual_school_date", columnNames = { "school_id", "accrual_date" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+public class LateFeeAccrualCheckpoint extends TenantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    @Builder.Default
+    @Column(name = "last_assignment_id", nullable = false)
+    private long lastAssignmentId = 0L;
+
+    @Builder.Default
+    @Column(name = "accrued_assignments", nullable = false)
+    private int accruedAssignments = 0;
+
+    @Builder.Default
+    @Column(name = "accrued_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal accruedAmount = BigDecimal.ZERO;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
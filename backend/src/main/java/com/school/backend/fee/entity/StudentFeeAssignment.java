@@ -16,7 +16,8 @@ import java.time.LocalDate;
 }, indexes = {
                 @Index(name = "idx_student_fee_student_session", columnList = "student_id,session_id"),
                 @Index(name = "idx_student_fee_school_session", columnList = "school_id,session_id,active"),
-                @Index(name = "idx_student_fee_student_active", columnList = "student_id,active")
+                @Index(name = "idx_student_fee_student_active", columnList = "student_id,active"),
+                @Index(name = "idx_student_fee_late_fee_walk", columnList = "school_id,active,id")
 })
 @Getter
 @Setter
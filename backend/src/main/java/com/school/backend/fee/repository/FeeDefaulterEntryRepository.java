@@ -0,0 +1,106 @@
+package com.school.backend.fee.repository;
+
+import com.school.backend.fee.entity.FeeDefaulterEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface FeeDefaulterEntryRepository extends JpaRepository<FeeDefaulterEntry, Long> {
+
+    List<FeeDefaulterEntry> findBySchoolIdAndSessionIdAndStudentIdIn(
+            Long schoolId, Long sessionId, Collection<Long> studentIds);
+
+    boolean existsBySchoolIdAndSessionId(Long schoolId, Long sessionId);
+
+    long countBySchoolIdAndSessionIdAndAmountDueGreaterThanEqual(
+            Long schoolId, Long sessionId, BigDecimal minAmountDue);
+
+    @Query("""
+            SELECT d FROM FeeDefaulterEntry d
+            WHERE d.schoolId = :schoolId
+              AND d.sessionId = :sessionId
+              AND d.amountDue >= :minAmountDue
+              AND (:classId IS NULL OR d.classId = :classId)
+              AND (:maxOverdueFrom IS NULL OR d.overdueFrom <= :maxOverdueFrom)
+              AND (:search IS NULL OR LOWER(d.firstName) LIKE LOWER(CONCAT('%', :search, '%'))
+                   OR LOWER(d.lastName) LIKE LOWER(CONCAT('%', :search, '%'))
+                   OR LOWER(d.admissionNumber) LIKE LOWER(CONCAT('%', :search, '%')))
+            """)
+    Page<FeeDefaulterEntry> search(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("classId") Long classId,
+            @Param("search") String search,
+            @Param("minAmountDue") BigDecimal minAmountDue,
+            @Param("maxOverdueFrom") LocalDate maxOverdueFrom,
+            Pageable pageable);
+
+    /**
+     * Same filters as {@link #search}, read through a forward-only cursor in
+     * export order. Must be consumed inside a transaction and closed.
+     */
+    @Query("""
+            SELECT d FROM FeeDefaulterEntry d
+            WHERE d.schoolId = :schoolId
+              AND d.sessionId = :sessionId
+              AND d.amountDue >= :minAmountDue
+              AND (:classId IS NULL OR d.classId = :classId)
+              AND (:maxOverdueFrom IS NULL OR d.overdueFrom <= :maxOverdueFrom)
+              AND (:search IS NULL OR LOWER(d.firstName) LIKE LOWER(CONCAT('%', :search, '%'))
+                   OR LOWER(d.lastName) LIKE LOWER(CONCAT('%', :search, '%'))
+                   OR LOWER(d.admissionNumber) LIKE LOWER(CONCAT('%', :search, '%')))
+            ORDER BY d.amountDue DESC, d.studentId ASC
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FeeDefaulterEntry> streamForExport(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("classId") Long classId,
+            @Param("search") String search,
+            @Param("minAmountDue") BigDecimal minAmountDue,
+            @Param("maxOverdueFrom") LocalDate maxOverdueFrom);
+
+    @Query("""
+            SELECT COALESCE(SUM(d.amountDue), 0),
+                   COALESCE(SUM(CASE WHEN d.overdueFrom < :criticalOverdueFrom
+                                       OR d.amountDue > :criticalAmount THEN 1 ELSE 0 END), 0)
+            FROM FeeDefaulterEntry d
+            WHERE d.schoolId = :schoolId
+              AND d.sessionId = :sessionId
+              AND d.amountDue >= :minAmountDue
+            """)
+    Object[] sumDefaulterStats(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("minAmountDue") BigDecimal minAmountDue,
+            @Param("criticalAmount") BigDecimal criticalAmount,
+            @Param("criticalOverdueFrom") LocalDate criticalOverdueFrom);
+
+    @Modifying
+    @Query("""
+            DELETE FROM FeeDefaulterEntry d
+            WHERE d.schoolId = :schoolId
+              AND d.sessionId = :sessionId
+              AND d.refreshedAt < :refreshedBefore
+            """)
+    int deleteStale(
+            @Param("schoolId") Long schoolId,
+            @Param("sessionId") Long sessionId,
+            @Param("refreshedBefore") LocalDateTime refreshedBefore);
+}
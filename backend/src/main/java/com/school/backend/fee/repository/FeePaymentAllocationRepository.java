@@ -7,12 +7,21 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface FeePaymentAllocationRepository extends JpaRepository<FeePaymentAllocation, Long> {
 
         List<FeePaymentAllocation> findByFeePaymentIdOrderByIdAsc(Long feePaymentId);
 
+        @Query("""
+                        SELECT a FROM FeePaymentAllocation a
+                        JOIN FETCH a.feeType
+                        WHERE a.feePaymentId IN :paymentIds
+                        ORDER BY a.id
+                        """)
+        List<FeePaymentAllocation> findByFeePaymentIdInWithFeeType(@Param("paymentIds") Collection<Long> paymentIds);
+
         @Query("""
                         SELECT new com.school.backend.fee.dto.FeeTypeHeadSummaryDto(
                             ft.id,
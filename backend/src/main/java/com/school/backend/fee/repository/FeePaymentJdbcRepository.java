@@ -0,0 +1,77 @@
+package com.school.backend.fee.repository;
+
+import com.school.backend.fee.entity.FeePaymentAllocation;
+import com.school.backend.fee.entity.LateFeeLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Append-only JDBC batch inserts for bulk payment posting.
+ * <p>
+ * Entities in this codebase use IDENTITY keys, and Hibernate turns off insert
+ * batching for them because it must read each generated id back before the
+ * next row. Bulk write paths whose rows are not read back as entities in the
+ * same transaction therefore go through a {@code *JdbcRepository} like this
+ * one, in 500-row JDBC batches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeePaymentJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ALLOCATION = """
+            INSERT INTO fee_payment_allocations
+                (fee_payment_id, assignment_id, fee_type_id, principal_amount, late_fee_amount, session_id,
+                 school_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_LATE_FEE_LOG = """
+            INSERT INTO late_fee_logs
+                (assignment_id, computed_amount, applied_date, reason, school_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAllocations(List<FeePaymentAllocation> allocations) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ALLOCATION, allocations, BATCH_SIZE, (ps, a) -> {
+            ps.setLong(1, a.getFeePaymentId());
+            ps.setLong(2, a.getAssignmentId());
+            ps.setLong(3, a.getFeeType().getId());
+            ps.setBigDecimal(4, a.getPrincipalAmount());
+            ps.setBigDecimal(5, a.getLateFeeAmount());
+            ps.setLong(6, a.getSessionId());
+            ps.setLong(7, a.getSchoolId());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    public void insertLateFeeLogs(List<LateFeeLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_LATE_FEE_LOG, logs, BATCH_SIZE, (ps, log) -> {
+            ps.setLong(1, log.getAssignmentId());
+            ps.setBigDecimal(2, log.getComputedAmount());
+            ps.setDate(3, Date.valueOf(log.getAppliedDate()));
+            ps.setString(4, log.getReason());
+            ps.setLong(5, log.getSchoolId());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+}
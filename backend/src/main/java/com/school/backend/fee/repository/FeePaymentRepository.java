@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -107,6 +108,12 @@ public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
             LocalDate startDate,
             LocalDate endDate);
 
+    List<FeePayment> findBySessionIdAndStudentIdInAndPaymentDateBetweenOrderByPaymentDateAscIdAsc(
+            Long sessionId,
+            Collection<Long> studentIds,
+            LocalDate startDate,
+            LocalDate endDate);
+
     @Query("""
                 SELECT COALESCE(SUM(p.principalPaid + p.lateFeePaid), 0)
                 FROM FeePayment p
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,9 @@ public interface FeeStructureRepository extends JpaRepository<FeeStructure, Long
             BigDecimal amount,
             FeeFrequency frequency);
 
+    @Query("SELECT fs FROM FeeStructure fs LEFT JOIN FETCH fs.feeType WHERE fs.id IN :ids")
+    List<FeeStructure> findWithFeeTypeByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query(value = "SELECT COUNT(1) > 0 FROM fee_structures WHERE id = :id", nativeQuery = true)
     boolean existsAnyById(@Param("id") Long id);
 }
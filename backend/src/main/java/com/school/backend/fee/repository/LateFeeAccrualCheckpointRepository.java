@@ -0,0 +1,20 @@
+package com.school.backend.fee.repository;
+
+import com.school.backend.fee.entity.LateFeeAccrualCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface LateFeeAccrualCheckpointRepository extends JpaRepository<LateFeeAccrualCheckpoint, Long> {
+
+    Optional<LateFeeAccrualCheckpoint> findBySchoolIdAndAccrualDate(Long schoolId, LocalDate accrualDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM LateFeeAccrualCheckpoint c WHERE c.id = :id")
+    Optional<LateFeeAccrualCheckpoint> findByIdForUpdate(@Param("id") Long id);
+}
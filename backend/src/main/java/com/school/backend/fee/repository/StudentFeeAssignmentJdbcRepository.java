@@ -0,0 +1,66 @@
+package com.school.backend.fee.repository;
+
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for class-wide fee assignment; see {@link FeePaymentJdbcRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentFeeAssignmentJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ASSIGNMENT = """
+            INSERT INTO student_fee_assignments
+                (student_id, fee_structure_id, session_id, amount, version, due_date,
+                 late_fee_type, late_fee_value, late_fee_grace_days, late_fee_cap_type, late_fee_cap_value,
+                 late_fee_applied, late_fee_accrued, principal_paid, late_fee_paid, late_fee_waived,
+                 total_discount_amount, active, school_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAssignments(List<StudentFeeAssignment> assignments) {
+        if (assignments.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT, assignments, BATCH_SIZE, (ps, a) -> {
+            ps.setLong(1, a.getStudentId());
+            ps.setLong(2, a.getFeeStructureId());
+            ps.setLong(3, a.getSessionId());
+            ps.setBigDecimal(4, a.getAmount());
+            if (a.getDueDate() != null) {
+                ps.setDate(5, Date.valueOf(a.getDueDate()));
+            } else {
+                ps.setNull(5, Types.DATE);
+            }
+            ps.setString(6, a.getLateFeeType() != null ? a.getLateFeeType().name() : null);
+            ps.setBigDecimal(7, a.getLateFeeValue());
+            ps.setObject(8, a.getLateFeeGraceDays(), Types.INTEGER);
+            ps.setString(9, a.getLateFeeCapType() != null ? a.getLateFeeCapType().name() : null);
+            ps.setBigDecimal(10, a.getLateFeeCapValue());
+            ps.setBoolean(11, a.isLateFeeApplied());
+            ps.setBigDecimal(12, a.getLateFeeAccrued());
+            ps.setBigDecimal(13, a.getPrincipalPaid());
+            ps.setBigDecimal(14, a.getLateFeePaid());
+            ps.setBigDecimal(15, a.getLateFeeWaived());
+            ps.setBigDecimal(16, a.getTotalDiscountAmount());
+            ps.setBoolean(17, a.isActive());
+            ps.setLong(18, a.getSchoolId());
+            ps.setTimestamp(19, now);
+            ps.setTimestamp(20, now);
+        });
+    }
+}
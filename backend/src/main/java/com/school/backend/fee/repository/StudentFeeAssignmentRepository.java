@@ -1,6 +1,8 @@
 package com.school.backend.fee.repository;
 
+import com.school.backend.common.enums.LateFeeType;
 import com.school.backend.fee.entity.StudentFeeAssignment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +12,7 @@ import jakarta.persistence.LockModeType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +23,49 @@ public interface StudentFeeAssignmentRepository
        @Query("SELECT a FROM StudentFeeAssignment a WHERE a.id = :id")
        Optional<StudentFeeAssignment> findByIdWithLock(@Param("id") Long id);
 
+       /**
+        * Locks all given assignments in ascending id order. Callers locking
+        * several rows must use this (never per-row locks in request order) so
+        * concurrent transactions acquire locks in the same order.
+        */
+       @Lock(LockModeType.PESSIMISTIC_WRITE)
+       @Query("SELECT a FROM StudentFeeAssignment a WHERE a.id IN :ids ORDER BY a.id")
+       List<StudentFeeAssignment> findAllByIdInWithLockOrderById(@Param("ids") Collection<Long> ids);
+
+       /**
+        * Next chunk of the nightly late-fee accrual walk: active assignments of
+        * the school after {@code afterId} that are past due on {@code asOf},
+        * still owe principal and can accrue more late fee (one-time types not
+        * yet applied, daily types always). Locked in id order like
+        * {@link #findAllByIdInWithLockOrderById}.
+        */
+       @Lock(LockModeType.PESSIMISTIC_WRITE)
+       @Query("""
+                         SELECT a FROM StudentFeeAssignment a
+                         WHERE a.schoolId = :schoolId
+                           AND a.active = true
+                           AND a.id > :afterId
+                           AND a.dueDate < :asOf
+                           AND a.lateFeeType IN :types
+                           AND (a.lateFeeApplied = false OR a.lateFeeType = :dailyType)
+                           AND a.amount - COALESCE(a.principalPaid, 0) - COALESCE(a.totalDiscountAmount, 0) > 0
+                         ORDER BY a.id
+                         """)
+       List<StudentFeeAssignment> findLateFeeAccrualChunkForUpdate(
+                     @Param("schoolId") Long schoolId,
+                     @Param("afterId") Long afterId,
+                     @Param("asOf") LocalDate asOf,
+                     @Param("types") Collection<LateFeeType> types,
+                     @Param("dailyType") LateFeeType dailyType,
+                     Pageable limit);
+
+       @Query("""
+                         SELECT DISTINCT a.schoolId FROM StudentFeeAssignment a
+                         WHERE a.active = true
+                           AND a.lateFeeType IN :types
+                         """)
+       List<Long> findSchoolIdsWithLateFeeTerms(@Param("types") Collection<LateFeeType> types);
+
        /**
         * Find fee assignment for student, structure, and session.
         * Used for checking if assignment exists and reactivating if needed.
@@ -47,6 +93,18 @@ public interface StudentFeeAssignmentRepository
 
        boolean existsByStudentIdAndFeeStructureId(Long studentId, Long feeStructureId);
 
+       /**
+        * Students that already hold an assignment for the structure; pass a
+        * {@code null} session to check across all sessions (one-time fees).
+        */
+       @Query("""
+                     SELECT DISTINCT a.studentId FROM StudentFeeAssignment a
+                     WHERE a.feeStructureId = :feeStructureId
+                       AND (:sessionId IS NULL OR a.sessionId = :sessionId)
+                     """)
+       List<Long> findAssignedStudentIds(@Param("feeStructureId") Long feeStructureId,
+                     @Param("sessionId") Long sessionId);
+
        @Lock(LockModeType.PESSIMISTIC_WRITE)
        @Query("SELECT a FROM StudentFeeAssignment a WHERE a.studentId = :studentId AND a.sessionId = :sessionId AND a.active = true")
        List<StudentFeeAssignment> findByStudentIdAndSessionIdWithLock(
@@ -57,6 +115,8 @@ public interface StudentFeeAssignmentRepository
 
        List<StudentFeeAssignment> findByStudentIdInAndSessionIdAndActiveTrue(List<Long> studentIds, Long sessionId);
 
+       List<StudentFeeAssignment> findByStudentIdInAndSessionId(Collection<Long> studentIds, Long sessionId);
+
        List<StudentFeeAssignment> findByStudentIdAndSessionIdAndSchoolIdAndActiveTrueAndDueDateIsNotNullAndDueDateAfter(
                      Long studentId,
                      Long sessionId,
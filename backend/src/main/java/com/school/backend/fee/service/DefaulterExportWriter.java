@@ -0,0 +1,178 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.common.enums.ExportFormat;
+import com.school.backend.fee.dto.DefaulterDto;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes defaulter rows to an output stream one at a time, so an export never
+ * holds more than a small window of rows in memory.
+ */
+abstract class DefaulterExportWriter implements Closeable {
+
+    private static final String[] HEADERS = {
+            "Student Name", "Admission No", "Class", "Accrued Amount Due", "Accrued Late Fee", "Days Overdue",
+            "Last Payment", "Parent Contact"
+    };
+
+    static DefaulterExportWriter open(ExportFormat format, OutputStream out) throws IOException {
+        DefaulterExportWriter writer = switch (format) {
+            case CSV -> new Csv(out);
+            case XLSX -> new Xlsx(out);
+        };
+        writer.writeHeader();
+        return writer;
+    }
+
+    abstract void writeHeader() throws IOException;
+
+    abstract void write(DefaulterDto row) throws IOException;
+
+    private static String classLabel(DefaulterDto row) {
+        return row.getClassSection().isEmpty()
+                ? row.getClassName()
+                : row.getClassName() + "-" + row.getClassSection();
+    }
+
+    private static String lastPayment(DefaulterDto row) {
+        return row.getLastPaymentDate() != null ? row.getLastPaymentDate().toString() : "Never";
+    }
+
+    private static final class Csv extends DefaulterExportWriter {
+
+        private final Writer writer;
+
+        private Csv(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            writeLine(HEADERS);
+        }
+
+        @Override
+        void write(DefaulterDto row) throws IOException {
+            writeLine(new String[] {
+                    row.getStudentName(),
+                    row.getAdmissionNumber(),
+                    classLabel(row),
+                    row.getAmountDue().toPlainString(),
+                    row.getLateFeeAccrued().toPlainString(),
+                    String.valueOf(row.getDaysOverdue()),
+                    lastPayment(row),
+                    row.getParentContact()
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+
+    /**
+     * SXSSF keeps only the last {@link #WINDOW_SIZE} rows in memory and flushes
+     * the rest to a compressed temp file until the workbook is written out.
+     */
+    private static final class Xlsx extends DefaulterExportWriter {
+
+        private static final int WINDOW_SIZE = 100;
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final Sheet sheet;
+        private final CellStyle headerStyle;
+        private final CellStyle numericStyle;
+        private int rowIdx;
+
+        private Xlsx(OutputStream out) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(WINDOW_SIZE);
+            this.workbook.setCompressTempFiles(true);
+            this.sheet = workbook.createSheet("Defaulters");
+
+            Font font = workbook.createFont();
+            font.setBold(true);
+            this.headerStyle = workbook.createCellStyle();
+            this.headerStyle.setFont(font);
+
+            DataFormat dataFormat = workbook.createDataFormat();
+            this.numericStyle = workbook.createCellStyle();
+            this.numericStyle.setDataFormat(dataFormat.getFormat("#,##0.00"));
+        }
+
+        @Override
+        void writeHeader() {
+            Row row = sheet.createRow(rowIdx++);
+            for (int i = 0; i < HEADERS.length; i++) {
+                row.createCell(i).setCellValue(HEADERS[i]);
+                row.getCell(i).setCellStyle(headerStyle);
+            }
+        }
+
+        @Override
+        void write(DefaulterDto dto) {
+            Row row = sheet.createRow(rowIdx++);
+            row.createCell(0).setCellValue(dto.getStudentName());
+            row.createCell(1).setCellValue(dto.getAdmissionNumber());
+            row.createCell(2).setCellValue(classLabel(dto));
+            numeric(row, 3, dto.getAmountDue());
+            numeric(row, 4, dto.getLateFeeAccrued());
+            row.createCell(5).setCellValue(dto.getDaysOverdue());
+            row.createCell(6).setCellValue(lastPayment(dto));
+            row.createCell(7).setCellValue(dto.getParentContact());
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.write(out);
+                out.flush();
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
+        }
+
+        private void numeric(Row row, int column, BigDecimal value) {
+            row.createCell(column).setCellValue(value.doubleValue());
+            row.getCell(column).setCellStyle(numericStyle);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.school.entity.AcademicSession;
+import com.school.backend.school.repository.AcademicSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Daily pass over the defaulter index. Pending-till-date grows as fee periods
+ * elapse without any write happening, so every active session is rebuilt once
+ * a day; balance changes in between are applied incrementally by the services.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DefaulterIndexJob {
+
+    private final AcademicSessionRepository sessionRepository;
+    private final DefaulterIndexService defaulterIndexService;
+
+    @Scheduled(cron = "0 30 2 * * *")
+    public void rebuildActiveSessions() {
+        int indexed = 0;
+        for (AcademicSession session : sessionRepository.findByActiveTrue()) {
+            TenantContext.setSchoolId(session.getSchoolId());
+            try {
+                indexed += defaulterIndexService.rebuild(session.getSchoolId(), session.getId());
+            } catch (RuntimeException ex) {
+                log.error("Defaulter index rebuild failed for schoolId={} sessionId={}",
+                        session.getSchoolId(), session.getId(), ex);
+            } finally {
+                TenantContext.clear();
+            }
+        }
+        log.info("Defaulter index job refreshed {} students.", indexed);
+    }
+}
@@ -0,0 +1,34 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.fee.repository.FeeDefaulterEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds the defaulter index of a school session that has none yet, in its
+ * own transaction because read paths are read-only.
+ */
+@Component
+@RequiredArgsConstructor
+public class DefaulterIndexSeeder {
+
+    private final FeeDefaulterEntryRepository entryRepository;
+    // Lazily resolved: the index service seeds through this component
+    private final ObjectProvider<DefaulterIndexService> defaulterIndexService;
+
+    /**
+     * @return students indexed, or {@code -1} when the session already had an index
+     * @throws org.springframework.dao.DataIntegrityViolationException when a
+     *         concurrent request built the index first
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int buildIfEmpty(Long schoolId, Long sessionId) {
+        if (entryRepository.existsBySchoolIdAndSessionId(schoolId, sessionId)) {
+            return -1;
+        }
+        return defaulterIndexService.getObject().rebuild(schoolId, sessionId);
+    }
+}
@@ -0,0 +1,302 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.fee.dto.StudentFeeAssignmentDto;
+import com.school.backend.fee.entity.FeeDefaulterEntry;
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.repository.FeeDefaulterEntryRepository;
+import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
+import com.school.backend.platform.dashboard.DashboardCounterService;
+import com.school.backend.school.entity.AcademicSession;
+import com.school.backend.school.repository.AcademicSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-school, per-session defaulter read model
+ * ({@link FeeDefaulterEntry}).
+ * <p>
+ * Balance-changing operations (payments, discounts, late-fee waivers, fee
+ * assignment) call {@link #refreshStudents} for the students they touched,
+ * inside their own transaction. Time-based accrual (periods elapsing) is picked
+ * up by the daily {@link #rebuild} pass run from {@link DefaulterIndexJob}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DefaulterIndexService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+
+    private final FeeDefaulterEntryRepository entryRepository;
+    private final StudentRepository studentRepository;
+    private final StudentFeeAssignmentRepository assignmentRepository;
+    private final AcademicSessionRepository sessionRepository;
+    private final StudentFeeAssignmentService studentFeeAssignmentService;
+    private final DashboardCounterService dashboardCounterService;
+    private final DefaulterIndexSeeder indexSeeder;
+
+    // (schoolId, sessionId) pairs known to have a committed index
+    private final Set<IndexKey> builtIndexes = ConcurrentHashMap.newKeySet();
+    private final Map<IndexKey, Object> buildLocks = new ConcurrentHashMap<>();
+
+    @Transactional
+    public void refreshStudent(Long schoolId, Long sessionId, Long studentId) {
+        if (studentId != null) {
+            refreshStudents(schoolId, sessionId, List.of(studentId));
+        }
+    }
+
+    /**
+     * Recomputes the index rows of the given students. Students no longer
+     * enrolled in the session are dropped from the index.
+     */
+    @Transactional
+    public void refreshStudents(Long schoolId, Long sessionId, Collection<Long> studentIds) {
+        if (schoolId == null || sessionId == null || studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = studentIds.stream().filter(Objects::nonNull).distinct().toList();
+        LocalDate sessionStart = resolveSessionStart(sessionId);
+        LocalDateTime refreshedAt = LocalDateTime.now();
+
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            List<Object[]> rows = studentRepository.findDefaulterIndexRowsByStudentIds(schoolId, sessionId, chunk);
+            Map<Long, FeeDefaulterEntry> existing = loadExisting(schoolId, sessionId, chunk);
+            // Counted before upsert, which updates the existing entries in place
+            long defaultersBefore = countDefaulters(existing.values());
+            List<FeeDefaulterEntry> saved = upsert(schoolId, sessionId, rows, existing, sessionStart, refreshedAt);
+            Set<Long> indexed = saved.stream().map(FeeDefaulterEntry::getStudentId).collect(Collectors.toSet());
+
+            List<FeeDefaulterEntry> orphaned = existing.values().stream()
+                    .filter(entry -> !indexed.contains(entry.getStudentId()))
+                    .toList();
+            if (!orphaned.isEmpty()) {
+                entryRepository.deleteAll(orphaned);
+            }
+            dashboardCounterService.addSession(schoolId, sessionId, DashboardCounterType.FEE_DEFAULTERS,
+                    countDefaulters(saved) - defaultersBefore);
+        }
+    }
+
+    /**
+     * Rebuilds the whole index for a school session. Rows of students that are
+     * no longer enrolled are removed.
+     *
+     * @return number of students indexed
+     */
+    @Transactional
+    public int rebuild(Long schoolId, Long sessionId) {
+        LocalDateTime rebuildStartedAt = LocalDateTime.now();
+        LocalDate sessionStart = resolveSessionStart(sessionId);
+
+        Map<Long, List<Object[]>> rowsByStudent = studentRepository.findDefaulterIndexRows(schoolId, sessionId)
+                .stream()
+                .collect(Collectors.groupingBy(row -> ((Number) row[0]).longValue(), LinkedHashMap::new,
+                        Collectors.toList()));
+        List<Long> studentIds = new ArrayList<>(rowsByStudent.keySet());
+
+        int indexed = 0;
+        long defaulters = 0;
+        for (int from = 0; from < studentIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + CHUNK_SIZE, studentIds.size()));
+            List<Object[]> chunkRows = chunk.stream()
+                    .flatMap(studentId -> rowsByStudent.get(studentId).stream())
+                    .toList();
+            Map<Long, FeeDefaulterEntry> existing = loadExisting(schoolId, sessionId, chunk);
+            List<FeeDefaulterEntry> saved = upsert(schoolId, sessionId, chunkRows, existing, sessionStart,
+                    rebuildStartedAt);
+            indexed += saved.size();
+            defaulters += countDefaulters(saved);
+        }
+
+        int removed = entryRepository.deleteStale(schoolId, sessionId, rebuildStartedAt);
+        dashboardCounterService.setSession(schoolId, sessionId, DashboardCounterType.FEE_DEFAULTERS, defaulters);
+        markBuiltAfterCommit(new IndexKey(schoolId, sessionId));
+        log.debug("Rebuilt defaulter index schoolId={} sessionId={} indexed={} removed={}",
+                schoolId, sessionId, indexed, removed);
+        return indexed;
+    }
+
+    /**
+     * Builds the index on first use for a school session (e.g. right after
+     * deployment), so reads never see an empty index for existing data. The
+     * first caller per session builds it through {@link DefaulterIndexSeeder}
+     * while concurrent callers for the same session wait for it.
+     */
+    public void ensureBuilt(Long schoolId, Long sessionId) {
+        IndexKey key = new IndexKey(schoolId, sessionId);
+        if (builtIndexes.contains(key)) {
+            return;
+        }
+        synchronized (buildLocks.computeIfAbsent(key, k -> new Object())) {
+            if (builtIndexes.contains(key)) {
+                return;
+            }
+            try {
+                indexSeeder.buildIfEmpty(schoolId, sessionId);
+            } catch (DataIntegrityViolationException ex) {
+                // Another instance built the index meanwhile
+                if (!entryRepository.existsBySchoolIdAndSessionId(schoolId, sessionId)) {
+                    throw ex;
+                }
+            }
+            builtIndexes.add(key);
+        }
+    }
+
+    private void markBuiltAfterCommit(IndexKey key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            builtIndexes.add(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                builtIndexes.add(key);
+            }
+        });
+    }
+
+    private Map<Long, FeeDefaulterEntry> loadExisting(Long schoolId, Long sessionId, Collection<Long> studentIds) {
+        return entryRepository.findBySchoolIdAndSessionIdAndStudentIdIn(schoolId, sessionId, studentIds)
+                .stream()
+                .collect(Collectors.toMap(FeeDefaulterEntry::getStudentId, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * @return the saved entries, one per indexed student
+     */
+    private List<FeeDefaulterEntry> upsert(
+            Long schoolId,
+            Long sessionId,
+            List<Object[]> rows,
+            Map<Long, FeeDefaulterEntry> existing,
+            LocalDate sessionStart,
+            LocalDateTime refreshedAt) {
+
+        // A student may have an inactive and an active enrollment in the same
+        // session; the active one decides the class.
+        Map<Long, Object[]> rowByStudent = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Long studentId = ((Number) row[0]).longValue();
+            Object[] current = rowByStudent.get(studentId);
+            if (current == null || (!Boolean.TRUE.equals(current[9]) && Boolean.TRUE.equals(row[9]))) {
+                rowByStudent.put(studentId, row);
+            }
+        }
+        if (rowByStudent.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Balance> balances = computeBalances(rowByStudent.keySet(), sessionId);
+
+        List<FeeDefaulterEntry> toSave = new ArrayList<>(rowByStudent.size());
+        for (Map.Entry<Long, Object[]> e : rowByStudent.entrySet()) {
+            Long studentId = e.getKey();
+            Object[] row = e.getValue();
+            LocalDate lastPaymentDate = toLocalDate(row[8]);
+            Balance balance = balances.getOrDefault(studentId, Balance.ZERO);
+
+            FeeDefaulterEntry entry = existing.get(studentId);
+            if (entry == null) {
+                entry = FeeDefaulterEntry.builder()
+                        .schoolId(schoolId)
+                        .sessionId(sessionId)
+                        .studentId(studentId)
+                        .build();
+            }
+            entry.setFirstName((String) row[1]);
+            entry.setLastName((String) row[2]);
+            entry.setAdmissionNumber((String) row[3]);
+            entry.setContactNumber((String) row[4]);
+            entry.setClassId(row[5] != null ? ((Number) row[5]).longValue() : null);
+            entry.setClassName((String) row[6]);
+            entry.setClassSection((String) row[7]);
+            entry.setLastPaymentDate(lastPaymentDate);
+            entry.setOverdueFrom(lastPaymentDate != null ? lastPaymentDate : sessionStart);
+            entry.setAmountDue(balance.amountDue());
+            entry.setLateFeeAccrued(balance.lateFeeAccrued());
+            entry.setRefreshedAt(refreshedAt);
+            toSave.add(entry);
+        }
+        entryRepository.saveAll(toSave);
+        return toSave;
+    }
+
+    private long countDefaulters(Collection<FeeDefaulterEntry> entries) {
+        return entries.stream()
+                .filter(entry -> entry.getAmountDue() != null
+                        && entry.getAmountDue().compareTo(DashboardCounterService.DEFAULTER_MIN_AMOUNT) >= 0)
+                .count();
+    }
+
+    private Map<Long, Balance> computeBalances(Collection<Long> studentIds, Long sessionId) {
+        List<StudentFeeAssignment> assignments = assignmentRepository
+                .findByStudentIdInAndSessionIdAndActiveTrue(new ArrayList<>(studentIds), sessionId);
+
+        Map<Long, BigDecimal> pendingByStudent = new HashMap<>();
+        for (StudentFeeAssignmentDto dto : studentFeeAssignmentService.toDtos(assignments)) {
+            pendingByStudent.merge(dto.getStudentId(), nz(dto.getPendingTillDate()), BigDecimal::add);
+        }
+
+        Map<Long, BigDecimal> lateFeeByStudent = new HashMap<>();
+        assignments.forEach(a -> lateFeeByStudent.merge(a.getStudentId(), nz(a.getLateFeeAccrued()),
+                BigDecimal::add));
+
+        Map<Long, Balance> balances = new HashMap<>();
+        for (Long studentId : studentIds) {
+            balances.put(studentId, new Balance(
+                    pendingByStudent.getOrDefault(studentId, ZERO),
+                    lateFeeByStudent.getOrDefault(studentId, ZERO)));
+        }
+        return balances;
+    }
+
+    private LocalDate resolveSessionStart(Long sessionId) {
+        return sessionRepository.findById(sessionId)
+                .map(AcademicSession::getStartDate)
+                .orElse(LocalDate.now().minusMonths(6));
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private BigDecimal nz(BigDecimal value) {
+        return value != null ? value : ZERO;
+    }
+
+    private record IndexKey(Long schoolId, Long sessionId) {
+    }
+
+    private record Balance(BigDecimal amountDue, BigDecimal lateFeeAccrued) {
+        private static final Balance ZERO = new Balance(BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
@@ -39,25 +39,44 @@ public class FeeCalculationService {
     }
 
     public BigDecimal calculateAssignableAmount(FeeStructure fs, Long studentId) {
-        if (fs.getFrequency() == null || fs.getFrequency() == FeeFrequency.ONE_TIME
-                || fs.getFrequency() == FeeFrequency.ANNUALLY) {
+        if (!isProRated(fs)) {
             return fs.getAmount();
         }
 
         AcademicSession session = academicSessionRepository.findById(fs.getSessionId())
                 .filter(s -> fs.getSchoolId().equals(s.getSchoolId()))
                 .orElse(null);
+        if (session == null || session.getStartDate() == null || session.getEndDate() == null) {
+            return calculateAssignableAmount(fs, session, null);
+        }
+
+        LocalDate enrollmentDate = enrollmentRepository
+                .findFirstByStudentIdAndSessionIdAndActiveTrue(studentId, fs.getSessionId())
+                .map(StudentEnrollment::getEnrollmentDate)
+                .orElse(null);
+        return calculateAssignableAmount(fs, session, enrollmentDate);
+    }
+
+    /**
+     * Same as {@link #calculateAssignableAmount(FeeStructure, Long)} from
+     * preloaded data, for assigning a structure to many students at once.
+     *
+     * @param session        the structure's session, or {@code null} if not found
+     * @param enrollmentDate the student's active enrollment date in that session, if any
+     */
+    public BigDecimal calculateAssignableAmount(FeeStructure fs, AcademicSession session, LocalDate enrollmentDate) {
+        if (!isProRated(fs)) {
+            return fs.getAmount();
+        }
 
         // Fallback: If session or dates are missing, charge full-year periods
         if (session == null || session.getStartDate() == null || session.getEndDate() == null) {
             return fs.getAmount().multiply(BigDecimal.valueOf(fs.getFrequency().getPeriodsPerYear()));
         }
 
-        LocalDate effectiveStart = enrollmentRepository
-                .findFirstByStudentIdAndSessionIdAndActiveTrue(studentId, fs.getSessionId())
-                .map(StudentEnrollment::getEnrollmentDate)
-                .filter(d -> d.isAfter(session.getStartDate()))
-                .orElse(session.getStartDate());
+        LocalDate effectiveStart = enrollmentDate != null && enrollmentDate.isAfter(session.getStartDate())
+                ? enrollmentDate
+                : session.getStartDate();
 
         long monthsRemaining = ChronoUnit.MONTHS.between(
                 effectiveStart.withDayOfMonth(1),
@@ -74,4 +93,12 @@ public class FeeCalculationService {
             default -> fs.getAmount();
         };
     }
+
+    /**
+     * @return whether the assignable amount depends on the student's enrollment date
+     */
+    public boolean isProRated(FeeStructure fs) {
+        return fs.getFrequency() != null && fs.getFrequency() != FeeFrequency.ONE_TIME
+                && fs.getFrequency() != FeeFrequency.ANNUALLY;
+    }
 }
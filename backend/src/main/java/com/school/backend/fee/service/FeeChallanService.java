@@ -19,7 +19,11 @@ import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.enums.FeeFrequency;
 import com.school.backend.common.tenant.SessionContext;
 import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.core.classsubject.entity.SchoolClass;
+import com.school.backend.core.classsubject.repository.SchoolClassRepository;
 import com.school.backend.core.student.entity.Student;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.core.student.repository.StudentEnrollmentRepository;
 import com.school.backend.core.student.repository.StudentRepository;
 import com.school.backend.fee.dto.StudentFeeAssignmentDto;
 import com.school.backend.fee.entity.StudentFeeAssignment;
@@ -40,8 +44,13 @@ import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -49,19 +58,32 @@ public class FeeChallanService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
     private static final BigDecimal ZERO = BigDecimal.ZERO;
+    private static final Font SCHOOL_NAME_FONT = FontFactory.getFont(FontFactory.HELVETICA, 18, Font.BOLD,
+            Color.DARK_GRAY);
+    private static final Font ADDRESS_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.GRAY);
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 14, Font.BOLD, Color.BLACK);
+    private static final Font SESSION_FONT = FontFactory.getFont(FontFactory.HELVETICA, 11, Color.DARK_GRAY);
+    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 11, Font.BOLD, Color.WHITE);
+    private static final Font CONTENT_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font CONTENT_MUTED_FONT = FontFactory.getFont(FontFactory.HELVETICA, 8, Color.GRAY);
+    private static final Font TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 11, Font.BOLD);
+    private static final Font NOTE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, Font.ITALIC, Color.DARK_GRAY);
+    private static final Font FOOTER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 8, Font.ITALIC, Color.GRAY);
+
     private final StudentRepository studentRepository;
     private final SchoolRepository schoolRepository;
     private final StudentFeeAssignmentRepository assignmentRepository;
     private final AcademicSessionRepository academicSessionRepository;
     private final StudentFeeAssignmentService studentFeeAssignmentService;
+    private final StudentEnrollmentRepository enrollmentRepository;
+    private final SchoolClassRepository schoolClassRepository;
 
     @Transactional(readOnly = true)
     public byte[] generateChallan(Long studentId) {
         Long schoolId = TenantContext.getSchoolId();
-        Long sessionId = SessionContext.getSessionId();
-        if (sessionId == null) {
-            throw new InvalidOperationException("Session context is missing in request");
-        }
+        Long sessionId = requireSessionId();
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found: " + studentId));
 
@@ -73,9 +95,7 @@ public class FeeChallanService {
                 .orElseThrow(() -> new ResourceNotFoundException("School not found"));
 
         // Fetch session name
-        com.school.backend.school.entity.AcademicSession academicSession = academicSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Academic Session not found: " + sessionId));
-        String sessionName = academicSession.getName();
+        String sessionName = loadSessionName(sessionId);
 
         // Get all fee assignments for this student and session
         List<StudentFeeAssignment> assignments = assignmentRepository.findByStudentIdAndSessionId(studentId, sessionId);
@@ -83,10 +103,65 @@ public class FeeChallanService {
         if (assignments.isEmpty()) {
             throw new IllegalArgumentException("No fee assignments found for student in session " + sessionName);
         }
-        List<StudentFeeAssignmentDto> enrichedAssignments = assignments.stream()
-                .map(studentFeeAssignmentService::toDto)
+        List<StudentFeeAssignmentDto> enrichedAssignments = studentFeeAssignmentService.toDtos(assignments);
+
+        String className = student.getCurrentClass() != null
+                ? student.getCurrentClass().getName() + "-" + student.getCurrentClass().getSection()
+                : "N/A";
+        return renderChallan(new ChallanData(school, sessionName, student, className, enrichedAssignments));
+    }
+
+    /**
+     * Loads everything needed to render the challans of every student enrolled in
+     * {@code classId} for the current session, in roll-number order, using a
+     * fixed number of queries. Students without fee assignments are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<ChallanData> loadClassChallans(Long classId) {
+        Long schoolId = TenantContext.getSchoolId();
+        Long sessionId = requireSessionId();
+
+        SchoolClass schoolClass = schoolClassRepository.findByIdAndSchoolId(classId, schoolId)
+                .orElseThrow(() -> new ResourceNotFoundException("Class not found: " + classId));
+        School school = schoolRepository.findById(schoolId)
+                .orElseThrow(() -> new ResourceNotFoundException("School not found"));
+        String sessionName = loadSessionName(sessionId);
+
+        List<Long> studentIds = enrollmentRepository
+                .findByClassIdAndSessionIdAndActiveTrueOrderByRollNumberAscStudentIdAsc(classId, sessionId)
+                .stream()
+                .map(StudentEnrollment::getStudentId)
+                .distinct()
                 .toList();
+        if (studentIds.isEmpty()) {
+            return List.of();
+        }
 
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        List<StudentFeeAssignment> assignments = assignmentRepository.findByStudentIdInAndSessionId(studentIds,
+                sessionId);
+        Map<Long, List<StudentFeeAssignmentDto>> dtosByStudent = studentFeeAssignmentService.toDtos(assignments)
+                .stream()
+                .collect(Collectors.groupingBy(StudentFeeAssignmentDto::getStudentId, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        String className = schoolClass.getName() + "-" + schoolClass.getSection();
+        List<ChallanData> challans = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            Student student = students.get(studentId);
+            List<StudentFeeAssignmentDto> studentAssignments = dtosByStudent.get(studentId);
+            if (student != null && studentAssignments != null) {
+                challans.add(new ChallanData(school, sessionName, student, className, studentAssignments));
+            }
+        }
+        return challans;
+    }
+
+    /**
+     * Renders one challan from preloaded data, without touching repositories.
+     */
+    public byte[] renderChallan(ChallanData data) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             Document document = new Document(PageSize.A4);
             PdfWriter.getInstance(document, out);
@@ -94,12 +169,12 @@ public class FeeChallanService {
             document.open();
 
             // Build the challan
-            addSchoolHeader(document, school);
-            addChallanTitle(document, sessionName);
-            addStudentDetails(document, student);
-            BigDecimal totalAmount = addFeeBreakdown(document, enrichedAssignments);
-            addPaymentDetails(document, sessionName, totalAmount);
-            addFooter(document, school);
+            addSchoolHeader(document, data.school());
+            addChallanTitle(document, data.sessionName());
+            addStudentDetails(document, data.student(), data.className());
+            BigDecimal totalAmount = addFeeBreakdown(document, data.assignments());
+            addPaymentDetails(document, data.sessionName(), totalAmount);
+            addFooter(document, data.school());
 
             document.close();
 
@@ -110,19 +185,39 @@ public class FeeChallanService {
         }
     }
 
+    private Long requireSessionId() {
+        Long sessionId = SessionContext.getSessionId();
+        if (sessionId == null) {
+            throw new InvalidOperationException("Session context is missing in request");
+        }
+        return sessionId;
+    }
+
+    private String loadSessionName(Long sessionId) {
+        com.school.backend.school.entity.AcademicSession academicSession = academicSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Academic Session not found: " + sessionId));
+        return academicSession.getName();
+    }
+
+    public record ChallanData(
+            School school,
+            String sessionName,
+            Student student,
+            String className,
+            List<StudentFeeAssignmentDto> assignments) {
+    }
+
     private void addSchoolHeader(Document document, School school) throws DocumentException {
         // School Name (Large, Bold, Centered)
-        Font schoolNameFont = FontFactory.getFont(FontFactory.HELVETICA, 18, Font.BOLD, Color.DARK_GRAY);
         Paragraph schoolName = new Paragraph(
-                school.getDisplayName() != null ? school.getDisplayName() : school.getName(), schoolNameFont);
+                school.getDisplayName() != null ? school.getDisplayName() : school.getName(), SCHOOL_NAME_FONT);
         schoolName.setAlignment(Element.ALIGN_CENTER);
         document.add(schoolName);
 
         // School Address
-        Font addressFont = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.GRAY);
         if (school.getAddress() != null) {
             Paragraph address = new Paragraph(school.getAddress() + ", " + school.getCity() + ", " + school.getState(),
-                    addressFont);
+                    ADDRESS_FONT);
             address.setAlignment(Element.ALIGN_CENTER);
             document.add(address);
         }
@@ -135,14 +230,14 @@ public class FeeChallanService {
             if (school.getContactEmail() != null)
                 contact += (contact.isEmpty() ? "" : " | ") + "Email: " + school.getContactEmail();
 
-            Paragraph contactPara = new Paragraph(contact, addressFont);
+            Paragraph contactPara = new Paragraph(contact, ADDRESS_FONT);
             contactPara.setAlignment(Element.ALIGN_CENTER);
             document.add(contactPara);
         }
 
         // Affiliation Code (if present)
         if (school.getAffiliationCode() != null && !school.getAffiliationCode().isEmpty()) {
-            Paragraph affiliation = new Paragraph("Affiliation Code: " + school.getAffiliationCode(), addressFont);
+            Paragraph affiliation = new Paragraph("Affiliation Code: " + school.getAffiliationCode(), ADDRESS_FONT);
             affiliation.setAlignment(Element.ALIGN_CENTER);
             document.add(affiliation);
         }
@@ -154,13 +249,11 @@ public class FeeChallanService {
     }
 
     private void addChallanTitle(Document document, String session) throws DocumentException {
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA, 14, Font.BOLD, Color.BLACK);
-        Paragraph title = new Paragraph("FEE PAYMENT CHALLAN (ACCRUED)", titleFont);
+        Paragraph title = new Paragraph("FEE PAYMENT CHALLAN (ACCRUED)", TITLE_FONT);
         title.setAlignment(Element.ALIGN_CENTER);
         document.add(title);
 
-        Font sessionFont = FontFactory.getFont(FontFactory.HELVETICA, 11, Color.DARK_GRAY);
-        Paragraph sessionPara = new Paragraph("Academic Session: " + session, sessionFont);
+        Paragraph sessionPara = new Paragraph("Academic Session: " + session, SESSION_FONT);
         sessionPara.setAlignment(Element.ALIGN_CENTER);
         document.add(sessionPara);
 
@@ -169,30 +262,25 @@ public class FeeChallanService {
         document.add(new Paragraph(" "));
     }
 
-    private void addStudentDetails(Document document, Student student) throws DocumentException {
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-
+    private void addStudentDetails(Document document, Student student, String className)
+            throws DocumentException {
         PdfPTable table = new PdfPTable(4);
         table.setWidthPercentage(100);
         table.setSpacingBefore(5f);
         table.setSpacingAfter(10f);
 
         // Row 1: Student Name and Class
-        addDetailCell(table, "Student Name:", labelFont);
+        addDetailCell(table, "Student Name:", LABEL_FONT);
         addDetailCell(table,
-                student.getFirstName() + " " + (student.getLastName() != null ? student.getLastName() : ""), valueFont);
-        addDetailCell(table, "Class:", labelFont);
-        String className = student.getCurrentClass() != null
-                ? student.getCurrentClass().getName() + "-" + student.getCurrentClass().getSection()
-                : "N/A";
-        addDetailCell(table, className, valueFont);
+                student.getFirstName() + " " + (student.getLastName() != null ? student.getLastName() : ""), VALUE_FONT);
+        addDetailCell(table, "Class:", LABEL_FONT);
+        addDetailCell(table, className, VALUE_FONT);
 
         // Row 2: Admission No and Roll No
-        addDetailCell(table, "Admission No:", labelFont);
-        addDetailCell(table, student.getAdmissionNumber(), valueFont);
-        addDetailCell(table, "Date:", labelFont);
-        addDetailCell(table, LocalDate.now().format(DATE_FORMATTER), valueFont);
+        addDetailCell(table, "Admission No:", LABEL_FONT);
+        addDetailCell(table, student.getAdmissionNumber(), VALUE_FONT);
+        addDetailCell(table, "Date:", LABEL_FONT);
+        addDetailCell(table, LocalDate.now().format(DATE_FORMATTER), VALUE_FONT);
 
         document.add(table);
         addSeparatorLine(document);
@@ -201,51 +289,47 @@ public class FeeChallanService {
 
     private BigDecimal addFeeBreakdown(Document document, List<StudentFeeAssignmentDto> assignments)
             throws DocumentException {
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA, 11, Font.BOLD, Color.WHITE);
-        Font contentFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-        Font contentMutedFont = FontFactory.getFont(FontFactory.HELVETICA, 8, Color.GRAY);
-
         PdfPTable table = new PdfPTable(7);
         table.setWidthPercentage(100);
         table.setWidths(new float[] { 2.5f, 1.1f, 1.1f, 1.2f, 1.2f, 1.2f, 1.3f });
 
         // Header Row
-        PdfPCell headerCell1 = new PdfPCell(new Phrase("Fee Type", headerFont));
+        PdfPCell headerCell1 = new PdfPCell(new Phrase("Fee Type", HEADER_FONT));
         headerCell1.setBackgroundColor(new Color(41, 128, 185));
         headerCell1.setPadding(8);
         table.addCell(headerCell1);
 
-        PdfPCell headerCell2 = new PdfPCell(new Phrase("Frequency", headerFont));
+        PdfPCell headerCell2 = new PdfPCell(new Phrase("Frequency", HEADER_FONT));
         headerCell2.setBackgroundColor(new Color(41, 128, 185));
         headerCell2.setHorizontalAlignment(Element.ALIGN_CENTER);
         headerCell2.setPadding(8);
         table.addCell(headerCell2);
 
-        PdfPCell headerCell3 = new PdfPCell(new Phrase("Annual (INR)", headerFont));
+        PdfPCell headerCell3 = new PdfPCell(new Phrase("Annual (INR)", HEADER_FONT));
         headerCell3.setBackgroundColor(new Color(41, 128, 185));
         headerCell3.setHorizontalAlignment(Element.ALIGN_RIGHT);
         headerCell3.setPadding(8);
         table.addCell(headerCell3);
 
-        PdfPCell headerCell4 = new PdfPCell(new Phrase("Due Till Date (INR)", headerFont));
+        PdfPCell headerCell4 = new PdfPCell(new Phrase("Due Till Date (INR)", HEADER_FONT));
         headerCell4.setBackgroundColor(new Color(41, 128, 185));
         headerCell4.setHorizontalAlignment(Element.ALIGN_RIGHT);
         headerCell4.setPadding(8);
         table.addCell(headerCell4);
 
-        PdfPCell headerCell5 = new PdfPCell(new Phrase("Pending Principal (INR)", headerFont));
+        PdfPCell headerCell5 = new PdfPCell(new Phrase("Pending Principal (INR)", HEADER_FONT));
         headerCell5.setBackgroundColor(new Color(41, 128, 185));
         headerCell5.setHorizontalAlignment(Element.ALIGN_RIGHT);
         headerCell5.setPadding(8);
         table.addCell(headerCell5);
 
-        PdfPCell headerCell6 = new PdfPCell(new Phrase("Pending Late Fee (INR)", headerFont));
+        PdfPCell headerCell6 = new PdfPCell(new Phrase("Pending Late Fee (INR)", HEADER_FONT));
         headerCell6.setBackgroundColor(new Color(41, 128, 185));
         headerCell6.setHorizontalAlignment(Element.ALIGN_RIGHT);
         headerCell6.setPadding(8);
         table.addCell(headerCell6);
 
-        PdfPCell headerCell7 = new PdfPCell(new Phrase("Total Payable Now (INR)", headerFont));
+        PdfPCell headerCell7 = new PdfPCell(new Phrase("Total Payable Now (INR)", HEADER_FONT));
         headerCell7.setBackgroundColor(new Color(41, 128, 185));
         headerCell7.setHorizontalAlignment(Element.ALIGN_RIGHT);
         headerCell7.setPadding(8);
@@ -267,36 +351,35 @@ public class FeeChallanService {
             BigDecimal totalPayableNow = pendingPrincipal.add(pendingLateFee);
 
             String feeTypeName = assignment.getFeeTypeName() != null ? assignment.getFeeTypeName() : "N/A";
-            PdfPCell feeTypeCell = createTableCell(feeTypeName, contentFont, Element.ALIGN_LEFT);
+            PdfPCell feeTypeCell = createTableCell(feeTypeName, CONTENT_FONT, Element.ALIGN_LEFT);
             String advanceNote = buildAdvanceNote(assignment);
             if (!advanceNote.isBlank()) {
                 Phrase feePhrase = new Phrase();
-                feePhrase.add(new Chunk(feeTypeName + "\n", contentFont));
-                feePhrase.add(new Chunk(advanceNote, contentMutedFont));
+                feePhrase.add(new Chunk(feeTypeName + "\n", CONTENT_FONT));
+                feePhrase.add(new Chunk(advanceNote, CONTENT_MUTED_FONT));
                 feeTypeCell.setPhrase(feePhrase);
             }
             table.addCell(feeTypeCell);
 
-            table.addCell(createTableCell(formatFrequency(frequency), contentFont, Element.ALIGN_CENTER));
-            table.addCell(createTableCell(formatIndianRupees(annualAmount), contentFont, Element.ALIGN_RIGHT));
-            table.addCell(createTableCell(formatIndianRupees(dueTillDate), contentFont, Element.ALIGN_RIGHT));
-            table.addCell(createTableCell(formatIndianRupees(pendingPrincipal), contentFont, Element.ALIGN_RIGHT));
-            table.addCell(createTableCell(formatIndianRupees(pendingLateFee), contentFont, Element.ALIGN_RIGHT));
-            table.addCell(createTableCell(formatIndianRupees(totalPayableNow), contentFont, Element.ALIGN_RIGHT));
+            table.addCell(createTableCell(formatFrequency(frequency), CONTENT_FONT, Element.ALIGN_CENTER));
+            table.addCell(createTableCell(formatIndianRupees(annualAmount), CONTENT_FONT, Element.ALIGN_RIGHT));
+            table.addCell(createTableCell(formatIndianRupees(dueTillDate), CONTENT_FONT, Element.ALIGN_RIGHT));
+            table.addCell(createTableCell(formatIndianRupees(pendingPrincipal), CONTENT_FONT, Element.ALIGN_RIGHT));
+            table.addCell(createTableCell(formatIndianRupees(pendingLateFee), CONTENT_FONT, Element.ALIGN_RIGHT));
+            table.addCell(createTableCell(formatIndianRupees(totalPayableNow), CONTENT_FONT, Element.ALIGN_RIGHT));
 
             totalAmount = totalAmount.add(totalPayableNow);
         }
 
         // Total Row
-        Font totalFont = FontFactory.getFont(FontFactory.HELVETICA, 11, Font.BOLD);
-        PdfPCell totalLabelCell = new PdfPCell(new Phrase("Grand Total (Payable Now)", totalFont));
+        PdfPCell totalLabelCell = new PdfPCell(new Phrase("Grand Total (Payable Now)", TOTAL_FONT));
         totalLabelCell.setColspan(6);
         totalLabelCell.setPadding(8);
         totalLabelCell.setBackgroundColor(new Color(236, 240, 241));
         totalLabelCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
         table.addCell(totalLabelCell);
 
-        PdfPCell totalAmountCell = new PdfPCell(new Phrase(formatIndianRupees(totalAmount), totalFont));
+        PdfPCell totalAmountCell = new PdfPCell(new Phrase(formatIndianRupees(totalAmount), TOTAL_FONT));
         totalAmountCell.setPadding(8);
         totalAmountCell.setBackgroundColor(new Color(236, 240, 241));
         totalAmountCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
@@ -366,21 +449,17 @@ public class FeeChallanService {
         addSeparatorLine(document);
         document.add(new Paragraph(" "));
 
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-        Font noteFont = FontFactory.getFont(FontFactory.HELVETICA, 9, Font.ITALIC, Color.DARK_GRAY);
-
         // Due Date
         LocalDate dueDate = calculateDueDate(session);
         Paragraph dueDatePara = new Paragraph();
-        dueDatePara.add(new Chunk("Due Date: ", labelFont));
-        dueDatePara.add(new Chunk(dueDate.format(DATE_FORMATTER), valueFont));
+        dueDatePara.add(new Chunk("Due Date: ", LABEL_FONT));
+        dueDatePara.add(new Chunk(dueDate.format(DATE_FORMATTER), VALUE_FONT));
         document.add(dueDatePara);
 
         // Late Fee Info (Generic note as it's policy driven now)
         Paragraph lateFeePara = new Paragraph();
-        lateFeePara.add(new Chunk("Late Fee: ", labelFont));
-        lateFeePara.add(new Chunk("Applicable as per school policy if paid after due date.", valueFont));
+        lateFeePara.add(new Chunk("Late Fee: ", LABEL_FONT));
+        lateFeePara.add(new Chunk("Applicable as per school policy if paid after due date.", VALUE_FONT));
         document.add(lateFeePara);
 
         document.add(new Paragraph(" "));
@@ -388,15 +467,15 @@ public class FeeChallanService {
         document.add(new Paragraph(" "));
 
         // Payment Instructions
-        Paragraph instructionsTitle = new Paragraph("Payment Instructions:", labelFont);
+        Paragraph instructionsTitle = new Paragraph("Payment Instructions:", LABEL_FONT);
         document.add(instructionsTitle);
 
         Paragraph instruction1 = new Paragraph(
-                "• Payment can be made at school office (9:00 AM - 3:00 PM, Monday to Friday)", noteFont);
-        Paragraph instruction2 = new Paragraph("• Accepted modes: Cash, Cheque, Demand Draft, UPI", noteFont);
-        Paragraph instruction3 = new Paragraph("• Please keep this challan for your records", noteFont);
+                "• Payment can be made at school office (9:00 AM - 3:00 PM, Monday to Friday)", NOTE_FONT);
+        Paragraph instruction2 = new Paragraph("• Accepted modes: Cash, Cheque, Demand Draft, UPI", NOTE_FONT);
+        Paragraph instruction3 = new Paragraph("• Please keep this challan for your records", NOTE_FONT);
         Paragraph instruction4 = new Paragraph("• For online payment, contact school office for bank details",
-                noteFont);
+                NOTE_FONT);
 
         document.add(instruction1);
         document.add(instruction2);
@@ -409,9 +488,8 @@ public class FeeChallanService {
         document.add(new Paragraph(" "));
         addSeparatorLine(document);
 
-        Font footerFont = FontFactory.getFont(FontFactory.HELVETICA, 8, Font.ITALIC, Color.GRAY);
         Paragraph footer = new Paragraph("This is a computer-generated challan. For queries, contact " +
-                (school.getContactEmail() != null ? school.getContactEmail() : school.getContactNumber()), footerFont);
+                (school.getContactEmail() != null ? school.getContactEmail() : school.getContactNumber()), FOOTER_FONT);
         footer.setAlignment(Element.ALIGN_CENTER);
         document.add(footer);
     }
@@ -27,6 +27,7 @@ public class FeeDiscountService {
     private final StudentFeeAssignmentRepository assignmentRepository;
     private final DiscountDefinitionRepository discountDefinitionRepository;
     private final FeeAdjustmentRepository feeAdjustmentRepository;
+    private final DefaulterIndexService defaulterIndexService;
 
     @Transactional
     public FeeDiscountApplyResponse applyDiscount(
@@ -88,6 +89,7 @@ public class FeeDiscountService {
                 .build());
 
         assignmentRepository.save(assignment);
+        defaulterIndexService.refreshStudent(schoolId, assignment.getSessionId(), assignment.getStudentId());
         return FeeDiscountApplyResponse.builder()
                 .appliedAmount(appliedDiscount)
                 .capped(capped)
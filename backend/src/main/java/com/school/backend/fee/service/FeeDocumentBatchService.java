@@ -0,0 +1,51 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.common.enums.BatchDocumentFormat;
+import com.school.backend.common.pdf.PdfBatchRenderer;
+import com.school.backend.common.pdf.PdfBatchStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.function.ThrowingSupplier;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Class-level challan and receipt printing through {@link PdfBatchRenderer}.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeeDocumentBatchService {
+
+    private final FeeChallanService challanService;
+    private final FeeReceiptService receiptService;
+    private final PdfBatchRenderer pdfBatchRenderer;
+
+    public PdfBatchStats generateClassChallans(
+            Long classId,
+            BatchDocumentFormat format,
+            ThrowingSupplier<OutputStream> output) {
+        return pdfBatchRenderer.render(
+                "challan",
+                challanService.loadClassChallans(classId),
+                challan -> "fee_challan_" + challan.student().getAdmissionNumber(),
+                challanService::renderChallan,
+                format,
+                output);
+    }
+
+    public PdfBatchStats generateClassReceipts(
+            Long classId,
+            LocalDate from,
+            LocalDate to,
+            BatchDocumentFormat format,
+            ThrowingSupplier<OutputStream> output) {
+        return pdfBatchRenderer.render(
+                "receipt",
+                receiptService.loadClassReceipts(classId, from, to),
+                receipt -> "receipt_" + receipt.payment().getId(),
+                receiptService::renderReceipt,
+                format,
+                output);
+    }
+}
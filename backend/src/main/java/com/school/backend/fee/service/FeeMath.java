@@ -3,6 +3,7 @@ package com.school.backend.fee.service;
 import com.school.backend.fee.entity.StudentFeeAssignment;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 public final class FeeMath {
 
@@ -26,6 +27,62 @@ public final class FeeMath {
         return pending.compareTo(ZERO) < 0 ? ZERO : pending;
     }
 
+    /**
+     * {@link #computePending} in paise, for aggregating many assignments.
+     */
+    public static long computePendingPaise(StudentFeeAssignment assignment) {
+        if (assignment == null) {
+            return 0L;
+        }
+        return pendingPaise(
+                Paise.of(assignment.getAmount()),
+                Paise.of(assignment.getLateFeeAccrued()),
+                Paise.of(assignment.getTotalDiscountAmount()),
+                Paise.of(assignment.getLateFeeWaived()),
+                Paise.of(assignment.getPrincipalPaid()),
+                Paise.of(assignment.getLateFeePaid()));
+    }
+
+    /**
+     * Pending amount from (possibly aggregated) components in paise: amount
+     * plus late fee accrued, less discount, waiver and everything paid; never
+     * negative.
+     */
+    public static long pendingPaise(long amount, long lateFeeAccrued, long totalDiscountAmount,
+            long lateFeeWaived, long principalPaid, long lateFeePaid) {
+        long pending = Paise.add(amount, lateFeeAccrued);
+        pending = Paise.subtract(pending, totalDiscountAmount);
+        pending = Paise.subtract(pending, lateFeeWaived);
+        pending = Paise.subtract(pending, principalPaid);
+        pending = Paise.subtract(pending, lateFeePaid);
+        return Math.max(pending, 0L);
+    }
+
+    /**
+     * Principal due by now on a recurring head: the elapsed periods at
+     * {@code amountPerPeriod}, never more than the annual amount.
+     */
+    public static BigDecimal dueTillDate(BigDecimal annualAmount, BigDecimal amountPerPeriod, int periodsElapsed) {
+        BigDecimal due = amountPerPeriod.multiply(BigDecimal.valueOf(periodsElapsed))
+                .setScale(2, RoundingMode.HALF_UP)
+                .min(annualAmount);
+        return due.compareTo(ZERO) < 0 ? ZERO : due;
+    }
+
+    /**
+     * What the student owes on the assignment as of today: {@code dueTillDate}
+     * plus outstanding late fee, less discount and principal already paid.
+     */
+    public static BigDecimal pendingTillDate(StudentFeeAssignment assignment, BigDecimal dueTillDate) {
+        long outstandingLateFee = Math.max(0L, Paise.subtract(
+                Paise.subtract(Paise.of(assignment.getLateFeeAccrued()), Paise.of(assignment.getLateFeePaid())),
+                Paise.of(assignment.getLateFeeWaived())));
+        long pending = Paise.add(Paise.of(dueTillDate), outstandingLateFee);
+        pending = Paise.subtract(pending, Paise.of(assignment.getTotalDiscountAmount()));
+        pending = Paise.subtract(pending, Paise.of(assignment.getPrincipalPaid()));
+        return Paise.toBigDecimal(Math.max(pending, 0L));
+    }
+
     private static BigDecimal nz(BigDecimal value) {
         return value != null ? value : ZERO;
     }
@@ -8,13 +8,18 @@ import com.school.backend.common.tenant.SessionContext;
 import com.school.backend.common.tenant.TenantContext;
 import com.school.backend.core.student.entity.Student;
 import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.fee.dto.FeeBulkPaymentResponse;
+import com.school.backend.fee.dto.FeeBulkPaymentResult;
 import com.school.backend.fee.dto.FeePaymentAllocationRequest;
 import com.school.backend.fee.dto.FeePaymentDto;
 import com.school.backend.fee.dto.FeePaymentRequest;
 import com.school.backend.fee.dto.FeeTypeHeadSummaryDto;
 import com.school.backend.fee.entity.*;
 import com.school.backend.finance.repository.DayClosingRepository;
+import com.school.backend.finance.service.FinanceDailyRollupService;
+import com.school.backend.finance.service.FinanceDailyRollupService.DailyTotals;
 import com.school.backend.fee.repository.FeePaymentAllocationRepository;
+import com.school.backend.fee.repository.FeePaymentJdbcRepository;
 import com.school.backend.fee.repository.FeePaymentRepository;
 import com.school.backend.fee.repository.FeeStructureRepository;
 import com.school.backend.fee.repository.LateFeeLogRepository;
@@ -33,6 +38,8 @@ import java.util.*;
 @RequiredArgsConstructor
 public class FeePaymentService {
 
+    private static final int LOCK_CHUNK_SIZE = 1000;
+
     private final FeePaymentRepository paymentRepository;
     private final StudentRepository studentRepository;
     private final StudentFeeAssignmentRepository assignmentRepository;
@@ -41,6 +48,9 @@ public class FeePaymentService {
     private final FeeStructureRepository feeStructureRepository;
     private final FeePaymentAllocationRepository feePaymentAllocationRepository;
     private final DayClosingRepository dayClosingRepository;
+    private final DefaulterIndexService defaulterIndexService;
+    private final FeePaymentJdbcRepository feePaymentJdbcRepository;
+    private final FinanceDailyRollupService financeDailyRollupService;
 
     // ---------------- PAY ----------------
     @Transactional
@@ -74,115 +84,177 @@ public class FeePaymentService {
 
         for (FeePaymentAllocationRequest allocReq : req.getAllocations()) {
             Long assignmentId = allocReq.getAssignmentId();
-            BigDecimal principalRequested = nz(allocReq.getPrincipalAmount());
-            BigDecimal lateFeeRequested = nz(allocReq.getLateFeeAmount());
-            BigDecimal amountProvided = principalRequested.add(lateFeeRequested);
-
-            if (principalRequested.compareTo(BigDecimal.ZERO) < 0 || lateFeeRequested.compareTo(BigDecimal.ZERO) < 0) {
-                throw new BusinessException(
-                        "Allocation amounts must be non-negative for assignment ID: " + assignmentId);
-            }
-
-            if (amountProvided.compareTo(BigDecimal.ZERO) <= 0) {
-                throw new BusinessException(
-                        "Allocation total must be greater than zero for assignment ID: " + assignmentId);
-            }
-
-            if (!processedAssignmentIds.add(assignmentId)) {
-                throw new BusinessException("Duplicate allocation for assignment ID: " + assignmentId);
-            }
+            validateAllocationRequest(allocReq, processedAssignmentIds);
 
             // Fetch with PESSIMISTIC_WRITE lock
             StudentFeeAssignment assignment = assignmentRepository.findByIdWithLock(assignmentId)
                     .orElseThrow(() -> new ResourceNotFoundException("Fee assignment not found: " + assignmentId));
 
-            // Security check: must belong to student and school
-            if (!assignment.getStudentId().equals(req.getStudentId()) || !assignment.getSchoolId().equals(schoolId)) {
-                throw new BusinessException("Unauthorized or mismatched assignment: " + assignmentId);
+            AllocationPlan plan = planAllocation(assignment, allocReq, req.getStudentId(), schoolId,
+                    effectivePaymentDate);
+            LateFeeLog lateFeeLog = applyAllocation(assignment, plan, schoolId, effectivePaymentDate);
+            if (lateFeeLog != null) {
+                lateFeeLogRepository.save(lateFeeLog);
             }
 
-            hydrateDefaults(assignment);
+            totalLateFeePaid = totalLateFeePaid.add(plan.lateFeeAllocation());
+            totalPrincipalPaid = totalPrincipalPaid.add(plan.principalAllocation());
 
-            BigDecimal principalDueBeforeLate = assignment.getAmount()
-                    .subtract(assignment.getPrincipalPaid())
-                    .subtract(assignment.getTotalDiscountAmount());
+            addAllocationPortion(allocationByAssignmentId, assignment.getId(), plan.principalAllocation(),
+                    plan.lateFeeAllocation());
+            assignmentsToSave.add(assignment);
+        }
 
-            // 1. Accrue any pending late fees up to today/payment date
-            BigDecimal incrementalLateFee = lateFeeCalculator.calculateLateFee(assignment, principalDueBeforeLate,
-                    effectivePaymentDate);
-            if (incrementalLateFee.compareTo(BigDecimal.ZERO) > 0) {
-                assignment.setLateFeeAccrued(assignment.getLateFeeAccrued().add(incrementalLateFee));
+        // Save updated assignments
+        assignmentRepository.saveAll(assignmentsToSave);
 
-                if (assignment.getLateFeeType() == LateFeeType.FLAT
-                        || assignment.getLateFeeType() == LateFeeType.PERCENTAGE) {
-                    assignment.setLateFeeApplied(true);
-                }
+        Long paymentSessionId = resolvePaymentSessionId(contextSessionId, assignmentsToSave);
 
-                lateFeeLogRepository.save(LateFeeLog.builder()
-                        .schoolId(schoolId)
-                        .assignmentId(assignment.getId())
-                        .computedAmount(incrementalLateFee)
-                        .appliedDate(effectivePaymentDate)
-                        .reason("Payment-time late fee accrual (Head-wise)")
-                        .build());
-            }
+        FeePayment savedPayment = paymentRepository.save(FeePayment.builder()
+                .studentId(req.getStudentId())
+                .sessionId(paymentSessionId)
+                .principalPaid(totalPrincipalPaid)
+                .lateFeePaid(totalLateFeePaid)
+                .paymentDate(effectivePaymentDate)
+                .mode(req.getMode())
+                .transactionReference(req.getTransactionReference())
+                .remarks(req.getRemarks())
+                .schoolId(schoolId)
+                .build());
 
-            BigDecimal lateFeeDue = assignment.getLateFeeAccrued()
-                    .subtract(assignment.getLateFeePaid())
-                    .subtract(assignment.getLateFeeWaived());
+        savePaymentAllocations(savedPayment, assignmentsToSave, allocationByAssignmentId, paymentSessionId, schoolId);
+        financeDailyRollupService.apply(schoolId, effectivePaymentDate, DailyTotals.feePayment(savedPayment.getMode(),
+                totalPrincipalPaid.add(totalLateFeePaid)));
+        defaulterIndexService.refreshStudent(schoolId, paymentSessionId, req.getStudentId());
 
-            if (lateFeeDue.compareTo(BigDecimal.ZERO) < 0)
-                lateFeeDue = BigDecimal.ZERO;
+        return toDto(savedPayment);
+    }
 
-            if (lateFeeRequested.compareTo(lateFeeDue) > 0) {
-                throw new BusinessException(
-                        "Late fee allocation (₹ " + lateFeeRequested + ") exceeds pending late fee (₹ "
-                                + lateFeeDue + ") for assignment: " + assignmentId);
-            }
+    // ---------------- BULK PAY ----------------
 
-            // 2. Strict Late Fee Policy: Must clear full late fee if pending
-            if (lateFeeDue.compareTo(BigDecimal.ZERO) > 0 && amountProvided.compareTo(lateFeeDue) < 0) {
-                throw new BusinessException(
-                        "Late fee (₹ " + lateFeeDue + ") must be fully cleared first for assignment: " + assignmentId);
-            }
+    /**
+     * Posts many payments in one transaction (counter / bank reconciliation
+     * uploads). Each item is validated exactly like {@link #pay}; a rejected
+     * item is reported in the response and does not affect the others.
+     * <p>
+     * All involved assignments are locked up front in a single query ordered by
+     * id, so concurrent batches touching overlapping students cannot deadlock.
+     */
+    @Transactional
+    public FeeBulkPaymentResponse payBulk(List<FeePaymentRequest> requests) {
+        Long schoolId = TenantContext.getSchoolId();
+        Long contextSessionId = SessionContext.getSessionId();
 
-            // 3. Overpayment Guard
-            BigDecimal totalPending = FeeMath.computePending(assignment);
-            if (amountProvided.compareTo(totalPending) > 0) {
-                throw new BusinessException("Payment (₹ " + amountProvided + ") exceeds total outstanding (₹ "
-                        + totalPending + ") for assignment: " + assignmentId);
-            }
+        Set<Long> existingStudentIds = loadExistingStudentIds(requests);
+        Map<Long, StudentFeeAssignment> lockedAssignments = lockAssignments(requests);
+        Map<LocalDate, Boolean> closedDates = new HashMap<>();
 
-            // 4. Perform Allocation
-            BigDecimal lateFeeAllocation = lateFeeRequested.min(lateFeeDue);
-            BigDecimal principalRemainder = principalRequested;
+        List<FeeBulkPaymentResult> results = new ArrayList<>(requests.size());
+        List<PostedPayment> postedPayments = new ArrayList<>();
+        List<LateFeeLog> lateFeeLogs = new ArrayList<>();
+        Map<Long, StudentFeeAssignment> touchedAssignments = new LinkedHashMap<>();
 
-            // Enforce late-fee-first policy using principal bucket when explicit late fee
-            // is lower.
-            BigDecimal lateFeeBalance = lateFeeDue.subtract(lateFeeAllocation);
-            if (lateFeeBalance.compareTo(BigDecimal.ZERO) > 0) {
-                lateFeeAllocation = lateFeeAllocation.add(lateFeeBalance);
-                principalRemainder = principalRemainder.subtract(lateFeeBalance);
+        for (int i = 0; i < requests.size(); i++) {
+            FeePaymentRequest req = requests.get(i);
+            try {
+                if (!existingStudentIds.contains(req.getStudentId())) {
+                    throw new ResourceNotFoundException("Student not found: " + req.getStudentId());
+                }
+                PostedPayment posted = postBulkItem(req, schoolId, contextSessionId, lockedAssignments, closedDates,
+                        lateFeeLogs);
+                posted.assignments().forEach(a -> touchedAssignments.put(a.getId(), a));
+                postedPayments.add(posted);
+                results.add(FeeBulkPaymentResult.builder()
+                        .index(i)
+                        .studentId(req.getStudentId())
+                        .success(true)
+                        .build());
+            } catch (BusinessException | InvalidOperationException | ResourceNotFoundException e) {
+                results.add(FeeBulkPaymentResult.builder()
+                        .index(i)
+                        .studentId(req.getStudentId())
+                        .success(false)
+                        .error(e.getMessage())
+                        .build());
             }
+        }
+
+        if (!postedPayments.isEmpty()) {
+            persistBulkPayments(postedPayments, touchedAssignments.values(), lateFeeLogs, schoolId);
+        }
 
-            BigDecimal principalAllocation = principalRemainder;
+        // Attach saved payments to their result rows (successful results are in posting order)
+        Iterator<PostedPayment> savedPayments = postedPayments.iterator();
+        for (FeeBulkPaymentResult result : results) {
+            if (result.isSuccess()) {
+                result.setPayment(toDto(savedPayments.next().payment()));
+            }
+        }
 
-            assignment.setLateFeePaid(assignment.getLateFeePaid().add(lateFeeAllocation));
-            assignment.setPrincipalPaid(assignment.getPrincipalPaid().add(principalAllocation));
+        int succeeded = postedPayments.size();
+        return FeeBulkPaymentResponse.builder()
+                .successCount(succeeded)
+                .failureCount(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
 
-            totalLateFeePaid = totalLateFeePaid.add(lateFeeAllocation);
-            totalPrincipalPaid = totalPrincipalPaid.add(principalAllocation);
+    private PostedPayment postBulkItem(
+            FeePaymentRequest req,
+            Long schoolId,
+            Long contextSessionId,
+            Map<Long, StudentFeeAssignment> lockedAssignments,
+            Map<LocalDate, Boolean> closedDates,
+            List<LateFeeLog> lateFeeLogs) {
 
-            addAllocationPortion(allocationByAssignmentId, assignment.getId(), principalAllocation, lateFeeAllocation);
-            assignmentsToSave.add(assignment);
+        if (req.getAllocations() == null || req.getAllocations().isEmpty()) {
+            throw new BusinessException("At least one allocation is required.");
+        }
+        if (req.getSessionId() != null && contextSessionId != null && !req.getSessionId().equals(contextSessionId)) {
+            throw new InvalidOperationException("Session mismatch between request and context");
+        }
+        LocalDate effectivePaymentDate = req.getPaymentDate() != null ? req.getPaymentDate() : LocalDate.now();
+        boolean dateClosed = closedDates.computeIfAbsent(effectivePaymentDate,
+                date -> dayClosingRepository.existsBySchoolIdAndDateAndOverrideAllowedFalse(schoolId, date));
+        if (dateClosed) {
+            throw new InvalidOperationException("Date already closed");
         }
 
-        // Save updated assignments
-        assignmentRepository.saveAll(assignmentsToSave);
+        // Plan every allocation before touching any assignment so a rejected item
+        // leaves the shared, locked assignments unchanged.
+        Set<Long> processedAssignmentIds = new HashSet<>();
+        List<StudentFeeAssignment> assignments = new ArrayList<>();
+        List<AllocationPlan> plans = new ArrayList<>();
+        for (FeePaymentAllocationRequest allocReq : req.getAllocations()) {
+            Long assignmentId = allocReq.getAssignmentId();
+            validateAllocationRequest(allocReq, processedAssignmentIds);
 
-        Long paymentSessionId = resolvePaymentSessionId(contextSessionId, assignmentsToSave);
+            StudentFeeAssignment assignment = lockedAssignments.get(assignmentId);
+            if (assignment == null) {
+                throw new ResourceNotFoundException("Fee assignment not found: " + assignmentId);
+            }
+            plans.add(planAllocation(assignment, allocReq, req.getStudentId(), schoolId, effectivePaymentDate));
+            assignments.add(assignment);
+        }
+        Long paymentSessionId = resolvePaymentSessionId(contextSessionId, assignments);
 
-        FeePayment savedPayment = paymentRepository.save(FeePayment.builder()
+        BigDecimal totalPrincipalPaid = BigDecimal.ZERO;
+        BigDecimal totalLateFeePaid = BigDecimal.ZERO;
+        Map<Long, AssignmentAllocation> allocationByAssignmentId = new LinkedHashMap<>();
+        for (int i = 0; i < assignments.size(); i++) {
+            StudentFeeAssignment assignment = assignments.get(i);
+            AllocationPlan plan = plans.get(i);
+            LateFeeLog lateFeeLog = applyAllocation(assignment, plan, schoolId, effectivePaymentDate);
+            if (lateFeeLog != null) {
+                lateFeeLogs.add(lateFeeLog);
+            }
+            totalLateFeePaid = totalLateFeePaid.add(plan.lateFeeAllocation());
+            totalPrincipalPaid = totalPrincipalPaid.add(plan.principalAllocation());
+            addAllocationPortion(allocationByAssignmentId, assignment.getId(), plan.principalAllocation(),
+                    plan.lateFeeAllocation());
+        }
+
+        FeePayment payment = FeePayment.builder()
                 .studentId(req.getStudentId())
                 .sessionId(paymentSessionId)
                 .principalPaid(totalPrincipalPaid)
@@ -192,11 +264,78 @@ public class FeePaymentService {
                 .transactionReference(req.getTransactionReference())
                 .remarks(req.getRemarks())
                 .schoolId(schoolId)
-                .build());
+                .build();
+        return new PostedPayment(payment, assignments, allocationByAssignmentId);
+    }
 
-        savePaymentAllocations(savedPayment, assignmentsToSave, allocationByAssignmentId, paymentSessionId, schoolId);
+    private void persistBulkPayments(
+            List<PostedPayment> postedPayments,
+            Collection<StudentFeeAssignment> touchedAssignments,
+            List<LateFeeLog> lateFeeLogs,
+            Long schoolId) {
 
-        return toDto(savedPayment);
+        assignmentRepository.saveAll(touchedAssignments);
+        paymentRepository.saveAll(postedPayments.stream().map(PostedPayment::payment).toList());
+
+        List<Long> feeStructureIds = touchedAssignments.stream()
+                .map(StudentFeeAssignment::getFeeStructureId)
+                .distinct()
+                .toList();
+        Map<Long, FeeStructure> feeStructureById = loadFeeStructures(feeStructureIds, schoolId);
+
+        List<FeePaymentAllocation> allocationRows = new ArrayList<>();
+        Map<Long, Set<Long>> studentIdsBySession = new HashMap<>();
+        for (PostedPayment posted : postedPayments) {
+            FeePayment payment = posted.payment();
+            allocationRows.addAll(buildAllocationRows(payment, posted.assignments(),
+                    posted.allocationByAssignmentId(), payment.getSessionId(), schoolId, feeStructureById));
+            studentIdsBySession.computeIfAbsent(payment.getSessionId(), ignored -> new LinkedHashSet<>())
+                    .add(payment.getStudentId());
+        }
+
+        feePaymentJdbcRepository.insertAllocations(allocationRows);
+        feePaymentJdbcRepository.insertLateFeeLogs(lateFeeLogs);
+
+        Map<LocalDate, DailyTotals> totalsByDate = new TreeMap<>();
+        for (PostedPayment posted : postedPayments) {
+            FeePayment payment = posted.payment();
+            totalsByDate.merge(payment.getPaymentDate(),
+                    DailyTotals.feePayment(payment.getMode(), payment.getPrincipalPaid().add(payment.getLateFeePaid())),
+                    DailyTotals::plus);
+        }
+        totalsByDate.forEach((date, totals) -> financeDailyRollupService.apply(schoolId, date, totals));
+
+        studentIdsBySession.forEach((sessionId, studentIds) ->
+                defaulterIndexService.refreshStudents(schoolId, sessionId, studentIds));
+    }
+
+    private Set<Long> loadExistingStudentIds(List<FeePaymentRequest> requests) {
+        List<Long> studentIds = requests.stream()
+                .map(FeePaymentRequest::getStudentId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return studentIds.isEmpty() ? Set.of() : new HashSet<>(studentRepository.findIdsByIdIn(studentIds));
+    }
+
+    private Map<Long, StudentFeeAssignment> lockAssignments(List<FeePaymentRequest> requests) {
+        List<Long> assignmentIds = requests.stream()
+                .filter(req -> req.getAllocations() != null)
+                .flatMap(req -> req.getAllocations().stream())
+                .map(FeePaymentAllocationRequest::getAssignmentId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+
+        Map<Long, StudentFeeAssignment> locked = new HashMap<>();
+        // Chunks are taken in ascending id order, so the global lock order is preserved
+        for (int from = 0; from < assignmentIds.size(); from += LOCK_CHUNK_SIZE) {
+            List<Long> chunk = assignmentIds.subList(from, Math.min(from + LOCK_CHUNK_SIZE, assignmentIds.size()));
+            assignmentRepository.findAllByIdInWithLockOrderById(chunk)
+                    .forEach(a -> locked.put(a.getId(), a));
+        }
+        return locked;
     }
 
     @Transactional(readOnly = true)
@@ -274,6 +413,140 @@ public class FeePaymentService {
         return fullName.isEmpty() ? null : fullName;
     }
 
+    private void validateAllocationRequest(FeePaymentAllocationRequest allocReq, Set<Long> processedAssignmentIds) {
+        Long assignmentId = allocReq.getAssignmentId();
+        BigDecimal principalRequested = nz(allocReq.getPrincipalAmount());
+        BigDecimal lateFeeRequested = nz(allocReq.getLateFeeAmount());
+        BigDecimal amountProvided = principalRequested.add(lateFeeRequested);
+
+        if (principalRequested.compareTo(BigDecimal.ZERO) < 0 || lateFeeRequested.compareTo(BigDecimal.ZERO) < 0) {
+            throw new BusinessException(
+                    "Allocation amounts must be non-negative for assignment ID: " + assignmentId);
+        }
+
+        if (amountProvided.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessException(
+                    "Allocation total must be greater than zero for assignment ID: " + assignmentId);
+        }
+
+        if (!processedAssignmentIds.add(assignmentId)) {
+            throw new BusinessException("Duplicate allocation for assignment ID: " + assignmentId);
+        }
+    }
+
+    /**
+     * Validates one allocation against the current state of its assignment and
+     * computes the split. Does not modify the assignment beyond defaulting null
+     * amounts to zero.
+     */
+    private AllocationPlan planAllocation(
+            StudentFeeAssignment assignment,
+            FeePaymentAllocationRequest allocReq,
+            Long studentId,
+            Long schoolId,
+            LocalDate effectivePaymentDate) {
+
+        Long assignmentId = allocReq.getAssignmentId();
+        BigDecimal principalRequested = nz(allocReq.getPrincipalAmount());
+        BigDecimal lateFeeRequested = nz(allocReq.getLateFeeAmount());
+        BigDecimal amountProvided = principalRequested.add(lateFeeRequested);
+
+        // Security check: must belong to student and school
+        if (!assignment.getStudentId().equals(studentId) || !assignment.getSchoolId().equals(schoolId)) {
+            throw new BusinessException("Unauthorized or mismatched assignment: " + assignmentId);
+        }
+
+        hydrateDefaults(assignment);
+
+        BigDecimal principalDueBeforeLate = assignment.getAmount()
+                .subtract(assignment.getPrincipalPaid())
+                .subtract(assignment.getTotalDiscountAmount());
+
+        // 1. Accrue any pending late fees up to today/payment date
+        BigDecimal incrementalLateFee = lateFeeCalculator.calculateLateFee(assignment, principalDueBeforeLate,
+                effectivePaymentDate);
+        if (incrementalLateFee.compareTo(BigDecimal.ZERO) < 0) {
+            incrementalLateFee = BigDecimal.ZERO;
+        }
+        BigDecimal lateFeeAccrued = assignment.getLateFeeAccrued().add(incrementalLateFee);
+
+        BigDecimal lateFeeOutstanding = lateFeeAccrued
+                .subtract(assignment.getLateFeePaid())
+                .subtract(assignment.getLateFeeWaived());
+
+        BigDecimal lateFeeDue = lateFeeOutstanding;
+        if (lateFeeDue.compareTo(BigDecimal.ZERO) < 0)
+            lateFeeDue = BigDecimal.ZERO;
+
+        if (lateFeeRequested.compareTo(lateFeeDue) > 0) {
+            throw new BusinessException(
+                    "Late fee allocation (₹ " + lateFeeRequested + ") exceeds pending late fee (₹ "
+                            + lateFeeDue + ") for assignment: " + assignmentId);
+        }
+
+        // 2. Strict Late Fee Policy: Must clear full late fee if pending
+        if (lateFeeDue.compareTo(BigDecimal.ZERO) > 0 && amountProvided.compareTo(lateFeeDue) < 0) {
+            throw new BusinessException(
+                    "Late fee (₹ " + lateFeeDue + ") must be fully cleared first for assignment: " + assignmentId);
+        }
+
+        // 3. Overpayment Guard (same as FeeMath.computePending after accrual)
+        BigDecimal totalPending = principalDueBeforeLate.add(lateFeeOutstanding).max(BigDecimal.ZERO);
+        if (amountProvided.compareTo(totalPending) > 0) {
+            throw new BusinessException("Payment (₹ " + amountProvided + ") exceeds total outstanding (₹ "
+                    + totalPending + ") for assignment: " + assignmentId);
+        }
+
+        // 4. Perform Allocation
+        BigDecimal lateFeeAllocation = lateFeeRequested.min(lateFeeDue);
+        BigDecimal principalRemainder = principalRequested;
+
+        // Enforce late-fee-first policy using principal bucket when explicit late fee
+        // is lower.
+        BigDecimal lateFeeBalance = lateFeeDue.subtract(lateFeeAllocation);
+        if (lateFeeBalance.compareTo(BigDecimal.ZERO) > 0) {
+            lateFeeAllocation = lateFeeAllocation.add(lateFeeBalance);
+            principalRemainder = principalRemainder.subtract(lateFeeBalance);
+        }
+
+        return new AllocationPlan(incrementalLateFee, lateFeeAllocation, principalRemainder);
+    }
+
+    /**
+     * Applies a validated plan to the assignment.
+     *
+     * @return the late-fee log to persist for payment-time accrual, or
+     *         {@code null} if nothing accrued
+     */
+    private LateFeeLog applyAllocation(
+            StudentFeeAssignment assignment,
+            AllocationPlan plan,
+            Long schoolId,
+            LocalDate effectivePaymentDate) {
+
+        LateFeeLog lateFeeLog = null;
+        if (plan.incrementalLateFee().compareTo(BigDecimal.ZERO) > 0) {
+            assignment.setLateFeeAccrued(assignment.getLateFeeAccrued().add(plan.incrementalLateFee()));
+
+            if (assignment.getLateFeeType() == LateFeeType.FLAT
+                    || assignment.getLateFeeType() == LateFeeType.PERCENTAGE) {
+                assignment.setLateFeeApplied(true);
+            }
+
+            lateFeeLog = LateFeeLog.builder()
+                    .schoolId(schoolId)
+                    .assignmentId(assignment.getId())
+                    .computedAmount(plan.incrementalLateFee())
+                    .appliedDate(effectivePaymentDate)
+                    .reason("Payment-time late fee accrual (Head-wise)")
+                    .build();
+        }
+
+        assignment.setLateFeePaid(assignment.getLateFeePaid().add(plan.lateFeeAllocation()));
+        assignment.setPrincipalPaid(assignment.getPrincipalPaid().add(plan.principalAllocation()));
+        return lateFeeLog;
+    }
+
     private void hydrateDefaults(StudentFeeAssignment assignment) {
         if (assignment.getLateFeeAccrued() == null) {
             assignment.setLateFeeAccrued(BigDecimal.ZERO);
@@ -324,10 +597,33 @@ public class FeePaymentService {
                 .distinct()
                 .toList();
 
-        Map<Long, FeeStructure> feeStructureById = feeStructureRepository
+        List<FeePaymentAllocation> allocationRows = buildAllocationRows(payment, assignments,
+                allocationByAssignmentId, sessionId, schoolId, loadFeeStructures(feeStructureIds, schoolId));
+        if (!allocationRows.isEmpty()) {
+            feePaymentAllocationRepository.saveAll(allocationRows);
+        }
+    }
+
+    private Map<Long, FeeStructure> loadFeeStructures(List<Long> feeStructureIds, Long schoolId) {
+        return feeStructureRepository
                 .findByIdInAndSchoolId(feeStructureIds, schoolId)
                 .stream()
                 .collect(java.util.stream.Collectors.toMap(FeeStructure::getId, fs -> fs));
+    }
+
+    private List<FeePaymentAllocation> buildAllocationRows(
+            FeePayment payment,
+            List<StudentFeeAssignment> assignments,
+            Map<Long, AssignmentAllocation> allocationByAssignmentId,
+            Long sessionId,
+            Long schoolId,
+            Map<Long, FeeStructure> feeStructureById) {
+        if (allocationByAssignmentId.isEmpty()) {
+            if (payment.getPrincipalPaid().add(payment.getLateFeePaid()).compareTo(BigDecimal.ZERO) > 0) {
+                throw new IllegalStateException("No allocation rows generated for fee payment " + payment.getId());
+            }
+            return List.of();
+        }
 
         List<FeePaymentAllocation> allocationRows = new ArrayList<>();
         for (StudentFeeAssignment assignment : assignments) {
@@ -373,10 +669,7 @@ public class FeePaymentService {
                 || totalLateFeeAllocated.compareTo(payment.getLateFeePaid()) != 0) {
             throw new IllegalStateException("Payment allocation mismatch for fee payment " + payment.getId());
         }
-
-        if (!allocationRows.isEmpty()) {
-            feePaymentAllocationRepository.saveAll(allocationRows);
-        }
+        return allocationRows;
     }
 
     private BigDecimal nz(BigDecimal value) {
@@ -414,6 +707,18 @@ public class FeePaymentService {
         return firstSessionId;
     }
 
+    private record AllocationPlan(
+            BigDecimal incrementalLateFee,
+            BigDecimal lateFeeAllocation,
+            BigDecimal principalAllocation) {
+    }
+
+    private record PostedPayment(
+            FeePayment payment,
+            List<StudentFeeAssignment> assignments,
+            Map<Long, AssignmentAllocation> allocationByAssignmentId) {
+    }
+
     private static final class AssignmentAllocation {
         private BigDecimal principal = BigDecimal.ZERO;
         private BigDecimal lateFee = BigDecimal.ZERO;
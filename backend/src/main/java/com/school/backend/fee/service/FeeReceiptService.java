@@ -14,8 +14,16 @@ import com.lowagie.text.Element;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.Chunk;
 import com.lowagie.text.DocumentException;
+import com.school.backend.common.exception.BusinessException;
+import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.common.tenant.SessionContext;
+import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.core.classsubject.entity.SchoolClass;
+import com.school.backend.core.classsubject.repository.SchoolClassRepository;
 import com.school.backend.core.student.entity.Student;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.core.student.repository.StudentEnrollmentRepository;
 import com.school.backend.core.student.repository.StudentRepository;
 import com.school.backend.fee.entity.FeePayment;
 import com.school.backend.fee.entity.FeePaymentAllocation;
@@ -31,21 +39,43 @@ import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class FeeReceiptService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
+
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Font.BOLD, Color.WHITE);
+    private static final Font BODY_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9);
+    private static final Font BREAKDOWN_TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.DARK_GRAY);
+    private static final Font TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+    private static final Font SCHOOL_NAME_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, Color.DARK_GRAY);
+    private static final Font ADDRESS_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.GRAY);
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, Color.BLACK);
+    private static final Font RECEIPT_NO_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.DARK_GRAY);
+    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+    private static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9);
+    private static final Font AMOUNT_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private static final Font REMARKS_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, Font.ITALIC, Color.DARK_GRAY);
+    private static final Font SIGN_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.DARK_GRAY);
+    private static final Font FOOTER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 7, Font.ITALIC, Color.GRAY);
+
     private final FeePaymentRepository paymentRepository;
     private final FeePaymentAllocationRepository paymentAllocationRepository;
     private final SchoolRepository schoolRepository;
     private final StudentRepository studentRepository;
+    private final StudentEnrollmentRepository enrollmentRepository;
+    private final SchoolClassRepository schoolClassRepository;
 
     @Transactional(readOnly = true)
     public byte[] generateReceipt(Long paymentId) {
@@ -61,10 +91,81 @@ public class FeeReceiptService {
         List<FeePaymentAllocation> allocations = paymentAllocationRepository
                 .findByFeePaymentIdOrderByIdAsc(paymentId);
 
-        return generateReceiptPdf(school, student, payment, allocations);
+        String className = student.getCurrentClass() != null
+                ? student.getCurrentClass().getName() + "-" + student.getCurrentClass().getSection()
+                : "N/A";
+        return renderReceipt(new ReceiptData(school, student, className, payment, allocations));
     }
 
-    private byte[] generateReceiptPdf(School school, Student student, FeePayment payment, List<FeePaymentAllocation> allocations) {
+    /**
+     * Loads the receipts of every payment made between {@code from} and
+     * {@code to} by students enrolled in {@code classId} for the current session,
+     * grouped by student in roll-number order, using a fixed number of queries.
+     */
+    @Transactional(readOnly = true)
+    public List<ReceiptData> loadClassReceipts(Long classId, LocalDate from, LocalDate to) {
+        Long schoolId = TenantContext.getSchoolId();
+        Long sessionId = SessionContext.getSessionId();
+        if (sessionId == null) {
+            throw new InvalidOperationException("Session context is missing in request");
+        }
+        if (to.isBefore(from)) {
+            throw new BusinessException("End date cannot be before Start date");
+        }
+
+        SchoolClass schoolClass = schoolClassRepository.findByIdAndSchoolId(classId, schoolId)
+                .orElseThrow(() -> new ResourceNotFoundException("Class not found: " + classId));
+        School school = schoolRepository.findById(schoolId)
+                .orElseThrow(() -> new ResourceNotFoundException("School not found"));
+
+        List<Long> studentIds = enrollmentRepository
+                .findByClassIdAndSessionIdAndActiveTrueOrderByRollNumberAscStudentIdAsc(classId, sessionId)
+                .stream()
+                .map(StudentEnrollment::getStudentId)
+                .distinct()
+                .toList();
+        if (studentIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, List<FeePayment>> paymentsByStudent = paymentRepository
+                .findBySessionIdAndStudentIdInAndPaymentDateBetweenOrderByPaymentDateAscIdAsc(
+                        sessionId, studentIds, from, to)
+                .stream()
+                .collect(Collectors.groupingBy(FeePayment::getStudentId));
+        List<Long> paymentIds = paymentsByStudent.values().stream()
+                .flatMap(List::stream)
+                .map(FeePayment::getId)
+                .toList();
+        if (paymentIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<FeePaymentAllocation>> allocationsByPayment = paymentAllocationRepository
+                .findByFeePaymentIdInWithFeeType(paymentIds)
+                .stream()
+                .collect(Collectors.groupingBy(FeePaymentAllocation::getFeePaymentId));
+
+        String className = schoolClass.getName() + "-" + schoolClass.getSection();
+        List<ReceiptData> receipts = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            Student student = students.get(studentId);
+            if (student == null) {
+                continue;
+            }
+            for (FeePayment payment : paymentsByStudent.getOrDefault(studentId, List.of())) {
+                receipts.add(new ReceiptData(school, student, className, payment,
+                        allocationsByPayment.getOrDefault(payment.getId(), List.of())));
+            }
+        }
+        return receipts;
+    }
+
+    /**
+     * Renders one receipt from preloaded data, without touching repositories.
+     */
+    public byte[] renderReceipt(ReceiptData data) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             Document document = new Document(PageSize.A4);
             PdfWriter.getInstance(document, out);
@@ -72,19 +173,19 @@ public class FeeReceiptService {
             document.open();
 
             // 1. School Header
-            addSchoolHeader(document, school);
+            addSchoolHeader(document, data.school());
 
             // 2. Receipt Title
-            addReceiptTitle(document, payment.getId());
+            addReceiptTitle(document, data.payment().getId());
 
             // 3. Student & Payment Details
-            addDetailsTable(document, student, payment);
+            addDetailsTable(document, data.student(), data.className(), data.payment());
 
             // 4. Fee-type wise payment breakup
-            addAllocationBreakdown(document, allocations);
+            addAllocationBreakdown(document, data.allocations());
 
             // 5. Amount Section (Highlighted)
-            addAmountSection(document, payment);
+            addAmountSection(document, data.payment());
 
             // 6. Footer
             addFooter(document);
@@ -97,17 +198,21 @@ public class FeeReceiptService {
         }
     }
 
-    private void addAllocationBreakdown(Document document, List<FeePaymentAllocation> allocations) throws DocumentException {
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA, 10, Font.BOLD, Color.WHITE);
-        Font bodyFont = FontFactory.getFont(FontFactory.HELVETICA, 9);
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.DARK_GRAY);
+    public record ReceiptData(
+            School school,
+            Student student,
+            String className,
+            FeePayment payment,
+            List<FeePaymentAllocation> allocations) {
+    }
 
-        Paragraph title = new Paragraph("Payment Breakdown (By Fee Type)", titleFont);
+    private void addAllocationBreakdown(Document document, List<FeePaymentAllocation> allocations) throws DocumentException {
+        Paragraph title = new Paragraph("Payment Breakdown (By Fee Type)", BREAKDOWN_TITLE_FONT);
         title.setSpacingAfter(6f);
         document.add(title);
 
         if (allocations == null || allocations.isEmpty()) {
-            Paragraph empty = new Paragraph("No fee-head allocation details available.", bodyFont);
+            Paragraph empty = new Paragraph("No fee-head allocation details available.", BODY_FONT);
             empty.setSpacingAfter(8f);
             document.add(empty);
             return;
@@ -130,10 +235,10 @@ public class FeeReceiptService {
         table.setWidths(new float[]{3f, 1.5f, 1.5f, 1.7f});
         table.setSpacingAfter(10f);
 
-        addHeaderCell(table, "Fee Type", headerFont, Element.ALIGN_LEFT);
-        addHeaderCell(table, "Principal", headerFont, Element.ALIGN_RIGHT);
-        addHeaderCell(table, "Late Fee", headerFont, Element.ALIGN_RIGHT);
-        addHeaderCell(table, "Total Paid", headerFont, Element.ALIGN_RIGHT);
+        addHeaderCell(table, "Fee Type", HEADER_FONT, Element.ALIGN_LEFT);
+        addHeaderCell(table, "Principal", HEADER_FONT, Element.ALIGN_RIGHT);
+        addHeaderCell(table, "Late Fee", HEADER_FONT, Element.ALIGN_RIGHT);
+        addHeaderCell(table, "Total Paid", HEADER_FONT, Element.ALIGN_RIGHT);
 
         BigDecimal grandPrincipal = BigDecimal.ZERO;
         BigDecimal grandLate = BigDecimal.ZERO;
@@ -144,21 +249,20 @@ public class FeeReceiptService {
             grandPrincipal = grandPrincipal.add(principal);
             grandLate = grandLate.add(late);
 
-            table.addCell(createBreakdownCell(entry.getKey(), bodyFont, Element.ALIGN_LEFT));
-            table.addCell(createBreakdownCell(formatIndianRupees(principal), bodyFont, Element.ALIGN_RIGHT));
-            table.addCell(createBreakdownCell(formatIndianRupees(late), bodyFont, Element.ALIGN_RIGHT));
-            table.addCell(createBreakdownCell(formatIndianRupees(total), bodyFont, Element.ALIGN_RIGHT));
+            table.addCell(createBreakdownCell(entry.getKey(), BODY_FONT, Element.ALIGN_LEFT));
+            table.addCell(createBreakdownCell(formatIndianRupees(principal), BODY_FONT, Element.ALIGN_RIGHT));
+            table.addCell(createBreakdownCell(formatIndianRupees(late), BODY_FONT, Element.ALIGN_RIGHT));
+            table.addCell(createBreakdownCell(formatIndianRupees(total), BODY_FONT, Element.ALIGN_RIGHT));
         }
 
-        Font totalFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
-        PdfPCell totalLabel = new PdfPCell(new Phrase("Grand Total", totalFont));
+        PdfPCell totalLabel = new PdfPCell(new Phrase("Grand Total", TOTAL_FONT));
         totalLabel.setColspan(3);
         totalLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
         totalLabel.setPadding(6f);
         totalLabel.setBackgroundColor(new Color(236, 240, 241));
         table.addCell(totalLabel);
 
-        PdfPCell totalValue = new PdfPCell(new Phrase(formatIndianRupees(grandPrincipal.add(grandLate)), totalFont));
+        PdfPCell totalValue = new PdfPCell(new Phrase(formatIndianRupees(grandPrincipal.add(grandLate)), TOTAL_FONT));
         totalValue.setHorizontalAlignment(Element.ALIGN_RIGHT);
         totalValue.setPadding(6f);
         totalValue.setBackgroundColor(new Color(236, 240, 241));
@@ -183,19 +287,17 @@ public class FeeReceiptService {
     }
 
     private void addSchoolHeader(Document document, School school) throws DocumentException {
-        Font schoolNameFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, Color.DARK_GRAY);
         Paragraph schoolName = new Paragraph(
                 school.getDisplayName() != null ? school.getDisplayName() : school.getName(),
-                schoolNameFont);
+                SCHOOL_NAME_FONT);
         schoolName.setAlignment(Element.ALIGN_CENTER);
         document.add(schoolName);
 
-        Font addressFont = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.GRAY);
         if (school.getAddress() != null) {
             Paragraph address = new Paragraph(
                     school.getAddress() + ", " + school.getCity() + ", " + school.getState() + " - "
                             + school.getPincode(),
-                    addressFont);
+                    ADDRESS_FONT);
             address.setAlignment(Element.ALIGN_CENTER);
             document.add(address);
         }
@@ -207,7 +309,7 @@ public class FeeReceiptService {
             if (school.getContactEmail() != null)
                 contact += (contact.isEmpty() ? "" : " | ") + "Email: " + school.getContactEmail();
 
-            Paragraph contactPara = new Paragraph(contact, addressFont);
+            Paragraph contactPara = new Paragraph(contact, ADDRESS_FONT);
             contactPara.setAlignment(Element.ALIGN_CENTER);
             document.add(contactPara);
         }
@@ -218,13 +320,11 @@ public class FeeReceiptService {
     }
 
     private void addReceiptTitle(Document document, Long receiptId) throws DocumentException {
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, Color.BLACK);
-        Paragraph title = new Paragraph("FEE PAYMENT RECEIPT", titleFont);
+        Paragraph title = new Paragraph("FEE PAYMENT RECEIPT", TITLE_FONT);
         title.setAlignment(Element.ALIGN_CENTER);
         document.add(title);
 
-        Font receiptNoFont = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.DARK_GRAY);
-        Paragraph receiptNo = new Paragraph("Receipt No: " + String.format("REC-%06d", receiptId), receiptNoFont);
+        Paragraph receiptNo = new Paragraph("Receipt No: " + String.format("REC-%06d", receiptId), RECEIPT_NO_FONT);
         receiptNo.setAlignment(Element.ALIGN_CENTER);
         document.add(receiptNo);
 
@@ -233,38 +333,33 @@ public class FeeReceiptService {
         document.add(new Paragraph(" "));
     }
 
-    private void addDetailsTable(Document document, Student student, FeePayment payment) throws DocumentException {
+    private void addDetailsTable(Document document, Student student, String className, FeePayment payment)
+            throws DocumentException {
         PdfPTable table = new PdfPTable(4);
         table.setWidthPercentage(100);
         table.setSpacingBefore(10f);
         table.setSpacingAfter(10f);
 
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA, 9);
-
         // Row 1: Student Name and Admission Number
-        addDetailCell(table, "Student Name:", labelFont);
+        addDetailCell(table, "Student Name:", LABEL_FONT);
         addDetailCell(table, student.getFirstName() + " " +
-                (student.getLastName() != null ? student.getLastName() : ""), valueFont);
-        addDetailCell(table, "Admission No:", labelFont);
-        addDetailCell(table, student.getAdmissionNumber(), valueFont);
+                (student.getLastName() != null ? student.getLastName() : ""), VALUE_FONT);
+        addDetailCell(table, "Admission No:", LABEL_FONT);
+        addDetailCell(table, student.getAdmissionNumber(), VALUE_FONT);
 
         // Row 2: Class and Date
-        addDetailCell(table, "Class:", labelFont);
-        String className = student.getCurrentClass() != null
-                ? student.getCurrentClass().getName() + "-" + student.getCurrentClass().getSection()
-                : "N/A";
-        addDetailCell(table, className, valueFont);
-        addDetailCell(table, "Payment Date:", labelFont);
-        addDetailCell(table, payment.getPaymentDate().format(DATE_FORMATTER), valueFont);
+        addDetailCell(table, "Class:", LABEL_FONT);
+        addDetailCell(table, className, VALUE_FONT);
+        addDetailCell(table, "Payment Date:", LABEL_FONT);
+        addDetailCell(table, payment.getPaymentDate().format(DATE_FORMATTER), VALUE_FONT);
 
         // Row 3: Payment Mode and Transaction Ref (if applicable)
-        addDetailCell(table, "Payment Mode:", labelFont);
-        addDetailCell(table, formatPaymentMode(payment.getMode()), valueFont);
-        addDetailCell(table, "Reference:", labelFont);
+        addDetailCell(table, "Payment Mode:", LABEL_FONT);
+        addDetailCell(table, formatPaymentMode(payment.getMode()), VALUE_FONT);
+        addDetailCell(table, "Reference:", LABEL_FONT);
         addDetailCell(table, payment.getTransactionReference() != null
                 ? payment.getTransactionReference()
-                : "N/A", valueFont);
+                : "N/A", VALUE_FONT);
 
         document.add(table);
         addSeparatorLine(document);
@@ -276,9 +371,8 @@ public class FeeReceiptService {
         PdfPTable amountTable = new PdfPTable(1);
         amountTable.setWidthPercentage(100);
 
-        Font amountFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
         PdfPCell amountCell = new PdfPCell(new Phrase(
-                "Amount Paid: " + formatIndianRupees(payment.getAmountPaid()), amountFont));
+                "Amount Paid: " + formatIndianRupees(payment.getAmountPaid()), AMOUNT_FONT));
         amountCell.setBackgroundColor(new Color(236, 240, 241));
         amountCell.setPadding(12);
         amountCell.setHorizontalAlignment(Element.ALIGN_CENTER);
@@ -292,8 +386,7 @@ public class FeeReceiptService {
 
         // Remarks (if any)
         if (payment.getRemarks() != null && !payment.getRemarks().isEmpty()) {
-            Font remarksFont = FontFactory.getFont(FontFactory.HELVETICA, 9, Font.ITALIC, Color.DARK_GRAY);
-            Paragraph remarks = new Paragraph("Remarks: " + payment.getRemarks(), remarksFont);
+            Paragraph remarks = new Paragraph("Remarks: " + payment.getRemarks(), REMARKS_FONT);
             document.add(remarks);
             document.add(new Paragraph(" "));
         }
@@ -307,14 +400,12 @@ public class FeeReceiptService {
         PdfPTable signatureTable = new PdfPTable(2);
         signatureTable.setWidthPercentage(100);
 
-        Font signFont = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.DARK_GRAY);
-
-        PdfPCell receivedByCell = new PdfPCell(new Phrase("Received By:\n\n\n_________________", signFont));
+        PdfPCell receivedByCell = new PdfPCell(new Phrase("Received By:\n\n\n_________________", SIGN_FONT));
         receivedByCell.setBorder(Rectangle.NO_BORDER);
         receivedByCell.setHorizontalAlignment(Element.ALIGN_LEFT);
         signatureTable.addCell(receivedByCell);
 
-        PdfPCell parentSignCell = new PdfPCell(new Phrase("Parent/Guardian Sign:\n\n\n_________________", signFont));
+        PdfPCell parentSignCell = new PdfPCell(new Phrase("Parent/Guardian Sign:\n\n\n_________________", SIGN_FONT));
         parentSignCell.setBorder(Rectangle.NO_BORDER);
         parentSignCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
         signatureTable.addCell(parentSignCell);
@@ -325,11 +416,10 @@ public class FeeReceiptService {
         addSeparatorLine(document);
 
         // Computer Generated Note
-        Font footerFont = FontFactory.getFont(FontFactory.HELVETICA, 7, Font.ITALIC, Color.GRAY);
         Paragraph footer = new Paragraph(
                 "This is a computer-generated receipt and does not require a signature. " +
                         "For queries, please contact the school office.",
-                footerFont);
+                FOOTER_FONT);
         footer.setAlignment(Element.ALIGN_CENTER);
         document.add(footer);
     }
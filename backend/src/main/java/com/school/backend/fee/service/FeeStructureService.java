@@ -8,6 +8,7 @@ import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.tenant.SessionContext;
 import com.school.backend.core.student.entity.StudentEnrollment;
 import com.school.backend.core.student.repository.StudentEnrollmentRepository;
+import com.school.backend.fee.dto.FeeAssignmentBatchResult;
 import com.school.backend.fee.dto.FeeStructureCreateRequest;
 import com.school.backend.fee.dto.FeeStructurePatchRequest;
 import com.school.backend.fee.dto.FeeStructureDto;
@@ -18,6 +19,7 @@ import com.school.backend.fee.entity.StudentFeeAssignment;
 import com.school.backend.fee.repository.FeeStructureRepository;
 import com.school.backend.fee.repository.FeeTypeRepository;
 import com.school.backend.fee.repository.LateFeePolicyRepository;
+import com.school.backend.fee.repository.StudentFeeAssignmentJdbcRepository;
 import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.repository.AcademicSessionRepository;
@@ -32,9 +34,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -45,10 +52,12 @@ public class FeeStructureService {
     private final FeeTypeRepository feeTypeRepository;
     private final StudentEnrollmentRepository enrollmentRepository;
     private final StudentFeeAssignmentRepository assignmentRepository;
+    private final StudentFeeAssignmentJdbcRepository assignmentJdbcRepository;
     private final SetupValidationService setupValidationService;
     private final LateFeePolicyRepository lateFeePolicyRepository;
     private final AcademicSessionRepository academicSessionRepository;
     private final FeeCalculationService feeCalculationService;
+    private final DefaulterIndexService defaulterIndexService;
 
     // ---------------- CREATE ----------------
     @Transactional
@@ -95,11 +104,14 @@ public class FeeStructureService {
         }
 
         // Auto-assign to all students in the class
-        if (saved.getClassId() != null) {
-            assignFeeToStudents(saved);
-        }
+        FeeAssignmentBatchResult assigned = saved.getClassId() != null ? assignFeeToStudents(saved) : null;
 
-        return toDto(saved);
+        FeeStructureDto dto = toDto(saved);
+        if (assigned != null) {
+            dto.setAssignedCount(assigned.getCreated());
+            dto.setSkippedCount(assigned.getSkipped());
+        }
+        return dto;
     }
 
     @Transactional
@@ -167,49 +179,137 @@ public class FeeStructureService {
         return toDto(saved);
     }
 
+    /**
+     * Assigns the structure to every student enrolled in its class in one
+     * set-based pass: the late fee policy, session and due date are resolved
+     * once, existing assignments and enrollment dates are read with one query
+     * each and the new rows are written with a JDBC batch insert.
+     */
     @Transactional
-    public void assignFeeToStudents(FeeStructure fs) {
-        List<StudentEnrollment> enrollments = enrollmentRepository.findByClassIdAndSessionId(fs.getClassId(),
-                fs.getSessionId());
-        for (StudentEnrollment enroll : enrollments) {
-            assignFeeToStudent(fs, enroll.getStudentId());
+    public FeeAssignmentBatchResult assignFeeToStudents(FeeStructure fs) {
+        List<Long> studentIds = enrollmentRepository.findByClassIdAndSessionId(fs.getClassId(), fs.getSessionId())
+                .stream()
+                .map(StudentEnrollment::getStudentId)
+                .distinct()
+                .toList();
+        if (studentIds.isEmpty()) {
+            return new FeeAssignmentBatchResult(fs.getId(), 0, 0);
+        }
+
+        // ONE_TIME: history-wide check; ANNUALLY / MONTHLY: current session only
+        Long sessionScope = fs.getFrequency() == FeeFrequency.ONE_TIME ? null : fs.getSessionId();
+        Set<Long> alreadyAssigned = new HashSet<>(
+                assignmentRepository.findAssignedStudentIds(fs.getId(), sessionScope));
+        List<Long> pending = studentIds.stream()
+                .filter(id -> !alreadyAssigned.contains(id))
+                .toList();
+        if (pending.isEmpty()) {
+            return new FeeAssignmentBatchResult(fs.getId(), 0, studentIds.size());
+        }
+
+        AssignmentContext context = resolveAssignmentContext(fs);
+        Map<Long, LocalDate> enrollmentDates = new HashMap<>();
+        if (feeCalculationService.isProRated(fs)) {
+            enrollmentRepository
+                    .findByStudentIdInAndSessionIdInAndActiveTrueOrderByIdAsc(pending, List.of(fs.getSessionId()))
+                    .forEach(e -> {
+                        if (e.getEnrollmentDate() != null) {
+                            enrollmentDates.putIfAbsent(e.getStudentId(), e.getEnrollmentDate());
+                        }
+                    });
+        }
+
+        List<StudentFeeAssignment> assignments = new ArrayList<>(pending.size());
+        for (Long studentId : pending) {
+            BigDecimal amount = feeCalculationService.calculateAssignableAmount(fs, context.session(),
+                    enrollmentDates.get(studentId));
+            assignments.add(buildAssignment(fs, studentId, amount, context));
+        }
+        assignmentJdbcRepository.insertAssignments(assignments);
+        defaulterIndexService.refreshStudents(fs.getSchoolId(), fs.getSessionId(), pending);
+
+        log.info("event=fee_structure_assigned schoolId={} structureId={} created={} skipped={}",
+                fs.getSchoolId(), fs.getId(), pending.size(), studentIds.size() - pending.size());
+        return new FeeAssignmentBatchResult(fs.getId(), pending.size(), studentIds.size() - pending.size());
+    }
+
+    @Transactional
+    public FeeAssignmentBatchResult assignToClass(Long id, Long schoolId) {
+        FeeStructure fs = feeStructureRepository.findByIdAndSchoolId(id, schoolId)
+                .orElseThrow(() -> {
+                    if (feeStructureRepository.existsAnyById(id)) {
+                        throw new AccessDeniedException("Access denied for fee structure: " + id);
+                    }
+                    return new ResourceNotFoundException("FeeStructure not found: " + id);
+                });
+        if (!fs.isActive()) {
+            throw new InvalidOperationException("Cannot assign inactive fee structure: " + id);
+        }
+        if (fs.getClassId() == null) {
+            throw new InvalidOperationException("Fee structure is not linked to a class: " + id);
         }
+        return assignFeeToStudents(fs);
     }
 
     @Transactional
     public void assignFeeToStudent(FeeStructure fs, Long studentId) {
+        if (createAssignment(fs, studentId)) {
+            defaulterIndexService.refreshStudent(fs.getSchoolId(), fs.getSessionId(), studentId);
+        }
+    }
+
+    /**
+     * @return {@code true} if a new assignment was created, {@code false} if the
+     *         student already had one.
+     */
+    private boolean createAssignment(FeeStructure fs, Long studentId) {
         // Frequency Rules
         if (fs.getFrequency() == FeeFrequency.ONE_TIME) {
             // ONE_TIME: Check history-wide using studentId + feeStructureId
             if (assignmentRepository.existsByStudentIdAndFeeStructureId(studentId, fs.getId())) {
-                return;
+                return false;
             }
         } else {
             // ANNUALLY / MONTHLY: Check current session
             if (assignmentRepository.existsByStudentIdAndFeeStructureIdAndSessionId(studentId, fs.getId(),
                     fs.getSessionId())) {
-                return;
+                return false;
             }
         }
 
         BigDecimal finalAmount = feeCalculationService.calculateAssignableAmount(fs, studentId);
+        assignmentRepository.save(buildAssignment(fs, studentId, finalAmount, resolveAssignmentContext(fs)));
+        return true;
+    }
 
-        // --- Snapshot Late Fee Policy ---
-        LateFeePolicy policy = lateFeePolicyRepository.findByFeeStructureId(fs.getId()).orElse(null);
+    /**
+     * Everything an assignment snapshots from its structure, resolved once per
+     * structure rather than once per student.
+     */
+    private record AssignmentContext(LateFeePolicy policy, AcademicSession session, LocalDate dueDate) {
+    }
 
+    private AssignmentContext resolveAssignmentContext(FeeStructure fs) {
+        LateFeePolicy policy = lateFeePolicyRepository.findByFeeStructureId(fs.getId()).orElse(null);
+        AcademicSession session = academicSessionRepository.findById(fs.getSessionId())
+                .filter(s -> fs.getSchoolId().equals(s.getSchoolId()))
+                .orElse(null);
         // Derive due date from actual session date range.
-        java.time.LocalDate dueDate = resolveDerivedDueDate(
-                fs.getSessionId(),
-                fs.getSchoolId(),
+        LocalDate dueDate = resolveDerivedDueDate(session,
                 fs.getDueDayOfMonth() != null ? fs.getDueDayOfMonth() : 10);
+        return new AssignmentContext(policy, session, dueDate);
+    }
 
-        StudentFeeAssignment assignment = StudentFeeAssignment.builder()
+    private StudentFeeAssignment buildAssignment(FeeStructure fs, Long studentId, BigDecimal amount,
+            AssignmentContext context) {
+        LateFeePolicy policy = context.policy();
+        return StudentFeeAssignment.builder()
                 .schoolId(fs.getSchoolId())
                 .studentId(studentId)
                 .feeStructureId(fs.getId())
                 .sessionId(fs.getSessionId())
-                .amount(finalAmount)
-                .dueDate(dueDate)
+                .amount(amount)
+                .dueDate(context.dueDate())
                 .lateFeeType(policy != null ? policy.getType() : null)
                 .lateFeeValue(policy != null ? policy.getAmountValue() : BigDecimal.ZERO)
                 .lateFeeGraceDays(policy != null ? policy.getGraceDays() : 0)
@@ -217,8 +317,6 @@ public class FeeStructureService {
                 .lateFeeCapValue(policy != null ? policy.getCapValue() : BigDecimal.ZERO)
                 .active(true)
                 .build();
-
-        assignmentRepository.save(assignment);
     }
 
     // ---------------- LIST ----------------
@@ -270,11 +368,7 @@ public class FeeStructureService {
         return dto;
     }
 
-    private java.time.LocalDate resolveDerivedDueDate(Long sessionId, Long schoolId, Integer dueDayOfMonth) {
-        AcademicSession session = academicSessionRepository.findById(sessionId)
-                .filter(s -> schoolId.equals(s.getSchoolId()))
-                .orElse(null);
-
+    private java.time.LocalDate resolveDerivedDueDate(AcademicSession session, Integer dueDayOfMonth) {
         if (session == null || session.getStartDate() == null) {
             return java.time.LocalDate.now().plusDays(10);
         }
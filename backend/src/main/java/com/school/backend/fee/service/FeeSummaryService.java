@@ -1,6 +1,6 @@
 package com.school.backend.fee.service;
 
-import com.school.backend.common.exception.BusinessException;
+import com.school.backend.common.enums.ExportFormat;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.tenant.SessionContext;
@@ -11,30 +11,38 @@ import com.school.backend.fee.dto.DefaulterDto;
 import com.school.backend.fee.dto.DefaulterStatsDto;
 import com.school.backend.fee.dto.FeeStatsDto;
 import com.school.backend.fee.dto.FeeSummaryDto;
+import com.school.backend.fee.dto.StudentFeeAssignmentDto;
 import com.school.backend.fee.dto.StudentLedgerDto;
+import com.school.backend.fee.entity.FeeDefaulterEntry;
+import com.school.backend.fee.entity.FeePayment;
 import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.repository.FeeDefaulterEntryRepository;
 import com.school.backend.fee.repository.FeePaymentRepository;
 import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.repository.AcademicSessionRepository;
 import com.school.backend.user.security.SecurityUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.ThrowingSupplier;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -44,13 +52,22 @@ public class FeeSummaryService {
         private static final int SCALE_2 = 2;
         private static final int DASHBOARD_COMPONENT_COUNT = 6;
         private static final BigDecimal ZERO = BigDecimal.ZERO;
-        private static final RoundingMode ROUNDING_MODE_HALF_UP = RoundingMode.HALF_UP;
+        private static final BigDecimal MIN_DEFAULTER_AMOUNT = new BigDecimal("0.01");
+        private static final BigDecimal CRITICAL_AMOUNT_DUE = new BigDecimal("5000");
+        private static final int CRITICAL_DAYS_OVERDUE = 30;
+        private static final Sort DEFAULT_DEFAULTER_SORT = Sort.by(Sort.Order.desc("amountDue"),
+                        Sort.Order.asc("studentId"));
 
         private final StudentRepository studentRepository;
         private final StudentFeeAssignmentRepository assignmentRepository;
         private final FeePaymentRepository paymentRepository;
         private final AcademicSessionRepository sessionRepository;
         private final StudentFeeAssignmentService studentFeeAssignmentService;
+        private final DefaulterIndexService defaulterIndexService;
+        private final FeeDefaulterEntryRepository defaulterEntryRepository;
+
+        @PersistenceContext
+        private EntityManager entityManager;
 
         // ---------------------------------------------------
         // DASHBOARD STATS
@@ -70,38 +87,32 @@ public class FeeSummaryService {
                                 .findBySchoolIdAndSessionIdAndPaymentDate(schoolId, effectiveSessionId, today)
                                 .size();
                 LocalDate monthStart = today.withDayOfMonth(1);
-                BigDecimal collectedThisMonth = paymentRepository
-                                .findBySchoolIdAndSessionIdAndPaymentDateBetween(schoolId, effectiveSessionId,
-                                                monthStart, today)
-                                .stream()
-                                .map(payment -> nz(payment.getPrincipalPaid()).add(nz(payment.getLateFeePaid())))
-                                .reduce(ZERO, BigDecimal::add);
+                long collectedThisMonthPaise = 0L;
+                for (FeePayment payment : paymentRepository.findBySchoolIdAndSessionIdAndPaymentDateBetween(
+                                schoolId, effectiveSessionId, monthStart, today)) {
+                        collectedThisMonthPaise = Paise.add(collectedThisMonthPaise,
+                                        Paise.add(Paise.of(payment.getPrincipalPaid()),
+                                                        Paise.of(payment.getLateFeePaid())));
+                }
                 long defaulterCount = countDefaulters();
 
                 // 3. Optimized Pending Calculation (NO N+1)
                 Object[] pendingComponentsRaw = assignmentRepository
                                 .sumFinancialTotalsBySchoolAndSession(schoolId, effectiveSessionId);
                 Object[] pendingComponents = normalizeAggregationRow(pendingComponentsRaw, DASHBOARD_COMPONENT_COUNT);
-                BigDecimal totalAssigned = toBigDecimal(pendingComponents[0]);
-                BigDecimal totalLateFeeAccrued = toBigDecimal(pendingComponents[1]);
-                BigDecimal totalDiscountAmount = toBigDecimal(pendingComponents[2]);
-                BigDecimal totalLateFeeWaived = toBigDecimal(pendingComponents[3]);
-                BigDecimal totalPrincipalPaid = toBigDecimal(pendingComponents[4]);
-                BigDecimal totalLateFeePaid = toBigDecimal(pendingComponents[5]);
-
-                BigDecimal totalPending = computePendingTotals(
-                                totalAssigned,
-                                totalLateFeeAccrued,
-                                totalDiscountAmount,
-                                totalLateFeeWaived,
-                                totalPrincipalPaid,
-                                totalLateFeePaid);
+                long totalPending = FeeMath.pendingPaise(
+                                toPaise(pendingComponents[0]),
+                                toPaise(pendingComponents[1]),
+                                toPaise(pendingComponents[2]),
+                                toPaise(pendingComponents[3]),
+                                toPaise(pendingComponents[4]),
+                                toPaise(pendingComponents[5]));
 
                 return FeeStatsDto.builder()
                                 .collectedToday(collectedToday)
-                                .pendingDues(totalPending)
+                                .pendingDues(Paise.toBigDecimal(totalPending))
                                 .transactionsToday(transactionsToday)
-                                .collectedThisMonth(collectedThisMonth)
+                                .collectedThisMonth(Paise.toBigDecimal(collectedThisMonthPaise))
                                 .defaulterCount(defaulterCount)
                                 .build();
         }
@@ -110,26 +121,18 @@ public class FeeSummaryService {
         public DefaulterStatsDto getDefaulterStats() {
                 Long schoolId = SecurityUtil.schoolId();
                 Long sessionId = validateAndGetSessionId();
+                defaulterIndexService.ensureBuilt(schoolId, sessionId);
 
-                AcademicSession session = sessionRepository.findById(sessionId).orElseThrow();
-                LocalDate sessionStart = session.getStartDate() != null ? session.getStartDate()
-                                : LocalDate.now().minusMonths(6);
-
-                List<DefaulterDto> defaulters = findDefaulterDtos(
-                                schoolId, sessionId, null, null, new BigDecimal("0.01"), null, sessionStart);
-
-                BigDecimal totalAmountDue = defaulters.stream()
-                                .map(DefaulterDto::getAmountDue)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                long criticalCount = defaulters.stream()
-                                .filter(d -> d.getDaysOverdue() > 30
-                                                || d.getAmountDue().compareTo(new BigDecimal("5000")) > 0)
-                                .count();
+                Object[] stats = normalizeAggregationRow(defaulterEntryRepository.sumDefaulterStats(
+                                schoolId,
+                                sessionId,
+                                MIN_DEFAULTER_AMOUNT,
+                                CRITICAL_AMOUNT_DUE,
+                                LocalDate.now().minusDays(CRITICAL_DAYS_OVERDUE)), 2);
 
                 return DefaulterStatsDto.builder()
-                                .totalAmountDue(totalAmountDue)
-                                .criticalCount(criticalCount)
+                                .totalAmountDue(toBigDecimal(stats[0]))
+                                .criticalCount(stats[1] instanceof Number n ? n.longValue() : 0L)
                                 .build();
         }
 
@@ -154,50 +157,42 @@ public class FeeSummaryService {
                 List<StudentFeeAssignment> assignments = assignmentRepository.findByStudentIdAndSessionId(studentId,
                                 effectiveSessionId);
 
-                BigDecimal totalFeeAccrued = assignments.stream()
-                                .map(a -> nz(a.getAmount()))
-                                .reduce(ZERO, java.math.BigDecimal::add);
-
-                BigDecimal totalDiscountAmount = assignments.stream()
-                                .map(a -> nz(a.getTotalDiscountAmount()))
-                                .reduce(ZERO, BigDecimal::add);
-
-                BigDecimal totalLateFeeWaived = assignments.stream()
-                                .map(a -> nz(a.getLateFeeWaived()))
-                                .reduce(ZERO, BigDecimal::add);
-
-                BigDecimal totalLateFeeAccrued = assignments.stream()
-                                .map(sfa -> nz(sfa.getLateFeeAccrued()))
-                                .reduce(ZERO, BigDecimal::add);
-
-                BigDecimal totalLateFeePaid = assignments.stream()
-                                .map(a -> nz(a.getLateFeePaid()))
-                                .reduce(ZERO, BigDecimal::add);
-
-                BigDecimal totalPrincipalPaid = assignments.stream()
-                                .map(a -> nz(a.getPrincipalPaid()))
-                                .reduce(ZERO, BigDecimal::add);
+                // One pass in paise; converted back to BigDecimal only for the DTO
+                long totalFeeAccrued = 0L;
+                long totalDiscountAmount = 0L;
+                long totalLateFeeWaived = 0L;
+                long totalLateFeeAccrued = 0L;
+                long totalLateFeePaid = 0L;
+                long totalPrincipalPaid = 0L;
+                for (StudentFeeAssignment a : assignments) {
+                        totalFeeAccrued = Paise.add(totalFeeAccrued, Paise.of(a.getAmount()));
+                        totalDiscountAmount = Paise.add(totalDiscountAmount, Paise.of(a.getTotalDiscountAmount()));
+                        totalLateFeeWaived = Paise.add(totalLateFeeWaived, Paise.of(a.getLateFeeWaived()));
+                        totalLateFeeAccrued = Paise.add(totalLateFeeAccrued, Paise.of(a.getLateFeeAccrued()));
+                        totalLateFeePaid = Paise.add(totalLateFeePaid, Paise.of(a.getLateFeePaid()));
+                        totalPrincipalPaid = Paise.add(totalPrincipalPaid, Paise.of(a.getPrincipalPaid()));
+                }
 
-                BigDecimal totalPaid = totalPrincipalPaid.add(totalLateFeePaid);
+                long totalPaid = Paise.add(totalPrincipalPaid, totalLateFeePaid);
 
-                BigDecimal accruedPending = assignments.stream()
-                                .map(studentFeeAssignmentService::toDto)
-                                .map(d -> nz(d.getPendingTillDate()))
-                                .reduce(ZERO, BigDecimal::add);
+                long accruedPending = 0L;
+                for (StudentFeeAssignmentDto d : studentFeeAssignmentService.toDtos(assignments)) {
+                        accruedPending = Paise.add(accruedPending, Paise.of(d.getPendingTillDate()));
+                }
 
                 FeeSummaryDto dto = new FeeSummaryDto();
                 dto.setStudentId(studentId);
                 dto.setStudentName(student.getFirstName() + " " +
                                 (student.getLastName() != null ? student.getLastName() : ""));
                 dto.setSession(session.getName());
-                dto.setTotalFee(totalFeeAccrued.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                dto.setTotalDiscount(totalDiscountAmount.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                dto.setTotalPaid(totalPaid.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                dto.setTotalLateFeeAccrued(totalLateFeeAccrued.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                dto.setTotalLateFeePaid(totalLateFeePaid.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                dto.setTotalLateFeeWaived(totalLateFeeWaived.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                dto.setPendingFee(accruedPending.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                dto.setFeePending(accruedPending.compareTo(ZERO) > INT_ZERO);
+                dto.setTotalFee(Paise.toBigDecimal(totalFeeAccrued));
+                dto.setTotalDiscount(Paise.toBigDecimal(totalDiscountAmount));
+                dto.setTotalPaid(Paise.toBigDecimal(totalPaid));
+                dto.setTotalLateFeeAccrued(Paise.toBigDecimal(totalLateFeeAccrued));
+                dto.setTotalLateFeePaid(Paise.toBigDecimal(totalLateFeePaid));
+                dto.setTotalLateFeeWaived(Paise.toBigDecimal(totalLateFeeWaived));
+                dto.setPendingFee(Paise.toBigDecimal(accruedPending));
+                dto.setFeePending(accruedPending > INT_ZERO);
 
                 return dto;
         }
@@ -218,6 +213,9 @@ public class FeeSummaryService {
                                                 AcademicSession::getName));
 
                 List<FeeSummaryDto> sessionSummaries = new ArrayList<>();
+                long grandTotalFee = 0L;
+                long grandTotalPaid = 0L;
+                long grandTotalPending = 0L;
 
                 for (Object[] stats : sessionStats) {
                         Long sessionId = (stats[INT_ZERO] instanceof Number) ? ((Number) stats[INT_ZERO]).longValue()
@@ -225,12 +223,12 @@ public class FeeSummaryService {
                         if (sessionId == null)
                                 continue;
 
-                        BigDecimal totalFee = toBigDecimal(stats[1]);
-                        BigDecimal totalDiscount = toBigDecimal(stats[SCALE_2]);
-                        BigDecimal totalLateFeeAccrued = toBigDecimal(stats[3]);
-                        BigDecimal totalLateFeePaid = toBigDecimal(stats[4]);
-                        BigDecimal totalLateFeeWaived = toBigDecimal(stats[5]);
-                        BigDecimal totalPrincipalPaid = toBigDecimal(stats[6]);
+                        long totalFee = toPaise(stats[1]);
+                        long totalDiscount = toPaise(stats[SCALE_2]);
+                        long totalLateFeeAccrued = toPaise(stats[3]);
+                        long totalLateFeePaid = toPaise(stats[4]);
+                        long totalLateFeeWaived = toPaise(stats[5]);
+                        long totalPrincipalPaid = toPaise(stats[6]);
 
                         String sessionName = sessionNames.getOrDefault(sessionId, "Unknown Session " + sessionId);
 
@@ -239,17 +237,17 @@ public class FeeSummaryService {
                         summary.setStudentName(student.getFirstName() + " " +
                                         (student.getLastName() != null ? student.getLastName() : ""));
                         summary.setSession(sessionName);
-                        summary.setTotalFee(totalFee.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                        summary.setTotalDiscount(totalDiscount.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
+                        summary.setTotalFee(Paise.toBigDecimal(totalFee));
+                        summary.setTotalDiscount(Paise.toBigDecimal(totalDiscount));
 
                         // Total Paid = Principal Paid + Late Fee Paid
-                        BigDecimal sessionTotalPaid = totalPrincipalPaid.add(totalLateFeePaid);
-                        summary.setTotalPaid(sessionTotalPaid.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
+                        long sessionTotalPaid = Paise.add(totalPrincipalPaid, totalLateFeePaid);
+                        summary.setTotalPaid(Paise.toBigDecimal(sessionTotalPaid));
 
-                        summary.setTotalLateFeeAccrued(totalLateFeeAccrued.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                        summary.setTotalLateFeePaid(totalLateFeePaid.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
+                        summary.setTotalLateFeeAccrued(Paise.toBigDecimal(totalLateFeeAccrued));
+                        summary.setTotalLateFeePaid(Paise.toBigDecimal(totalLateFeePaid));
 
-                        BigDecimal pending = computePendingTotals(
+                        long pending = FeeMath.pendingPaise(
                                         totalFee,
                                         totalLateFeeAccrued,
                                         totalDiscount,
@@ -257,30 +255,23 @@ public class FeeSummaryService {
                                         totalPrincipalPaid,
                                         totalLateFeePaid);
 
-                        summary.setPendingFee(pending.setScale(SCALE_2, ROUNDING_MODE_HALF_UP));
-                        summary.setFeePending(pending.compareTo(ZERO) > INT_ZERO);
+                        summary.setPendingFee(Paise.toBigDecimal(pending));
+                        summary.setFeePending(pending > INT_ZERO);
 
                         sessionSummaries.add(summary);
+                        grandTotalFee = Paise.add(grandTotalFee, totalFee);
+                        grandTotalPaid = Paise.add(grandTotalPaid, sessionTotalPaid);
+                        grandTotalPending = Paise.add(grandTotalPending, pending);
                 }
 
-                BigDecimal grandTotalFee = sessionSummaries.stream()
-                                .map(FeeSummaryDto::getTotalFee)
-                                .reduce(ZERO, BigDecimal::add);
-                BigDecimal grandTotalPaid = sessionSummaries.stream()
-                                .map(FeeSummaryDto::getTotalPaid)
-                                .reduce(ZERO, BigDecimal::add);
-                BigDecimal grandTotalPending = sessionSummaries.stream()
-                                .map(FeeSummaryDto::getPendingFee)
-                                .reduce(ZERO, BigDecimal::add);
-
                 return StudentLedgerDto.builder()
                                 .studentId(studentId)
                                 .studentName(student.getFirstName() + " " +
                                                 (student.getLastName() != null ? student.getLastName() : ""))
                                 .sessionSummaries(sessionSummaries)
-                                .grandTotalFee(grandTotalFee.setScale(SCALE_2, ROUNDING_MODE_HALF_UP))
-                                .grandTotalPaid(grandTotalPaid.setScale(SCALE_2, ROUNDING_MODE_HALF_UP))
-                                .grandTotalPending(grandTotalPending.setScale(SCALE_2, ROUNDING_MODE_HALF_UP))
+                                .grandTotalFee(Paise.toBigDecimal(grandTotalFee))
+                                .grandTotalPaid(Paise.toBigDecimal(grandTotalPaid))
+                                .grandTotalPending(Paise.toBigDecimal(grandTotalPending))
                                 .build();
         }
 
@@ -295,6 +286,16 @@ public class FeeSummaryService {
                 return new BigDecimal(val.toString());
         }
 
+        private long toPaise(Object val) {
+                if (val instanceof Object[] nested) {
+                        return nested.length > 0 ? toPaise(nested[0]) : 0L;
+                }
+                if (val instanceof Long || val instanceof Integer) {
+                        return Math.multiplyExact(((Number) val).longValue(), 100L);
+                }
+                return Paise.of(toBigDecimal(val));
+        }
+
         private Object[] normalizeAggregationRow(Object[] raw, int expectedColumns) {
                 if (raw == null) {
                         return new Object[expectedColumns];
@@ -323,171 +324,119 @@ public class FeeSummaryService {
         public long countDefaulters() {
                 Long schoolId = SecurityUtil.schoolId();
                 Long sessionId = validateAndGetSessionId();
+                defaulterIndexService.ensureBuilt(schoolId, sessionId);
 
-                AcademicSession session = sessionRepository.findById(sessionId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
-
-                LocalDate sessionStart = session.getStartDate();
-                if (sessionStart == null) {
-                        sessionStart = LocalDate.now().minusMonths(6);
-                }
-
-                BigDecimal effectiveMinAmountDue = new BigDecimal("0.01");
-                List<DefaulterDto> defaulters = findDefaulterDtos(
-                                schoolId,
-                                sessionId,
-                                null,
-                                null,
-                                effectiveMinAmountDue,
-                                null,
-                                sessionStart);
-                return defaulters.size();
+                return defaulterEntryRepository.countBySchoolIdAndSessionIdAndAmountDueGreaterThanEqual(
+                                schoolId, sessionId, MIN_DEFAULTER_AMOUNT);
         }
 
+        /**
+         * Streams every matching defaulter to {@code output} in index order. Rows are
+         * read through a cursor and detached as soon as they are written, so heap use
+         * does not grow with the size of the school. {@code output} is only opened once
+         * the request has been validated, so errors before that still reach the
+         * client as regular API errors.
+         */
         @Transactional(readOnly = true)
-        public List<DefaulterDto> exportDefaulters(String search, Long classId, BigDecimal minAmountDue,
-                        Integer minDaysOverdue) {
-                Page<DefaulterDto> page = getDefaultersPage(search, classId, minAmountDue, minDaysOverdue,
-                                PageRequest.of(0, 10001));
-                if (page.getTotalElements() > 10000) {
-                        throw new BusinessException(
-                                        "Export exceeds maximum limit of 10,000 rows. Please apply filters.");
+        public void exportDefaulters(String search, Long classId, BigDecimal minAmountDue,
+                        Integer minDaysOverdue, ExportFormat format, ThrowingSupplier<OutputStream> output) {
+                DefaulterQuery query = resolveDefaulterQuery(search, classId, minAmountDue, minDaysOverdue);
+
+                try (Stream<FeeDefaulterEntry> entries = defaulterEntryRepository.streamForExport(
+                                query.schoolId(),
+                                query.sessionId(),
+                                query.classId(),
+                                query.search(),
+                                query.minAmountDue(),
+                                query.maxOverdueFrom());
+                                DefaulterExportWriter writer = DefaulterExportWriter.open(format, output.get())) {
+                        Iterator<FeeDefaulterEntry> it = entries.iterator();
+                        while (it.hasNext()) {
+                                FeeDefaulterEntry entry = it.next();
+                                writer.write(toDefaulterDto(entry, query.today()));
+                                entityManager.detach(entry);
+                        }
+                } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to export defaulters", e);
                 }
-                return page.getContent();
         }
 
         private Page<DefaulterDto> getDefaultersPage(String search, Long classId,
                         BigDecimal minAmountDue,
                         Integer minDaysOverdue, Pageable pageable) {
+                DefaulterQuery query = resolveDefaulterQuery(search, classId, minAmountDue, minDaysOverdue);
+
+                Pageable sortedPageable = pageable.getSort().isSorted()
+                                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                                                pageable.getSort().and(Sort.by("studentId")))
+                                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                                                DEFAULT_DEFAULTER_SORT);
+
+                return defaulterEntryRepository.search(
+                                query.schoolId(),
+                                query.sessionId(),
+                                query.classId(),
+                                query.search(),
+                                query.minAmountDue(),
+                                query.maxOverdueFrom(),
+                                sortedPageable)
+                                .map(entry -> toDefaulterDto(entry, query.today()));
+        }
 
+        private DefaulterQuery resolveDefaulterQuery(String search, Long classId, BigDecimal minAmountDue,
+                        Integer minDaysOverdue) {
                 Long schoolId = SecurityUtil.schoolId();
                 Long effectiveSessionId = validateAndGetSessionId();
+                defaulterIndexService.ensureBuilt(schoolId, effectiveSessionId);
 
-                AcademicSession session = sessionRepository.findById(effectiveSessionId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
-
-                LocalDate sessionStart = session.getStartDate();
-                if (sessionStart == null) {
-                        sessionStart = LocalDate.now().minusMonths(6);
-                }
-
-                LocalDate maxPaymentDate = null;
+                LocalDate today = LocalDate.now();
+                LocalDate maxOverdueFrom = null;
                 if (minDaysOverdue != null && minDaysOverdue > 0) {
-                        maxPaymentDate = LocalDate.now().minusDays(minDaysOverdue);
+                        maxOverdueFrom = today.minusDays(minDaysOverdue);
                 }
 
                 BigDecimal effectiveMinAmountDue = (minAmountDue != null && minAmountDue.compareTo(ZERO) > 0)
                                 ? minAmountDue
-                                : new BigDecimal("0.01");
+                                : MIN_DEFAULTER_AMOUNT;
 
-                List<DefaulterDto> filtered = findDefaulterDtos(
+                return new DefaulterQuery(
                                 schoolId,
                                 effectiveSessionId,
                                 classId,
                                 (search != null && search.trim().isEmpty()) ? null : search,
                                 effectiveMinAmountDue,
-                                maxPaymentDate,
-                                sessionStart);
-
-                int start = (int) pageable.getOffset();
-                int end = Math.min(start + pageable.getPageSize(), filtered.size());
-                if (start >= filtered.size()) {
-                        return new PageImpl<>(List.of(), pageable, filtered.size());
-                }
-                return new PageImpl<>(filtered.subList(start, end), pageable, filtered.size());
+                                maxOverdueFrom,
+                                today);
         }
 
-        private List<DefaulterDto> findDefaulterDtos(
+        private record DefaulterQuery(
                         Long schoolId,
                         Long sessionId,
                         Long classId,
                         String search,
                         BigDecimal minAmountDue,
-                        LocalDate maxPaymentDate,
-                        LocalDate sessionStart) {
-                List<Object[]> candidates = studentRepository.findDefaulterCandidates(
-                                schoolId,
-                                sessionId,
-                                classId,
-                                search,
-                                maxPaymentDate,
-                                sessionStart);
-                if (candidates.isEmpty()) {
-                        return List.of();
-                }
-
-                List<Long> studentIds = candidates.stream()
-                                .map(row -> ((Number) row[0]).longValue())
-                                .toList();
-                Map<Long, AccruedSummary> accruedByStudent = computeAccruedByStudent(studentIds, sessionId);
-                LocalDate today = LocalDate.now();
-
-                return candidates.stream()
-                                .map(row -> {
-                                        Long studentId = ((Number) row[0]).longValue();
-                                        String firstName = (String) row[1];
-                                        String lastName = (String) row[2];
-                                        String admissionNumber = (String) row[3];
-                                        String contactNumber = (String) row[4];
-                                        String className = (String) row[5];
-                                        String classSection = (String) row[6];
-                                        LocalDate lastPaymentDate = row[7] instanceof java.sql.Date
-                                                        ? ((java.sql.Date) row[7]).toLocalDate()
-                                                        : (LocalDate) row[7];
-
-                                        AccruedSummary summary = accruedByStudent.getOrDefault(studentId,
-                                                        AccruedSummary.ZERO);
-                                        BigDecimal accruedPending = nz(summary.pendingTillDate());
-                                        LocalDate overdueFrom = lastPaymentDate != null ? lastPaymentDate
-                                                        : sessionStart;
-                                        long daysOverdue = Math.max(ChronoUnit.DAYS.between(overdueFrom, today), 0);
-
-                                        return DefaulterDto.builder()
-                                                        .studentId(studentId)
-                                                        .studentName(firstName + " "
-                                                                        + (lastName != null ? lastName : ""))
-                                                        .admissionNumber(admissionNumber)
-                                                        .className(className != null ? className : "")
-                                                        .classSection(classSection != null ? classSection : "")
-                                                        .amountDue(accruedPending)
-                                                        .lateFeeAccrued(nz(summary.lateFeeAccrued()))
-                                                        .lastPaymentDate(lastPaymentDate)
-                                                        .daysOverdue(daysOverdue)
-                                                        .parentContact(contactNumber != null ? contactNumber : "")
-                                                        .build();
-                                })
-                                .filter(dto -> dto.getAmountDue().compareTo(minAmountDue) >= 0)
-                                .collect(Collectors.toList());
-        }
-
-        private Map<Long, AccruedSummary> computeAccruedByStudent(List<Long> studentIds, Long sessionId) {
-                Map<Long, AccruedSummary> accrued = new HashMap<>();
-                if (studentIds == null || studentIds.isEmpty()) {
-                        return accrued;
-                }
-
-                List<StudentFeeAssignment> assignments = assignmentRepository
-                                .findByStudentIdInAndSessionIdAndActiveTrue(studentIds, sessionId);
-
-                Map<Long, List<StudentFeeAssignment>> byStudent = assignments.stream()
-                                .collect(Collectors.groupingBy(StudentFeeAssignment::getStudentId));
-
-                for (Long studentId : studentIds) {
-                        List<StudentFeeAssignment> studentAssignments = byStudent.getOrDefault(studentId, List.of());
-                        BigDecimal pending = studentAssignments.stream()
-                                        .map(studentFeeAssignmentService::toDto)
-                                        .map(d -> nz(d.getPendingTillDate()))
-                                        .reduce(ZERO, BigDecimal::add);
-                        BigDecimal lateFeeAccrued = studentAssignments.stream()
-                                        .map(a -> nz(a.getLateFeeAccrued()))
-                                        .reduce(ZERO, BigDecimal::add);
-                        accrued.put(studentId, new AccruedSummary(pending, lateFeeAccrued));
-                }
-                return accrued;
+                        LocalDate maxOverdueFrom,
+                        LocalDate today) {
         }
 
-        private record AccruedSummary(BigDecimal pendingTillDate, BigDecimal lateFeeAccrued) {
-                private static final AccruedSummary ZERO = new AccruedSummary(BigDecimal.ZERO, BigDecimal.ZERO);
+        private DefaulterDto toDefaulterDto(FeeDefaulterEntry entry, LocalDate today) {
+                long daysOverdue = entry.getOverdueFrom() != null
+                                ? Math.max(ChronoUnit.DAYS.between(entry.getOverdueFrom(), today), 0)
+                                : 0;
+
+                return DefaulterDto.builder()
+                                .studentId(entry.getStudentId())
+                                .studentName(entry.getFirstName() + " "
+                                                + (entry.getLastName() != null ? entry.getLastName() : ""))
+                                .admissionNumber(entry.getAdmissionNumber())
+                                .className(entry.getClassName() != null ? entry.getClassName() : "")
+                                .classSection(entry.getClassSection() != null ? entry.getClassSection() : "")
+                                .amountDue(nz(entry.getAmountDue()))
+                                .lateFeeAccrued(nz(entry.getLateFeeAccrued()))
+                                .lastPaymentDate(entry.getLastPaymentDate())
+                                .daysOverdue(daysOverdue)
+                                .parentContact(entry.getContactNumber() != null ? entry.getContactNumber() : "")
+                                .build();
         }
 
         private Long validateAndGetSessionId() {
@@ -504,21 +453,4 @@ public class FeeSummaryService {
                 return sessionId;
         }
 
-        private BigDecimal computePendingTotals(
-                        BigDecimal amount,
-                        BigDecimal lateFeeAccrued,
-                        BigDecimal totalDiscountAmount,
-                        BigDecimal lateFeeWaived,
-                        BigDecimal principalPaid,
-                        BigDecimal lateFeePaid) {
-                return FeeMath.computePending(StudentFeeAssignment.builder()
-                                .amount(amount)
-                                .lateFeeAccrued(lateFeeAccrued)
-                                .totalDiscountAmount(totalDiscountAmount)
-                                .lateFeeWaived(lateFeeWaived)
-                                .principalPaid(principalPaid)
-                                .lateFeePaid(lateFeePaid)
-                                .build());
-        }
-
 }
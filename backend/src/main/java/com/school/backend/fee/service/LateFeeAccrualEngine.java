@@ -0,0 +1,144 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.common.enums.LateFeeType;
+import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.fee.entity.LateFeeAccrualCheckpoint;
+import com.school.backend.fee.entity.LateFeeLog;
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.repository.FeePaymentJdbcRepository;
+import com.school.backend.fee.repository.LateFeeAccrualCheckpointRepository;
+import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies one chunk of a school's nightly late-fee accrual per transaction.
+ * <p>
+ * The chunk's assignments are locked in id order, increments come from
+ * {@link LateFeeCalculator} exactly as at payment time, the changed rows are
+ * flushed as one Hibernate batch and the {@link LateFeeLog}s are written with a
+ * JDBC batch insert. The checkpoint advances in the same transaction, so a
+ * chunk is either fully applied and recorded or not at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class LateFeeAccrualEngine {
+
+    static final Set<LateFeeType> ACCRUING_TYPES = EnumSet.of(
+            LateFeeType.FLAT, LateFeeType.PERCENTAGE, LateFeeType.DAILY_PERCENTAGE);
+
+    private static final String REASON = "Nightly late fee accrual";
+
+    private final StudentFeeAssignmentRepository assignmentRepository;
+    private final LateFeeAccrualCheckpointRepository checkpointRepository;
+    private final FeePaymentJdbcRepository feePaymentJdbcRepository;
+    private final LateFeeCalculator lateFeeCalculator;
+    private final DefaulterIndexService defaulterIndexService;
+
+    /**
+     * @param done whether the school's run for the date is complete
+     */
+    public record ChunkResult(int scanned, int accrued, BigDecimal amount, boolean done) {
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public LateFeeAccrualCheckpoint openCheckpoint(Long schoolId, LocalDate accrualDate) {
+        return checkpointRepository.findBySchoolIdAndAccrualDate(schoolId, accrualDate)
+                .orElseGet(() -> checkpointRepository.saveAndFlush(LateFeeAccrualCheckpoint.builder()
+                        .schoolId(schoolId)
+                        .accrualDate(accrualDate)
+                        .build()));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult accrueChunk(Long checkpointId, int chunkSize) {
+        LateFeeAccrualCheckpoint checkpoint = checkpointRepository.findByIdForUpdate(checkpointId)
+                .orElseThrow(() -> new ResourceNotFoundException("Accrual checkpoint not found: " + checkpointId));
+        if (checkpoint.getCompletedAt() != null) {
+            return new ChunkResult(0, 0, BigDecimal.ZERO, true);
+        }
+
+        Long schoolId = checkpoint.getSchoolId();
+        LocalDate asOf = checkpoint.getAccrualDate();
+        List<StudentFeeAssignment> chunk = assignmentRepository.findLateFeeAccrualChunkForUpdate(schoolId,
+                checkpoint.getLastAssignmentId(), asOf, ACCRUING_TYPES, LateFeeType.DAILY_PERCENTAGE,
+                PageRequest.of(0, chunkSize));
+
+        List<LateFeeLog> logs = new ArrayList<>();
+        Map<Long, Set<Long>> studentsBySession = new HashMap<>();
+        BigDecimal accruedAmount = BigDecimal.ZERO;
+        for (StudentFeeAssignment assignment : chunk) {
+            BigDecimal increment = accrue(assignment, asOf);
+            if (increment.signum() > 0) {
+                accruedAmount = accruedAmount.add(increment);
+                logs.add(LateFeeLog.builder()
+                        .schoolId(schoolId)
+                        .assignmentId(assignment.getId())
+                        .computedAmount(increment)
+                        .appliedDate(asOf)
+                        .reason(REASON)
+                        .build());
+                studentsBySession.computeIfAbsent(assignment.getSessionId(), id -> new HashSet<>())
+                        .add(assignment.getStudentId());
+            }
+        }
+
+        // Dirty assignments go out as one JDBC batch before the index reads them back
+        assignmentRepository.flush();
+        feePaymentJdbcRepository.insertLateFeeLogs(logs);
+        studentsBySession.forEach((sessionId, studentIds) ->
+                defaulterIndexService.refreshStudents(schoolId, sessionId, studentIds));
+
+        boolean done = chunk.size() < chunkSize;
+        if (!chunk.isEmpty()) {
+            checkpoint.setLastAssignmentId(chunk.get(chunk.size() - 1).getId());
+        }
+        checkpoint.setAccruedAssignments(checkpoint.getAccruedAssignments() + logs.size());
+        checkpoint.setAccruedAmount(checkpoint.getAccruedAmount().add(accruedAmount));
+        if (done) {
+            checkpoint.setCompletedAt(LocalDateTime.now());
+        }
+        return new ChunkResult(chunk.size(), logs.size(), accruedAmount, done);
+    }
+
+    /**
+     * Same increment and flags as payment-time accrual in
+     * {@link FeePaymentService}, so a payment later that day accrues nothing.
+     */
+    private BigDecimal accrue(StudentFeeAssignment assignment, LocalDate asOf) {
+        BigDecimal lateFeeAccrued = nz(assignment.getLateFeeAccrued());
+        BigDecimal principalDue = nz(assignment.getAmount())
+                .subtract(nz(assignment.getPrincipalPaid()))
+                .subtract(nz(assignment.getTotalDiscountAmount()));
+        assignment.setLateFeeAccrued(lateFeeAccrued);
+
+        BigDecimal increment = lateFeeCalculator.calculateLateFee(assignment, principalDue, asOf);
+        if (increment.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        assignment.setLateFeeAccrued(lateFeeAccrued.add(increment));
+        if (assignment.getLateFeeType() == LateFeeType.FLAT
+                || assignment.getLateFeeType() == LateFeeType.PERCENTAGE) {
+            assignment.setLateFeeApplied(true);
+        }
+        return increment;
+    }
+
+    private BigDecimal nz(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,29 @@
+package com.school.backend.fee.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Nightly late-fee accrual. Runs before {@link DefaulterIndexJob} so the
+ * rebuilt index already carries the day's late fees.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LateFeeAccrualJob {
+
+    private final LateFeeAccrualService lateFeeAccrualService;
+    private final Clock clock;
+
+    @Scheduled(cron = "0 30 1 * * *")
+    public void accrueLateFees() {
+        LocalDate today = LocalDate.now(clock);
+        int accrued = lateFeeAccrualService.accrueAllSchools(today);
+        log.info("Late fee accrual job accrued {} assignments for {}.", accrued, today);
+    }
+}
@@ -0,0 +1,142 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.fee.entity.LateFeeAccrualCheckpoint;
+import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
+import com.school.backend.fee.service.LateFeeAccrualEngine.ChunkResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accrues late fees ahead of payment so read paths see current balances.
+ * <p>
+ * A school's overdue assignments are walked in id order, one
+ * {@link LateFeeAccrualEngine#accrueChunk chunk} per transaction, from a
+ * checkpoint per (school, date). A run that dies part-way resumes after the
+ * last committed chunk, and a repeated run for a completed date does nothing.
+ * Schools run in parallel on a bounded pool.
+ */
+@Slf4j
+@Service
+public class LateFeeAccrualService {
+
+    private final StudentFeeAssignmentRepository assignmentRepository;
+    private final LateFeeAccrualEngine accrualEngine;
+    private final ExecutorService executor;
+    private final int chunkSize;
+
+    public LateFeeAccrualService(
+            StudentFeeAssignmentRepository assignmentRepository,
+            LateFeeAccrualEngine accrualEngine,
+            @Value("${fees.late-fee-accrual.threads:2}") int threads,
+            @Value("${fees.late-fee-accrual.chunk-size:500}") int chunkSize) {
+        this.assignmentRepository = assignmentRepository;
+        this.accrualEngine = accrualEngine;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), new AccrualThreadFactory());
+    }
+
+    /**
+     * @return assignments accrued by this call; zero if the date was already
+     *         completed
+     */
+    public int accrueSchool(Long schoolId, LocalDate asOf) {
+        LateFeeAccrualCheckpoint checkpoint = openCheckpoint(schoolId, asOf);
+        int scanned = 0;
+        int accrued = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        ChunkResult result;
+        do {
+            result = accrualEngine.accrueChunk(checkpoint.getId(), chunkSize);
+            scanned += result.scanned();
+            accrued += result.accrued();
+            amount = amount.add(result.amount());
+        } while (!result.done());
+
+        log.info("event=late_fee_accrual_completed schoolId={} date={} scanned={} accrued={} amount={}",
+                schoolId, asOf, scanned, accrued, amount);
+        return accrued;
+    }
+
+    /**
+     * Runs {@link #accrueSchool} for every school with late-fee terms. A failed
+     * school is logged and left at its checkpoint for the next run; the others
+     * are unaffected.
+     *
+     * @return assignments accrued across all schools
+     */
+    public int accrueAllSchools(LocalDate asOf) {
+        List<Long> schoolIds = assignmentRepository.findSchoolIdsWithLateFeeTerms(LateFeeAccrualEngine.ACCRUING_TYPES);
+        List<Future<Integer>> runs = new ArrayList<>(schoolIds.size());
+        for (Long schoolId : schoolIds) {
+            runs.add(executor.submit(() -> {
+                TenantContext.setSchoolId(schoolId);
+                try {
+                    return accrueSchool(schoolId, asOf);
+                } catch (RuntimeException ex) {
+                    log.error("Late fee accrual failed for schoolId={} date={}", schoolId, asOf, ex);
+                    return 0;
+                } finally {
+                    TenantContext.clear();
+                }
+            }));
+        }
+
+        int accrued = 0;
+        for (Future<Integer> run : runs) {
+            accrued += await(run);
+        }
+        return accrued;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private LateFeeAccrualCheckpoint openCheckpoint(Long schoolId, LocalDate asOf) {
+        try {
+            return accrualEngine.openCheckpoint(schoolId, asOf);
+        } catch (DataIntegrityViolationException ex) {
+            // Another run created the row first
+            return accrualEngine.openCheckpoint(schoolId, asOf);
+        }
+    }
+
+    private static int await(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while accruing late fees", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Late fee accrual failed", e.getCause());
+        }
+    }
+
+    private static final class AccrualThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "late-fee-accrual-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
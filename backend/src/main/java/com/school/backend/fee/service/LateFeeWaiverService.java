@@ -20,6 +20,7 @@ public class LateFeeWaiverService {
 
     private final StudentFeeAssignmentRepository assignmentRepository;
     private final FeeAdjustmentRepository feeAdjustmentRepository;
+    private final DefaulterIndexService defaulterIndexService;
 
     @Transactional
     public StudentFeeAssignment waiveLateFee(
@@ -60,6 +61,8 @@ public class LateFeeWaiverService {
                 .createdByStaff(staffId != null ? String.valueOf(staffId) : null)
                 .schoolId(schoolId)
                 .build());
+        defaulterIndexService.refreshStudent(schoolId, updatedAssignment.getSessionId(),
+                updatedAssignment.getStudentId());
 
         return updatedAssignment;
     }
@@ -0,0 +1,48 @@
+package com.school.backend.fee.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a {@code long} count of paise, for summing and netting many
+ * amounts without allocating a {@link BigDecimal} per step.
+ * <p>
+ * Persisted amounts have two decimals, so converting them is exact and paise
+ * arithmetic gives the same totals as {@code BigDecimal} arithmetic. Values
+ * with more decimals are rounded HALF_UP, exactly as
+ * {@code setScale(2, RoundingMode.HALF_UP)} would. Conversions and the
+ * helpers below throw {@link ArithmeticException} instead of overflowing.
+ */
+public final class Paise {
+
+    private static final int SCALE = 2;
+
+    private Paise() {
+    }
+
+    /**
+     * @return {@code amount} in paise; {@code null} counts as zero
+     */
+    public static long of(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        BigDecimal rounded = amount.scale() == SCALE ? amount : amount.setScale(SCALE, RoundingMode.HALF_UP);
+        return rounded.scaleByPowerOfTen(SCALE).longValueExact();
+    }
+
+    /**
+     * @return the amount in rupees with two decimals, for DTOs
+     */
+    public static BigDecimal toBigDecimal(long paise) {
+        return BigDecimal.valueOf(paise, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+}
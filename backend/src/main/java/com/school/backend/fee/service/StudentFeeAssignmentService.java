@@ -22,6 +22,7 @@ import com.school.backend.school.repository.AcademicSessionRepository;
 import com.school.backend.transport.entity.TransportEnrollment;
 import com.school.backend.transport.repository.TransportEnrollmentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,7 +31,14 @@ import java.math.RoundingMode;
 import java.time.YearMonth;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -45,6 +53,8 @@ public class StudentFeeAssignmentService {
     private final StudentEnrollmentRepository studentEnrollmentRepository;
     private final TransportEnrollmentRepository transportEnrollmentRepository;
     private final FeeCalculationService feeCalculationService;
+    // Lazily resolved: the defaulter index maps balances through this service
+    private final ObjectProvider<DefaulterIndexService> defaulterIndexService;
 
     // ---------------- ASSIGN ----------------
     @Transactional
@@ -103,7 +113,10 @@ public class StudentFeeAssignmentService {
         // --- Snapshot Funding ---
         BigDecimal discountSnapshot = nz(assignment.getTotalDiscountAmount());
 
-        return toDto(assignmentRepository.save(assignment));
+        StudentFeeAssignment saved = assignmentRepository.save(assignment);
+        defaulterIndexService.getObject()
+                .refreshStudent(saved.getSchoolId(), saved.getSessionId(), saved.getStudentId());
+        return toDto(saved);
     }
 
     // ---------------- LIST ----------------
@@ -142,16 +155,97 @@ public class StudentFeeAssignmentService {
             throw new ResourceNotFoundException("Student not found: " + studentId);
         }
 
-        return assignmentRepository
-                .findByStudentIdAndSessionId(studentId, sessionId)
-                .stream()
-                .map(this::toDto)
-                .toList();
+        return toDtos(assignmentRepository.findByStudentIdAndSessionId(studentId, sessionId));
     }
 
     // ---------------- MAPPER ----------------
     public StudentFeeAssignmentDto toDto(StudentFeeAssignment sfa) {
+        return toDtos(List.of(sfa)).get(0);
+    }
+
+    /**
+     * Maps a batch of assignments in one pass. Fee structures (with fee types),
+     * sessions, enrollments and transport enrollments are loaded once for the
+     * whole batch, so the number of queries does not grow with the batch size.
+     *
+     * @param assignments assignments to map; order is preserved.
+     * @return DTOs identical to what {@link #toDto(StudentFeeAssignment)} returns
+     *         per row.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentFeeAssignmentDto> toDtos(List<StudentFeeAssignment> assignments) {
+        if (assignments == null || assignments.isEmpty()) {
+            return List.of();
+        }
+        AssignmentLookups lookups = loadLookups(assignments);
+        return assignments.stream()
+                .map(sfa -> toDto(sfa, lookups))
+                .toList();
+    }
+
+    private AssignmentLookups loadLookups(List<StudentFeeAssignment> assignments) {
+        Set<Long> feeStructureIds = assignments.stream()
+                .map(StudentFeeAssignment::getFeeStructureId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, FeeStructure> feeStructures = feeStructureIds.isEmpty()
+                ? Map.of()
+                : feeStructureRepository.findWithFeeTypeByIdIn(feeStructureIds).stream()
+                        .collect(Collectors.toMap(FeeStructure::getId, Function.identity()));
+
+        // Only recurring heads need session / enrollment dates to derive periods
+        List<StudentFeeAssignment> recurring = assignments.stream()
+                .filter(sfa -> frequencyOf(feeStructures.get(sfa.getFeeStructureId())) != FeeFrequency.ONE_TIME)
+                .toList();
+        if (recurring.isEmpty()) {
+            return new AssignmentLookups(feeStructures, Map.of(), Map.of(), Map.of());
+        }
+
+        Set<Long> sessionIds = recurring.stream()
+                .map(StudentFeeAssignment::getSessionId)
+                .collect(Collectors.toSet());
+        Map<Long, AcademicSession> sessions = academicSessionRepository.findAllById(sessionIds).stream()
+                .collect(Collectors.toMap(AcademicSession::getId, Function.identity()));
+
+        Long schoolId = TenantContext.getSchoolId();
+        Set<Long> enrollmentStudentIds = new HashSet<>();
+        Set<Long> transportStudentIds = new HashSet<>();
+        for (StudentFeeAssignment sfa : recurring) {
+            if (schoolId != null && isTransportBased(feeStructures.get(sfa.getFeeStructureId()))) {
+                transportStudentIds.add(sfa.getStudentId());
+            } else {
+                enrollmentStudentIds.add(sfa.getStudentId());
+            }
+        }
+
+        Map<StudentSessionKey, StudentEnrollment> enrollments = new HashMap<>();
+        if (!enrollmentStudentIds.isEmpty()) {
+            studentEnrollmentRepository
+                    .findByStudentIdInAndSessionIdInAndActiveTrueOrderByIdAsc(enrollmentStudentIds, sessionIds)
+                    .forEach(e -> enrollments.putIfAbsent(
+                            new StudentSessionKey(e.getStudentId(), e.getSessionId()), e));
+        }
+
+        Map<StudentSessionKey, TransportEnrollment> transportEnrollments = new HashMap<>();
+        if (!transportStudentIds.isEmpty()) {
+            transportEnrollmentRepository
+                    .findByStudentIdInAndSessionIdInAndSchoolIdAndActiveTrue(transportStudentIds, sessionIds, schoolId)
+                    .forEach(te -> transportEnrollments.putIfAbsent(
+                            new StudentSessionKey(te.getStudentId(), te.getSessionId()), te));
+        }
+
+        return new AssignmentLookups(feeStructures, sessions, enrollments, transportEnrollments);
+    }
+
+    private FeeFrequency frequencyOf(FeeStructure fs) {
+        return fs != null && fs.getFrequency() != null ? fs.getFrequency() : FeeFrequency.ONE_TIME;
+    }
+
+    private boolean isTransportBased(FeeStructure fs) {
+        return fs != null && fs.getFeeType() != null && fs.getFeeType().isTransportBased();
+    }
 
+    private StudentFeeAssignmentDto toDto(StudentFeeAssignment sfa, AssignmentLookups lookups) {
         StudentFeeAssignmentDto dto = new StudentFeeAssignmentDto();
 
         dto.setId(sfa.getId());
@@ -164,13 +258,16 @@ public class StudentFeeAssignmentService {
         // Populate Fee Type Name
         FeeFrequency frequency = FeeFrequency.ONE_TIME;
         int periodsPerYear = FeeFrequency.ONE_TIME.getPeriodsPerYear();
-        feeStructureRepository.findById(sfa.getFeeStructureId()).ifPresent(fs -> {
-            if (fs.getFeeType() != null) {
-                dto.setFeeTypeName(fs.getFeeType().getName());
+        FeeStructure feeStructure = lookups.feeStructures().get(sfa.getFeeStructureId());
+        if (feeStructure != null) {
+            if (feeStructure.getFeeType() != null) {
+                dto.setFeeTypeName(feeStructure.getFeeType().getName());
             }
-            dto.setFrequency(fs.getFrequency());
-            dto.setPeriodsPerYear(fs.getFrequency() != null ? fs.getFrequency().getPeriodsPerYear() : 1);
-        });
+            dto.setFrequency(feeStructure.getFrequency());
+            dto.setPeriodsPerYear(feeStructure.getFrequency() != null
+                    ? feeStructure.getFrequency().getPeriodsPerYear()
+                    : 1);
+        }
         if (dto.getFrequency() != null) {
             frequency = dto.getFrequency();
             periodsPerYear = Math.max(1, dto.getPeriodsPerYear());
@@ -198,9 +295,6 @@ public class StudentFeeAssignmentService {
         BigDecimal annualAmount = nz(sfa.getAmount()).setScale(2, RoundingMode.HALF_UP);
         BigDecimal principalPaid = nz(sfa.getPrincipalPaid());
         BigDecimal totalDiscountAmount = nz(sfa.getTotalDiscountAmount());
-        BigDecimal lateFeeAccrued = nz(sfa.getLateFeeAccrued());
-        BigDecimal lateFeePaid = nz(sfa.getLateFeePaid());
-        BigDecimal lateFeeWaived = nz(sfa.getLateFeeWaived());
         dto.setNextDueDate(null);
 
         if (frequency != FeeFrequency.ONE_TIME) {
@@ -208,7 +302,7 @@ public class StudentFeeAssignmentService {
             int periodLengthMonths = Math.max(1, 12 / safePeriodsPerYear);
             dto.setPeriodsPerYear(safePeriodsPerYear);
 
-            AcademicSession academicSession = academicSessionRepository.findById(sfa.getSessionId()).orElse(null);
+            AcademicSession academicSession = lookups.sessions().get(sfa.getSessionId());
             LocalDate sessionStartDate = academicSession != null ? academicSession.getStartDate() : null;
             LocalDate sessionEndDate = academicSession != null ? academicSession.getEndDate() : null;
 
@@ -216,24 +310,18 @@ public class StudentFeeAssignmentService {
             boolean transportBased = false;
             Long schoolId = TenantContext.getSchoolId();
             if (schoolId != null) {
-                transportBased = feeStructureRepository.findById(sfa.getFeeStructureId())
-                        .map(FeeStructure::getFeeType)
-                        .map(ft -> ft != null && ft.isTransportBased())
-                        .orElse(false);
+                transportBased = isTransportBased(feeStructure);
             }
 
             if (transportBased && schoolId != null) {
-                TransportEnrollment transportEnrollment = transportEnrollmentRepository
-                        .findByStudentIdAndSessionIdAndSchoolIdAndActiveTrue(
-                                sfa.getStudentId(), sfa.getSessionId(), schoolId)
-                        .orElse(null);
+                TransportEnrollment transportEnrollment = lookups.transportEnrollments()
+                        .get(new StudentSessionKey(sfa.getStudentId(), sfa.getSessionId()));
                 baseDate = transportEnrollment != null && transportEnrollment.getCreatedAt() != null
                         ? transportEnrollment.getCreatedAt().toLocalDate()
                         : null;
             } else {
-                StudentEnrollment enrollment = studentEnrollmentRepository
-                        .findFirstByStudentIdAndSessionIdAndActiveTrue(sfa.getStudentId(), sfa.getSessionId())
-                        .orElse(null);
+                StudentEnrollment enrollment = lookups.enrollments()
+                        .get(new StudentSessionKey(sfa.getStudentId(), sfa.getSessionId()));
                 LocalDate enrollmentDate = enrollment != null ? enrollment.getEnrollmentDate() : null;
                 LocalDate enrollmentStartDate = enrollment != null ? enrollment.getStartDate() : null;
                 baseDate = firstNonNullDate(enrollmentDate, enrollmentStartDate, sessionStartDate);
@@ -272,22 +360,9 @@ public class StudentFeeAssignmentService {
                     .divide(BigDecimal.valueOf(safePeriodsPerYear), 2, RoundingMode.HALF_UP);
             dto.setAmountPerPeriod(amountPerPeriod);
 
-            BigDecimal dueTillDate = amountPerPeriod.multiply(BigDecimal.valueOf(periodsElapsed))
-                    .setScale(2, RoundingMode.HALF_UP);
-            dueTillDate = dueTillDate.min(annualAmount);
-            if (dueTillDate.compareTo(ZERO) < 0) {
-                dueTillDate = ZERO;
-            }
+            BigDecimal dueTillDate = FeeMath.dueTillDate(annualAmount, amountPerPeriod, periodsElapsed);
             dto.setDueTillDate(dueTillDate);
-
-            BigDecimal pendingTillDate = dueTillDate
-                    .add(lateFeeAccrued.subtract(lateFeePaid).subtract(lateFeeWaived).max(ZERO))
-                    .subtract(totalDiscountAmount)
-                    .subtract(principalPaid);
-            if (pendingTillDate.compareTo(ZERO) < 0) {
-                pendingTillDate = ZERO;
-            }
-            dto.setPendingTillDate(pendingTillDate.setScale(2, RoundingMode.HALF_UP));
+            dto.setPendingTillDate(FeeMath.pendingTillDate(sfa, dueTillDate));
         } else {
             dto.setPeriodsPerYear(1);
             dto.setPeriodsElapsed(1);
@@ -295,14 +370,7 @@ public class StudentFeeAssignmentService {
 
             BigDecimal dueTillDate = principalPaid.compareTo(annualAmount) >= 0 ? ZERO : annualAmount;
             dto.setDueTillDate(dueTillDate.setScale(2, RoundingMode.HALF_UP));
-            BigDecimal pendingTillDate = dueTillDate
-                    .add(lateFeeAccrued.subtract(lateFeePaid).subtract(lateFeeWaived).max(ZERO))
-                    .subtract(totalDiscountAmount)
-                    .subtract(principalPaid);
-            if (pendingTillDate.compareTo(ZERO) < 0) {
-                pendingTillDate = ZERO;
-            }
-            dto.setPendingTillDate(pendingTillDate.setScale(2, RoundingMode.HALF_UP));
+            dto.setPendingTillDate(FeeMath.pendingTillDate(sfa, dueTillDate));
         }
 
         BigDecimal remainingForSession = annualAmount
@@ -369,4 +437,14 @@ public class StudentFeeAssignmentService {
         }
         return sessionId;
     }
+
+    private record StudentSessionKey(Long studentId, Long sessionId) {
+    }
+
+    private record AssignmentLookups(
+            Map<Long, FeeStructure> feeStructures,
+            Map<Long, AcademicSession> sessions,
+            Map<StudentSessionKey, StudentEnrollment> enrollments,
+            Map<StudentSessionKey, TransportEnrollment> transportEnrollments) {
+    }
 }
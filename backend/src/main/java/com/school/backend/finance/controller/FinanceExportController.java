@@ -1,5 +1,6 @@
 package com.school.backend.finance.controller;
 
+import com.school.backend.common.enums.PLGranularity;
 import com.school.backend.common.exception.BusinessException;
 import com.school.backend.finance.service.FinanceExportService;
 import lombok.RequiredArgsConstructor;
@@ -33,14 +34,15 @@ public class FinanceExportController {
     @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'ACCOUNTANT', 'SUPER_ADMIN')")
     public ResponseEntity<byte[]> exportRangePL(
             @RequestParam LocalDate start,
-            @RequestParam LocalDate end) {
+            @RequestParam LocalDate end,
+            @RequestParam(required = false) PLGranularity granularity) {
         if (start == null || end == null) {
             throw new BusinessException("Start and End dates are required");
         }
         if (end.isBefore(start)) {
             throw new BusinessException("End date cannot be before Start date");
         }
-        byte[] payload = financeExportService.exportRangePL(start, end);
+        byte[] payload = financeExportService.exportRangePL(start, end, granularity);
         return excelResponse(payload, "pl_report_" + start + "_to_" + end + ".xlsx");
     }
 
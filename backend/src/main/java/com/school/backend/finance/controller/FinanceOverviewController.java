@@ -1,5 +1,6 @@
 package com.school.backend.finance.controller;
 
+import com.school.backend.common.enums.PLGranularity;
 import com.school.backend.common.exception.BusinessException;
 import com.school.backend.finance.dto.DailyCashDashboardDto;
 import com.school.backend.finance.dto.FinancialOverviewDto;
@@ -30,13 +31,14 @@ public class FinanceOverviewController {
     @PreAuthorize("hasAnyRole('SCHOOL_ADMIN', 'ACCOUNTANT', 'SUPER_ADMIN')")
     public FinancialOverviewDto getRangeOverview(
             @RequestParam LocalDate start,
-            @RequestParam LocalDate end) {
+            @RequestParam LocalDate end,
+            @RequestParam(required = false) PLGranularity granularity) {
         if (start == null || end == null) {
             throw new BusinessException("Start and End dates are required");
         }
         if (end.isBefore(start)) {
             throw new BusinessException("End date cannot be before Start date");
         }
-        return service.getRangeOverview(start, end);
+        return service.getRangeOverview(start, end, granularity);
     }
 }
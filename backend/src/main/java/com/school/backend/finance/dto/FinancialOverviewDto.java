@@ -1,13 +1,15 @@
 package com.school.backend.finance.dto;
 
+import com.school.backend.common.enums.PLGranularity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
-
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @Builder
@@ -33,4 +35,8 @@ public class FinancialOverviewDto {
     private BigDecimal cashExpense = BigDecimal.ZERO;
     @Builder.Default
     private BigDecimal bankExpense = BigDecimal.ZERO;
+
+    private PLGranularity granularity;
+    @Builder.Default
+    private List<PLBucketDto> buckets = new ArrayList<>();
 }
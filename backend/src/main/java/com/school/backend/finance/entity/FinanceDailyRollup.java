@@ -0,0 +1,58 @@
+package com.school.backend.finance.entity;
+
+import com.school.backend.common.entity.TenantEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-school, per-day money movement totals. Maintained by
+ * {@code FinanceDailyRollupService} on every fee payment, expense voucher and
+ * account transfer write, so the daily dashboard and day closing read one row
+ * and range P&L reports read one row per active day instead of aggregating the
+ * underlying tables.
+ */
+@Entity
+@Table(name = "finance_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_finance_rollup_school_date", columnNames = { "school_id", "rollup_date" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+public class FinanceDailyRollup extends TenantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Builder.Default
+    @Column(name = "cash_revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cashRevenue = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "bank_revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal bankRevenue = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "cash_expense", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cashExpense = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "bank_expense", nullable = false, precision = 19, scale = 2)
+    private BigDecimal bankExpense = BigDecimal.ZERO;
+
+    // Cash deposited to bank; it is both the cash-side outflow and the bank-side inflow
+    @Builder.Default
+    @Column(name = "transfer_out", nullable = false, precision = 19, scale = 2)
+    private BigDecimal transferOut = BigDecimal.ZERO;
+}
@@ -0,0 +1,37 @@
+package com.school.backend.finance.entity;
+
+import com.school.backend.common.entity.TenantEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a school whose {@link FinanceDailyRollup} rows have been backfilled
+ * from the full payment, voucher and transfer history. From then on the
+ * rollup alone answers range reports, since every write keeps it current.
+ */
+@Entity
+@Table(name = "finance_rollup_coverage", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_finance_rollup_coverage_school", columnNames = { "school_id" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+public class FinanceRollupCoverage extends TenantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "backfilled_at", nullable = false)
+    private LocalDateTime backfilledAt;
+
+    @Column(name = "backfilled_days", nullable = false)
+    private int backfilledDays;
+}
@@ -4,6 +4,7 @@ import com.school.backend.finance.entity.DayClosing;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface DayClosingRepository extends JpaRepository<DayClosing, Long> {
@@ -14,4 +15,7 @@ public interface DayClosingRepository extends JpaRepository<DayClosing, Long> {
     boolean existsBySchoolIdAndDateAndOverrideAllowedFalse(Long schoolId, LocalDate date);
 
     Optional<DayClosing> findFirstBySchoolIdAndDateLessThanOrderByDateDesc(Long schoolId, LocalDate date);
+
+    // The date's own closing (if any) and the one before it, in one query
+    List<DayClosing> findTop2BySchoolIdAndDateLessThanEqualOrderByDateDesc(Long schoolId, LocalDate date);
 }
@@ -0,0 +1,122 @@
+package com.school.backend.finance.repository;
+
+import com.school.backend.finance.entity.FinanceDailyRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface FinanceDailyRollupRepository extends JpaRepository<FinanceDailyRollup, Long> {
+
+  interface DailyMovement {
+    BigDecimal getCashRevenue();
+
+    BigDecimal getBankRevenue();
+
+    BigDecimal getCashExpense();
+
+    BigDecimal getBankExpense();
+
+    BigDecimal getTransferOut();
+  }
+
+  Optional<FinanceDailyRollup> findBySchoolIdAndRollupDate(Long schoolId, LocalDate rollupDate);
+
+  List<FinanceDailyRollup> findBySchoolIdAndRollupDateBetweenOrderByRollupDateAsc(Long schoolId, LocalDate start,
+      LocalDate end);
+
+  @Query("SELECT r.rollupDate FROM FinanceDailyRollup r WHERE r.schoolId = :schoolId")
+  List<LocalDate> findRollupDatesBySchoolId(@Param("schoolId") Long schoolId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+      SELECT r FROM FinanceDailyRollup r
+      WHERE r.schoolId = :schoolId
+        AND r.rollupDate = :date
+      """)
+  Optional<FinanceDailyRollup> findForUpdate(@Param("schoolId") Long schoolId, @Param("date") LocalDate date);
+
+  /**
+   * All daily movement figures of one school day in a single round trip:
+   * payments, active vouchers and cash-to-bank transfers are unioned and
+   * split by kind and mode with conditional sums.
+   */
+  @Query(value = """
+      SELECT
+        COALESCE(SUM(CASE WHEN m.kind = 'FEE' AND m.cash = 1 THEN m.amount END), 0) AS cashRevenue,
+        COALESCE(SUM(CASE WHEN m.kind = 'FEE' AND m.cash = 0 THEN m.amount END), 0) AS bankRevenue,
+        COALESCE(SUM(CASE WHEN m.kind = 'EXPENSE' AND m.cash = 1 THEN m.amount END), 0) AS cashExpense,
+        COALESCE(SUM(CASE WHEN m.kind = 'EXPENSE' AND m.cash = 0 THEN m.amount END), 0) AS bankExpense,
+        COALESCE(SUM(CASE WHEN m.kind = 'TRANSFER' THEN m.amount END), 0) AS transferOut
+      FROM (
+        SELECT 'FEE' AS kind,
+               CASE WHEN UPPER(COALESCE(fp.mode, '')) = 'CASH' THEN 1 ELSE 0 END AS cash,
+               fp.principal_paid + fp.late_fee_paid AS amount
+        FROM fee_payments fp
+        WHERE fp.school_id = :schoolId
+          AND fp.payment_date = :date
+        UNION ALL
+        SELECT 'EXPENSE',
+               CASE WHEN ev.payment_mode = 'CASH' THEN 1 ELSE 0 END,
+               ev.amount
+        FROM expense_vouchers ev
+        WHERE ev.school_id = :schoolId
+          AND ev.expense_date = :date
+          AND ev.active = true
+        UNION ALL
+        SELECT 'TRANSFER', 0, ft.amount
+        FROM finance_account_transfers ft
+        WHERE ft.school_id = :schoolId
+          AND ft.transfer_date = :date
+          AND ft.from_account = 'CASH'
+          AND ft.to_account = 'BANK'
+      ) m
+      """, nativeQuery = true)
+  DailyMovement aggregateDay(@Param("schoolId") Long schoolId, @Param("date") LocalDate date);
+
+  /**
+   * Same movement split as {@link #aggregateDay} for the school's whole
+   * history, one row per day with any activity. Used once per school to
+   * backfill the rollup.
+   *
+   * @return {@code [day, cashRevenue, bankRevenue, cashExpense, bankExpense, transferOut]} rows
+   */
+  @Query(value = """
+      SELECT m.movement_date,
+        COALESCE(SUM(CASE WHEN m.kind = 'FEE' AND m.cash = 1 THEN m.amount END), 0),
+        COALESCE(SUM(CASE WHEN m.kind = 'FEE' AND m.cash = 0 THEN m.amount END), 0),
+        COALESCE(SUM(CASE WHEN m.kind = 'EXPENSE' AND m.cash = 1 THEN m.amount END), 0),
+        COALESCE(SUM(CASE WHEN m.kind = 'EXPENSE' AND m.cash = 0 THEN m.amount END), 0),
+        COALESCE(SUM(CASE WHEN m.kind = 'TRANSFER' THEN m.amount END), 0)
+      FROM (
+        SELECT fp.payment_date AS movement_date,
+               'FEE' AS kind,
+               CASE WHEN UPPER(COALESCE(fp.mode, '')) = 'CASH' THEN 1 ELSE 0 END AS cash,
+               fp.principal_paid + fp.late_fee_paid AS amount
+        FROM fee_payments fp
+        WHERE fp.school_id = :schoolId
+        UNION ALL
+        SELECT ev.expense_date,
+               'EXPENSE',
+               CASE WHEN ev.payment_mode = 'CASH' THEN 1 ELSE 0 END,
+               ev.amount
+        FROM expense_vouchers ev
+        WHERE ev.school_id = :schoolId
+          AND ev.active = true
+        UNION ALL
+        SELECT ft.transfer_date, 'TRANSFER', 0, ft.amount
+        FROM finance_account_transfers ft
+        WHERE ft.school_id = :schoolId
+          AND ft.from_account = 'CASH'
+          AND ft.to_account = 'BANK'
+      ) m
+      GROUP BY m.movement_date
+      """, nativeQuery = true)
+  List<Object[]> aggregateHistoryByDay(@Param("schoolId") Long schoolId);
+}
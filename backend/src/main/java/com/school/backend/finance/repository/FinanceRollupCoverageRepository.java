@@ -0,0 +1,9 @@
+package com.school.backend.finance.repository;
+
+import com.school.backend.finance.entity.FinanceRollupCoverage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FinanceRollupCoverageRepository extends JpaRepository<FinanceRollupCoverage, Long> {
+
+    boolean existsBySchoolId(Long schoolId);
+}
@@ -4,10 +4,10 @@ import com.school.backend.common.exception.BusinessException;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.tenant.SessionContext;
 import com.school.backend.common.tenant.TenantContext;
-import com.school.backend.finance.dto.DailyCashDashboardDto;
 import com.school.backend.finance.dto.DayClosingDto;
 import com.school.backend.finance.entity.DayClosing;
 import com.school.backend.finance.repository.DayClosingRepository;
+import com.school.backend.finance.service.FinanceDailyRollupService.DailyTotals;
 import com.school.backend.user.security.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +24,7 @@ import java.time.LocalDateTime;
 public class DayClosingService {
 
     private final DayClosingRepository dayClosingRepository;
-    private final FinanceOverviewService financeOverviewService;
+    private final FinanceDailyRollupService financeDailyRollupService;
 
     @Transactional
     public DayClosingDto closeDate(LocalDate date) {
@@ -46,8 +46,13 @@ public class DayClosingService {
             throw new InvalidOperationException("Date already closed");
         }
 
-        // 1. Fetch Today's Overview (includes Opening Balance logic)
-        DailyCashDashboardDto daily = financeOverviewService.getDailyOverview(closeDate);
+        // 1. Opening position from the previous closing, movements from the daily rollup
+        DayClosing previous = dayClosingRepository
+                .findFirstBySchoolIdAndDateLessThanOrderByDateDesc(schoolId, closeDate)
+                .orElse(null);
+        BigDecimal openingCash = previous != null ? nz(previous.getClosingCash()) : BigDecimal.ZERO;
+        BigDecimal openingBank = previous != null ? nz(previous.getClosingBank()) : BigDecimal.ZERO;
+        DailyTotals daily = financeDailyRollupService.getDailyTotals(schoolId, closeDate);
 
         // 2. Map totals
         DayClosing target = existing != null ? existing : new DayClosing();
@@ -55,23 +60,17 @@ public class DayClosingService {
         target.setSessionId(sessionId);
         target.setDate(closeDate);
 
-        // Opening bases are derived from yesterday in Service
-        // We fetch yesterday explicitly to store it in DayClosing record for audit
-        DayClosing previous = dayClosingRepository
-                .findFirstBySchoolIdAndDateLessThanOrderByDateDesc(schoolId, closeDate)
-                .orElse(null);
-
-        target.setOpeningCash(previous != null ? nz(previous.getClosingCash()) : BigDecimal.ZERO);
-        target.setOpeningBank(previous != null ? nz(previous.getClosingBank()) : BigDecimal.ZERO);
-
-        target.setCashRevenue(daily.getCashRevenue());
-        target.setBankRevenue(daily.getBankRevenue());
-        target.setCashExpense(daily.getCashExpense());
-        target.setBankExpense(daily.getBankExpense());
-        target.setTransferOut(daily.getTransferOut());
-        target.setTransferIn(daily.getTransferIn());
-        target.setClosingCash(daily.getNetCash()); // getNetCash returns closing position
-        target.setClosingBank(daily.getNetBank()); // getNetBank returns closing position
+        target.setOpeningCash(openingCash);
+        target.setOpeningBank(openingBank);
+
+        target.setCashRevenue(daily.cashRevenue());
+        target.setBankRevenue(daily.bankRevenue());
+        target.setCashExpense(daily.cashExpense());
+        target.setBankExpense(daily.bankExpense());
+        target.setTransferOut(daily.transferOut());
+        target.setTransferIn(daily.transferOut());
+        target.setClosingCash(daily.closingCash(openingCash));
+        target.setClosingBank(daily.closingBank(openingBank));
         target.setOverrideAllowed(false);
         target.setClosedBy(SecurityUtil.userId());
         target.setClosedAt(LocalDateTime.now());
@@ -8,6 +8,7 @@ import com.school.backend.finance.dto.FinanceAccountTransferDto;
 import com.school.backend.finance.entity.FinanceAccountTransfer;
 import com.school.backend.finance.repository.DayClosingRepository;
 import com.school.backend.finance.repository.FinanceAccountTransferRepository;
+import com.school.backend.finance.service.FinanceDailyRollupService.DailyTotals;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.repository.AcademicSessionRepository;
 import com.school.backend.user.security.SecurityUtil;
@@ -34,6 +35,7 @@ public class FinanceAccountTransferService {
     private final FinanceAccountTransferRepository transferRepository;
     private final AcademicSessionRepository academicSessionRepository;
     private final DayClosingRepository dayClosingRepository;
+    private final FinanceDailyRollupService financeDailyRollupService;
 
     @Transactional
     public FinanceAccountTransferDto createTransfer(
@@ -89,6 +91,7 @@ public class FinanceAccountTransferService {
                 .remarks(trimToNull(remarks))
                 .createdBy(SecurityUtil.userId())
                 .build());
+        financeDailyRollupService.apply(schoolId, transferDate, DailyTotals.cashToBankTransfer(amount));
 
         return toDto(saved);
     }
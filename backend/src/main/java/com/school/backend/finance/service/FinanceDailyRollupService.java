@@ -0,0 +1,171 @@
+package com.school.backend.finance.service;
+
+import com.school.backend.common.enums.ExpensePaymentMode;
+import com.school.backend.finance.entity.FinanceDailyRollup;
+import com.school.backend.finance.repository.FinanceDailyRollupRepository;
+import com.school.backend.finance.repository.FinanceDailyRollupRepository.DailyMovement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@link FinanceDailyRollup} in step with fee payments, expense vouchers
+ * and account transfers.
+ * <p>
+ * Writers call {@link #apply} after persisting their row, and the day row is
+ * updated by delta under a row lock. A missing row is first seeded by
+ * {@link FinanceRollupSeeder} from the committed day aggregate, so days with
+ * data written before the rollup existed are picked up correctly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceDailyRollupService {
+
+    private static final String CASH = "CASH";
+    private static final int BACKFILL_ATTEMPTS = 3;
+
+    private final FinanceDailyRollupRepository rollupRepository;
+    private final FinanceRollupSeeder rollupSeeder;
+
+    // Schools whose history has been backfilled; coverage is never revoked
+    private final Set<Long> coveredSchools = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Object> backfillLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Money movement of one school day, or a delta to apply to it.
+     */
+    public record DailyTotals(BigDecimal cashRevenue, BigDecimal bankRevenue, BigDecimal cashExpense,
+            BigDecimal bankExpense, BigDecimal transferOut) {
+
+        public static final DailyTotals ZERO = new DailyTotals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO);
+
+        public static DailyTotals of(DailyMovement m) {
+            if (m == null) {
+                return ZERO;
+            }
+            return new DailyTotals(nz(m.getCashRevenue()), nz(m.getBankRevenue()), nz(m.getCashExpense()),
+                    nz(m.getBankExpense()), nz(m.getTransferOut()));
+        }
+
+        public static DailyTotals feePayment(String mode, BigDecimal amount) {
+            return CASH.equalsIgnoreCase(mode)
+                    ? new DailyTotals(amount, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO)
+                    : new DailyTotals(BigDecimal.ZERO, amount, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+
+        public static DailyTotals expense(ExpensePaymentMode mode, BigDecimal amount) {
+            return mode == ExpensePaymentMode.CASH
+                    ? new DailyTotals(BigDecimal.ZERO, BigDecimal.ZERO, amount, BigDecimal.ZERO, BigDecimal.ZERO)
+                    : new DailyTotals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, amount, BigDecimal.ZERO);
+        }
+
+        public static DailyTotals cashToBankTransfer(BigDecimal amount) {
+            return new DailyTotals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, amount);
+        }
+
+        public DailyTotals plus(DailyTotals other) {
+            return new DailyTotals(cashRevenue.add(other.cashRevenue), bankRevenue.add(other.bankRevenue),
+                    cashExpense.add(other.cashExpense), bankExpense.add(other.bankExpense),
+                    transferOut.add(other.transferOut));
+        }
+
+        public BigDecimal closingCash(BigDecimal openingCash) {
+            return openingCash.add(cashRevenue).subtract(cashExpense).subtract(transferOut);
+        }
+
+        public BigDecimal closingBank(BigDecimal openingBank) {
+            return openingBank.add(bankRevenue).subtract(bankExpense).add(transferOut);
+        }
+
+        private static BigDecimal nz(BigDecimal value) {
+            return value != null ? value : BigDecimal.ZERO;
+        }
+    }
+
+    @Transactional
+    public void apply(Long schoolId, LocalDate date, DailyTotals delta) {
+        FinanceDailyRollup row = rollupRepository.findForUpdate(schoolId, date).orElse(null);
+        if (row == null) {
+            try {
+                rollupSeeder.seedDay(schoolId, date);
+            } catch (DataIntegrityViolationException ex) {
+                // Another writer seeded the day first
+            }
+            row = rollupRepository.findForUpdate(schoolId, date)
+                    .orElseThrow(() -> new IllegalStateException("Finance rollup row missing after seeding"));
+        }
+        row.setCashRevenue(row.getCashRevenue().add(delta.cashRevenue()));
+        row.setBankRevenue(row.getBankRevenue().add(delta.bankRevenue()));
+        row.setCashExpense(row.getCashExpense().add(delta.cashExpense()));
+        row.setBankExpense(row.getBankExpense().add(delta.bankExpense()));
+        row.setTransferOut(row.getTransferOut().add(delta.transferOut()));
+        rollupRepository.save(row);
+    }
+
+    /**
+     * @return the day's totals from the rollup, or from one aggregate query for
+     *         days that have not been written since the rollup was introduced
+     */
+    @Transactional(readOnly = true)
+    public DailyTotals getDailyTotals(Long schoolId, LocalDate date) {
+        return rollupRepository.findBySchoolIdAndRollupDate(schoolId, date)
+                .map(r -> new DailyTotals(r.getCashRevenue(), r.getBankRevenue(), r.getCashExpense(),
+                        r.getBankExpense(), r.getTransferOut()))
+                .orElseGet(() -> DailyTotals.of(rollupRepository.aggregateDay(schoolId, date)));
+    }
+
+    /**
+     * Rollup rows of a date range for a school whose history has been
+     * backfilled. Days without any movement have no row.
+     */
+    @Transactional(readOnly = true)
+    public List<FinanceDailyRollup> getRange(Long schoolId, LocalDate start, LocalDate end) {
+        return rollupRepository.findBySchoolIdAndRollupDateBetweenOrderByRollupDateAsc(schoolId, start, end);
+    }
+
+    /**
+     * Backfills the rollup of a school from its full history the first time a
+     * range report is requested. Schools known to be covered return without a
+     * query; the first caller per school runs the backfill while concurrent
+     * callers for the same school wait for it.
+     */
+    public void ensureBackfilled(Long schoolId) {
+        if (coveredSchools.contains(schoolId)) {
+            return;
+        }
+        synchronized (backfillLocks.computeIfAbsent(schoolId, id -> new Object())) {
+            if (coveredSchools.contains(schoolId)) {
+                return;
+            }
+            int days = backfill(schoolId);
+            if (days >= 0) {
+                log.info("event=finance_rollup_backfilled schoolId={} days={}", schoolId, days);
+            }
+            coveredSchools.add(schoolId);
+        }
+    }
+
+    private int backfill(Long schoolId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return rollupSeeder.backfill(schoolId);
+            } catch (DataIntegrityViolationException ex) {
+                // A writer seeded one of the days, or another instance covered the school, meanwhile
+                if (attempt == BACKFILL_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+}
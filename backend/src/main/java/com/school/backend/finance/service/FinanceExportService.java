@@ -1,9 +1,11 @@
 package com.school.backend.finance.service;
 
+import com.school.backend.common.enums.PLGranularity;
 import com.school.backend.finance.dto.DailyCashDashboardDto;
 import com.school.backend.expense.dto.ExpenseVoucherDto;
 import com.school.backend.expense.service.ExpenseService;
 import com.school.backend.finance.dto.FinancialOverviewDto;
+import com.school.backend.finance.dto.PLBucketDto;
 import com.school.backend.fee.dto.FeeTypeHeadSummaryDto;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -99,8 +101,8 @@ public class FinanceExportService {
         }
     }
 
-    public byte[] exportRangePL(LocalDate start, LocalDate end) {
-        FinancialOverviewDto dto = financeOverviewService.getRangeOverview(start, end);
+    public byte[] exportRangePL(LocalDate start, LocalDate end, PLGranularity granularity) {
+        FinancialOverviewDto dto = financeOverviewService.getRangeOverview(start, end, granularity);
         try (XSSFWorkbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("P&L Report");
             CellStyle headerStyle = createHeaderStyle(workbook);
@@ -130,6 +132,32 @@ public class FinanceExportService {
             rowIdx = writeLabelValueNumeric(sheet, rowIdx, "Bank Expense", dto.getBankExpense(), numericStyle,
                     usedColumns);
 
+            rowIdx += 2;
+            Row bucketHeader = sheet.createRow(rowIdx++);
+            createHeaderCell(bucketHeader, 0, "Period", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 1, "From", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 2, "To", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 3, "Cash Revenue", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 4, "Bank Revenue", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 5, "Cash Expense", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 6, "Bank Expense", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 7, "Total Revenue", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 8, "Total Expense", headerStyle, usedColumns);
+            createHeaderCell(bucketHeader, 9, "Net Profit", headerStyle, usedColumns);
+            for (PLBucketDto bucket : dto.getBuckets()) {
+                Row r = sheet.createRow(rowIdx++);
+                createTextCell(r, 0, bucket.getLabel(), usedColumns);
+                createTextCell(r, 1, bucket.getStartDate().toString(), usedColumns);
+                createTextCell(r, 2, bucket.getEndDate().toString(), usedColumns);
+                createNumericCell(r, 3, bucket.getCashRevenue(), numericStyle, usedColumns);
+                createNumericCell(r, 4, bucket.getBankRevenue(), numericStyle, usedColumns);
+                createNumericCell(r, 5, bucket.getCashExpense(), numericStyle, usedColumns);
+                createNumericCell(r, 6, bucket.getBankExpense(), numericStyle, usedColumns);
+                createNumericCell(r, 7, bucket.getTotalRevenue(), numericStyle, usedColumns);
+                createNumericCell(r, 8, bucket.getTotalExpense(), numericStyle, usedColumns);
+                createNumericCell(r, 9, bucket.getNetProfit(), numericStyle, usedColumns);
+            }
+
             autosize(sheet, usedColumns);
             return toBytes(workbook);
         } catch (IOException e) {
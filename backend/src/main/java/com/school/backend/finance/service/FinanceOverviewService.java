@@ -1,22 +1,31 @@
 package com.school.backend.finance.service;
 
 import com.school.backend.common.enums.ExpensePaymentMode;
+import com.school.backend.common.enums.PLGranularity;
 import com.school.backend.common.tenant.TenantContext;
 import com.school.backend.finance.dto.DailyCashDashboardDto;
 import com.school.backend.expense.repository.ExpenseVoucherRepository;
 import com.school.backend.fee.repository.FeePaymentAllocationRepository;
-import com.school.backend.fee.repository.FeePaymentRepository;
 import com.school.backend.finance.dto.FinancialOverviewDto;
+import com.school.backend.finance.dto.PLBucketDto;
 import com.school.backend.finance.entity.DayClosing;
+import com.school.backend.finance.entity.FinanceDailyRollup;
 import com.school.backend.finance.repository.DayClosingRepository;
-import com.school.backend.finance.repository.FinanceAccountTransferRepository;
+import com.school.backend.finance.service.FinanceDailyRollupService.DailyTotals;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.Set;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,42 +33,38 @@ public class FinanceOverviewService {
 
         private static final String CASH = "CASH";
 
-        private final FeePaymentRepository feePaymentRepository;
         private final FeePaymentAllocationRepository feePaymentAllocationRepository;
         private final ExpenseVoucherRepository expenseVoucherRepository;
-        private final FinanceAccountTransferRepository financeAccountTransferRepository;
         private final DayClosingRepository dayClosingRepository;
+        private final FinanceDailyRollupService financeDailyRollupService;
 
         @Transactional(readOnly = true)
         public DailyCashDashboardDto getDailyOverview(LocalDate date) {
                 Long schoolId = TenantContext.getSchoolId();
                 LocalDate effectiveDate = date != null ? date : LocalDate.now();
 
-                // 1. Opening Balance (Treasury Lens)
-                DayClosing yesterday = dayClosingRepository
-                                .findFirstBySchoolIdAndDateLessThanOrderByDateDesc(schoolId, effectiveDate)
+                // 1. Opening Balance (Treasury Lens) and closed flag from one closing lookup
+                List<DayClosing> recentClosings = dayClosingRepository
+                                .findTop2BySchoolIdAndDateLessThanEqualOrderByDateDesc(schoolId, effectiveDate);
+                boolean closed = !recentClosings.isEmpty()
+                                && effectiveDate.equals(recentClosings.get(0).getDate());
+                DayClosing yesterday = recentClosings.stream()
+                                .filter(d -> d.getDate().isBefore(effectiveDate))
+                                .findFirst()
                                 .orElse(null);
 
                 BigDecimal openingCash = yesterday != null ? nz(yesterday.getClosingCash()) : BigDecimal.ZERO;
                 BigDecimal openingBank = yesterday != null ? nz(yesterday.getClosingBank()) : BigDecimal.ZERO;
 
-                // 2. Daily Movements
-                BigDecimal cashRevenue = nz(
-                                feePaymentRepository.sumCashRevenue(schoolId, effectiveDate, effectiveDate));
-                BigDecimal bankRevenue = nz(
-                                feePaymentRepository.sumNonCashRevenue(schoolId, effectiveDate, effectiveDate));
-
-                BigDecimal cashExpense = nz(
-                                expenseVoucherRepository.sumCashExpense(schoolId, effectiveDate, effectiveDate));
-                BigDecimal bankExpense = nz(
-                                expenseVoucherRepository.sumNonCashExpense(schoolId, effectiveDate, effectiveDate));
-
-                BigDecimal transferOut = nz(financeAccountTransferRepository.sumCashToBankTransfers(schoolId,
-                                effectiveDate, effectiveDate));
+                // 2. Daily Movements (one rollup row)
+                DailyTotals day = financeDailyRollupService.getDailyTotals(schoolId, effectiveDate);
+                BigDecimal cashRevenue = day.cashRevenue();
+                BigDecimal cashExpense = day.cashExpense();
+                BigDecimal transferOut = day.transferOut();
 
                 // 3. Closing Positions
-                BigDecimal closingCash = openingCash.add(cashRevenue).subtract(cashExpense).subtract(transferOut);
-                BigDecimal closingBank = openingBank.add(bankRevenue).subtract(bankExpense).add(transferOut);
+                BigDecimal closingCash = day.closingCash(openingCash);
+                BigDecimal closingBank = day.closingBank(openingBank);
 
                 // Legacy Net Amount matches current operational DASHBOARD (Cash Revenue - Cash
                 // Expense)
@@ -69,15 +74,15 @@ public class FinanceOverviewService {
                                 .totalFeeCollected(cashRevenue)
                                 .totalExpense(cashExpense)
                                 .cashRevenue(cashRevenue)
-                                .bankRevenue(bankRevenue)
+                                .bankRevenue(day.bankRevenue())
                                 .cashExpense(cashExpense)
-                                .bankExpense(bankExpense)
+                                .bankExpense(day.bankExpense())
                                 .netCash(closingCash)
                                 .netBank(closingBank)
                                 .transferOut(transferOut)
                                 .transferIn(transferOut)
                                 .netAmount(netAmount)
-                                .closed(dayClosingRepository.existsBySchoolIdAndDate(schoolId, effectiveDate))
+                                .closed(closed)
                                 .headWiseCollection(feePaymentAllocationRepository.findHeadSummaryBySchoolIdDateAndMode(
                                                 schoolId,
                                                 effectiveDate, CASH))
@@ -88,23 +93,60 @@ public class FinanceOverviewService {
         }
 
         @Transactional(readOnly = true)
-        public FinancialOverviewDto getRangeOverview(LocalDate start, LocalDate end) {
+        public FinancialOverviewDto getRangeOverview(LocalDate start, LocalDate end, PLGranularity granularity) {
                 String periodName = "P&L Report (" + start + " to " + end + ")";
-                return getFinancialOverview(start, end, periodName);
+                return getFinancialOverview(start, end, periodName,
+                                granularity != null ? granularity : PLGranularity.MONTH);
         }
 
-        private FinancialOverviewDto getFinancialOverview(LocalDate start, LocalDate end, String periodName) {
+        /**
+         * Range P&L from the daily rollup: one row per active day is read and
+         * folded into calendar buckets clipped to the range. Every bucket of the
+         * range is returned, including those without movement, so the series has
+         * no gaps.
+         */
+        private FinancialOverviewDto getFinancialOverview(LocalDate start, LocalDate end, String periodName,
+                        PLGranularity granularity) {
                 Long schoolId = TenantContext.getSchoolId();
-
-                BigDecimal revenue = nz(feePaymentRepository.sumTotalPaidBySchoolIdAndDateRange(schoolId, start, end));
-                BigDecimal expense = nz(
-                                expenseVoucherRepository.sumTotalExpenseBySchoolIdAndDateRange(schoolId, start, end));
-
-                BigDecimal cashRevenue = nz(feePaymentRepository.sumCashRevenue(schoolId, start, end));
-                BigDecimal bankRevenue = nz(feePaymentRepository.sumNonCashRevenue(schoolId, start, end));
-
-                BigDecimal cashExpense = nz(expenseVoucherRepository.sumCashExpense(schoolId, start, end));
-                BigDecimal bankExpense = nz(expenseVoucherRepository.sumNonCashExpense(schoolId, start, end));
+                financeDailyRollupService.ensureBackfilled(schoolId);
+
+                Map<LocalDate, PLBucketDto> buckets = new LinkedHashMap<>();
+                for (LocalDate from = start; !from.isAfter(end);) {
+                        LocalDate bucketStart = bucketStart(from, granularity);
+                        LocalDate next = nextBucketStart(bucketStart, granularity);
+                        LocalDate to = next.minusDays(1).isAfter(end) ? end : next.minusDays(1);
+                        buckets.put(bucketStart, PLBucketDto.builder()
+                                        .label(bucketLabel(bucketStart, granularity))
+                                        .startDate(from)
+                                        .endDate(to)
+                                        .build());
+                        from = next;
+                }
+
+                BigDecimal cashRevenue = BigDecimal.ZERO;
+                BigDecimal bankRevenue = BigDecimal.ZERO;
+                BigDecimal cashExpense = BigDecimal.ZERO;
+                BigDecimal bankExpense = BigDecimal.ZERO;
+                for (FinanceDailyRollup day : financeDailyRollupService.getRange(schoolId, start, end)) {
+                        PLBucketDto bucket = buckets.get(bucketStart(day.getRollupDate(), granularity));
+                        bucket.setCashRevenue(bucket.getCashRevenue().add(day.getCashRevenue()));
+                        bucket.setBankRevenue(bucket.getBankRevenue().add(day.getBankRevenue()));
+                        bucket.setCashExpense(bucket.getCashExpense().add(day.getCashExpense()));
+                        bucket.setBankExpense(bucket.getBankExpense().add(day.getBankExpense()));
+
+                        cashRevenue = cashRevenue.add(day.getCashRevenue());
+                        bankRevenue = bankRevenue.add(day.getBankRevenue());
+                        cashExpense = cashExpense.add(day.getCashExpense());
+                        bankExpense = bankExpense.add(day.getBankExpense());
+                }
+                for (PLBucketDto bucket : buckets.values()) {
+                        bucket.setTotalRevenue(bucket.getCashRevenue().add(bucket.getBankRevenue()));
+                        bucket.setTotalExpense(bucket.getCashExpense().add(bucket.getBankExpense()));
+                        bucket.setNetProfit(bucket.getTotalRevenue().subtract(bucket.getTotalExpense()));
+                }
+
+                BigDecimal revenue = cashRevenue.add(bankRevenue);
+                BigDecimal expense = cashExpense.add(bankExpense);
 
                 return FinancialOverviewDto.builder()
                                 .periodName(periodName)
@@ -117,9 +159,36 @@ public class FinanceOverviewService {
                                 .bankRevenue(bankRevenue)
                                 .cashExpense(cashExpense)
                                 .bankExpense(bankExpense)
+                                .granularity(granularity)
+                                .buckets(new ArrayList<>(buckets.values()))
                                 .build();
         }
 
+        private LocalDate bucketStart(LocalDate date, PLGranularity granularity) {
+                return switch (granularity) {
+                        case DAY -> date;
+                        case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                        case MONTH -> date.withDayOfMonth(1);
+                };
+        }
+
+        private LocalDate nextBucketStart(LocalDate bucketStart, PLGranularity granularity) {
+                return switch (granularity) {
+                        case DAY -> bucketStart.plusDays(1);
+                        case WEEK -> bucketStart.plusWeeks(1);
+                        case MONTH -> bucketStart.plusMonths(1);
+                };
+        }
+
+        private String bucketLabel(LocalDate bucketStart, PLGranularity granularity) {
+                return switch (granularity) {
+                        case DAY -> bucketStart.toString();
+                        case WEEK -> String.format("%d-W%02d", bucketStart.get(IsoFields.WEEK_BASED_YEAR),
+                                        bucketStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+                        case MONTH -> YearMonth.from(bucketStart).toString();
+                };
+        }
+
         private BigDecimal nz(BigDecimal val) {
                 return val != null ? val : BigDecimal.ZERO;
         }
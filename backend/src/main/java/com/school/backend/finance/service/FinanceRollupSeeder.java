@@ -0,0 +1,96 @@
+package com.school.backend.finance.service;
+
+import com.school.backend.finance.entity.FinanceDailyRollup;
+import com.school.backend.finance.entity.FinanceRollupCoverage;
+import com.school.backend.finance.repository.FinanceDailyRollupRepository;
+import com.school.backend.finance.repository.FinanceRollupCoverageRepository;
+import com.school.backend.finance.service.FinanceDailyRollupService.DailyTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates missing {@link FinanceDailyRollup} rows in their own transaction.
+ * A seeded day holds the committed movement only; the writer that triggered
+ * the seed then locks the row and adds its own delta like any other.
+ * <p>
+ * A {@link org.springframework.dao.DataIntegrityViolationException} from
+ * either method means a concurrent request created a row first.
+ */
+@Component
+@RequiredArgsConstructor
+public class FinanceRollupSeeder {
+
+    private final FinanceDailyRollupRepository rollupRepository;
+    private final FinanceRollupCoverageRepository coverageRepository;
+
+    /**
+     * Writes the missing rollup rows of a school from one grouped pass over its
+     * history and records the coverage. Days that already have a row were
+     * seeded from the same aggregate and kept current since, so they are left
+     * untouched.
+     *
+     * @return days written, or {@code -1} when the school was already covered
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int backfill(Long schoolId) {
+        if (coverageRepository.existsBySchoolId(schoolId)) {
+            return -1;
+        }
+        Set<LocalDate> existing = new HashSet<>(rollupRepository.findRollupDatesBySchoolId(schoolId));
+        List<FinanceDailyRollup> missing = new ArrayList<>();
+        for (Object[] r : rollupRepository.aggregateHistoryByDay(schoolId)) {
+            LocalDate date = r[0] instanceof Date d ? d.toLocalDate() : (LocalDate) r[0];
+            if (existing.contains(date)) {
+                continue;
+            }
+            missing.add(FinanceDailyRollup.builder()
+                    .schoolId(schoolId)
+                    .rollupDate(date)
+                    .cashRevenue(toAmount(r[1]))
+                    .bankRevenue(toAmount(r[2]))
+                    .cashExpense(toAmount(r[3]))
+                    .bankExpense(toAmount(r[4]))
+                    .transferOut(toAmount(r[5]))
+                    .build());
+        }
+        rollupRepository.saveAllAndFlush(missing);
+        coverageRepository.saveAndFlush(FinanceRollupCoverage.builder()
+                .schoolId(schoolId)
+                .backfilledAt(LocalDateTime.now())
+                .backfilledDays(missing.size())
+                .build());
+        return missing.size();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void seedDay(Long schoolId, LocalDate date) {
+        DailyTotals day = DailyTotals.of(rollupRepository.aggregateDay(schoolId, date));
+        rollupRepository.saveAndFlush(FinanceDailyRollup.builder()
+                .schoolId(schoolId)
+                .rollupDate(date)
+                .cashRevenue(day.cashRevenue())
+                .bankRevenue(day.bankRevenue())
+                .cashExpense(day.cashExpense())
+                .bankExpense(day.bankExpense())
+                .transferOut(day.transferOut())
+                .build());
+    }
+
+    private BigDecimal toAmount(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal b ? b : new BigDecimal(value.toString());
+    }
+}
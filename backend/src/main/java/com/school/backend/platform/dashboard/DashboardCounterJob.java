@@ -0,0 +1,47 @@
+package com.school.backend.platform.dashboard;
+
+import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.school.entity.AcademicSession;
+import com.school.backend.school.repository.AcademicSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly reconciliation of the dashboard counters against the source tables.
+ * Runs after the defaulter index rebuild so the fee defaulter counts are read
+ * from a fresh index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterJob {
+
+    private final AcademicSessionRepository sessionRepository;
+    private final DashboardCounterReconciler reconciler;
+
+    @Scheduled(cron = "0 15 3 * * *")
+    public void reconcile() {
+        try {
+            reconciler.reconcilePlatform();
+        } catch (RuntimeException ex) {
+            log.error("Platform dashboard counter reconciliation failed", ex);
+        }
+
+        int reconciled = 0;
+        for (AcademicSession session : sessionRepository.findByActiveTrue()) {
+            TenantContext.setSchoolId(session.getSchoolId());
+            try {
+                reconciler.reconcileSchoolSession(session.getSchoolId(), session.getId());
+                reconciled++;
+            } catch (RuntimeException ex) {
+                log.error("Dashboard counter reconciliation failed for schoolId={} sessionId={}",
+                        session.getSchoolId(), session.getId(), ex);
+            } finally {
+                TenantContext.clear();
+            }
+        }
+        log.info("Dashboard counter job reconciled {} school sessions.", reconciled);
+    }
+}
@@ -0,0 +1,106 @@
+package com.school.backend.platform.dashboard;
+
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.core.teacher.repository.TeacherRepository;
+import com.school.backend.fee.repository.FeeDefaulterEntryRepository;
+import com.school.backend.platform.dashboard.entity.DashboardCounter;
+import com.school.backend.platform.dashboard.repository.DashboardCounterRepository;
+import com.school.backend.school.repository.AcademicSessionRepository;
+import com.school.backend.school.repository.SchoolRepository;
+import com.school.backend.school.repository.SubscriptionRepository;
+import com.school.backend.transport.repository.TransportEnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.school.backend.common.enums.DashboardCounterType.*;
+
+/**
+ * Recomputes dashboard counters from the source tables and stores them. Used
+ * to materialise a scope on its first read and by the nightly
+ * {@link DashboardCounterJob} to correct any drift in the deltas.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCounterReconciler {
+
+    private final DashboardCounterRepository counterRepository;
+    private final SchoolRepository schoolRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final AcademicSessionRepository academicSessionRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final TransportEnrollmentRepository transportEnrollmentRepository;
+    private final FeeDefaulterEntryRepository defaulterEntryRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<DashboardCounterType, Long> reconcilePlatform() {
+        Map<DashboardCounterType, Long> values = new EnumMap<>(DashboardCounterType.class);
+        values.put(SCHOOLS, schoolRepository.count());
+        values.put(STUDENTS, studentRepository.count());
+        values.put(TEACHERS, teacherRepository.count());
+        values.put(ACTIVE_SESSIONS, academicSessionRepository.countByActiveTrue());
+        values.put(SUBSCRIPTIONS_DUE, subscriptionRepository.countByStatusIn(DashboardCounterService.DUE_STATUSES));
+        store(DashboardCounterService.PLATFORM, DashboardCounterService.PLATFORM, values);
+        return values;
+    }
+
+    /**
+     * Reconciles the school-wide and the session counters of a school. The fee
+     * defaulter count is read from the defaulter index, which must already be
+     * built for the session.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<DashboardCounterType, Long> reconcileSchoolSession(Long schoolId, Long sessionId) {
+        Map<DashboardCounterType, Long> schoolValues = new EnumMap<>(DashboardCounterType.class);
+        schoolValues.put(TEACHERS, teacherRepository.countBySchoolId(schoolId));
+        store(schoolId, DashboardCounterService.PLATFORM, schoolValues);
+
+        Map<DashboardCounterType, Long> sessionValues = new EnumMap<>(DashboardCounterType.class);
+        sessionValues.put(STUDENTS, studentRepository.countBySchoolIdAndSessionId(schoolId, sessionId));
+        sessionValues.put(TRANSPORT_ENROLLMENTS,
+                transportEnrollmentRepository.countBySchoolIdAndSessionId(schoolId, sessionId));
+        sessionValues.put(FEE_DEFAULTERS, defaulterEntryRepository
+                .countBySchoolIdAndSessionIdAndAmountDueGreaterThanEqual(schoolId, sessionId,
+                        DashboardCounterService.DEFAULTER_MIN_AMOUNT));
+        store(schoolId, sessionId, sessionValues);
+
+        Map<DashboardCounterType, Long> values = new EnumMap<>(schoolValues);
+        values.putAll(sessionValues);
+        return values;
+    }
+
+    private void store(Long schoolId, Long sessionId, Map<DashboardCounterType, Long> values) {
+        Map<DashboardCounterType, DashboardCounter> existing = counterRepository
+                .findBySchoolIdAndSessionIdIn(schoolId, List.of(sessionId))
+                .stream()
+                .collect(Collectors.toMap(DashboardCounter::getType, Function.identity()));
+        LocalDateTime reconciledAt = LocalDateTime.now();
+
+        List<DashboardCounter> toSave = new ArrayList<>(values.size());
+        values.forEach((type, value) -> {
+            DashboardCounter counter = existing.get(type);
+            if (counter == null) {
+                counter = DashboardCounter.builder()
+                        .schoolId(schoolId)
+                        .sessionId(sessionId)
+                        .type(type)
+                        .build();
+            }
+            counter.setCounterValue(value);
+            counter.setReconciledAt(reconciledAt);
+            toSave.add(counter);
+        });
+        counterRepository.saveAllAndFlush(toSave);
+    }
+}
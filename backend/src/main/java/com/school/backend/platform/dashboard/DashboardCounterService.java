@@ -0,0 +1,170 @@
+package com.school.backend.platform.dashboard;
+
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.common.enums.SubscriptionStatus;
+import com.school.backend.platform.dashboard.entity.DashboardCounter;
+import com.school.backend.platform.dashboard.repository.DashboardCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.school.backend.common.enums.DashboardCounterType.*;
+
+/**
+ * Materialised counters behind the platform and school-admin dashboards.
+ * <p>
+ * Writers report deltas through the {@code add*} methods inside their own
+ * transaction, so a rolled-back write never moves a counter. School and
+ * session deltas are applied in that transaction. Platform deltas are
+ * buffered and applied by {@link PlatformCounterWriter} after it commits,
+ * so writes of different tenants do not queue on the shared platform rows;
+ * a failure to apply them is logged and left to the nightly reconciliation. A delta for a
+ * scope that has not been read yet is dropped: the first read computes that
+ * scope from the source tables through {@link DashboardCounterReconciler}.
+ * A delta racing with that first computation can be lost or counted twice;
+ * the nightly {@link DashboardCounterJob} reconciles every scope against the
+ * truth and corrects it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterService {
+
+    /** School and session id of the platform scope; session id of the school-wide scope. */
+    public static final Long PLATFORM = 0L;
+
+    /** Subscriptions counted as due on the platform dashboard. */
+    public static final Set<SubscriptionStatus> DUE_STATUSES = EnumSet.of(SubscriptionStatus.PAST_DUE,
+            SubscriptionStatus.SUSPENDED);
+
+    /** Smallest pending amount that makes a student a fee defaulter on the dashboard. */
+    public static final BigDecimal DEFAULTER_MIN_AMOUNT = BigDecimal.ONE;
+
+    private static final Object PLATFORM_DELTAS_KEY = new Object();
+
+    private static final Set<DashboardCounterType> PLATFORM_TYPES = EnumSet.of(SCHOOLS, STUDENTS, TEACHERS,
+            ACTIVE_SESSIONS, SUBSCRIPTIONS_DUE);
+    private static final Set<DashboardCounterType> SCHOOL_SESSION_TYPES = EnumSet.of(TEACHERS, STUDENTS,
+            TRANSPORT_ENROLLMENTS, FEE_DEFAULTERS);
+
+    private final DashboardCounterRepository counterRepository;
+    private final DashboardCounterReconciler reconciler;
+    private final PlatformCounterWriter platformWriter;
+
+    /**
+     * Adds to a platform counter once the surrounding transaction commits, or
+     * immediately outside a transaction.
+     */
+    public void addPlatform(DashboardCounterType type, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            platformWriter.apply(Map.of(type, delta));
+            return;
+        }
+        pendingPlatformDeltas().merge(type, delta, Long::sum);
+    }
+
+    public void addSchool(Long schoolId, DashboardCounterType type, long delta) {
+        add(schoolId, PLATFORM, type, delta);
+    }
+
+    public void addSession(Long schoolId, Long sessionId, DashboardCounterType type, long delta) {
+        add(schoolId, sessionId, type, delta);
+    }
+
+    /** Overwrites a session counter after a full recount, e.g. a defaulter index rebuild. */
+    public void setSession(Long schoolId, Long sessionId, DashboardCounterType type, long value) {
+        counterRepository.overwrite(schoolId, sessionId, type, value);
+    }
+
+    public void subscriptionStatusChanged(SubscriptionStatus previous, SubscriptionStatus current) {
+        addPlatform(SUBSCRIPTIONS_DUE, (isDue(current) ? 1 : 0) - (isDue(previous) ? 1 : 0));
+    }
+
+    public static boolean isDue(SubscriptionStatus status) {
+        return status != null && DUE_STATUSES.contains(status);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<DashboardCounterType, Long> platformCounters() {
+        return read(PLATFORM, List.of(PLATFORM), PLATFORM_TYPES, reconciler::reconcilePlatform);
+    }
+
+    /**
+     * Counters of a school for one session: school-wide {@link DashboardCounterType#TEACHERS}
+     * plus the session-scoped counts.
+     */
+    @Transactional(readOnly = true)
+    public Map<DashboardCounterType, Long> schoolCounters(Long schoolId, Long sessionId) {
+        return read(schoolId, List.of(PLATFORM, sessionId), SCHOOL_SESSION_TYPES,
+                () -> reconciler.reconcileSchoolSession(schoolId, sessionId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<DashboardCounterType, Long> pendingPlatformDeltas() {
+        Map<DashboardCounterType, Long> pending =
+                (Map<DashboardCounterType, Long>) TransactionSynchronizationManager.getResource(PLATFORM_DELTAS_KEY);
+        if (pending != null) {
+            return pending;
+        }
+        Map<DashboardCounterType, Long> deltas = new EnumMap<>(DashboardCounterType.class);
+        TransactionSynchronizationManager.bindResource(PLATFORM_DELTAS_KEY, deltas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    platformWriter.apply(deltas);
+                } catch (RuntimeException ex) {
+                    log.error("Applying platform dashboard counter deltas {} failed", deltas, ex);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PLATFORM_DELTAS_KEY);
+            }
+        });
+        return deltas;
+    }
+
+    private void add(Long schoolId, Long sessionId, DashboardCounterType type, long delta) {
+        if (delta != 0) {
+            counterRepository.increment(schoolId, sessionId, type, delta);
+        }
+    }
+
+    private Map<DashboardCounterType, Long> read(
+            Long schoolId,
+            List<Long> sessionIds,
+            Set<DashboardCounterType> expected,
+            Supplier<Map<DashboardCounterType, Long>> reconcile) {
+
+        Map<DashboardCounterType, Long> values = new EnumMap<>(DashboardCounterType.class);
+        for (DashboardCounter counter : counterRepository.findBySchoolIdAndSessionIdIn(schoolId, sessionIds)) {
+            values.put(counter.getType(), counter.getCounterValue());
+        }
+        if (values.keySet().containsAll(expected)) {
+            return values;
+        }
+        try {
+            return reconcile.get();
+        } catch (DataIntegrityViolationException ex) {
+            // Another request materialised the scope first
+            return reconcile.get();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.school.backend.platform.dashboard;
+
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.platform.dashboard.repository.DashboardCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Applies buffered platform counter deltas in their own short transaction,
+ * so the single platform row of each counter is locked only for the length
+ * of this update rather than for the whole tenant write that produced it.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlatformCounterWriter {
+
+    private final DashboardCounterRepository counterRepository;
+
+    /** Deltas are applied in counter type order, so concurrent writers lock rows in the same order. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void apply(Map<DashboardCounterType, Long> deltas) {
+        deltas.forEach((type, delta) -> {
+            if (delta != 0) {
+                counterRepository.increment(DashboardCounterService.PLATFORM, DashboardCounterService.PLATFORM,
+                        type, delta);
+            }
+        });
+    }
+}
@@ -1,56 +1,47 @@
 package com.school.backend.platform.dashboard;
 
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.tenant.TenantContext;
-import com.school.backend.core.attendance.enums.AttendanceStatus;
-import com.school.backend.core.attendance.repository.AttendanceRepository;
-import com.school.backend.core.student.repository.StudentRepository;
-import com.school.backend.core.teacher.repository.TeacherRepository;
-import com.school.backend.common.enums.SubscriptionStatus;
+import com.school.backend.core.attendance.repository.AttendanceDailyRollupRepository;
+import com.school.backend.fee.service.DefaulterIndexService;
 import com.school.backend.platform.dashboard.dto.SchoolAdminStatsDto;
-import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.repository.AcademicSessionRepository;
-import com.school.backend.school.repository.SchoolRepository;
-import com.school.backend.school.repository.SubscriptionRepository;
 import com.school.backend.testmanagement.repository.ExamRepository;
-import com.school.backend.transport.repository.TransportEnrollmentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Dashboard reads. Counts come from {@link DashboardCounterService}; today's
+ * attendance is already a single rollup row and the upcoming exams a LIMIT 5
+ * index read, so both are still queried directly.
+ */
 @Service
 @RequiredArgsConstructor
 public class PlatformDashboardService {
 
-    private final SchoolRepository schoolRepository;
-    private final StudentRepository studentRepository;
-    private final TeacherRepository teacherRepository;
+    private final DashboardCounterService counterService;
+    private final DefaulterIndexService defaulterIndexService;
     private final AcademicSessionRepository academicSessionRepository;
-    private final SubscriptionRepository subscriptionRepository;
-    private final AttendanceRepository attendanceRepository;
+    private final AttendanceDailyRollupRepository attendanceRollupRepository;
     private final ExamRepository examRepository;
-    private final TransportEnrollmentRepository transportEnrollmentRepository;
 
     @Transactional(readOnly = true)
     public PlatformDashboardResponse getDashboardStats() {
-        long totalSchools = schoolRepository.count();
-        long totalStudents = studentRepository.count();
-        long totalTeachers = teacherRepository.count();
-        long totalActiveSessions = academicSessionRepository.countByActiveTrue();
-
-        long subscriptionDueCount = subscriptionRepository.countByStatusIn(
-                java.util.Set.of(SubscriptionStatus.PAST_DUE, SubscriptionStatus.SUSPENDED));
+        Map<DashboardCounterType, Long> counters = counterService.platformCounters();
 
         return PlatformDashboardResponse.builder()
-                .totalSchools(totalSchools)
-                .totalStudents(totalStudents)
-                .totalTeachers(totalTeachers)
-                .totalActiveSessions(totalActiveSessions)
-                .subscriptionDueCount(subscriptionDueCount)
+                .totalSchools(counters.get(DashboardCounterType.SCHOOLS))
+                .totalStudents(counters.get(DashboardCounterType.STUDENTS))
+                .totalTeachers(counters.get(DashboardCounterType.TEACHERS))
+                .totalActiveSessions(counters.get(DashboardCounterType.ACTIVE_SESSIONS))
+                .subscriptionDueCount(counters.get(DashboardCounterType.SUBSCRIPTIONS_DUE))
                 .build();
     }
 
@@ -58,31 +49,30 @@ public class PlatformDashboardService {
     public SchoolAdminStatsDto getSchoolAdminStats(Long sessionId) {
         Long schoolId = TenantContext.getSchoolId();
 
-        AcademicSession session = academicSessionRepository.findByIdAndSchoolId(sessionId, schoolId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        long totalStudents = studentRepository.countBySchoolIdAndSessionId(schoolId, sessionId);
-        long totalTeachers = teacherRepository.countBySchoolId(schoolId);
-        long transportCount = transportEnrollmentRepository.countBySchoolIdAndSessionId(schoolId, sessionId);
+        if (!academicSessionRepository.existsByIdAndSchoolId(sessionId, schoolId)) {
+            throw new ResourceNotFoundException("Session not found");
+        }
 
-        // Defaulters (min amount 1)
-        long feePendingCount = studentRepository.countDefaulters(
-                schoolId, sessionId, null, null, BigDecimal.ONE, LocalDate.now(), session.getStartDate());
+        // The defaulter counter is seeded from the index on first read
+        defaulterIndexService.ensureBuilt(schoolId, sessionId);
+        Map<DashboardCounterType, Long> counters = counterService.schoolCounters(schoolId, sessionId);
 
         // Attendance (today)
-        long present = attendanceRepository.countByAttendanceDateAndStatusAndSchoolId(LocalDate.now(),
-                AttendanceStatus.PRESENT, schoolId);
-        long totalAttendance = attendanceRepository.countByAttendanceDateAndSchoolId(LocalDate.now(), schoolId);
+        Object[] attendance = attendanceRollupRepository
+                .sumBySchool(schoolId, sessionId, LocalDate.now(), LocalDate.now()).get(0);
+        long present = ((Number) attendance[0]).longValue();
+        long totalAttendance = present + ((Number) attendance[1]).longValue()
+                + ((Number) attendance[2]).longValue() + ((Number) attendance[3]).longValue();
         double attendancePercentage = totalAttendance == 0 ? 0 : (double) present * 100 / totalAttendance;
 
         // Upcoming Exams (Limit 5)
         var exams = examRepository.findUpcomingExamViews(schoolId, sessionId, LocalDate.now(), PageRequest.of(0, 5));
 
         return SchoolAdminStatsDto.builder()
-                .totalStudents(totalStudents)
-                .totalTeachers(totalTeachers)
-                .transportCount(transportCount)
-                .feePendingCount(feePendingCount)
+                .totalStudents(counters.get(DashboardCounterType.STUDENTS))
+                .totalTeachers(counters.get(DashboardCounterType.TEACHERS))
+                .transportCount(counters.get(DashboardCounterType.TRANSPORT_ENROLLMENTS))
+                .feePendingCount(counters.get(DashboardCounterType.FEE_DEFAULTERS))
                 .attendancePercentage(Math.round(attendancePercentage * 10.0) / 10.0)
                 .upcomingExams(exams.stream().map(e -> SchoolAdminStatsDto.UpcomingExamDto.builder()
                         .name(e.getName())
@@ -0,0 +1,50 @@
+package com.school.backend.platform.dashboard.entity;
+
+import com.school.backend.common.entity.BaseEntity;
+import com.school.backend.common.enums.DashboardCounterType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * One materialised dashboard count. Scope is {@code (schoolId, sessionId)}:
+ * {@code (0, 0)} is platform-wide and {@code (school, 0)} school-wide. Not a
+ * tenant entity, so platform rows stay visible under the tenant filter.
+ * Maintained by {@code DashboardCounterService}; never edited directly.
+ */
+@Entity
+@Table(name = "dashboard_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_dashboard_counter_scope_type", columnNames = { "school_id", "session_id",
+                "counter_type" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+public class DashboardCounter extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "school_id", nullable = false)
+    private Long schoolId;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_type", nullable = false, length = 40)
+    private DashboardCounterType type;
+
+    @Column(name = "counter_value", nullable = false)
+    private long counterValue;
+
+    @Column(name = "reconciled_at", nullable = false)
+    private LocalDateTime reconciledAt;
+}
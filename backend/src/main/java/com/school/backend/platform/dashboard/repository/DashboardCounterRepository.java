@@ -0,0 +1,47 @@
+package com.school.backend.platform.dashboard.repository;
+
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.platform.dashboard.entity.DashboardCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, Long> {
+
+    List<DashboardCounter> findBySchoolIdAndSessionIdIn(Long schoolId, Collection<Long> sessionIds);
+
+    /**
+     * Applies a delta in the caller's transaction. Returns 0 when the scope has
+     * not been materialised yet; its first read computes it from the source
+     * tables instead.
+     */
+    @Modifying
+    @Query("""
+            UPDATE DashboardCounter c
+               SET c.counterValue = c.counterValue + :delta
+             WHERE c.schoolId = :schoolId
+               AND c.sessionId = :sessionId
+               AND c.type = :type
+            """)
+    int increment(@Param("schoolId") Long schoolId,
+                  @Param("sessionId") Long sessionId,
+                  @Param("type") DashboardCounterType type,
+                  @Param("delta") long delta);
+
+    @Modifying
+    @Query("""
+            UPDATE DashboardCounter c
+               SET c.counterValue = :value
+             WHERE c.schoolId = :schoolId
+               AND c.sessionId = :sessionId
+               AND c.type = :type
+            """)
+    int overwrite(@Param("schoolId") Long schoolId,
+                  @Param("sessionId") Long sessionId,
+                  @Param("type") DashboardCounterType type,
+                  @Param("value") long value);
+}
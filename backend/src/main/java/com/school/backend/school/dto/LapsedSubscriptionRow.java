@@ -0,0 +1,13 @@
+package com.school.backend.school.dto;
+
+import com.school.backend.common.enums.SubscriptionStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A subscription past its expiry date, read by the daily lifecycle transition
+ * without loading the entity.
+ */
+public record LapsedSubscriptionRow(Long id, Long schoolId, SubscriptionStatus status, LocalDate expiryDate,
+        Integer gracePeriodDays) {
+}
@@ -53,6 +53,7 @@ public class SubscriptionEvent extends BaseEntity {
     @Column(length = 500)
     private String reason;
 
-    @Column(name = "performed_by_user_id", nullable = false)
+    // Null for events of the daily lifecycle transition, which has no actor
+    @Column(name = "performed_by_user_id")
     private Long performedByUserId;
 }
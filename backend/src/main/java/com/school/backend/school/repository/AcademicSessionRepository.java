@@ -16,6 +16,8 @@ public interface AcademicSessionRepository extends JpaRepository<AcademicSession
 
     List<AcademicSession> findBySchoolIdAndActiveTrue(Long schoolId);
 
+    List<AcademicSession> findByActiveTrue();
+
     Optional<AcademicSession> findFirstBySchoolIdAndActiveTrueOrderByStartDateDesc(Long schoolId);
 
     long countByActiveTrue();
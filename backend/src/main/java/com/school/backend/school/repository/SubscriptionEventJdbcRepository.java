@@ -0,0 +1,62 @@
+package com.school.backend.school.repository;
+
+import com.school.backend.school.entity.SubscriptionEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch insert for the events of the daily lifecycle transition; see
+ * {@link com.school.backend.fee.repository.FeePaymentJdbcRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SubscriptionEventJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_EVENT = """
+            INSERT INTO subscription_events
+                (subscription_id, type, previous_expiry_date, new_expiry_date, previous_status, new_status,
+                 reason, performed_by_user_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertEvents(List<SubscriptionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, BATCH_SIZE, (ps, e) -> {
+            ps.setLong(1, e.getSubscriptionId());
+            ps.setString(2, e.getType().name());
+            setDate(ps, 3, e.getPreviousExpiryDate());
+            setDate(ps, 4, e.getNewExpiryDate());
+            ps.setString(5, e.getPreviousStatus() != null ? e.getPreviousStatus().name() : null);
+            ps.setString(6, e.getNewStatus() != null ? e.getNewStatus().name() : null);
+            ps.setString(7, e.getReason());
+            ps.setObject(8, e.getPerformedByUserId(), Types.BIGINT);
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date != null) {
+            ps.setDate(index, Date.valueOf(date));
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.school.backend.school.repository;
 
 import com.school.backend.common.enums.SubscriptionStatus;
+import com.school.backend.school.dto.LapsedSubscriptionRow;
 import com.school.backend.school.entity.Subscription;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -16,13 +22,52 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     Optional<Subscription> findFirstBySchoolIdAndStatusIn(Long schoolId, Collection<SubscriptionStatus> statuses);
     Optional<Subscription> findFirstBySchoolIdOrderByCreatedAtDesc(Long schoolId);
 
+    @Query("""
+            SELECT s FROM Subscription s
+              JOIN FETCH s.pricingPlan
+             WHERE s.schoolId IN :schoolIds
+            """)
+    List<Subscription> findBySchoolIdInWithPlan(@Param("schoolIds") Collection<Long> schoolIds);
+
     boolean existsBySchoolIdAndStatusIn(Long schoolId, Collection<SubscriptionStatus> statuses);
 
     boolean existsBySchoolIdAndStatusInAndIdNot(Long schoolId,
                                                 Collection<SubscriptionStatus> statuses,
                                                 Long id);
 
-    List<Subscription> findByStatusIn(Collection<SubscriptionStatus> statuses);
+    @Query("""
+            SELECT new com.school.backend.school.dto.LapsedSubscriptionRow(
+                       s.id, s.schoolId, s.status, s.expiryDate, s.gracePeriodDays)
+              FROM Subscription s
+             WHERE s.status IN :statuses
+               AND s.expiryDate < :today
+            """)
+    List<LapsedSubscriptionRow> findLapsed(@Param("statuses") Collection<SubscriptionStatus> statuses,
+                                           @Param("today") LocalDate today);
+
+    /**
+     * Moves the given subscriptions to {@code newStatus} in one statement. The
+     * status and expiry guards skip rows renewed or changed since they were read.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Subscription s
+               SET s.status = :newStatus,
+                   s.version = coalesce(s.version, 0) + 1,
+                   s.updatedAt = :updatedAt
+             WHERE s.id IN :ids
+               AND s.status IN :fromStatuses
+               AND s.expiryDate < :today
+            """)
+    int transitionLapsed(@Param("ids") Collection<Long> ids,
+                         @Param("fromStatuses") Collection<SubscriptionStatus> fromStatuses,
+                         @Param("newStatus") SubscriptionStatus newStatus,
+                         @Param("today") LocalDate today,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT s.id FROM Subscription s WHERE s.id IN :ids AND s.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                      @Param("status") SubscriptionStatus status);
 
     long countByStatusIn(Collection<SubscriptionStatus> statuses);
 
@@ -1,7 +1,9 @@
 package com.school.backend.school.service;
 
+import com.school.backend.common.enums.DashboardCounterType;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.platform.dashboard.DashboardCounterService;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.entity.School;
 import com.school.backend.school.repository.AcademicSessionRepository;
@@ -20,6 +22,7 @@ public class AcademicSessionService {
 
     private final AcademicSessionRepository repository;
     private final com.school.backend.school.repository.SchoolRepository schoolRepository;
+    private final DashboardCounterService dashboardCounterService;
 
     public List<AcademicSession> getSessions(Long schoolId) {
         log.debug("Fetching all sessions for schoolId={}", schoolId);
@@ -41,7 +44,8 @@ public class AcademicSessionService {
                 .orElseThrow(() -> new ResourceNotFoundException("School not found"));
 
         if (saved.isActive()) {
-            enforceSingleActiveSession(saved.getSchoolId(), saved.getId());
+            int deactivated = enforceSingleActiveSession(saved.getSchoolId(), saved.getId());
+            dashboardCounterService.addPlatform(DashboardCounterType.ACTIVE_SESSIONS, 1 - deactivated);
             school.setCurrentSessionId(saved.getId());
             schoolRepository.save(school);
         } else if (school.getCurrentSessionId() == null) {
@@ -68,6 +72,7 @@ public class AcademicSessionService {
             }
         }
 
+        boolean wasActive = session.isActive();
         session.setName(updatedSession.getName());
         session.setActive(updatedSession.isActive());
         // startDate/endDate are immutable after creation.
@@ -75,8 +80,9 @@ public class AcademicSessionService {
         School school = schoolRepository.findById(saved.getSchoolId())
                 .orElseThrow(() -> new ResourceNotFoundException("School not found"));
 
+        int activeDelta = (saved.isActive() ? 1 : 0) - (wasActive ? 1 : 0);
         if (saved.isActive()) {
-            enforceSingleActiveSession(saved.getSchoolId(), saved.getId());
+            activeDelta -= enforceSingleActiveSession(saved.getSchoolId(), saved.getId());
             school.setCurrentSessionId(saved.getId());
             schoolRepository.save(school);
         } else if (school.getCurrentSessionId() != null && school.getCurrentSessionId().equals(saved.getId())) {
@@ -86,6 +92,7 @@ public class AcademicSessionService {
                             () -> school.setCurrentSessionId(null));
             schoolRepository.save(school);
         }
+        dashboardCounterService.addPlatform(DashboardCounterType.ACTIVE_SESSIONS, activeDelta);
 
         return saved;
     }
@@ -106,11 +113,14 @@ public class AcademicSessionService {
             throw new InvalidOperationException("Session does not belong to this school");
         }
 
+        int activeDelta = 0;
         if (!session.isActive()) {
             session.setActive(true);
             repository.save(session);
+            activeDelta++;
         }
-        enforceSingleActiveSession(schoolId, sessionId);
+        activeDelta -= enforceSingleActiveSession(schoolId, sessionId);
+        dashboardCounterService.addPlatform(DashboardCounterType.ACTIVE_SESSIONS, activeDelta);
         school.setCurrentSessionId(sessionId);
         schoolRepository.save(school);
     }
@@ -136,7 +146,10 @@ public class AcademicSessionService {
         }
     }
 
-    private void enforceSingleActiveSession(Long schoolId, Long activeSessionId) {
-        repository.deactivateOtherActiveSessions(schoolId, activeSessionId);
+    /**
+     * @return number of other sessions that were deactivated
+     */
+    private int enforceSingleActiveSession(Long schoolId, Long activeSessionId) {
+        return repository.deactivateOtherActiveSessions(schoolId, activeSessionId);
     }
 }
@@ -1,7 +1,9 @@
 package com.school.backend.school.service;
 
+import com.school.backend.common.enums.DashboardCounterType;
 import com.school.backend.common.enums.UserRole;
 import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.platform.dashboard.DashboardCounterService;
 import com.school.backend.school.dto.SchoolDto;
 import com.school.backend.school.dto.SchoolOnboardingRequest;
 import com.school.backend.school.entity.School;
@@ -29,16 +31,20 @@ public class SchoolService {
     private final SchoolRepository schoolRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SubscriptionAccessDecisionCache accessDecisionCache;
+    private final DashboardCounterService dashboardCounterService;
 
     /**
      * Create school from DTO and return saved DTO
      */
+    @Transactional
     public SchoolDto create(SchoolDto dto) {
         log.info("Creating school via DTO name={}", dto.getName());
         School entity = SchoolMapper.toEntity(dto);
         // ensure ID is not set by client
         entity.setId(null);
         School saved = schoolRepository.save(entity);
+        dashboardCounterService.addPlatform(DashboardCounterType.SCHOOLS, 1);
         return SchoolMapper.toDto(saved);
     }
 
@@ -78,6 +84,7 @@ public class SchoolService {
         }
 
         school = schoolRepository.save(school);
+        dashboardCounterService.addPlatform(DashboardCounterType.SCHOOLS, 1);
         log.info("School created with id={} code={}", school.getId(), school.getSchoolCode());
 
         // 3. Create Admin User
@@ -161,6 +168,7 @@ public class SchoolService {
                 .orElseThrow(() -> new ResourceNotFoundException("School not found with code: " + code));
         SchoolMapper.updateFromDto(dto, entity);
         School saved = schoolRepository.save(entity);
+        accessDecisionCache.invalidate(saved.getId());
         return SchoolMapper.toDto(saved);
     }
 
@@ -180,6 +188,7 @@ public class SchoolService {
         // Optionally: copy audit fields from existing if you want to preserve them.
         // Save replacement (this will act as update since id is present)
         School saved = schoolRepository.save(replacement);
+        accessDecisionCache.invalidate(saved.getId());
         return SchoolMapper.toDto(saved);
     }
 
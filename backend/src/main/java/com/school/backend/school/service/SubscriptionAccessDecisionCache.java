@@ -0,0 +1,61 @@
+package com.school.backend.school.service;
+
+import com.school.backend.common.cache.TtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * In-process cache of the per-school access decision evaluated by
+ * {@link SubscriptionAccessGuardAspect} on every school-scoped API call.
+ * <p>
+ * Entries live for a short TTL and are evicted explicitly whenever a
+ * subscription or the school's activation flag changes.
+ */
+@Component
+public class SubscriptionAccessDecisionCache {
+
+    public enum Decision {
+        ALLOWED,
+        SCHOOL_INACTIVE,
+        SUBSCRIPTION_SUSPENDED
+    }
+
+    private final TtlCache<Long, Decision> decisions;
+
+    public SubscriptionAccessDecisionCache(
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${subscription.access-cache.ttl:PT60S}") Duration ttl) {
+        this.decisions = new TtlCache<>(clock, ttl);
+        FunctionCounter.builder("subscription.access.cache.requests", decisions, TtlCache::hitCount)
+                .description("Subscription access decision cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("subscription.access.cache.requests", decisions, TtlCache::missCount)
+                .description("Subscription access decision cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("subscription.access.cache.size", decisions, TtlCache::size)
+                .description("Schools with a cached subscription access decision")
+                .register(meterRegistry);
+    }
+
+    public Decision get(Long schoolId, Function<Long, Decision> loader) {
+        return decisions.get(schoolId, loader);
+    }
+
+    public void invalidate(Long schoolId) {
+        decisions.invalidate(schoolId);
+    }
+
+    public void invalidateAll() {
+        decisions.invalidateAll();
+    }
+}
@@ -7,12 +7,14 @@ import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.exception.SubscriptionRuleViolationException;
 import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.platform.dashboard.DashboardCounterService;
 import com.school.backend.school.dto.SubscriptionAccessStatusDto;
 import com.school.backend.school.entity.PricingPlan;
 import com.school.backend.school.entity.School;
 import com.school.backend.school.entity.Subscription;
 import com.school.backend.school.repository.SchoolRepository;
 import com.school.backend.school.repository.SubscriptionRepository;
+import com.school.backend.school.service.SubscriptionAccessDecisionCache.Decision;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,6 +38,8 @@ public class SubscriptionAccessService {
     private final SubscriptionRepository subscriptionRepository;
     private final SchoolRepository schoolRepository;
     private final StudentRepository studentRepository;
+    private final SubscriptionAccessDecisionCache accessDecisionCache;
+    private final DashboardCounterService dashboardCounterService;
     private final Clock clock;
 
     @Transactional(readOnly = true)
@@ -71,7 +75,10 @@ public class SubscriptionAccessService {
         if (subscription == null) {
             return defaultStatus(school);
         }
+        // Only this writable path persists the lifecycle change (by dirty checking)
+        SubscriptionStatus previousStatus = subscription.getStatus();
         updateLifecycleStatus(subscription);
+        dashboardCounterService.subscriptionStatusChanged(previousStatus, subscription.getStatus());
 
         if (subscription.getStatus() == SubscriptionStatus.SUSPENDED) {
             throw new SubscriptionRuleViolationException("Student creation blocked: subscription is suspended.");
@@ -115,8 +122,12 @@ public class SubscriptionAccessService {
                     .or(() -> subscriptionRepository.findFirstBySchoolIdOrderByCreatedAtDesc(school.getId()))
                     .orElse(null);
         }
-        return subscriptionRepository.findFirstBySchoolIdAndStatusIn(school.getId(), LIVE_STATUSES)
-                .or(() -> subscriptionRepository.findFirstBySchoolIdOrderByCreatedAtDesc(school.getId()))
+        return findLatestSubscription(school.getId());
+    }
+
+    private Subscription findLatestSubscription(Long schoolId) {
+        return subscriptionRepository.findFirstBySchoolIdAndStatusIn(schoolId, LIVE_STATUSES)
+                .or(() -> subscriptionRepository.findFirstBySchoolIdOrderByCreatedAtDesc(schoolId))
                 .orElse(null);
     }
 
@@ -215,25 +226,40 @@ public class SubscriptionAccessService {
         return ExpiryWarningLevel.NONE;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Hot path of {@link SubscriptionAccessGuardAspect}. Deliberately not
+     * transactional: a cache hit must not open a transaction or borrow a
+     * connection.
+     */
     public void ensureAccessAllowed(Long schoolId) {
         if (schoolId == null)
             return;
 
+        Decision decision = accessDecisionCache.get(schoolId, this::resolveAccessDecision);
+        if (decision == Decision.SCHOOL_INACTIVE) {
+            throw new SubscriptionRuleViolationException("Access blocked: School account is inactive.");
+        }
+        if (decision == Decision.SUBSCRIPTION_SUSPENDED) {
+            throw new SubscriptionRuleViolationException("Access blocked: Subscription is suspended.");
+        }
+    }
+
+    private Decision resolveAccessDecision(Long schoolId) {
         School school = schoolRepository.findById(schoolId)
                 .orElseThrow(() -> new ResourceNotFoundException("School not found: " + schoolId));
 
         if (!school.isActive()) {
-            throw new SubscriptionRuleViolationException("Access blocked: School account is inactive.");
+            return Decision.SCHOOL_INACTIVE;
         }
 
-        Subscription subscription = getSubscriptionForAccess(schoolId, false);
+        Subscription subscription = findLatestSubscription(schoolId);
         if (subscription != null) {
             updateLifecycleStatus(subscription);
             if (subscription.getStatus() == SubscriptionStatus.SUSPENDED) {
-                throw new SubscriptionRuleViolationException("Access blocked: Subscription is suspended.");
+                return Decision.SUBSCRIPTION_SUSPENDED;
             }
         }
+        return Decision.ALLOWED;
     }
 
     private SubscriptionAccessStatusDto defaultStatus(School school) {
@@ -1,5 +1,9 @@
 package com.school.backend.school.service;
 
+import com.school.backend.school.service.SubscriptionService.LifecycleTransitionResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -11,12 +15,34 @@ import org.springframework.stereotype.Component;
 public class SubscriptionLifecycleJob {
 
     private final SubscriptionService subscriptionService;
+    private final MeterRegistry meterRegistry;
 
     @Scheduled(cron = "0 0 2 * * *")
     public void runDailyLifecycle() {
-        int transitioned = subscriptionService.runDailyLifecycleTransition();
-        if (transitioned > 0) {
-            log.info("Subscription lifecycle job transitioned {} subscriptions.", transitioned);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            LifecycleTransitionResult result = subscriptionService.runDailyLifecycleTransition();
+            outcome = "success";
+            recordTransitions("PAST_DUE", result.pastDue());
+            recordTransitions("SUSPENDED", result.suspended());
+            if (result.total() > 0) {
+                log.info("Subscription lifecycle job transitioned {} subscriptions ({} past due, {} suspended).",
+                        result.total(), result.pastDue(), result.suspended());
+            }
+        } finally {
+            sample.stop(Timer.builder("subscription.lifecycle.duration")
+                    .description("Time taken by the daily subscription lifecycle transition")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
+
+    private void recordTransitions(String status, int count) {
+        Counter.builder("subscription.lifecycle.transitions")
+                .description("Subscriptions moved by the daily lifecycle transition")
+                .tag("status", status)
+                .register(meterRegistry)
+                .increment(count);
+    }
 }
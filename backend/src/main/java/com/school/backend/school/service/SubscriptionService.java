@@ -1,5 +1,6 @@
 package com.school.backend.school.service;
 
+import com.school.backend.common.enums.DashboardCounterType;
 import com.school.backend.common.enums.SubscriptionEventType;
 import com.school.backend.common.enums.SubscriptionPaymentType;
 import com.school.backend.common.enums.SubscriptionStatus;
@@ -9,6 +10,7 @@ import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.exception.SubscriptionConcurrencyException;
 import com.school.backend.common.exception.SubscriptionRuleViolationException;
 import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.platform.dashboard.DashboardCounterService;
 import com.school.backend.school.dto.*;
 import com.school.backend.school.entity.PricingPlan;
 import com.school.backend.school.entity.School;
@@ -16,6 +18,7 @@ import com.school.backend.school.entity.Subscription;
 import com.school.backend.school.entity.SubscriptionEvent;
 import com.school.backend.school.entity.SubscriptionPayment;
 import com.school.backend.school.repository.SchoolRepository;
+import com.school.backend.school.repository.SubscriptionEventJdbcRepository;
 import com.school.backend.school.repository.SubscriptionEventRepository;
 import com.school.backend.school.repository.SubscriptionPaymentRepository;
 import com.school.backend.school.repository.SubscriptionRepository;
@@ -32,9 +35,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -48,13 +57,20 @@ public class SubscriptionService {
             SubscriptionStatus.ACTIVE,
             SubscriptionStatus.PAST_DUE);
 
+    private static final Set<SubscriptionStatus> LAPSING_STATUSES = Set.of(
+            SubscriptionStatus.ACTIVE,
+            SubscriptionStatus.PAST_DUE);
+
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionPaymentRepository paymentRepository;
     private final SubscriptionEventRepository eventRepository;
+    private final SubscriptionEventJdbcRepository eventJdbcRepository;
     private final PricingPlanService pricingPlanService;
     private final SchoolRepository schoolRepository;
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
+    private final SubscriptionAccessDecisionCache accessDecisionCache;
+    private final DashboardCounterService dashboardCounterService;
     private final Clock clock;
 
     @Transactional
@@ -79,6 +95,7 @@ public class SubscriptionService {
                 .build();
 
         Subscription saved = subscriptionRepository.save(entity);
+        accessDecisionCache.invalidate(saved.getSchoolId());
         log.info("Trial subscription created schoolId={} subscriptionId={} planId={}",
                 school.getId(), saved.getId(), plan.getId());
         return toDto(saved);
@@ -98,10 +115,13 @@ public class SubscriptionService {
                 SubscriptionPaymentType.PAYMENT, req.getPaymentDate(), req.getReferenceNumber(), req.getNotes(),
                 performedByUserId);
 
+        SubscriptionStatus previousStatus = subscription.getStatus();
         subscription.setStartDate(req.getPaymentDate());
         subscription.setExpiryDate(req.getPaymentDate().plusDays(365));
         subscription.setStatus(SubscriptionStatus.ACTIVE);
         subscriptionRepository.save(subscription);
+        accessDecisionCache.invalidate(subscription.getSchoolId());
+        dashboardCounterService.subscriptionStatusChanged(previousStatus, SubscriptionStatus.ACTIVE);
         return toDto(subscription);
     }
 
@@ -112,10 +132,13 @@ public class SubscriptionService {
             SubscriptionPayment payment = createPayment(subscription, req.getAmount(), req.getType(),
                     req.getPaymentDate(), req.getReferenceNumber(), req.getNotes(), performedByUserId);
             if (req.getType() == SubscriptionPaymentType.PAYMENT) {
+                SubscriptionStatus previousStatus = subscription.getStatus();
                 subscription.setStartDate(req.getPaymentDate());
                 subscription.setExpiryDate(req.getPaymentDate().plusDays(365));
                 subscription.setStatus(SubscriptionStatus.ACTIVE);
                 subscriptionRepository.save(subscription);
+                accessDecisionCache.invalidate(subscription.getSchoolId());
+                dashboardCounterService.subscriptionStatusChanged(previousStatus, SubscriptionStatus.ACTIVE);
             }
             return toDto(payment);
         } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
@@ -150,6 +173,7 @@ public class SubscriptionService {
 
             subscription.setPricingPlan(newPlan);
             subscriptionRepository.save(subscription);
+            accessDecisionCache.invalidate(subscription.getSchoolId());
 
             SubscriptionPayment prorationPayment = createPayment(
                     subscription,
@@ -201,7 +225,9 @@ public class SubscriptionService {
             }
 
             subscription.setPricingPlan(newPlan);
-            return toDto(subscriptionRepository.save(subscription));
+            Subscription saved = subscriptionRepository.save(subscription);
+            accessDecisionCache.invalidate(saved.getSchoolId());
+            return toDto(saved);
         } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
             throw new SubscriptionConcurrencyException(
                     "Concurrent subscription update detected while downgrading plan.");
@@ -223,6 +249,7 @@ public class SubscriptionService {
         LocalDate updated = base.plusDays(additionalDays);
         subscription.setTrialEndDate(updated);
         subscriptionRepository.save(subscription);
+        accessDecisionCache.invalidate(subscription.getSchoolId());
 
         eventRepository.save(SubscriptionEvent.builder()
                 .subscriptionId(subscription.getId())
@@ -255,6 +282,7 @@ public class SubscriptionService {
         LocalDate updated = previous.plusDays(additionalDays);
         subscription.setExpiryDate(updated);
         subscriptionRepository.save(subscription);
+        accessDecisionCache.invalidate(subscription.getSchoolId());
 
         eventRepository.save(SubscriptionEvent.builder()
                 .subscriptionId(subscription.getId())
@@ -289,6 +317,8 @@ public class SubscriptionService {
 
             subscription.setStatus(SubscriptionStatus.SUSPENDED);
             subscriptionRepository.save(subscription);
+            accessDecisionCache.invalidate(subscription.getSchoolId());
+            dashboardCounterService.subscriptionStatusChanged(previousStatus, SubscriptionStatus.SUSPENDED);
 
             eventRepository.save(SubscriptionEvent.builder()
                     .subscriptionId(subscription.getId())
@@ -337,6 +367,8 @@ public class SubscriptionService {
 
             subscription.setStatus(newStatus);
             subscriptionRepository.save(subscription);
+            accessDecisionCache.invalidate(subscription.getSchoolId());
+            dashboardCounterService.subscriptionStatusChanged(SubscriptionStatus.SUSPENDED, newStatus);
 
             eventRepository.save(SubscriptionEvent.builder()
                     .subscriptionId(subscription.getId())
@@ -364,27 +396,76 @@ public class SubscriptionService {
         return getAdminUsage(school);
     }
 
+    /**
+     * Usage for a page of the platform school list in three queries: the
+     * schools, their subscriptions with plans, and active students grouped by
+     * school. Each school gets its live subscription, or else its latest one,
+     * as in {@link #getAdminUsageBySchool}.
+     */
     @Transactional(readOnly = true)
     public Map<Long, AdminSubscriptionUsageDto> getAdminUsageBulk(List<Long> schoolIds) {
-        if (schoolIds == null) {
+        if (schoolIds == null || schoolIds.isEmpty()) {
             return Map.of();
         }
         List<School> schools = schoolRepository.findAllById(schoolIds);
+        if (schools.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> foundIds = schools.stream().map(School::getId).toList();
+
+        Map<Long, Subscription> subscriptions = new HashMap<>();
+        for (Subscription subscription : subscriptionRepository.findBySchoolIdInWithPlan(foundIds)) {
+            subscriptions.merge(subscription.getSchoolId(), subscription, this::preferForUsage);
+        }
+
+        Set<Long> sessionIds = schools.stream()
+                .map(School::getCurrentSessionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Long> activeStudents = new HashMap<>();
+        if (!sessionIds.isEmpty()) {
+            for (Object[] row : studentRepository.countActiveStudentsInSessionsGroupedBySchool(foundIds, sessionIds)) {
+                activeStudents.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+        }
+
         return schools.stream()
-                .collect(Collectors.toMap(School::getId, this::getAdminUsage));
+                .collect(Collectors.toMap(School::getId, school -> toAdminUsage(
+                        subscriptions.get(school.getId()),
+                        activeStudents.getOrDefault(school.getId(), 0L))));
     }
 
     private AdminSubscriptionUsageDto getAdminUsage(School school) {
         Long schoolId = school.getId();
-        java.util.Optional<Subscription> subscriptionOpt = subscriptionRepository
+        Subscription subscription = subscriptionRepository
                 .findFirstBySchoolIdAndStatusIn(schoolId, LIVE_STATUSES)
-                .or(() -> subscriptionRepository.findFirstBySchoolIdOrderByCreatedAtDesc(schoolId));
+                .or(() -> subscriptionRepository.findFirstBySchoolIdOrderByCreatedAtDesc(schoolId))
+                .orElse(null);
 
         Long currentSessionId = school.getCurrentSessionId();
         long activeStudents = currentSessionId == null ? 0
                 : studentRepository.countActiveStudentsInSession(schoolId, currentSessionId);
+        return toAdminUsage(subscription, activeStudents);
+    }
+
+    /**
+     * The live subscription wins; between non-live ones, the most recently
+     * created.
+     */
+    private Subscription preferForUsage(Subscription current, Subscription candidate) {
+        boolean currentLive = LIVE_STATUSES.contains(current.getStatus());
+        boolean candidateLive = LIVE_STATUSES.contains(candidate.getStatus());
+        if (currentLive != candidateLive) {
+            return currentLive ? current : candidate;
+        }
+        if (currentLive) {
+            return current;
+        }
+        return candidate.getCreatedAt().isAfter(current.getCreatedAt()) ? candidate : current;
+    }
 
-        if (subscriptionOpt.isEmpty()) {
+    private AdminSubscriptionUsageDto toAdminUsage(Subscription subscription, long activeStudents) {
+        if (subscription == null) {
             return AdminSubscriptionUsageDto.builder()
                     .planName("NO ACTIVE PLAN")
                     .subscriptionStatus(SubscriptionStatus.NO_PLAN)
@@ -398,7 +479,6 @@ public class SubscriptionService {
                     .build();
         }
 
-        Subscription subscription = subscriptionOpt.get();
         Integer studentCap = subscription.getPricingPlan().getStudentCap();
 
         BigDecimal usagePercent = studentCap == null || studentCap <= 0
@@ -449,26 +529,79 @@ public class SubscriptionService {
                 .toList();
     }
 
+    /**
+     * Moves lapsed subscriptions on: ACTIVE past expiry becomes PAST_DUE and
+     * ACTIVE/PAST_DUE past the grace period becomes SUSPENDED. Candidates are
+     * read as a projection and each transition is one bulk UPDATE, followed by
+     * a batch insert of its events. Only suspended schools need their cached
+     * access decision dropped; PAST_DUE schools keep access.
+     */
     @Transactional
-    public int runDailyLifecycleTransition() {
+    public LifecycleTransitionResult runDailyLifecycleTransition() {
         LocalDate today = LocalDate.now(clock);
-        int updatedCount = 0;
-        for (Subscription subscription : subscriptionRepository
-                .findByStatusIn(Set.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.PAST_DUE))) {
-            if (subscription.getExpiryDate() == null) {
-                continue;
-            }
-            LocalDate graceLastDate = subscription.getExpiryDate().plusDays(subscription.getGracePeriodDays());
-            if (today.isAfter(graceLastDate) && subscription.getStatus() != SubscriptionStatus.SUSPENDED) {
-                subscription.setStatus(SubscriptionStatus.SUSPENDED);
-                updatedCount++;
-            } else if (today.isAfter(subscription.getExpiryDate())
-                    && subscription.getStatus() == SubscriptionStatus.ACTIVE) {
-                subscription.setStatus(SubscriptionStatus.PAST_DUE);
-                updatedCount++;
+        List<LapsedSubscriptionRow> toSuspend = new ArrayList<>();
+        List<LapsedSubscriptionRow> toPastDue = new ArrayList<>();
+        for (LapsedSubscriptionRow row : subscriptionRepository.findLapsed(LAPSING_STATUSES, today)) {
+            LocalDate graceLastDate = row.expiryDate().plusDays(row.gracePeriodDays());
+            if (today.isAfter(graceLastDate)) {
+                toSuspend.add(row);
+            } else if (row.status() == SubscriptionStatus.ACTIVE) {
+                toPastDue.add(row);
             }
         }
-        return updatedCount;
+
+        List<LapsedSubscriptionRow> suspended = transition(toSuspend, LAPSING_STATUSES,
+                SubscriptionStatus.SUSPENDED, SubscriptionEventType.AUTO_SUSPENDED, today);
+        suspended.forEach(row -> accessDecisionCache.invalidate(row.schoolId()));
+        List<LapsedSubscriptionRow> pastDue = transition(toPastDue, Set.of(SubscriptionStatus.ACTIVE),
+                SubscriptionStatus.PAST_DUE, SubscriptionEventType.AUTO_PAST_DUE, today);
+        return new LifecycleTransitionResult(pastDue.size(), suspended.size());
+    }
+
+    public record LifecycleTransitionResult(int pastDue, int suspended) {
+
+        public int total() {
+            return pastDue + suspended;
+        }
+    }
+
+    /**
+     * @return the rows actually moved; rows renewed between the read and the
+     *         update are dropped
+     */
+    private List<LapsedSubscriptionRow> transition(List<LapsedSubscriptionRow> rows,
+            Set<SubscriptionStatus> fromStatuses,
+            SubscriptionStatus newStatus,
+            SubscriptionEventType eventType,
+            LocalDate today) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<Long> ids = rows.stream().map(LapsedSubscriptionRow::id).toList();
+        int updated = subscriptionRepository.transitionLapsed(ids, fromStatuses, newStatus, today,
+                LocalDateTime.now());
+        if (updated < ids.size()) {
+            Set<Long> moved = new HashSet<>(subscriptionRepository.findIdsByIdInAndStatus(ids, newStatus));
+            rows = rows.stream().filter(row -> moved.contains(row.id())).toList();
+        }
+
+        // PAST_DUE to SUSPENDED stays due; only rows leaving ACTIVE change the count
+        dashboardCounterService.addPlatform(DashboardCounterType.SUBSCRIPTIONS_DUE, rows.stream()
+                .filter(row -> !DashboardCounterService.isDue(row.status()) && DashboardCounterService.isDue(newStatus))
+                .count());
+        eventJdbcRepository.insertEvents(rows.stream()
+                .map(row -> SubscriptionEvent.builder()
+                        .subscriptionId(row.id())
+                        .type(eventType)
+                        .previousExpiryDate(row.expiryDate())
+                        .newExpiryDate(row.expiryDate())
+                        .previousStatus(row.status())
+                        .newStatus(newStatus)
+                        .reason("Daily lifecycle transition")
+                        .performedByUserId(null)
+                        .build())
+                .toList());
+        return rows;
     }
 
     private Subscription getById(Long id) {
@@ -585,7 +718,8 @@ public class SubscriptionService {
     }
 
     private SubscriptionEventDto toDto(SubscriptionEvent event) {
-        String performedBy = userRepository.findById(event.getPerformedByUserId())
+        String performedBy = Optional.ofNullable(event.getPerformedByUserId())
+                .flatMap(userRepository::findById)
                 .map(u -> u.getFullName() != null ? u.getFullName() + " (" + u.getRole() + ")" : u.getEmail())
                 .orElse("System");
 
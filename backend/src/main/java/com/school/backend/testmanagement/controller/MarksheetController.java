@@ -1,8 +1,14 @@
 package com.school.backend.testmanagement.controller;
 
+import com.school.backend.common.enums.BatchDocumentFormat;
+import com.school.backend.testmanagement.dto.ExamResultSheetDto;
 import com.school.backend.testmanagement.dto.MarksheetDto;
+import com.school.backend.testmanagement.service.ExamResultService;
+import com.school.backend.testmanagement.service.MarksheetBatchService;
 import com.school.backend.testmanagement.service.MarksheetService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +16,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -18,6 +25,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class MarksheetController {
 
     private final MarksheetService service;
+    private final MarksheetBatchService batchService;
+    private final ExamResultService examResultService;
+
+    @GetMapping("/exam/{examId}/results")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PLATFORM_ADMIN', 'SCHOOL_ADMIN', 'TEACHER')")
+    public ExamResultSheetDto resultSheet(@PathVariable Long examId) {
+        return examResultService.getResultSheet(examId);
+    }
 
     @GetMapping("/exam/{examId}/student/{studentId}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PLATFORM_ADMIN', 'SCHOOL_ADMIN', 'TEACHER')")
@@ -41,4 +56,20 @@ public class MarksheetController {
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(pdf);
     }
+
+    @GetMapping("/exam/{examId}/pdf")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PLATFORM_ADMIN', 'SCHOOL_ADMIN', 'TEACHER')")
+    public void downloadClassPdf(
+            @PathVariable Long examId,
+            @RequestParam(defaultValue = "PDF") BatchDocumentFormat format,
+            HttpServletResponse response) {
+
+        String filename = "marksheets_exam_" + examId + "." + format.getExtension();
+        batchService.generateExamMarksheets(examId, format, () -> {
+            response.setContentType(format.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(filename).build().toString());
+            return response.getOutputStream();
+        });
+    }
 }
@@ -1,5 +1,6 @@
 package com.school.backend.testmanagement.dto;
 
+import com.school.backend.common.enums.MarkCellStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +15,9 @@ import java.util.List;
 public class BulkMarkEntryResponse {
     private int savedCount;
     private int skippedCount;
+    private int rejectedCount;
     private List<SkippedSubject> skippedSubjects;
+    private List<CellResult> results;
 
     @Data
     @AllArgsConstructor
@@ -24,4 +27,14 @@ public class BulkMarkEntryResponse {
         private String subjectName;
         private String reason;
     }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CellResult {
+        private Long studentId;
+        private Long examSubjectId;
+        private MarkCellStatus status;
+        private String message;
+    }
 }
@@ -0,0 +1,44 @@
+package com.school.backend.testmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ExamResultSheetDto {
+
+    private Long examId;
+    private String examName;
+    private Long classId;
+    private Long sessionId;
+
+    private List<SubjectColumn> subjects;
+    private Integer maxMarks;
+
+    private int studentCount;
+    private int passedCount;
+    private Double averagePercentage;
+    private Double highestPercentage;
+
+    private List<StudentResult> results;
+
+    @Data
+    public static class SubjectColumn {
+
+        private Long subjectId;
+        private String subjectName;
+        private Integer maxMarks;
+    }
+
+    @Data
+    public static class StudentResult {
+
+        private Long studentId;
+        private String admissionNumber;
+        private String studentName;
+        private Integer rollNumber;
+        private String section;
+
+        private MarksheetDto marksheet;
+    }
+}
@@ -17,6 +17,9 @@ public class MarksheetDto {
     private String grade;
     private boolean passed;
 
+    /** Competition rank by total marks within the exam; null when the student is not on the result sheet. */
+    private Integer rank;
+
     private List<SubjectMark> subjects;
 
     @Data
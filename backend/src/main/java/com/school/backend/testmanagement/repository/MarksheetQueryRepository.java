@@ -12,26 +12,35 @@ public class MarksheetQueryRepository {
     @PersistenceContext
     private EntityManager em;
 
+    /**
+     * Reads every subject of an exam together with every mark recorded against
+     * it, so results for the whole class come from a single query.
+     *
+     * @return {@code [examSubjectId, subjectId, subjectName, maxMarks, studentId, marksObtained]}
+     *         rows ordered by exam subject; a subject without any marks yields one
+     *         row with {@code null} student and marks
+     */
     @SuppressWarnings("unchecked")
-    public List<Object[]> fetchStudentMarks(Long examId, Long studentId) {
+    public List<Object[]> fetchExamResultRows(Long examId) {
 
         String jpql = """
-                    SELECT es.subjectId,
+                    SELECT es.id,
+                           es.subjectId,
                            sub.name,
                            es.maxMarks,
+                           sm.studentId,
                            sm.marksObtained
                     FROM ExamSubject es
                     JOIN com.school.backend.core.classsubject.entity.Subject sub
                          ON es.subjectId = sub.id
                     LEFT JOIN StudentMark sm
                          ON sm.examSubjectId = es.id
-                        AND sm.studentId = :studentId
                     WHERE es.examId = :examId
+                    ORDER BY es.id
                 """;
 
         return em.createQuery(jpql)
                 .setParameter("examId", examId)
-                .setParameter("studentId", studentId)
                 .getResultList();
     }
 }
@@ -0,0 +1,147 @@
+package com.school.backend.testmanagement.repository;
+
+import com.school.backend.testmanagement.entity.StudentMark;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access for mark-grid saves. Existing marks are read as plain rows and
+ * written back with batched statements, so a whole grid costs a handful of
+ * round trips instead of a find and a save per cell.
+ * <p>
+ * Rows are always scoped by {@code school_id} explicitly because the Hibernate
+ * tenant filter does not apply to JDBC statements.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentMarkJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_EXISTING = """
+            SELECT id, exam_subject_id, student_id, remarks, created_at, created_by
+            FROM student_marks
+            WHERE school_id = :schoolId
+              AND exam_id = :examId
+              AND exam_subject_id IN (:examSubjectIds)
+              AND student_id IN (:studentIds)
+            """;
+
+    private static final String INSERT_MARK = """
+            INSERT INTO student_marks
+                (exam_id, exam_subject_id, student_id, marks_obtained, remarks, school_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_MARK = """
+            UPDATE student_marks
+            SET marks_obtained = ?, remarks = ?, updated_at = ?
+            WHERE id = ? AND school_id = ?
+            """;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * @return existing marks of the exam for the given subjects and students, as
+     *         detached carriers holding {@code id}, keys, remarks and creation
+     *         audit fields
+     */
+    public List<StudentMark> findExisting(Long schoolId, Long examId, Collection<Long> examSubjectIds,
+            Collection<Long> studentIds) {
+        if (examSubjectIds.isEmpty() || studentIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("schoolId", schoolId)
+                .addValue("examId", examId)
+                .addValue("examSubjectIds", examSubjectIds)
+                .addValue("studentIds", studentIds);
+        return namedJdbcTemplate.query(SELECT_EXISTING, params, (rs, rowNum) -> StudentMark.builder()
+                .id(rs.getLong("id"))
+                .examId(examId)
+                .examSubjectId(rs.getLong("exam_subject_id"))
+                .studentId(rs.getLong("student_id"))
+                .remarks(rs.getString("remarks"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .createdBy(rs.getObject("created_by", Long.class))
+                .schoolId(schoolId)
+                .build());
+    }
+
+    /**
+     * Inserts the marks and sets their generated {@code id} and timestamps, so
+     * callers can return them without reading the rows back.
+     */
+    public void insertMarks(List<StudentMark> marks) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        for (int from = 0; from < marks.size(); from += BATCH_SIZE) {
+            List<StudentMark> chunk = marks.subList(from, Math.min(from + BATCH_SIZE, marks.size()));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            namedJdbcTemplate.getJdbcTemplate().batchUpdate(
+                    con -> con.prepareStatement(INSERT_MARK, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            StudentMark m = chunk.get(i);
+                            ps.setLong(1, m.getExamId());
+                            ps.setLong(2, m.getExamSubjectId());
+                            ps.setLong(3, m.getStudentId());
+                            ps.setInt(4, m.getMarksObtained());
+                            ps.setString(5, m.getRemarks());
+                            ps.setLong(6, m.getSchoolId());
+                            ps.setTimestamp(7, timestamp);
+                            ps.setTimestamp(8, timestamp);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                StudentMark m = chunk.get(i);
+                m.setId(((Number) keys.get(i).get("id")).longValue());
+                m.setCreatedAt(now);
+                m.setUpdatedAt(now);
+            }
+        }
+    }
+
+    public void updateMarks(List<StudentMark> marks) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        LocalDateTime updatedAt = LocalDateTime.now();
+        marks.forEach(m -> m.setUpdatedAt(updatedAt));
+        Timestamp now = Timestamp.valueOf(updatedAt);
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_MARK, marks, BATCH_SIZE, (ps, m) -> {
+            ps.setInt(1, m.getMarksObtained());
+            ps.setString(2, m.getRemarks());
+            ps.setTimestamp(3, now);
+            ps.setLong(4, m.getId());
+            ps.setLong(5, m.getSchoolId());
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
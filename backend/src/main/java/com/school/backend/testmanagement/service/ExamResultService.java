@@ -0,0 +1,249 @@
+package com.school.backend.testmanagement.service;
+
+import com.school.backend.common.enums.ExamStatus;
+import com.school.backend.common.exception.BusinessException;
+import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.core.student.entity.Student;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.core.student.repository.StudentEnrollmentRepository;
+import com.school.backend.core.student.repository.StudentRepository;
+import com.school.backend.testmanagement.dto.ExamResultSheetDto;
+import com.school.backend.testmanagement.dto.MarksheetDto;
+import com.school.backend.testmanagement.entity.Exam;
+import com.school.backend.testmanagement.repository.ExamRepository;
+import com.school.backend.testmanagement.repository.MarksheetQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the results of a whole exam in memory: subjects and marks are read
+ * with one query, the roster with another, and grades come from the cached
+ * {@link GradeBands}, so the cost does not grow with the class size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExamResultService {
+
+    private static final double PASS_PERCENT = 33.0;
+
+    private final ExamRepository examRepository;
+    private final MarksheetQueryRepository queryRepo;
+    private final StudentEnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final GradeBandCache gradeBandCache;
+
+    @Transactional(readOnly = true)
+    public ExamResultSheetDto getResultSheet(Long examId) {
+        ExamResults results = computeResults(loadPublishedExam(examId));
+
+        Map<Long, Student> students = studentRepository.findAllById(results.marksheets().keySet()).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, StudentEnrollment> enrollments = new HashMap<>();
+        results.roster().forEach(e -> enrollments.putIfAbsent(e.getStudentId(), e));
+
+        List<ExamResultSheetDto.StudentResult> rows = new ArrayList<>();
+        int passed = 0;
+        double percentSum = 0;
+        double highest = 0;
+        for (MarksheetDto ms : results.marksheets().values()) {
+            Student student = students.get(ms.getStudentId());
+            StudentEnrollment enrollment = enrollments.get(ms.getStudentId());
+
+            ExamResultSheetDto.StudentResult row = new ExamResultSheetDto.StudentResult();
+            row.setStudentId(ms.getStudentId());
+            if (student != null) {
+                row.setAdmissionNumber(student.getAdmissionNumber());
+                row.setStudentName(student.getFirstName()
+                        + (student.getLastName() != null ? " " + student.getLastName() : ""));
+            }
+            if (enrollment != null) {
+                row.setRollNumber(enrollment.getRollNumber());
+                row.setSection(enrollment.getSection());
+            }
+            row.setMarksheet(ms);
+            rows.add(row);
+
+            if (ms.isPassed()) {
+                passed++;
+            }
+            percentSum += ms.getPercentage();
+            highest = Math.max(highest, ms.getPercentage());
+        }
+
+        Exam exam = results.exam();
+        ExamResultSheetDto sheet = new ExamResultSheetDto();
+        sheet.setExamId(exam.getId());
+        sheet.setExamName(exam.getName());
+        sheet.setClassId(exam.getClassId());
+        sheet.setSessionId(exam.getSessionId());
+        sheet.setSubjects(results.subjects().stream().map(s -> {
+            ExamResultSheetDto.SubjectColumn col = new ExamResultSheetDto.SubjectColumn();
+            col.setSubjectId(s.subjectId());
+            col.setSubjectName(s.subjectName());
+            col.setMaxMarks(s.maxMarks());
+            return col;
+        }).toList());
+        sheet.setMaxMarks(results.subjects().stream().mapToInt(ResultSubject::maxMarks).sum());
+        sheet.setStudentCount(rows.size());
+        sheet.setPassedCount(passed);
+        sheet.setAveragePercentage(rows.isEmpty() ? 0.0 : round(percentSum / rows.size()));
+        sheet.setHighestPercentage(highest);
+        sheet.setResults(rows);
+        return sheet;
+    }
+
+    @Transactional(readOnly = true)
+    public Exam loadPublishedExam(Long examId) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found"));
+        if (exam.getStatus() == ExamStatus.DRAFT) {
+            throw new BusinessException("Marksheet cannot be generated for DRAFT exams.");
+        }
+        return exam;
+    }
+
+    /**
+     * Builds a ranked marksheet for every active enrollment in the exam's class
+     * and for any other student with marks recorded, roster order first.
+     */
+    @Transactional(readOnly = true)
+    public ExamResults computeResults(Exam exam) {
+        List<Object[]> rows = queryRepo.fetchExamResultRows(exam.getId());
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("No subjects found for exam");
+        }
+
+        Map<Long, ResultSubject> subjects = new LinkedHashMap<>();
+        Map<Long, Map<Long, Integer>> marksByStudent = new LinkedHashMap<>();
+        for (Object[] r : rows) {
+            Long examSubjectId = (Long) r[0];
+            subjects.computeIfAbsent(examSubjectId,
+                    id -> new ResultSubject(id, (Long) r[1], (String) r[2], (Integer) r[3]));
+            if (r[4] != null) {
+                marksByStudent.computeIfAbsent((Long) r[4], k -> new HashMap<>()).put(examSubjectId, (Integer) r[5]);
+            }
+        }
+
+        List<StudentEnrollment> roster = enrollmentRepository
+                .findByClassIdAndSessionIdAndActiveTrueOrderByRollNumberAscStudentIdAsc(exam.getClassId(),
+                        exam.getSessionId());
+        Set<Long> studentIds = new LinkedHashSet<>();
+        roster.forEach(e -> studentIds.add(e.getStudentId()));
+        studentIds.addAll(marksByStudent.keySet());
+
+        GradeBands bands = gradeBandCache.forSchool(exam.getSchoolId());
+        List<ResultSubject> subjectList = List.copyOf(subjects.values());
+        Map<Long, MarksheetDto> marksheets = new LinkedHashMap<>();
+        for (Long studentId : studentIds) {
+            marksheets.put(studentId, buildMarksheet(exam.getId(), studentId, subjectList,
+                    marksByStudent.getOrDefault(studentId, Map.of()), bands));
+        }
+        assignRanks(marksheets.values());
+
+        return new ExamResults(exam, subjectList, roster, marksheets, bands);
+    }
+
+    /**
+     * @param marks marks obtained keyed by exam subject id; missing subjects count as zero
+     */
+    private static MarksheetDto buildMarksheet(Long examId, Long studentId, List<ResultSubject> subjects,
+            Map<Long, Integer> marks, GradeBands bands) {
+        int total = 0;
+        int max = 0;
+
+        List<MarksheetDto.SubjectMark> subjectMarks = new ArrayList<>(subjects.size());
+
+        for (ResultSubject subject : subjects) {
+            int obtained = marks.getOrDefault(subject.examSubjectId(), 0);
+
+            total += obtained;
+            max += subject.maxMarks();
+
+            MarksheetDto.SubjectMark sm = new MarksheetDto.SubjectMark();
+
+            sm.setSubjectId(subject.subjectId());
+            sm.setSubjectName(subject.subjectName());
+            sm.setMaxMarks(subject.maxMarks());
+            sm.setMarksObtained(obtained);
+
+            subjectMarks.add(sm);
+        }
+
+        double percent = max == 0 ? 0 : (total * 100.0) / max;
+
+        MarksheetDto dto = new MarksheetDto();
+
+        dto.setStudentId(studentId);
+        dto.setExamId(examId);
+
+        dto.setTotalMarks(total);
+        dto.setMaxMarks(max);
+
+        dto.setPercentage(round(percent));
+
+        dto.setPassed(percent >= PASS_PERCENT);
+
+        dto.setGrade(bands.resolve(percent));
+
+        dto.setSubjects(subjectMarks);
+
+        return dto;
+    }
+
+    /**
+     * Standard competition ranking ("1, 2, 2, 4") by total marks.
+     */
+    private static void assignRanks(Iterable<MarksheetDto> marksheets) {
+        List<MarksheetDto> ordered = new ArrayList<>();
+        marksheets.forEach(ordered::add);
+        ordered.sort(Comparator.comparing(MarksheetDto::getTotalMarks).reversed());
+
+        for (int i = 0; i < ordered.size(); i++) {
+            MarksheetDto ms = ordered.get(i);
+            if (i > 0 && ms.getTotalMarks().equals(ordered.get(i - 1).getTotalMarks())) {
+                ms.setRank(ordered.get(i - 1).getRank());
+            } else {
+                ms.setRank(i + 1);
+            }
+        }
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+
+    public record ResultSubject(Long examSubjectId, Long subjectId, String subjectName, Integer maxMarks) {
+    }
+
+    /**
+     * @param marksheets ranked marksheets keyed by student id, roster order first
+     */
+    public record ExamResults(
+            Exam exam,
+            List<ResultSubject> subjects,
+            List<StudentEnrollment> roster,
+            Map<Long, MarksheetDto> marksheets,
+            GradeBands bands) {
+
+        /**
+         * Marksheet for a student of the exam, or an unranked zero-mark sheet for a
+         * student outside the roster with no marks recorded.
+         */
+        public MarksheetDto marksheetFor(Long studentId) {
+            MarksheetDto ms = marksheets.get(studentId);
+            return ms != null ? ms : buildMarksheet(exam.getId(), studentId, subjects, Map.of(), bands);
+        }
+    }
+}
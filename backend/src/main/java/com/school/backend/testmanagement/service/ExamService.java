@@ -4,7 +4,6 @@ import com.school.backend.common.enums.ExamStatus;
 import com.school.backend.common.exception.BusinessException;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.tenant.SessionContext;
-import com.school.backend.core.classsubject.entity.ClassSubject;
 import com.school.backend.core.classsubject.repository.ClassSubjectRepository;
 import com.school.backend.core.student.repository.StudentEnrollmentRepository;
 import com.school.backend.core.teacher.entity.Teacher;
@@ -15,7 +14,6 @@ import com.school.backend.testmanagement.dto.ExamCreateRequest;
 import com.school.backend.testmanagement.dto.ExamDto;
 import com.school.backend.testmanagement.entity.Exam;
 import com.school.backend.testmanagement.entity.ExamSubject;
-import com.school.backend.testmanagement.entity.StudentMark;
 import com.school.backend.testmanagement.mapper.ExamMapper;
 import com.school.backend.testmanagement.repository.ExamRepository;
 import com.school.backend.testmanagement.repository.ExamSubjectRepository;
@@ -26,11 +24,10 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,6 +41,7 @@ public class ExamService {
     private final TeacherRepository teacherRepository;
     private final ClassSubjectRepository classSubjectRepository;
     private final ExamMapper examMapper;
+    private final MarkUpsertEngine markUpsertEngine;
     private final com.school.backend.school.service.SetupValidationService setupValidationService;
 
     @Transactional
@@ -190,71 +188,42 @@ public class ExamService {
             throw new BusinessException("Marks can only be entered when exam is in DRAFT status.");
         }
 
-        // 1. Get all subjects for this exam for validation
         List<ExamSubject> subjects = subjectRepository.findByExamId(examId);
-        Map<Long, ExamSubject> subjectMap = subjects.stream()
-                .collect(Collectors.toMap(ExamSubject::getId, Function.identity()));
-
-        List<BulkMarkEntryResponse.SkippedSubject> skipped = new java.util.ArrayList<>();
-        Set<Long> assignedSubjectIds = new HashSet<>();
-
-        if (SecurityUtil.hasRole("TEACHER")) {
-            Long userId = SecurityUtil.current().getUserId();
-            Teacher teacher = teacherRepository.findByUserId(userId)
-                    .orElseThrow(() -> new BusinessException("Teacher record not found for user"));
-
-            // Get all active assignments for this teacher in this class/session
-            List<ClassSubject> assignments = classSubjectRepository
-                    .findByTeacherIdAndSessionId(teacher.getId(), exam.getSessionId(), exam.getSchoolId());
-
-            assignedSubjectIds = assignments.stream()
-                    .filter(ta -> ta.getSchoolClass().getId().equals(exam.getClassId()))
-                    .map(ta -> ta.getSubject().getId())
-                    .collect(Collectors.toSet());
-        }
-
+        List<BulkMarkEntryResponse.CellResult> results = markUpsertEngine.upsert(exam, subjects,
+                dto.getMarks().stream()
+                        .map(item -> MarkUpsertEngine.MarkCell.of(item.getStudentId(), item.getExamSubjectId(),
+                                item.getMarksObtained()))
+                        .toList())
+                .results();
+
+        Map<Long, Long> subjectIdByExamSubject = subjects.stream()
+                .collect(Collectors.toMap(ExamSubject::getId, ExamSubject::getSubjectId));
+        Map<Long, BulkMarkEntryResponse.SkippedSubject> skipped = new LinkedHashMap<>();
         int savedCount = 0;
-
-        // 2. Process and save marks
-        for (BulkMarksDto.MarkItem item : dto.getMarks()) {
-            ExamSubject examSubject = subjectMap.get(item.getExamSubjectId());
-            if (examSubject == null) {
-                throw new IllegalArgumentException("Invalid ExamSubjectId for this exam: " + item.getExamSubjectId());
-            }
-
-            // Teacher check: Must be assigned to the subject
-            if (SecurityUtil.hasRole("TEACHER") && !assignedSubjectIds.contains(examSubject.getSubjectId())) {
-                skipped.add(new BulkMarkEntryResponse.SkippedSubject(
-                        examSubject.getSubjectId(),
-                        "Subject " + examSubject.getSubjectId(), // Should ideally have name but entity references ID
-                        "Not assigned to teacher"));
-                continue;
+        int skippedCount = 0;
+        int rejectedCount = 0;
+        for (BulkMarkEntryResponse.CellResult result : results) {
+            switch (result.getStatus()) {
+                case SAVED -> savedCount++;
+                case REJECTED -> rejectedCount++;
+                case SUPERSEDED -> {
+                    // Counted once, through the later cell that was saved
+                }
+                case SKIPPED -> {
+                    skippedCount++;
+                    Long subjectId = subjectIdByExamSubject.get(result.getExamSubjectId());
+                    skipped.computeIfAbsent(subjectId, id -> new BulkMarkEntryResponse.SkippedSubject(
+                            id, "Subject " + id, result.getMessage()));
+                }
             }
-
-            if (item.getMarksObtained() > examSubject.getMaxMarks()) {
-                throw new IllegalArgumentException("Marks exceed maximum marks (" +
-                        examSubject.getMaxMarks() + ") for subject: " + item.getExamSubjectId());
-            }
-
-            // Upsert (Find existing or create new)
-            StudentMark mark = markRepository.findByExamSubjectIdAndStudentId(
-                            item.getExamSubjectId(), item.getStudentId())
-                    .orElseGet(() -> StudentMark.builder()
-                            .examId(examId) // Ensure examId is populated
-                            .examSubjectId(item.getExamSubjectId())
-                            .studentId(item.getStudentId())
-                            .schoolId(exam.getSchoolId())
-                            .build());
-
-            mark.setMarksObtained(item.getMarksObtained());
-            markRepository.save(mark);
-            savedCount++;
         }
 
         return BulkMarkEntryResponse.builder()
                 .savedCount(savedCount)
-                .skippedCount(skipped.size())
-                .skippedSubjects(skipped)
+                .skippedCount(skippedCount)
+                .rejectedCount(rejectedCount)
+                .skippedSubjects(new ArrayList<>(skipped.values()))
+                .results(results)
                 .build();
     }
 
@@ -0,0 +1,42 @@
+package com.school.backend.testmanagement.service;
+
+import com.school.backend.common.cache.TtlCache;
+import com.school.backend.testmanagement.repository.GradePolicyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Per-school cache of {@link GradeBands}, so computing a class result sheet
+ * does not re-read the grade policy table. {@link GradePolicyService} evicts a
+ * school when its policies change.
+ */
+@Component
+public class GradeBandCache {
+
+    private final TtlCache<Long, GradeBands> bands;
+    private final GradePolicyRepository gradeRepo;
+
+    public GradeBandCache(
+            GradePolicyRepository gradeRepo,
+            Clock clock,
+            @Value("${grades.band-cache.ttl:PT10M}") Duration ttl) {
+        this.gradeRepo = gradeRepo;
+        this.bands = new TtlCache<>(clock, ttl);
+    }
+
+    public GradeBands forSchool(Long schoolId) {
+        return bands.get(schoolId, id -> GradeBands.of(gradeRepo.findBySchoolIdOrderByMinPercentDesc(id)));
+    }
+
+    /**
+     * Evicts the school now and again after the surrounding transaction
+     * commits, so bands re-read by another request before the commit are not
+     * kept.
+     */
+    public void invalidate(Long schoolId) {
+        bands.invalidate(schoolId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.school.backend.testmanagement.service;
+
+import com.school.backend.testmanagement.entity.GradePolicy;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a school's grade policies, sorted by minimum percent so
+ * a grade is found with a binary search instead of a scan per marksheet.
+ * <p>
+ * Resolution matches the policy-table semantics: among the bands whose range
+ * contains the percentage, the one with the highest minimum wins. When no band
+ * matches, the default CBSE-style scale is used.
+ */
+public final class GradeBands {
+
+    public static final GradeBands EMPTY = new GradeBands(new double[0], new double[0], new String[0]);
+
+    private final double[] minPercents;
+    private final double[] maxPercents;
+    private final String[] grades;
+
+    private GradeBands(double[] minPercents, double[] maxPercents, String[] grades) {
+        this.minPercents = minPercents;
+        this.maxPercents = maxPercents;
+        this.grades = grades;
+    }
+
+    public static GradeBands of(List<GradePolicy> policies) {
+        if (policies.isEmpty()) {
+            return EMPTY;
+        }
+        List<GradePolicy> sorted = policies.stream()
+                .sorted(Comparator.comparingDouble(GradePolicy::getMinPercent))
+                .toList();
+        int n = sorted.size();
+        double[] mins = new double[n];
+        double[] maxs = new double[n];
+        String[] grades = new String[n];
+        for (int i = 0; i < n; i++) {
+            GradePolicy gp = sorted.get(i);
+            mins[i] = gp.getMinPercent();
+            maxs[i] = gp.getMaxPercent();
+            grades[i] = gp.getGrade();
+        }
+        return new GradeBands(mins, maxs, grades);
+    }
+
+    public String resolve(double percent) {
+        // Last band whose minimum is <= percent; overlapping bands below it are
+        // checked in descending order of minimum.
+        int lo = 0;
+        int hi = minPercents.length - 1;
+        int idx = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (minPercents[mid] <= percent) {
+                idx = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        for (int i = idx; i >= 0; i--) {
+            if (percent <= maxPercents[i]) {
+                return grades[i];
+            }
+        }
+        return defaultGrade(percent);
+    }
+
+    public int size() {
+        return grades.length;
+    }
+
+    public static String defaultGrade(double p) {
+
+        if (p >= 90)
+            return "A+";
+        if (p >= 80)
+            return "A";
+        if (p >= 70)
+            return "B+";
+        if (p >= 60)
+            return "B";
+        if (p >= 50)
+            return "C";
+        if (p >= 33)
+            return "D";
+
+        return "F";
+    }
+}
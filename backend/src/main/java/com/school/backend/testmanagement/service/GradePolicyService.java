@@ -14,6 +14,7 @@ import java.util.List;
 public class GradePolicyService {
 
     private final GradePolicyRepository repo;
+    private final GradeBandCache gradeBandCache;
 
     @Transactional
     public GradePolicy create(GradePolicyRequest req) {
@@ -25,7 +26,9 @@ public class GradePolicyService {
                 .grade(req.getGrade())
                 .build();
 
-        return repo.save(gp);
+        GradePolicy saved = repo.save(gp);
+        gradeBandCache.invalidate(saved.getSchoolId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
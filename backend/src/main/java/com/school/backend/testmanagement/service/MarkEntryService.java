@@ -1,7 +1,9 @@
 package com.school.backend.testmanagement.service;
 
+import com.school.backend.common.enums.MarkCellStatus;
 import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.testmanagement.dto.BulkMarkEntryResponse;
 import com.school.backend.testmanagement.dto.MarkEntryRequest;
 import com.school.backend.testmanagement.entity.Exam;
 import com.school.backend.testmanagement.entity.ExamSubject;
@@ -9,10 +11,6 @@ import com.school.backend.testmanagement.entity.StudentMark;
 import com.school.backend.testmanagement.repository.ExamRepository;
 import com.school.backend.testmanagement.repository.ExamSubjectRepository;
 import com.school.backend.testmanagement.repository.StudentMarkRepository;
-import com.school.backend.core.teacher.entity.Teacher;
-import com.school.backend.core.teacher.repository.TeacherRepository;
-import com.school.backend.core.classsubject.repository.ClassSubjectRepository;
-import com.school.backend.user.security.SecurityUtil;
 import com.school.backend.common.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -27,8 +25,7 @@ public class MarkEntryService {
         private final StudentMarkRepository markRepository;
         private final ExamSubjectRepository subjectRepository;
         private final ExamRepository examRepository;
-        private final TeacherRepository teacherRepository;
-        private final ClassSubjectRepository classSubjectRepository;
+        private final MarkUpsertEngine markUpsertEngine;
         private final com.school.backend.school.service.SetupValidationService setupValidationService;
 
         @Transactional
@@ -41,40 +38,20 @@ public class MarkEntryService {
                                 .orElseThrow(() -> new BusinessException("Exam not found"));
                 setupValidationService.ensureAtLeastOneClassExists(schoolId, exam.getSessionId());
 
-                if (SecurityUtil.hasRole("TEACHER")) {
-                        Long userId = SecurityUtil.current().getUserId();
-                        Teacher teacher = teacherRepository.findByUserId(userId)
-                                        .orElseThrow(() -> new BusinessException("Teacher record not found for user"));
+                MarkUpsertEngine.Outcome outcome = markUpsertEngine.upsert(exam, List.of(subject),
+                                List.of(MarkUpsertEngine.MarkCell.withRemarks(req.getStudentId(),
+                                                req.getExamSubjectId(), req.getMarksObtained(), req.getRemarks())));
+                BulkMarkEntryResponse.CellResult result = outcome.results().get(0);
 
-                        boolean assigned = classSubjectRepository
-                                        .existsBySchoolClassSessionIdAndTeacherIdAndSchoolClassIdAndSubjectIdAndSchoolId(
-                                                        exam.getSessionId(), teacher.getId(), exam.getClassId(),
-                                                        subject.getSubjectId(), schoolId);
-
-                        if (!assigned) {
-                                throw new BusinessException(
-                                                "Access Denied: You are not assigned to this class and subject in the current session.");
-                        }
+                if (result.getStatus() == MarkCellStatus.SKIPPED) {
+                        throw new BusinessException(
+                                        "Access Denied: You are not assigned to this class and subject in the current session.");
                 }
-
-                if (req.getMarksObtained() > subject.getMaxMarks()) {
-                        throw new IllegalArgumentException("Marks exceed max marks");
+                if (result.getStatus() == MarkCellStatus.REJECTED) {
+                        throw new IllegalArgumentException(result.getMessage());
                 }
 
-                StudentMark mark = markRepository.findByExamSubjectIdAndStudentId(
-                                req.getExamSubjectId(), req.getStudentId())
-                                .orElseGet(() -> StudentMark.builder()
-                                                .examId(subject.getExamId()) // Set examId from ExamSubject
-                                                .examSubjectId(req.getExamSubjectId())
-                                                .studentId(req.getStudentId())
-                                                .schoolId(TenantContext.getSchoolId()) // Ensure schoolId is set for new
-                                                                                       // entries
-                                                .build());
-
-                mark.setMarksObtained(req.getMarksObtained());
-                mark.setRemarks(req.getRemarks());
-
-                return markRepository.save(mark);
+                return outcome.marks().get(0);
         }
 
         @Transactional(readOnly = true)
@@ -0,0 +1,186 @@
+package com.school.backend.testmanagement.service;
+
+import com.school.backend.common.enums.MarkCellStatus;
+import com.school.backend.common.exception.BusinessException;
+import com.school.backend.core.classsubject.repository.ClassSubjectRepository;
+import com.school.backend.core.teacher.entity.Teacher;
+import com.school.backend.core.teacher.repository.TeacherRepository;
+import com.school.backend.testmanagement.dto.BulkMarkEntryResponse.CellResult;
+import com.school.backend.testmanagement.entity.Exam;
+import com.school.backend.testmanagement.entity.ExamSubject;
+import com.school.backend.testmanagement.entity.StudentMark;
+import com.school.backend.testmanagement.repository.StudentMarkJdbcRepository;
+import com.school.backend.user.security.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Validates and writes a set of mark cells for one exam. Shared by the grid
+ * save and single mark entry.
+ * <p>
+ * The caller's teacher assignments are resolved once, existing marks are read
+ * with one query and the accepted cells are written with one batched insert
+ * and one batched update. Each cell gets its own result; rejected cells do not
+ * prevent the others from being saved.
+ */
+@Component
+@RequiredArgsConstructor
+public class MarkUpsertEngine {
+
+    static final String NOT_ASSIGNED = "Not assigned to teacher";
+
+    private final StudentMarkJdbcRepository markJdbcRepository;
+    private final TeacherRepository teacherRepository;
+    private final ClassSubjectRepository classSubjectRepository;
+
+    /**
+     * @param replaceRemarks when false an existing mark keeps its remarks
+     */
+    public record MarkCell(Long studentId, Long examSubjectId, Integer marksObtained, String remarks,
+            boolean replaceRemarks) {
+
+        public static MarkCell of(Long studentId, Long examSubjectId, Integer marksObtained) {
+            return new MarkCell(studentId, examSubjectId, marksObtained, null, false);
+        }
+
+        public static MarkCell withRemarks(Long studentId, Long examSubjectId, Integer marksObtained,
+                String remarks) {
+            return new MarkCell(studentId, examSubjectId, marksObtained, remarks, true);
+        }
+    }
+
+    /**
+     * @param results one result per cell, in input order
+     * @param marks   the rows written, one per saved cell, in input order
+     */
+    public record Outcome(List<CellResult> results, List<StudentMark> marks) {
+    }
+
+    private record MarkKey(Long examSubjectId, Long studentId) {
+    }
+
+    public Outcome upsert(Exam exam, Collection<ExamSubject> examSubjects, List<MarkCell> cells) {
+        Map<Long, ExamSubject> subjects = examSubjects.stream()
+                .collect(Collectors.toMap(ExamSubject::getId, Function.identity()));
+        Set<Long> assignedSubjectIds = resolveAssignedSubjectIds(exam);
+
+        List<CellResult> results = new ArrayList<>(cells.size());
+        Map<MarkKey, Integer> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            MarkCell cell = cells.get(i);
+            CellResult result = validate(cell, subjects.get(cell.examSubjectId()), assignedSubjectIds);
+            results.add(result);
+            if (result.getStatus() != MarkCellStatus.SAVED) {
+                continue;
+            }
+            // Later entries for the same cell win, as they did when cells were saved one by one
+            MarkKey key = new MarkKey(cell.examSubjectId(), cell.studentId());
+            Integer previous = accepted.remove(key);
+            accepted.put(key, i);
+            if (previous != null) {
+                results.set(previous, result(cells.get(previous), MarkCellStatus.SUPERSEDED,
+                        "A later entry for this student and subject was saved"));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return new Outcome(results, List.of());
+        }
+
+        Set<Long> examSubjectIds = new HashSet<>();
+        Set<Long> studentIds = new HashSet<>();
+        accepted.keySet().forEach(k -> {
+            examSubjectIds.add(k.examSubjectId());
+            studentIds.add(k.studentId());
+        });
+        Map<MarkKey, StudentMark> existing = new HashMap<>();
+        for (StudentMark m : markJdbcRepository.findExisting(exam.getSchoolId(), exam.getId(), examSubjectIds,
+                studentIds)) {
+            existing.put(new MarkKey(m.getExamSubjectId(), m.getStudentId()), m);
+        }
+
+        List<StudentMark> marks = new ArrayList<>(accepted.size());
+        List<StudentMark> inserts = new ArrayList<>();
+        List<StudentMark> updates = new ArrayList<>();
+        for (Map.Entry<MarkKey, Integer> entry : accepted.entrySet()) {
+            MarkCell cell = cells.get(entry.getValue());
+            StudentMark mark = existing.get(entry.getKey());
+            if (mark == null) {
+                mark = StudentMark.builder()
+                        .examId(exam.getId())
+                        .examSubjectId(cell.examSubjectId())
+                        .studentId(cell.studentId())
+                        .marksObtained(cell.marksObtained())
+                        .remarks(cell.remarks())
+                        .schoolId(exam.getSchoolId())
+                        .build();
+                inserts.add(mark);
+            } else {
+                mark.setMarksObtained(cell.marksObtained());
+                if (cell.replaceRemarks()) {
+                    mark.setRemarks(cell.remarks());
+                }
+                updates.add(mark);
+            }
+            marks.add(mark);
+        }
+        markJdbcRepository.insertMarks(inserts);
+        markJdbcRepository.updateMarks(updates);
+        return new Outcome(results, marks);
+    }
+
+    /**
+     * @return subject ids the current teacher may mark in the exam's class, or
+     *         {@code null} when the caller is not restricted to assignments
+     */
+    private Set<Long> resolveAssignedSubjectIds(Exam exam) {
+        if (!SecurityUtil.hasRole("TEACHER")) {
+            return null;
+        }
+        Long userId = SecurityUtil.current().getUserId();
+        Teacher teacher = teacherRepository.findByUserId(userId)
+                .orElseThrow(() -> new BusinessException("Teacher record not found for user"));
+
+        return classSubjectRepository
+                .findByTeacherIdAndSessionId(teacher.getId(), exam.getSessionId(), exam.getSchoolId())
+                .stream()
+                .filter(cs -> cs.getSchoolClass().getId().equals(exam.getClassId()))
+                .map(cs -> cs.getSubject().getId())
+                .collect(Collectors.toSet());
+    }
+
+    private CellResult validate(MarkCell cell, ExamSubject subject, Set<Long> assignedSubjectIds) {
+        if (cell.studentId() == null || cell.examSubjectId() == null || cell.marksObtained() == null) {
+            return result(cell, MarkCellStatus.REJECTED, "Student, exam subject and marks are required");
+        }
+        if (subject == null) {
+            return result(cell, MarkCellStatus.REJECTED,
+                    "Invalid ExamSubjectId for this exam: " + cell.examSubjectId());
+        }
+        if (assignedSubjectIds != null && !assignedSubjectIds.contains(subject.getSubjectId())) {
+            return result(cell, MarkCellStatus.SKIPPED, NOT_ASSIGNED);
+        }
+        if (cell.marksObtained() < 0) {
+            return result(cell, MarkCellStatus.REJECTED, "Marks cannot be negative");
+        }
+        if (cell.marksObtained() > subject.getMaxMarks()) {
+            return result(cell, MarkCellStatus.REJECTED,
+                    "Marks exceed maximum marks (" + subject.getMaxMarks() + ")");
+        }
+        return result(cell, MarkCellStatus.SAVED, null);
+    }
+
+    private CellResult result(MarkCell cell, MarkCellStatus status, String message) {
+        return new CellResult(cell.studentId(), cell.examSubjectId(), status, message);
+    }
+}
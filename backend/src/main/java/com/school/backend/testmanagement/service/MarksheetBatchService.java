@@ -0,0 +1,34 @@
+package com.school.backend.testmanagement.service;
+
+import com.school.backend.common.enums.BatchDocumentFormat;
+import com.school.backend.common.pdf.PdfBatchRenderer;
+import com.school.backend.common.pdf.PdfBatchStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.function.ThrowingSupplier;
+
+import java.io.OutputStream;
+
+/**
+ * Class-level marksheet printing through {@link PdfBatchRenderer}.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarksheetBatchService {
+
+    private final MarksheetService marksheetService;
+    private final PdfBatchRenderer pdfBatchRenderer;
+
+    public PdfBatchStats generateExamMarksheets(
+            Long examId,
+            BatchDocumentFormat format,
+            ThrowingSupplier<OutputStream> output) {
+        return pdfBatchRenderer.render(
+                "marksheet",
+                marksheetService.loadExamMarksheets(examId),
+                doc -> "marksheet_" + doc.student().getAdmissionNumber(),
+                marksheetService::renderMarksheet,
+                format,
+                output);
+    }
+}
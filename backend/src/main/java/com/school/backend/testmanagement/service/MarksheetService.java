@@ -13,6 +13,8 @@ import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import com.school.backend.common.exception.ResourceNotFoundException;
+import com.school.backend.core.classsubject.entity.SchoolClass;
+import com.school.backend.core.classsubject.repository.SchoolClassRepository;
 import com.school.backend.core.guardian.entity.Guardian;
 import com.school.backend.core.guardian.repository.GuardianRepository;
 import com.school.backend.core.student.entity.Student;
@@ -27,10 +29,6 @@ import com.school.backend.school.repository.AcademicSessionRepository;
 import com.school.backend.school.repository.SchoolRepository;
 import com.school.backend.testmanagement.dto.MarksheetDto;
 import com.school.backend.testmanagement.entity.Exam;
-import com.school.backend.testmanagement.entity.GradePolicy;
-import com.school.backend.testmanagement.repository.ExamRepository;
-import com.school.backend.testmanagement.repository.GradePolicyRepository;
-import com.school.backend.testmanagement.repository.MarksheetQueryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,29 +36,43 @@ import org.springframework.transaction.annotation.Transactional;
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MarksheetService {
-
-    private final MarksheetQueryRepository queryRepo;
-    private final ExamRepository examRepository;
-    private final GradePolicyRepository gradeRepo;
+    private static final Font SCHOOL_NAME_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+    private static final Font ADDRESS_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private static final Font EXAM_NAME_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11);
+    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font HEAD_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, Color.WHITE);
+    private static final Font CELL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font BOLD_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font PASS_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, Color.GREEN);
+    private static final Font FAIL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, Color.RED);
+    private static final Font SIGN_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+
+    private final ExamResultService examResultService;
     private final StudentRepository studentRepository;
     private final SchoolRepository schoolRepository;
     private final StudentEnrollmentRepository enrollmentRepository;
     private final StudentGuardianRepository studentGuardianRepository;
     private final GuardianRepository guardianRepository;
     private final AcademicSessionRepository sessionRepository;
+    private final SchoolClassRepository schoolClassRepository;
 
     @Transactional(readOnly = true)
     public byte[] generatePdf(Long examId, Long studentId) {
-        MarksheetDto data = generate(examId, studentId);
-
-        Exam exam = examRepository.findById(examId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exam not found"));
+        Exam exam = examResultService.loadPublishedExam(examId);
+        MarksheetDto data = examResultService.computeResults(exam).marksheetFor(studentId);
 
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
@@ -71,25 +83,102 @@ public class MarksheetService {
         AcademicSession session = sessionRepository.findById(exam.getSessionId())
                 .orElse(AcademicSession.builder().name("").build());
 
+        // Fetch roll number from enrollment
+        Optional<StudentEnrollment> enrollment = enrollmentRepository
+                .findByStudentIdAndSessionId(student.getId(), exam.getSessionId()).stream().findFirst();
+
+        // Fetch father's name (Primary Guardian)
+        String fatherName = "N/A";
+        List<StudentGuardian> studentGuardians = studentGuardianRepository.findByStudentId(student.getId());
+        for (StudentGuardian sg : studentGuardians) {
+            if (sg.isPrimaryGuardian()) {
+                Guardian g = guardianRepository.findById(sg.getGuardianId()).orElse(null);
+                if (g != null) {
+                    fatherName = g.getName();
+                    break;
+                }
+            }
+        }
+
+        String className = student.getCurrentClass() != null
+                ? student.getCurrentClass().getName() + " - "
+                        + enrollment.map(StudentEnrollment::getSection).orElse("A")
+                : "N/A";
+
+        return renderMarksheet(new MarksheetDocument(school, exam, session.getName(), student,
+                rollNumber(enrollment.orElse(null)), className, fatherName, data));
+    }
+
+    /**
+     * Loads the marksheets of every student enrolled in the exam's class, in
+     * roll-number order, with a fixed number of queries: the results are
+     * computed for the whole exam at once and students and guardians are read
+     * in bulk.
+     */
+    @Transactional(readOnly = true)
+    public List<MarksheetDocument> loadExamMarksheets(Long examId) {
+        Exam exam = examResultService.loadPublishedExam(examId);
+        ExamResultService.ExamResults results = examResultService.computeResults(exam);
+
+        School school = schoolRepository.findById(exam.getSchoolId())
+                .orElseThrow(() -> new ResourceNotFoundException("School not found"));
+        String sessionName = sessionRepository.findById(exam.getSessionId())
+                .map(AcademicSession::getName)
+                .orElse("");
+        String className = schoolClassRepository.findById(exam.getClassId())
+                .map(SchoolClass::getName)
+                .orElse("N/A");
+
+        Map<Long, StudentEnrollment> enrollmentByStudent = new LinkedHashMap<>();
+        results.roster().forEach(e -> enrollmentByStudent.putIfAbsent(e.getStudentId(), e));
+        List<Long> studentIds = List.copyOf(enrollmentByStudent.keySet());
+        if (studentIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, String> guardianNames = loadPrimaryGuardianNames(studentIds);
+
+        List<MarksheetDocument> documents = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            Student student = students.get(studentId);
+            if (student == null) {
+                continue;
+            }
+            StudentEnrollment enrollment = enrollmentByStudent.get(studentId);
+            String section = enrollment.getSection() != null ? enrollment.getSection() : "A";
+
+            documents.add(new MarksheetDocument(school, exam, sessionName, student, rollNumber(enrollment),
+                    className + " - " + section, guardianNames.getOrDefault(studentId, "N/A"),
+                    results.marksheetFor(studentId)));
+        }
+        return documents;
+    }
+
+    /**
+     * Renders one marksheet from preloaded data, without touching repositories.
+     */
+    public byte[] renderMarksheet(MarksheetDocument doc) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             Document document = new Document(PageSize.A4);
             PdfWriter.getInstance(document, out);
             document.open();
 
             // 1. Header
-            addSchoolHeader(document, school);
+            addSchoolHeader(document, doc.school());
 
             // 2. Marksheet Title
-            addTitle(document, exam, session.getName());
+            addTitle(document, doc.exam(), doc.sessionName());
 
             // 3. Student Details
-            addStudentDetails(document, student, exam);
+            addStudentDetails(document, doc);
 
             // 4. Marks Table
-            addMarksTable(document, data);
+            addMarksTable(document, doc.data());
 
             // 5. Result Summary
-            addResultSummary(document, data);
+            addResultSummary(document, doc.data());
 
             // 6. Footer (Signatures)
             addFooter(document);
@@ -101,21 +190,55 @@ public class MarksheetService {
         }
     }
 
+    public record MarksheetDocument(
+            School school,
+            Exam exam,
+            String sessionName,
+            Student student,
+            String rollNumber,
+            String className,
+            String fatherName,
+            MarksheetDto data) {
+    }
+
+    private Map<Long, String> loadPrimaryGuardianNames(List<Long> studentIds) {
+        List<StudentGuardian> links = studentGuardianRepository.findByStudentIdInAndPrimaryGuardianTrue(studentIds);
+        if (links.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> namesById = guardianRepository
+                .findAllById(links.stream().map(StudentGuardian::getGuardianId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Guardian::getId, Guardian::getName));
+        Map<Long, String> namesByStudent = new HashMap<>();
+        for (StudentGuardian link : links) {
+            String name = namesById.get(link.getGuardianId());
+            if (name != null) {
+                namesByStudent.putIfAbsent(link.getStudentId(), name);
+            }
+        }
+        return namesByStudent;
+    }
+
+    private String rollNumber(StudentEnrollment enrollment) {
+        return enrollment != null && enrollment.getRollNumber() != null
+                ? enrollment.getRollNumber().toString()
+                : "N/A";
+    }
+
     private void addSchoolHeader(Document document, School school) throws DocumentException {
-        Font schoolNameFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
         Paragraph schoolName = new Paragraph(
-                school.getDisplayName() != null ? school.getDisplayName() : school.getName(), schoolNameFont);
+                school.getDisplayName() != null ? school.getDisplayName() : school.getName(), SCHOOL_NAME_FONT);
         schoolName.setAlignment(Element.ALIGN_CENTER);
         document.add(schoolName);
 
-        Font addressFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
         String addr = String.format("%s, %s, %s", school.getAddress(), school.getCity(), school.getState());
-        Paragraph address = new Paragraph(addr, addressFont);
+        Paragraph address = new Paragraph(addr, ADDRESS_FONT);
         address.setAlignment(Element.ALIGN_CENTER);
         document.add(address);
 
         if (school.getAffiliationCode() != null) {
-            Paragraph affLine = new Paragraph("Affiliation No: " + school.getAffiliationCode(), addressFont);
+            Paragraph affLine = new Paragraph("Affiliation No: " + school.getAffiliationCode(), ADDRESS_FONT);
             affLine.setAlignment(Element.ALIGN_CENTER);
             document.add(affLine);
         }
@@ -124,59 +247,32 @@ public class MarksheetService {
     }
 
     private void addTitle(Document document, Exam exam, String sessionName) throws DocumentException {
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
-        Paragraph title = new Paragraph("REPORT CARD / MARKSHEET", titleFont);
+        Paragraph title = new Paragraph("REPORT CARD / MARKSHEET", TITLE_FONT);
         title.setAlignment(Element.ALIGN_CENTER);
         document.add(title);
 
-        Paragraph examName = new Paragraph(exam.getName() + " - " + sessionName,
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11));
+        Paragraph examName = new Paragraph(exam.getName() + " - " + sessionName, EXAM_NAME_FONT);
         examName.setAlignment(Element.ALIGN_CENTER);
         document.add(examName);
 
         document.add(new Paragraph(" "));
     }
 
-    private void addStudentDetails(Document document, Student student, Exam exam) throws DocumentException {
+    private void addStudentDetails(Document document, MarksheetDocument doc) throws DocumentException {
         PdfPTable table = new PdfPTable(2);
         table.setWidthPercentage(100);
         table.setSpacingBefore(10f);
 
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-
-        // Fetch roll number from enrollment
-        Optional<StudentEnrollment> enrollment = enrollmentRepository
-                .findByStudentIdAndSessionId(student.getId(), exam.getSessionId()).stream().findFirst();
-        String rollNo = enrollment.map(e -> e.getRollNumber() != null ? e.getRollNumber().toString() : "N/A")
-                .orElse("N/A");
-        String section = enrollment.map(StudentEnrollment::getSection).orElse("A");
-
-        // Fetch father's name (Primary Guardian)
-        String fatherName = "N/A";
-        List<StudentGuardian> studentGuardians = studentGuardianRepository.findByStudentId(student.getId());
-        for (StudentGuardian sg : studentGuardians) {
-            if (sg.isPrimaryGuardian()) {
-                Guardian g = guardianRepository.findById(sg.getGuardianId()).orElse(null);
-                if (g != null) {
-                    fatherName = g.getName();
-                    break;
-                }
-            }
-        }
-
-        String className = student.getCurrentClass() != null ? student.getCurrentClass().getName() + " - " + section
-                : "N/A";
-
+        Student student = doc.student();
         addStudentDetailRow(table, "Student Name:",
-                student.getFirstName() + " " + (student.getLastName() != null ? student.getLastName() : ""), labelFont,
-                valueFont);
-        addStudentDetailRow(table, "Admission No:", student.getAdmissionNumber(), labelFont, valueFont);
-        addStudentDetailRow(table, "Father's Name:", fatherName, labelFont, valueFont);
-        addStudentDetailRow(table, "Roll No:", rollNo, labelFont, valueFont);
-        addStudentDetailRow(table, "Class:", className, labelFont, valueFont);
+                student.getFirstName() + " " + (student.getLastName() != null ? student.getLastName() : ""), LABEL_FONT,
+                VALUE_FONT);
+        addStudentDetailRow(table, "Admission No:", student.getAdmissionNumber(), LABEL_FONT, VALUE_FONT);
+        addStudentDetailRow(table, "Father's Name:", doc.fatherName(), LABEL_FONT, VALUE_FONT);
+        addStudentDetailRow(table, "Roll No:", doc.rollNumber(), LABEL_FONT, VALUE_FONT);
+        addStudentDetailRow(table, "Class:", doc.className(), LABEL_FONT, VALUE_FONT);
         addStudentDetailRow(table, "Date of Birth:", student.getDob() != null ? student.getDob().toString() : "N/A",
-                labelFont, valueFont);
+                LABEL_FONT, VALUE_FONT);
 
         document.add(table);
         document.add(new Paragraph(" "));
@@ -197,22 +293,20 @@ public class MarksheetService {
         table.setWidthPercentage(100);
         table.setWidths(new float[] { 3f, 1f, 1f, 1f });
 
-        Font headFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, Color.WHITE);
         Color headerColor = new Color(52, 73, 94);
 
-        addTableCell(table, "Subject", headFont, headerColor, Element.ALIGN_CENTER);
-        addTableCell(table, "Max Marks", headFont, headerColor, Element.ALIGN_CENTER);
-        addTableCell(table, "Marks Obtained", headFont, headerColor, Element.ALIGN_CENTER);
-        addTableCell(table, "Grade", headFont, headerColor, Element.ALIGN_CENTER);
+        addTableCell(table, "Subject", HEAD_FONT, headerColor, Element.ALIGN_CENTER);
+        addTableCell(table, "Max Marks", HEAD_FONT, headerColor, Element.ALIGN_CENTER);
+        addTableCell(table, "Marks Obtained", HEAD_FONT, headerColor, Element.ALIGN_CENTER);
+        addTableCell(table, "Grade", HEAD_FONT, headerColor, Element.ALIGN_CENTER);
 
-        Font cellFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
         for (MarksheetDto.SubjectMark sm : data.getSubjects()) {
-            addTableCell(table, sm.getSubjectName(), cellFont, null, Element.ALIGN_LEFT);
-            addTableCell(table, sm.getMaxMarks().toString(), cellFont, null, Element.ALIGN_CENTER);
-            addTableCell(table, sm.getMarksObtained().toString(), cellFont, null, Element.ALIGN_CENTER);
+            addTableCell(table, sm.getSubjectName(), CELL_FONT, null, Element.ALIGN_LEFT);
+            addTableCell(table, sm.getMaxMarks().toString(), CELL_FONT, null, Element.ALIGN_CENTER);
+            addTableCell(table, sm.getMarksObtained().toString(), CELL_FONT, null, Element.ALIGN_CENTER);
 
             double p = (sm.getMarksObtained() * 100.0) / sm.getMaxMarks();
-            addTableCell(table, calcGrade(p), cellFont, null, Element.ALIGN_CENTER);
+            addTableCell(table, GradeBands.defaultGrade(p), CELL_FONT, null, Element.ALIGN_CENTER);
         }
 
         document.add(table);
@@ -233,20 +327,22 @@ public class MarksheetService {
         table.setWidthPercentage(40);
         table.setHorizontalAlignment(Element.ALIGN_RIGHT);
 
-        Font bold = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
-
-        table.addCell(new Phrase("Grand Total:", bold));
+        table.addCell(new Phrase("Grand Total:", BOLD_FONT));
         table.addCell(new Phrase(data.getTotalMarks() + " / " + data.getMaxMarks()));
 
-        table.addCell(new Phrase("Percentage:", bold));
+        table.addCell(new Phrase("Percentage:", BOLD_FONT));
         table.addCell(new Phrase(data.getPercentage() + "%"));
 
-        table.addCell(new Phrase("Grade:", bold));
+        table.addCell(new Phrase("Grade:", BOLD_FONT));
         table.addCell(new Phrase(data.getGrade()));
 
-        table.addCell(new Phrase("Result:", bold));
-        table.addCell(new Phrase(data.isPassed() ? "PASS" : "FAIL",
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, data.isPassed() ? Color.GREEN : Color.RED)));
+        if (data.getRank() != null) {
+            table.addCell(new Phrase("Rank in Class:", BOLD_FONT));
+            table.addCell(new Phrase(data.getRank().toString()));
+        }
+
+        table.addCell(new Phrase("Result:", BOLD_FONT));
+        table.addCell(new Phrase(data.isPassed() ? "PASS" : "FAIL", data.isPassed() ? PASS_FONT : FAIL_FONT));
 
         document.add(table);
         document.add(new Paragraph(" "));
@@ -260,14 +356,12 @@ public class MarksheetService {
         PdfPTable table = new PdfPTable(2);
         table.setWidthPercentage(100);
 
-        Font signFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-
-        PdfPCell c1 = new PdfPCell(new Phrase("Class Teacher's Signature", signFont));
+        PdfPCell c1 = new PdfPCell(new Phrase("Class Teacher's Signature", SIGN_FONT));
         c1.setBorder(Rectangle.NO_BORDER);
         c1.setHorizontalAlignment(Element.ALIGN_LEFT);
         table.addCell(c1);
 
-        PdfPCell c2 = new PdfPCell(new Phrase("Principal's Signature", signFont));
+        PdfPCell c2 = new PdfPCell(new Phrase("Principal's Signature", SIGN_FONT));
         c2.setBorder(Rectangle.NO_BORDER);
         c2.setHorizontalAlignment(Element.ALIGN_RIGHT);
         table.addCell(c2);
@@ -275,108 +369,13 @@ public class MarksheetService {
         document.add(table);
     }
 
+    /**
+     * Marksheet of one student, taken from the exam-wide result computation so
+     * that it carries the student's rank in the class.
+     */
     @Transactional(readOnly = true)
     public MarksheetDto generate(Long examId, Long studentId) {
-
-        Exam exam = examRepository.findById(examId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exam not found"));
-
-        if (exam.getStatus() == com.school.backend.common.enums.ExamStatus.DRAFT) {
-            throw new com.school.backend.common.exception.BusinessException(
-                    "Marksheet cannot be generated for DRAFT exams.");
-        }
-
-        List<Object[]> rows = queryRepo.fetchStudentMarks(examId, studentId);
-
-        if (rows.isEmpty()) {
-            throw new ResourceNotFoundException("No subjects found for exam");
-        }
-
-        int total = 0;
-        int max = 0;
-
-        List<MarksheetDto.SubjectMark> subjects = new ArrayList<>();
-
-        for (Object[] r : rows) {
-
-            Long subjectId = (Long) r[0];
-            String subjectName = (String) r[1];
-            Integer maxMarks = (Integer) r[2];
-            Integer obtained = (Integer) r[3];
-
-            if (obtained == null) {
-                obtained = 0;
-            }
-
-            total += obtained;
-            max += maxMarks;
-
-            MarksheetDto.SubjectMark sm = new MarksheetDto.SubjectMark();
-
-            sm.setSubjectId(subjectId);
-            sm.setSubjectName(subjectName);
-            sm.setMaxMarks(maxMarks);
-            sm.setMarksObtained(obtained);
-
-            subjects.add(sm);
-        }
-
-        double percent = max == 0 ? 0 : (total * 100.0) / max;
-
-        MarksheetDto dto = new MarksheetDto();
-
-        dto.setStudentId(studentId);
-        dto.setExamId(examId);
-
-        dto.setTotalMarks(total);
-        dto.setMaxMarks(max);
-
-        dto.setPercentage(round(percent));
-
-        dto.setPassed(percent >= 33.0);
-
-        dto.setGrade(resolveGrade(exam.getSchoolId(), percent));
-
-        dto.setSubjects(subjects);
-
-        return dto;
-    }
-
-    private String resolveGrade(Long schoolId, double percent) {
-
-        List<GradePolicy> policies = gradeRepo.findBySchoolIdOrderByMinPercentDesc(schoolId);
-
-        for (GradePolicy gp : policies) {
-
-            if (percent >= gp.getMinPercent()
-                    && percent <= gp.getMaxPercent()) {
-
-                return gp.getGrade();
-            }
-        }
-
-        return calcGrade(percent); // fallback
-    }
-
-    private String calcGrade(double p) {
-
-        if (p >= 90)
-            return "A+";
-        if (p >= 80)
-            return "A";
-        if (p >= 70)
-            return "B+";
-        if (p >= 60)
-            return "B";
-        if (p >= 50)
-            return "C";
-        if (p >= 33)
-            return "D";
-
-        return "F";
-    }
-
-    private double round(double v) {
-        return Math.round(v * 100.0) / 100.0;
+        Exam exam = examResultService.loadPublishedExam(examId);
+        return examResultService.computeResults(exam).marksheetFor(studentId);
     }
 }
@@ -24,6 +24,11 @@ public interface TransportEnrollmentRepository extends JpaRepository<TransportEn
 
     List<TransportEnrollment> findByStudentIdInAndSessionIdAndActiveTrue(Collection<Long> studentIds, Long sessionId);
 
+    List<TransportEnrollment> findByStudentIdInAndSessionIdInAndSchoolIdAndActiveTrue(
+            Collection<Long> studentIds,
+            Collection<Long> sessionIds,
+            Long schoolId);
+
     List<TransportEnrollment> findByPickupPointRouteId(Long routeId);
 
     @Modifying
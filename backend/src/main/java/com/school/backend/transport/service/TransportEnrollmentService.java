@@ -1,5 +1,6 @@
 package com.school.backend.transport.service;
 
+import com.school.backend.common.enums.DashboardCounterType;
 import com.school.backend.common.exception.InvalidOperationException;
 import com.school.backend.common.exception.ResourceNotFoundException;
 import com.school.backend.common.tenant.SessionContext;
@@ -12,6 +13,8 @@ import com.school.backend.fee.entity.StudentFeeAssignment;
 import com.school.backend.fee.repository.FeeStructureRepository;
 import com.school.backend.fee.repository.FeeTypeRepository;
 import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
+import com.school.backend.fee.service.DefaulterIndexService;
+import com.school.backend.platform.dashboard.DashboardCounterService;
 import com.school.backend.transport.dto.TransportEnrollmentDto;
 import com.school.backend.transport.entity.PickupPoint;
 import com.school.backend.transport.entity.TransportEnrollment;
@@ -54,6 +57,8 @@ public class TransportEnrollmentService {
     private final FeeTypeRepository feeTypeRepository;
     private final FeeStructureRepository feeStructureRepository;
     private final StudentFeeAssignmentRepository assignmentRepository;
+    private final DefaulterIndexService defaulterIndexService;
+    private final DashboardCounterService dashboardCounterService;
 
     /**
      * Enrolls a student in transport for a session.
@@ -194,7 +199,12 @@ public class TransportEnrollmentService {
         }
 
         // 3. Save enrollment
+        boolean newEnrollment = enrollment.getId() == null;
         enrollment = enrollmentRepository.save(enrollment);
+        if (newEnrollment) {
+            dashboardCounterService.addSession(schoolId, dto.getSessionId(),
+                    DashboardCounterType.TRANSPORT_ENROLLMENTS, 1);
+        }
 
         log.info("Transport enrollment completed for student {}", dto.getStudentId());
         return mapToDto(enrollment);
@@ -299,6 +309,7 @@ public class TransportEnrollmentService {
                         studentId, structure.getId(), sessionId, schoolId)).ifPresent(assignment -> {
             assignment.setActive(false);
             assignmentRepository.save(assignment);
+            defaulterIndexService.refreshStudent(schoolId, sessionId, studentId);
             log.debug("Deactivated transport fee assignment for student {}", studentId);
         });
     }
@@ -350,6 +361,7 @@ public class TransportEnrollmentService {
                 // Reactivate if was deactivated
                 assignment.setActive(true);
                 assignmentRepository.save(assignment);
+                defaulterIndexService.refreshStudent(schoolId, sessionId, student.getId());
                 log.debug("Reactivated transport fee assignment for student {}", student.getId());
             } else {
                 log.debug("Transport fee already assigned to student {}", student.getId());
@@ -368,6 +380,7 @@ public class TransportEnrollmentService {
                     .schoolId(schoolId)
                     .build();
             assignmentRepository.save(assignment);
+            defaulterIndexService.refreshStudent(schoolId, sessionId, student.getId());
 
             log.info("Assigned transport fee of ₹{} to student {}", finalAmount, student.getId());
         }
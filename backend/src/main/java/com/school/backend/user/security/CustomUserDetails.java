@@ -8,50 +8,66 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.List;
 
+/**
+ * Immutable snapshot of the authenticated user. It holds no entity reference,
+ * so instances can be cached across requests by {@link PrincipalCache}.
+ */
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final Long userId;
+    private final Long schoolId;
+    private final UserRole role;
+    private final String email;
+    private final boolean active;
+    private final List<GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
-        this.user = user;
+        this.userId = user.getId();
+        this.schoolId = user.getSchool() != null
+            ? user.getSchool().getId()
+            : null;
+        this.role = user.getRole();
+        this.email = user.getEmail();
+        this.active = user.isActive();
+        this.authorities = List.of(
+            new SimpleGrantedAuthority(
+                "ROLE_" + user.getRole().name()
+            )
+        );
     }
 
     public Long getUserId() {
-        return user.getId();
+        return userId;
     }
 
     public Long getSchoolId() {
-        return user.getSchool() != null
-            ? user.getSchool().getId()
-            : null;
+        return schoolId;
     }
 
     public UserRole getRole() {
-        return user.getRole();
+        return role;
     }
 
     @Override
     public List<GrantedAuthority> getAuthorities() {
-
-        return List.of(
-            new SimpleGrantedAuthority(
-                "ROLE_" + user.getRole().name()
-            )
-        );
+        return authorities;
     }
 
+    /**
+     * Token-authenticated principals never carry the password hash.
+     */
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return null;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
     public boolean isEnabled() {
-        return user.isActive();
+        return active;
     }
 }
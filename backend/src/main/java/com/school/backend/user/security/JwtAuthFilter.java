@@ -3,8 +3,6 @@ package com.school.backend.user.security;
 import com.school.backend.common.tenant.TenantContext;
 import com.school.backend.common.tenant.SessionContext;
 import com.school.backend.common.tenant.SessionResolver;
-import com.school.backend.user.entity.User;
-import com.school.backend.user.repository.UserRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -23,12 +21,12 @@ import java.io.IOException;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
     private final SessionResolver sessionResolver;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserRepository userRepository, SessionResolver sessionResolver) {
+    public JwtAuthFilter(JwtUtil jwtUtil, PrincipalCache principalCache, SessionResolver sessionResolver) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
         this.sessionResolver = sessionResolver;
     }
 
@@ -73,13 +71,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
                 String email = claims.getSubject();
 
-                User user = userRepository
-                        .findByEmailAndActiveTrue(email)
+                CustomUserDetails details = principalCache
+                        .resolve(email, claims.get("userId", Long.class))
                         .orElse(null);
 
-                if (user != null) {
-                    CustomUserDetails details = new CustomUserDetails(user);
-
+                if (details != null) {
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(details, null,
                             details.getAuthorities());
 
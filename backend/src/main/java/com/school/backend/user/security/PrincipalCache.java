@@ -0,0 +1,61 @@
+package com.school.backend.user.security;
+
+import com.school.backend.common.cache.TtlCache;
+import com.school.backend.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caches the {@link CustomUserDetails} built for a token subject so that
+ * {@link JwtAuthFilter} does not load the user row on every request.
+ * <p>
+ * Only active users are cached. {@code UserService} evicts a user on update or
+ * delete, so deactivation takes effect on the next request; the TTL bounds
+ * staleness for changes made outside the service layer.
+ */
+@Component
+public class PrincipalCache {
+
+    private final TtlCache<String, CustomUserDetails> principals;
+    private final UserRepository userRepository;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            Clock clock,
+            @Value("${auth.principal-cache.ttl:PT5M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.principals = new TtlCache<>(clock, ttl);
+    }
+
+    /**
+     * @param email  token subject
+     * @param userId {@code userId} claim of the token; when present it must match
+     *               the current user with that email, which rejects tokens issued
+     *               to a deleted account whose email was reused
+     */
+    public Optional<CustomUserDetails> resolve(String email, Long userId) {
+        CustomUserDetails principal = principals.get(email, this::load);
+        if (principal != null && userId != null && !userId.equals(principal.getUserId())) {
+            principals.invalidate(email);
+            principal = principals.get(email, this::load);
+        }
+        if (principal == null || (userId != null && !userId.equals(principal.getUserId()))) {
+            return Optional.empty();
+        }
+        return Optional.of(principal);
+    }
+
+    public void invalidate(String email) {
+        principals.invalidate(email);
+    }
+
+    private CustomUserDetails load(String email) {
+        return userRepository.findByEmailAndActiveTrue(email)
+                .map(CustomUserDetails::new)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.school.backend.user.service;
+
+import com.school.backend.common.cache.TtlCache;
+import com.school.backend.user.entity.User;
+import com.school.backend.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Cache of user full names for audit columns such as "created by", so
+ * rendering a row does not load the user entity. {@link UserService} evicts a
+ * user when it is updated or deleted.
+ * <p>
+ * Entries are keyed by user id alone: the lookup goes through
+ * {@code findById}, which the tenant filter does not restrict, so a name
+ * does not depend on the tenant it was read under.
+ */
+@Component
+public class UserDisplayNameCache {
+
+    private final TtlCache<Long, String> names;
+    private final UserRepository userRepository;
+
+    public UserDisplayNameCache(
+            UserRepository userRepository,
+            Clock clock,
+            @Value("${users.display-name-cache.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.names = new TtlCache<>(clock, ttl);
+    }
+
+    /**
+     * @return the user's full name, or {@code null} for an unknown user
+     */
+    public String get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return names.get(userId, id -> userRepository.findById(id).map(User::getFullName).orElse(null));
+    }
+
+    public void invalidate(User user) {
+        names.invalidate(user.getId());
+    }
+}
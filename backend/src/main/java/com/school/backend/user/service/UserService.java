@@ -11,6 +11,7 @@ import com.school.backend.school.repository.SchoolRepository;
 import com.school.backend.user.dto.UserDto;
 import com.school.backend.user.entity.User;
 import com.school.backend.user.repository.UserRepository;
+import com.school.backend.user.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +28,8 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final TeacherRepository teacherRepository;
     private final ClassSubjectService classSubjectService;
+    private final PrincipalCache principalCache;
+    private final UserDisplayNameCache userDisplayNameCache;
 
     @Transactional(readOnly = true)
     public Page<UserDto> listUsers(String role, Pageable pageable) {
@@ -80,6 +83,7 @@ public class UserService {
         // Wait, repository.findById respects filters? YES, Hibernate filters apply to
         // finds too if enabled.
 
+        principalCache.invalidate(user.getEmail());
         user.setFullName(dto.getFullName());
         user.setEmail(dto.getEmail());
         if (dto.getPassword() != null && !dto.getPassword().isEmpty()) {
@@ -109,7 +113,10 @@ public class UserService {
                     });
         }
 
-        return toDto(userRepository.save(user));
+        User saved = userRepository.save(user);
+        principalCache.invalidate(saved.getEmail());
+        userDisplayNameCache.invalidate(saved);
+        return toDto(saved);
     }
 
     @Transactional
@@ -118,6 +125,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         userRepository.delete(user);
+        principalCache.invalidate(user.getEmail());
+        userDisplayNameCache.invalidate(user);
     }
 
     private UserDto toDto(User user) {
@@ -0,0 +1,8 @@
+ALTER TABLE subscription_events DROP CONSTRAINT chk_subscription_event_type;
+
+ALTER TABLE subscription_events ADD CONSTRAINT chk_subscription_event_type
+    CHECK (type IN ('TRIAL_EXTENDED','SUBSCRIPTION_EXTENDED','PLAN_UPGRADED','MANUAL_SUSPENDED','MANUAL_REACTIVATED',
+                    'AUTO_PAST_DUE','AUTO_SUSPENDED'));
+
+-- Events of the daily lifecycle transition have no acting user
+ALTER TABLE subscription_events ALTER COLUMN performed_by_user_id DROP NOT NULL;
@@ -1,5 +1,7 @@
 package com.school.backend.common;
 
+import com.school.backend.common.sequence.DocumentSequenceRepository;
+import com.school.backend.core.attendance.repository.AttendanceDailyRollupRepository;
 import com.school.backend.core.attendance.repository.AttendanceRepository;
 import com.school.backend.core.classsubject.repository.ClassSubjectRepository;
 import com.school.backend.core.classsubject.repository.SchoolClassRepository;
@@ -12,13 +14,18 @@ import com.school.backend.core.teacher.repository.TeacherRepository;
 import com.school.backend.expense.repository.ExpenseHeadRepository;
 import com.school.backend.expense.repository.ExpenseVoucherRepository;
 import com.school.backend.finance.repository.DayClosingRepository;
+import com.school.backend.finance.repository.FinanceDailyRollupRepository;
+import com.school.backend.finance.repository.FinanceRollupCoverageRepository;
 import com.school.backend.finance.repository.FinanceAccountTransferRepository;
+import com.school.backend.fee.repository.FeeDefaulterEntryRepository;
 import com.school.backend.fee.repository.FeePaymentRepository;
 import com.school.backend.fee.repository.FeePaymentAllocationRepository;
+import com.school.backend.fee.repository.LateFeeAccrualCheckpointRepository;
 import com.school.backend.fee.repository.LateFeePolicyRepository;
 import com.school.backend.fee.repository.FeeStructureRepository;
 import com.school.backend.fee.repository.FeeTypeRepository;
 import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
+import com.school.backend.platform.dashboard.repository.DashboardCounterRepository;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.entity.School;
 import com.school.backend.school.repository.AcademicSessionRepository;
@@ -66,6 +73,8 @@ public abstract class BaseAuthenticatedIntegrationTest {
     @Autowired
     protected AttendanceRepository attendanceRepository;
     @Autowired
+    protected AttendanceDailyRollupRepository attendanceDailyRollupRepository;
+    @Autowired
     protected GuardianRepository guardianRepository;
     @Autowired
     protected StudentGuardianRepository studentGuardianRepository;
@@ -95,6 +104,18 @@ public abstract class BaseAuthenticatedIntegrationTest {
     protected FinanceAccountTransferRepository financeAccountTransferRepository;
     @Autowired
     protected DayClosingRepository dayClosingRepository;
+    @Autowired
+    protected FinanceDailyRollupRepository financeDailyRollupRepository;
+    @Autowired
+    protected FinanceRollupCoverageRepository financeRollupCoverageRepository;
+    @Autowired
+    protected DocumentSequenceRepository documentSequenceRepository;
+    @Autowired
+    protected FeeDefaulterEntryRepository feeDefaulterEntryRepository;
+    @Autowired
+    protected LateFeeAccrualCheckpointRepository lateFeeAccrualCheckpointRepository;
+    @Autowired
+    protected DashboardCounterRepository dashboardCounterRepository;
 
     protected String token;
     protected HttpHeaders headers;
@@ -141,14 +162,21 @@ public abstract class BaseAuthenticatedIntegrationTest {
         pickupPointRepository.deleteAll();
         transportRouteRepository.deleteAll();
         attendanceRepository.deleteAll();
+        attendanceDailyRollupRepository.deleteAll();
         promotionRecordRepository.deleteAll();
         studentEnrollmentRepository.deleteAll();
         studentGuardianRepository.deleteAll();
         guardianRepository.deleteAll();
         dayClosingRepository.deleteAll();
+        financeDailyRollupRepository.deleteAll();
+        financeRollupCoverageRepository.deleteAll();
+        documentSequenceRepository.deleteAll();
         financeAccountTransferRepository.deleteAll();
         expenseVoucherRepository.deleteAll();
         expenseHeadRepository.deleteAll();
+        feeDefaulterEntryRepository.deleteAll();
+        lateFeeAccrualCheckpointRepository.deleteAll();
+        dashboardCounterRepository.deleteAll();
         feePaymentAllocationRepository.deleteAll();
         feePaymentRepository.deleteAll();
         assignmentRepository.deleteAll();
@@ -0,0 +1,96 @@
+package com.school.backend.common.metrics;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.school.entity.School;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryMetricsIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void measure_counts_statements_and_entity_loads_of_the_work() {
+        schoolRepository.save(School.builder().name("Metrics School").schoolCode("QMI-001").active(true).build());
+
+        QueryStats.Snapshot stats = QueryStats.measure(() -> schoolRepository.findAll());
+
+        assertThat(stats.statements()).isEqualTo(1);
+        assertThat(stats.entityLoads()).isEqualTo(schoolRepository.count());
+        assertThat(QueryStats.current()).isNull();
+    }
+
+    @Test
+    void measure_counts_jdbc_template_statements() {
+        QueryStats.Snapshot stats = QueryStats.measure(() -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schools", Long.class);
+            jdbcTemplate.batchUpdate("UPDATE schools SET active = active WHERE id = ?",
+                    List.of(new Object[] { -1L }, new Object[] { -2L }));
+        });
+
+        assertThat(stats.statements()).isEqualTo(2);
+        assertThat(stats.entityLoads()).isZero();
+    }
+
+    @Test
+    void requests_and_service_methods_are_published_per_route() {
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "Route Metrics School", "displayName", "RMS", "board", "CBSE",
+                        "schoolCode", "QMI-002"), headers),
+                School.class);
+        Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+        setSessionHeader(setupSession(schoolId, sessionRepository, schoolRepository));
+
+        long routeBefore = count("db.request.statements", "uri", "/api/students/mine");
+        long serviceBefore = count("db.service.statements", "method", "listBySchool");
+
+        ResponseEntity<Map> resp = restTemplate.exchange("/api/students/mine", HttpMethod.GET,
+                new HttpEntity<>(headers), Map.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        DistributionSummary route = meterRegistry.get("db.request.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/students/mine")
+                .summary();
+        assertThat(route.count()).isEqualTo(routeBefore + 1);
+        assertThat(route.max()).isPositive();
+
+        DistributionSummary service = meterRegistry.get("db.service.statements")
+                .tag("service", "StudentService")
+                .tag("method", "listBySchool")
+                .summary();
+        assertThat(service.count()).isEqualTo(serviceBefore + 1);
+        assertThat(service.max()).isPositive();
+        assertThat(meterRegistry.get("db.request.time").tag("uri", "/api/students/mine").timer().count())
+                .isEqualTo(routeBefore + 1);
+    }
+
+    private long count(String name, String tag, String value) {
+        DistributionSummary summary = meterRegistry.find(name).tag(tag, value).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    @AfterEach
+    void cleanup() {
+        fullCleanup();
+    }
+}
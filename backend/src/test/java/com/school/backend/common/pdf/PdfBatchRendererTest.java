@@ -0,0 +1,114 @@
+package com.school.backend.common.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.PdfWriter;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import com.school.backend.common.enums.BatchDocumentFormat;
+import com.school.backend.common.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfBatchRendererTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PdfBatchRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        renderer = new PdfBatchRenderer(meterRegistry, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderer.shutdown();
+    }
+
+    @Test
+    void merged_pdf_keeps_input_order_across_the_render_window() throws Exception {
+        List<Integer> items = IntStream.rangeClosed(1, 20).boxed().toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PdfBatchStats stats = renderer.render("test", items, i -> "doc_" + i, this::renderPage,
+                BatchDocumentFormat.PDF, () -> out);
+
+        assertThat(stats.documents()).isEqualTo(20);
+        assertThat(stats.pages()).isEqualTo(20);
+        PdfReader reader = new PdfReader(out.toByteArray());
+        assertThat(reader.getNumberOfPages()).isEqualTo(20);
+        PdfTextExtractor extractor = new PdfTextExtractor(reader);
+        for (int page = 1; page <= 20; page++) {
+            assertThat(extractor.getTextFromPage(page)).contains("Document " + page);
+        }
+        reader.close();
+        assertThat(meterRegistry.get("pdf.batch.throughput").tag("type", "test").summary().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void zip_contains_one_entry_per_document_with_unique_names() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        renderer.render("test", List.of(1, 2, 3), i -> i == 3 ? "doc/1" : "doc/" + i, this::renderPage,
+                BatchDocumentFormat.ZIP, () -> out);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        assertThat(names).containsExactly("doc_1.pdf", "doc_2.pdf", "doc_1_2.pdf");
+    }
+
+    @Test
+    void failure_before_first_document_does_not_open_output() {
+        List<Boolean> opened = new ArrayList<>();
+
+        assertThatThrownBy(() -> renderer.render("test", List.of(1, 2), String::valueOf, i -> {
+            throw new IllegalArgumentException("boom " + i);
+        }, BatchDocumentFormat.PDF, () -> {
+            opened.add(true);
+            return new ByteArrayOutputStream();
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("boom 1");
+
+        assertThat(opened).isEmpty();
+    }
+
+    @Test
+    void empty_batch_is_rejected() {
+        assertThatThrownBy(() -> renderer.render("test", List.<Integer>of(), String::valueOf, this::renderPage,
+                BatchDocumentFormat.PDF, ByteArrayOutputStream::new))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private byte[] renderPage(Integer index) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Document document = new Document(PageSize.A4);
+            PdfWriter.getInstance(document, out);
+            document.open();
+            document.add(new Paragraph("Document " + index));
+            document.close();
+            return out.toByteArray();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.school.backend.common.sequence;
+
+import com.school.backend.common.enums.DocumentSequenceType;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentSequenceAllocatorTest {
+
+    private static final DocumentSequenceType TYPE = DocumentSequenceType.EXPENSE_VOUCHER;
+
+    @Test
+    void concurrent_callers_receive_unique_numbers_from_few_reservations() throws Exception {
+        SequenceBlockReserver reserver = mock(SequenceBlockReserver.class);
+        AtomicLong counter = new AtomicLong(1);
+        when(reserver.reserve(eq(1L), eq(10L), eq(TYPE), eq(10), any()))
+                .thenAnswer(inv -> counter.getAndAdd(10));
+        DocumentSequenceAllocator allocator = new DocumentSequenceAllocator(reserver, 10);
+
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    assertThat(issued.add(allocator.next(1L, 10L, TYPE, () -> 0L))).isTrue();
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // Threads that run out together each reserve a block, so a few more than 40 may be taken
+        assertThat(issued).hasSize(400);
+        assertThat(issued).allMatch(n -> n >= 1 && n < counter.get());
+        assertThat(counter.get() - 1).isBetween(400L, 480L);
+    }
+
+    @Test
+    void reservation_does_not_block_other_callers_of_the_series() throws Exception {
+        SequenceBlockReserver reserver = mock(SequenceBlockReserver.class);
+        CountDownLatch firstReserving = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(reserver.reserve(eq(1L), eq(10L), eq(TYPE), eq(5), any()))
+                .thenAnswer(inv -> {
+                    firstReserving.countDown();
+                    assertThat(releaseFirst.await(5, TimeUnit.SECONDS)).isTrue();
+                    return 1L;
+                })
+                .thenReturn(6L);
+        DocumentSequenceAllocator allocator = new DocumentSequenceAllocator(reserver, 5);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> slow = pool.submit(() -> allocator.next(1L, 10L, TYPE, () -> 0L));
+            assertThat(firstReserving.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Served by its own reservation while the first one is still in flight
+            assertThat(allocator.next(1L, 10L, TYPE, () -> 0L)).isEqualTo(6L);
+
+            releaseFirst.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(allocator.next(1L, 10L, TYPE, () -> 0L)).isEqualTo(7L);
+    }
+
+    @Test
+    void series_are_independent_per_school_and_session() {
+        SequenceBlockReserver reserver = mock(SequenceBlockReserver.class);
+        when(reserver.reserve(eq(1L), eq(10L), eq(TYPE), anyInt(), any())).thenReturn(41L);
+        when(reserver.reserve(eq(1L), eq(11L), eq(TYPE), anyInt(), any())).thenReturn(1L);
+        DocumentSequenceAllocator allocator = new DocumentSequenceAllocator(reserver, 5);
+
+        assertThat(allocator.next(1L, 10L, TYPE, () -> 40L)).isEqualTo(41L);
+        assertThat(allocator.next(1L, 11L, TYPE, () -> 0L)).isEqualTo(1L);
+        assertThat(allocator.next(1L, 10L, TYPE, () -> 40L)).isEqualTo(42L);
+    }
+
+    @Test
+    void lost_race_to_create_the_counter_row_is_retried() {
+        SequenceBlockReserver reserver = mock(SequenceBlockReserver.class);
+        when(reserver.reserve(anyLong(), anyLong(), eq(TYPE), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("uk_document_sequence"))
+                .thenReturn(21L);
+        DocumentSequenceAllocator allocator = new DocumentSequenceAllocator(reserver, 20);
+
+        assertThat(allocator.next(1L, 10L, TYPE, () -> 0L)).isEqualTo(21L);
+        verify(reserver, times(2)).reserve(anyLong(), anyLong(), eq(TYPE), anyInt(), any());
+    }
+}
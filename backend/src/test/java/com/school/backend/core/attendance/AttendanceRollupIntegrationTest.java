@@ -0,0 +1,178 @@
+package com.school.backend.core.attendance;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.Gender;
+import com.school.backend.core.attendance.dto.AttendanceSummaryDto;
+import com.school.backend.core.attendance.enums.AttendanceStatus;
+import com.school.backend.core.guardian.dto.GuardianCreateRequest;
+import com.school.backend.core.student.dto.StudentCreateRequest;
+import com.school.backend.core.student.dto.StudentDto;
+import com.school.backend.school.entity.School;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class AttendanceRollupIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    private static final LocalDate JUNE_DAY = LocalDate.of(2025, 6, 10);
+    private static final LocalDate JULY_DAY = LocalDate.of(2025, 7, 1);
+
+    private Long classId;
+    private Long firstStudentId;
+    private Long secondStudentId;
+    private Long thirdStudentId;
+
+    @BeforeEach
+    void setup() {
+        Map<String, Object> schoolReq = Map.of("name", "Attendance School", "displayName", "ATS", "board",
+                "CBSE", "schoolCode", "ATS-001");
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(schoolReq, headers), School.class);
+        Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        Map<String, Object> classReq = Map.of("name", "5", "section", "B", "sessionId", sessionId, "schoolId",
+                schoolId);
+        ResponseEntity<Map> classResp = restTemplate.exchange("/api/classes", HttpMethod.POST,
+                new HttpEntity<>(classReq, headers), Map.class);
+        classId = Long.valueOf(Objects.requireNonNull(classResp.getBody()).get("id").toString());
+
+        firstStudentId = createStudent("ADM-ATT-1");
+        secondStudentId = createStudent("ADM-ATT-2");
+        thirdStudentId = createStudent("ADM-ATT-3");
+    }
+
+    @AfterEach
+    void cleanup() {
+        fullCleanup();
+    }
+
+    @Test
+    void marking_attendance_keeps_class_and_monthly_rollups_current() {
+        mark(JUNE_DAY, Map.of(
+                firstStudentId, AttendanceStatus.PRESENT,
+                secondStudentId, AttendanceStatus.ABSENT,
+                thirdStudentId, AttendanceStatus.LATE));
+        // Correction on the same day moves one student from ABSENT to PRESENT
+        mark(JUNE_DAY, Map.of(secondStudentId, AttendanceStatus.PRESENT));
+        mark(JULY_DAY, Map.of(
+                firstStudentId, AttendanceStatus.ABSENT,
+                secondStudentId, AttendanceStatus.PRESENT));
+
+        List<AttendanceSummaryDto> june = classStats(JUNE_DAY, JUNE_DAY);
+        Assertions.assertThat(june).hasSize(1);
+        AttendanceSummaryDto juneClass = june.get(0);
+        Assertions.assertThat(juneClass.getClassId()).isEqualTo(classId);
+        Assertions.assertThat(juneClass.getClassName()).isEqualTo("5 B");
+        Assertions.assertThat(juneClass.getPresentCount()).isEqualTo(2);
+        Assertions.assertThat(juneClass.getAbsentCount()).isZero();
+        Assertions.assertThat(juneClass.getLateCount()).isEqualTo(1);
+        Assertions.assertThat(juneClass.getMarkedCount()).isEqualTo(3);
+        Assertions.assertThat(juneClass.getAttendancePercentage()).isEqualTo(100.0);
+
+        List<AttendanceSummaryDto> months = monthlyStats();
+        Assertions.assertThat(months).extracting(AttendanceSummaryDto::getMonth)
+                .containsExactly("2025-06", "2025-07");
+        Assertions.assertThat(months.get(1).getMarkedCount()).isEqualTo(2);
+        Assertions.assertThat(months.get(1).getAttendancePercentage()).isEqualTo(50.0);
+
+        // Rebuilding from raw rows yields the same figures as the incremental updates
+        ResponseEntity<Map<String, Integer>> rebuild = restTemplate.exchange("/api/attendance/stats/rebuild",
+                HttpMethod.POST, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {
+                });
+        Assertions.assertThat(rebuild.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(Objects.requireNonNull(rebuild.getBody()).get("rows")).isEqualTo(2);
+
+        List<AttendanceSummaryDto> range = classStats(JUNE_DAY, JULY_DAY);
+        Assertions.assertThat(range).hasSize(1);
+        Assertions.assertThat(range.get(0).getPresentCount()).isEqualTo(3);
+        Assertions.assertThat(range.get(0).getAbsentCount()).isEqualTo(1);
+        Assertions.assertThat(range.get(0).getLateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrent_first_markings_of_a_class_day_both_count() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<HttpStatus>> results = List.of(
+                    executor.submit(() -> markAfter(start, Map.of(firstStudentId, AttendanceStatus.PRESENT))),
+                    executor.submit(() -> markAfter(start, Map.of(secondStudentId, AttendanceStatus.ABSENT))));
+            start.countDown();
+            for (Future<HttpStatus> result : results) {
+                Assertions.assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(HttpStatus.OK);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<AttendanceSummaryDto> june = classStats(JUNE_DAY, JUNE_DAY);
+        Assertions.assertThat(june).hasSize(1);
+        Assertions.assertThat(june.get(0).getPresentCount()).isEqualTo(1);
+        Assertions.assertThat(june.get(0).getAbsentCount()).isEqualTo(1);
+    }
+
+    private HttpStatus markAfter(CountDownLatch start, Map<Long, AttendanceStatus> attendance)
+            throws InterruptedException {
+        start.await();
+        return HttpStatus.valueOf(restTemplate.exchange(
+                "/api/attendance/bulk?date=" + JUNE_DAY + "&classId=" + classId, HttpMethod.POST,
+                new HttpEntity<>(attendance, headers), Void.class).getStatusCode().value());
+    }
+
+    private void mark(LocalDate date, Map<Long, AttendanceStatus> attendance) {
+        ResponseEntity<Void> resp = restTemplate.exchange(
+                "/api/attendance/bulk?date=" + date + "&classId=" + classId, HttpMethod.POST,
+                new HttpEntity<>(attendance, headers), Void.class);
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private List<AttendanceSummaryDto> classStats(LocalDate from, LocalDate to) {
+        ResponseEntity<List<AttendanceSummaryDto>> resp = restTemplate.exchange(
+                "/api/attendance/stats/classes?from=" + from + "&to=" + to, HttpMethod.GET,
+                new HttpEntity<>(headers), new ParameterizedTypeReference<>() {
+                });
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(resp.getBody());
+    }
+
+    private List<AttendanceSummaryDto> monthlyStats() {
+        ResponseEntity<List<AttendanceSummaryDto>> resp = restTemplate.exchange(
+                "/api/attendance/stats/monthly?from=2025-04-01&to=2026-03-31", HttpMethod.GET,
+                new HttpEntity<>(headers), new ParameterizedTypeReference<>() {
+                });
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(resp.getBody());
+    }
+
+    private Long createStudent(String admissionNumber) {
+        StudentCreateRequest sreq = new StudentCreateRequest();
+        sreq.setAdmissionNumber(admissionNumber);
+        sreq.setFirstName("Attendee");
+        sreq.setGender(Gender.FEMALE);
+        sreq.setGuardians(List.of(GuardianCreateRequest.builder().name("G").contactNumber("1").relation("M")
+                .primaryGuardian(true).build()));
+        return Objects.requireNonNull(restTemplate
+                .exchange("/api/students", HttpMethod.POST, new HttpEntity<>(sreq, headers), StudentDto.class)
+                .getBody()).getId();
+    }
+}
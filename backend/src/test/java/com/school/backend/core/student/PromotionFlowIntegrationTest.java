@@ -2,6 +2,7 @@ package com.school.backend.core.student;
 
 import com.school.backend.common.BaseAuthenticatedIntegrationTest;
 import com.school.backend.common.enums.FeeFrequency;
+import com.school.backend.common.enums.PromotionRunStatus;
 import com.school.backend.common.enums.PromotionType;
 import com.school.backend.core.classsubject.dto.SchoolClassCreateRequest;
 import com.school.backend.core.classsubject.dto.SchoolClassDto;
@@ -37,6 +38,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDate;
 import java.util.Comparator;
@@ -46,6 +48,8 @@ import java.util.Objects;
 import static com.school.backend.common.enums.Gender.MALE;
 import static org.assertj.core.api.Assertions.assertThat;
 
+// Small chunks so a school-wide run spans several promotion transactions
+@TestPropertySource(properties = "promotion.school-run.chunk-size=2")
 public class PromotionFlowIntegrationTest extends BaseAuthenticatedIntegrationTest {
 
         private static final String FEE_TYPE_TUITION = "TUITION";
@@ -231,6 +235,85 @@ public class PromotionFlowIntegrationTest extends BaseAuthenticatedIntegrationTe
                 assertThat(latest.getSessionId()).isEqualTo(session2025Id);
         }
 
+        @Test
+        void testSchoolPromotionInChunks() {
+                Long secondStudentId = createStudent(schoolId, "Ravi Kumar", "PROMO-SCH-2");
+                Long thirdStudentId = createStudent(schoolId, "Sita Devi", "PROMO-SCH-3");
+                Long fourthStudentId = createStudent(schoolId, "Mohan Lal", "PROMO-SCH-4");
+                Long fifthStudentId = createStudent(schoolId, "Gita Rani", "PROMO-SCH-5");
+                List<Long> studentIds = List.of(studentId, secondStudentId, thirdStudentId, fourthStudentId,
+                                fifthStudentId);
+                for (Long id : studentIds.subList(1, studentIds.size())) {
+                        enrollStudent(id, fromClassId, "A", session2024Id);
+                }
+
+                SchoolPromotionRequest.ClassMapping mapping = new SchoolPromotionRequest.ClassMapping();
+                mapping.setSourceClassId(fromClassId);
+                mapping.setTargetClassId(toClassId);
+
+                SchoolPromotionRequest request = new SchoolPromotionRequest();
+                request.setSourceSessionId(session2024Id);
+                request.setTargetSessionId(session2025Id);
+                request.setPromotionType(PromotionType.PROMOTE);
+                request.setClassMappings(List.of(mapping));
+
+                ResponseEntity<PromotionProgressDto> response = restTemplate.exchange(
+                                "/api/promotions/school",
+                                HttpMethod.POST,
+                                new HttpEntity<>(request, headers),
+                                PromotionProgressDto.class);
+
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                PromotionProgressDto result = Objects.requireNonNull(response.getBody());
+                assertThat(result.getStatus()).isEqualTo(PromotionRunStatus.COMPLETED);
+                assertThat(result.getTotalClasses()).isEqualTo(1);
+                assertThat(result.getCompletedClasses()).isEqualTo(1);
+                assertThat(result.getTotalStudents()).isEqualTo(5);
+                assertThat(result.getProcessedStudents()).isEqualTo(5);
+                assertThat(result.getPromotedCount()).isEqualTo(5);
+
+                ResponseEntity<PromotionProgressDto> progress = restTemplate.exchange(
+                                "/api/promotions/school/progress",
+                                HttpMethod.GET,
+                                new HttpEntity<>(headers),
+                                PromotionProgressDto.class);
+                assertThat(progress.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(Objects.requireNonNull(progress.getBody()).getPromotedCount()).isEqualTo(5);
+
+                for (Long id : studentIds) {
+                        assertThat(studentEnrollmentRepository.findByStudentIdAndSessionId(id, session2025Id))
+                                        .singleElement()
+                                        .satisfies(e -> {
+                                                assertThat(e.getClassId()).isEqualTo(toClassId);
+                                                assertThat(e.getSessionId()).isEqualTo(session2025Id);
+                                                assertThat(e.getSection()).isEqualTo("B");
+                                                assertThat(e.isActive()).isTrue();
+                                        });
+                        assertThat(promotionRecordRepository.findByStudentIdOrderByPromotedAtAsc(id)).hasSize(1);
+                }
+
+                // Re-running finds no active students left in the source class
+                ResponseEntity<PromotionProgressDto> rerun = restTemplate.exchange(
+                                "/api/promotions/school",
+                                HttpMethod.POST,
+                                new HttpEntity<>(request, headers),
+                                PromotionProgressDto.class);
+                assertThat(rerun.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(Objects.requireNonNull(rerun.getBody()).getTotalStudents()).isZero();
+        }
+
+        @Test
+        void testSchoolPromotionRequiresSchoolContext() {
+                loginAsSuperAdmin();
+
+                ResponseEntity<String> progress = restTemplate.exchange(
+                                "/api/promotions/school/progress",
+                                HttpMethod.GET,
+                                new HttpEntity<>(headers),
+                                String.class);
+                assertThat(progress.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
         // ------------------------------------------------------------------------
 
         private Long createSchool(String name) {
@@ -281,13 +364,17 @@ public class PromotionFlowIntegrationTest extends BaseAuthenticatedIntegrationTe
         }
 
         private Long createStudent(Long schoolId, String name) {
+                return createStudent(schoolId, name, "name" + System.currentTimeMillis());
+        }
+
+        private Long createStudent(Long schoolId, String name, String admissionNumber) {
 
                 StudentCreateRequest req = new StudentCreateRequest();
 
                 req.setFirstName(name);
                 req.setDob(LocalDate.of(2015, 1, 1));
                 req.setGender(MALE);
-                req.setAdmissionNumber("name" + System.currentTimeMillis());
+                req.setAdmissionNumber(admissionNumber);
                 req.setGuardians(List.of(GuardianCreateRequest.builder()
                                 .name("Promotion Guardian")
                                 .contactNumber("7766554433")
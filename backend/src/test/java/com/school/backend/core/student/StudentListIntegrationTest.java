@@ -0,0 +1,147 @@
+package com.school.backend.core.student;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.dto.KeysetPage;
+import com.school.backend.common.dto.PageResponse;
+import com.school.backend.common.enums.Gender;
+import com.school.backend.core.classsubject.entity.SchoolClass;
+import com.school.backend.core.student.dto.StudentDto;
+import com.school.backend.core.student.entity.Student;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.school.entity.School;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class StudentListIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    private Long schoolId;
+    private Long sessionId;
+
+    @Test
+    void lists_carry_enrollment_details_and_scroll_walks_every_student_once() {
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "List School", "displayName", "LS", "board", "CBSE",
+                        "schoolCode", "LST-001"), headers),
+                School.class);
+        schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+        sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        Long classOne = createClass("1");
+        Long classTwo = createClass("2");
+
+        // Class 1: rolls 2, 1 and one student without a roll number
+        Long amit = enroll(createStudent("LS-1", "Amit"), classOne, 2, true);
+        Long bina = enroll(createStudent("LS-2", "Bina"), classOne, 1, true);
+        Long chetan = enroll(createStudent("LS-3", "Chetan"), classOne, null, true);
+        // Moved from class 1 to class 2 within the session: listed once, in class 2
+        Long dev = createStudent("LS-4", "Dev");
+        enroll(dev, classOne, 3, false);
+        enroll(dev, classTwo, 1, true);
+        Long esha = enroll(createStudent("LS-5", "Esha"), classTwo, 2, false);
+
+        ResponseEntity<PageResponse<StudentDto>> mineResp = restTemplate.exchange(
+                "/api/students/mine?page=0&size=10", HttpMethod.GET, new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {
+                });
+        Assertions.assertThat(mineResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<StudentDto> mine = Objects.requireNonNull(mineResp.getBody()).content();
+        Assertions.assertThat(mine).extracting(StudentDto::getId)
+                .containsExactly(bina, amit, chetan, dev, esha);
+        Assertions.assertThat(mineResp.getBody().totalElements()).isEqualTo(5);
+        StudentDto devRow = mine.get(3);
+        Assertions.assertThat(devRow.getCurrentClassName()).isEqualTo("2");
+        Assertions.assertThat(devRow.getRollNumber()).isEqualTo(1);
+        Assertions.assertThat(devRow.isEnrollmentActive()).isTrue();
+        Assertions.assertThat(mine.get(4).isEnrollmentActive()).isFalse();
+
+        ResponseEntity<PageResponse<StudentDto>> byClassResp = restTemplate.exchange(
+                "/api/students/by-class/" + classOne + "?page=0&size=10", HttpMethod.GET,
+                new HttpEntity<>(headers), new ParameterizedTypeReference<>() {
+                });
+        Assertions.assertThat(Objects.requireNonNull(byClassResp.getBody()).content())
+                .extracting(StudentDto::getFirstName)
+                .containsExactly("Amit", "Bina", "Chetan");
+
+        // Pages of two: the null roll sorts last in its class and the cursor crosses classes
+        List<Long> scrolled = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<StudentDto> page = scroll(cursor, null);
+            page.content().forEach(s -> scrolled.add(s.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        Assertions.assertThat(scrolled).containsExactly(bina, amit, chetan, dev, esha);
+        Assertions.assertThat(pages).isEqualTo(3);
+
+        KeysetPage<StudentDto> classTwoPage = scroll(null, classTwo);
+        Assertions.assertThat(classTwoPage.content()).extracting(StudentDto::getId).containsExactly(dev);
+        Assertions.assertThat(classTwoPage.hasMore()).isTrue();
+
+        ResponseEntity<Map> badCursor = restTemplate.exchange("/api/students/scroll?cursor=abc",
+                HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+        Assertions.assertThat(badCursor.getStatusCode().is4xxClientError()).isTrue();
+    }
+
+    private KeysetPage<StudentDto> scroll(String cursor, Long classId) {
+        String url = "/api/students/scroll?size=" + (classId == null ? 2 : 1)
+                + (cursor == null ? "" : "&cursor=" + cursor)
+                + (classId == null ? "" : "&classId=" + classId);
+        ResponseEntity<KeysetPage<StudentDto>> resp = restTemplate.exchange(url, HttpMethod.GET,
+                new HttpEntity<>(headers), new ParameterizedTypeReference<>() {
+                });
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(resp.getBody());
+    }
+
+    private Long createClass(String name) {
+        return schoolClassRepository.save(SchoolClass.builder()
+                .name(name)
+                .sessionId(sessionId)
+                .schoolId(schoolId)
+                .active(true)
+                .build()).getId();
+    }
+
+    private Long createStudent(String admissionNumber, String firstName) {
+        return studentRepository.save(Student.builder()
+                .admissionNumber(admissionNumber)
+                .firstName(firstName)
+                .gender(Gender.MALE)
+                .schoolId(schoolId)
+                .build()).getId();
+    }
+
+    private Long enroll(Long studentId, Long classId, Integer rollNumber, boolean active) {
+        studentEnrollmentRepository.save(StudentEnrollment.builder()
+                .studentId(studentId)
+                .classId(classId)
+                .sessionId(sessionId)
+                .rollNumber(rollNumber)
+                .enrollmentDate(LocalDate.now())
+                .active(active)
+                .schoolId(schoolId)
+                .build());
+        return studentId;
+    }
+
+    @AfterEach
+    void cleanup() {
+        fullCleanup();
+    }
+}
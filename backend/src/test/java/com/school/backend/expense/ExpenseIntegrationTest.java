@@ -3,7 +3,9 @@ package com.school.backend.expense;
 import com.school.backend.common.BaseAuthenticatedIntegrationTest;
 import com.school.backend.common.enums.ExpensePaymentMode;
 import com.school.backend.expense.dto.*;
+import com.school.backend.expense.entity.ExpenseVoucher;
 import com.school.backend.school.entity.School;
+import com.school.backend.user.entity.User;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -107,6 +109,121 @@ public class ExpenseIntegrationTest extends BaseAuthenticatedIntegrationTest {
         Assertions.assertThat(summary.getHeadWiseTotals().get(0).getExpenseHeadName()).isEqualTo("Electricity Bill");
     }
 
+    @Test
+    void voucher_numbers_continue_from_existing_vouchers_of_the_session() {
+        ResponseEntity<School> schoolResp = restTemplate.exchange(
+                "/api/schools",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of(
+                        "name", "Voucher Sequence School",
+                        "displayName", "VSS",
+                        "board", "CBSE",
+                        "schoolCode", "VSS-001"), headers),
+                School.class);
+        Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        ExpenseHeadCreateRequest headReq = new ExpenseHeadCreateRequest();
+        headReq.setName("Transport");
+        ExpenseHeadDto head = Objects.requireNonNull(restTemplate.exchange(
+                "/api/expenses/heads",
+                HttpMethod.POST,
+                new HttpEntity<>(headReq, headers),
+                ExpenseHeadDto.class).getBody());
+
+        // Numbered before the sequence counter existed
+        expenseVoucherRepository.save(ExpenseVoucher.builder()
+                .schoolId(schoolId)
+                .sessionId(sessionId)
+                .voucherNumber("EXP-" + sessionId + "-00041")
+                .expenseDate(LocalDate.of(2026, 2, 9))
+                .expenseHead(expenseHeadRepository.findById(head.getId()).orElseThrow())
+                .amount(new BigDecimal("10.00"))
+                .paymentMode(ExpensePaymentMode.CASH)
+                .createdBy(1L)
+                .active(true)
+                .build());
+
+        for (String expected : new String[] { "00042", "00043", "00044" }) {
+            ExpenseVoucherCreateRequest voucherReq = new ExpenseVoucherCreateRequest();
+            voucherReq.setExpenseDate(LocalDate.of(2026, 2, 10));
+            voucherReq.setExpenseHeadId(head.getId());
+            voucherReq.setAmount(new BigDecimal("50.00"));
+            voucherReq.setPaymentMode(ExpensePaymentMode.CASH);
+            ResponseEntity<ExpenseVoucherDto> voucherResp = restTemplate.exchange(
+                    "/api/expenses",
+                    HttpMethod.POST,
+                    new HttpEntity<>(voucherReq, headers),
+                    ExpenseVoucherDto.class);
+            Assertions.assertThat(voucherResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+            Assertions.assertThat(Objects.requireNonNull(voucherResp.getBody()).getVoucherNumber())
+                    .isEqualTo("EXP-" + sessionId + "-" + expected);
+        }
+    }
+
+    @Test
+    void monthly_listing_returns_head_and_creator_names_in_one_projection() {
+        ResponseEntity<School> schoolResp = restTemplate.exchange(
+                "/api/schools",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of(
+                        "name", "Voucher Listing School",
+                        "displayName", "VLS",
+                        "board", "CBSE",
+                        "schoolCode", "VLS-001"), headers),
+                School.class);
+        Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        User admin = userRepository.findByEmailAndActiveTrue("admin" + schoolId + "@test.com").orElseThrow();
+        admin.setFullName("Asha Accountant");
+        userRepository.save(admin);
+
+        ExpenseHeadCreateRequest headReq = new ExpenseHeadCreateRequest();
+        headReq.setName("Housekeeping");
+        ExpenseHeadDto head = Objects.requireNonNull(restTemplate.exchange(
+                "/api/expenses/heads",
+                HttpMethod.POST,
+                new HttpEntity<>(headReq, headers),
+                ExpenseHeadDto.class).getBody());
+
+        for (LocalDate date : new LocalDate[] { LocalDate.of(2026, 2, 3), LocalDate.of(2026, 2, 27),
+                LocalDate.of(2026, 3, 1) }) {
+            ExpenseVoucherCreateRequest voucherReq = new ExpenseVoucherCreateRequest();
+            voucherReq.setExpenseDate(date);
+            voucherReq.setExpenseHeadId(head.getId());
+            voucherReq.setAmount(new BigDecimal("75.00"));
+            voucherReq.setPaymentMode(ExpensePaymentMode.BANK);
+            Assertions.assertThat(restTemplate.exchange(
+                    "/api/expenses",
+                    HttpMethod.POST,
+                    new HttpEntity<>(voucherReq, headers),
+                    ExpenseVoucherDto.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        ResponseEntity<ExpenseVoucherDto[]> monthlyResp = restTemplate.exchange(
+                "/api/expenses/monthly?year=2026&month=2",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                ExpenseVoucherDto[].class);
+        Assertions.assertThat(monthlyResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ExpenseVoucherDto[] february = Objects.requireNonNull(monthlyResp.getBody());
+        Assertions.assertThat(february).extracting(ExpenseVoucherDto::getExpenseDate)
+                .containsExactly(LocalDate.of(2026, 2, 27), LocalDate.of(2026, 2, 3));
+        Assertions.assertThat(february).extracting(ExpenseVoucherDto::getExpenseHeadName)
+                .containsOnly("Housekeeping");
+        Assertions.assertThat(february).extracting(ExpenseVoucherDto::getCreatedBy)
+                .containsOnly("Asha Accountant");
+        Assertions.assertThat(february).extracting(ExpenseVoucherDto::getCreatedById)
+                .containsOnly(admin.getId());
+    }
+
     @AfterEach
     void cleanup() {
         fullCleanup();
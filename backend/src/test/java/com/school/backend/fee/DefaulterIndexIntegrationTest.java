@@ -0,0 +1,231 @@
+package com.school.backend.fee;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.FeeFrequency;
+import com.school.backend.common.enums.Gender;
+import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.core.classsubject.entity.SchoolClass;
+import com.school.backend.core.student.entity.Student;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.fee.entity.FeeDefaulterEntry;
+import com.school.backend.fee.entity.FeeStructure;
+import com.school.backend.fee.entity.FeeType;
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.service.DefaulterIndexService;
+import com.school.backend.school.entity.School;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaulterIndexIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    @Autowired
+    private DefaulterIndexService defaulterIndexService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long schoolId;
+    private Long sessionId;
+    private StudentEnrollment firstEnrollment;
+    private StudentFeeAssignment firstAssignment;
+    private Long secondStudentId;
+
+    @BeforeEach
+    void setup() {
+        fullCleanup();
+        School school = schoolRepository.save(School.builder()
+                .name("Defaulter Index School")
+                .displayName("Defaulter Index School")
+                .schoolCode("DIS-001")
+                .active(true)
+                .build());
+        schoolId = school.getId();
+        sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+
+        SchoolClass schoolClass = schoolClassRepository.save(SchoolClass.builder()
+                .name("7")
+                .section("A")
+                .sessionId(sessionId)
+                .schoolId(schoolId)
+                .active(true)
+                .build());
+        FeeType admission = feeTypeRepository.save(FeeType.builder().name("ADMISSION").schoolId(schoolId).build());
+        FeeStructure oneTime = feeStructureRepository.save(FeeStructure.builder()
+                .classId(schoolClass.getId())
+                .sessionId(sessionId)
+                .feeType(admission)
+                .amount(new BigDecimal("3000.00"))
+                .frequency(FeeFrequency.ONE_TIME)
+                .schoolId(schoolId)
+                .build());
+
+        Student first = saveStudent("DI-1");
+        firstEnrollment = enroll(first.getId(), schoolClass.getId());
+        firstAssignment = assign(first.getId(), oneTime);
+
+        Student second = saveStudent("DI-2");
+        enroll(second.getId(), schoolClass.getId());
+        assign(second.getId(), oneTime);
+        secondStudentId = second.getId();
+
+        TenantContext.setSchoolId(schoolId);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+        fullCleanup();
+    }
+
+    @Test
+    void rebuild_indexes_every_enrolled_student_with_balance() {
+        int indexed = defaulterIndexService.rebuild(schoolId, sessionId);
+
+        assertThat(indexed).isEqualTo(2);
+        List<FeeDefaulterEntry> entries = feeDefaulterEntryRepository.findAll();
+        assertThat(entries).hasSize(2);
+        assertThat(entries).allSatisfy(entry -> {
+            assertThat(entry.getAmountDue()).isEqualByComparingTo("3000.00");
+            assertThat(entry.getClassName()).isEqualTo("7");
+            assertThat(entry.getClassSection()).isEqualTo("A");
+            assertThat(entry.getOverdueFrom()).isEqualTo(LocalDate.of(2025, 4, 1));
+        });
+    }
+
+    @Test
+    void refresh_updates_balance_and_drops_unenrolled_students() {
+        defaulterIndexService.rebuild(schoolId, sessionId);
+
+        firstAssignment.setPrincipalPaid(new BigDecimal("1200.00"));
+        assignmentRepository.save(firstAssignment);
+        studentEnrollmentRepository.delete(firstEnrollment);
+        defaulterIndexService.refreshStudents(schoolId, sessionId, List.of(firstAssignment.getStudentId()));
+
+        List<FeeDefaulterEntry> entries = feeDefaulterEntryRepository.findAll();
+        assertThat(entries).extracting(FeeDefaulterEntry::getStudentId).containsExactly(secondStudentId);
+    }
+
+    @Test
+    void refresh_recomputes_amount_due_for_enrolled_student() {
+        defaulterIndexService.rebuild(schoolId, sessionId);
+
+        firstAssignment.setPrincipalPaid(new BigDecimal("1200.00"));
+        assignmentRepository.save(firstAssignment);
+        defaulterIndexService.refreshStudent(schoolId, sessionId, firstAssignment.getStudentId());
+
+        FeeDefaulterEntry entry = feeDefaulterEntryRepository
+                .findBySchoolIdAndSessionIdAndStudentIdIn(schoolId, sessionId, List.of(firstAssignment.getStudentId()))
+                .get(0);
+        assertThat(entry.getAmountDue()).isEqualByComparingTo("1800.00");
+    }
+
+    @Test
+    void rolled_back_rebuild_leaves_the_session_to_be_built_on_first_use() {
+        transactionTemplate.executeWithoutResult(status -> {
+            defaulterIndexService.rebuild(schoolId, sessionId);
+            status.setRollbackOnly();
+        });
+        assertThat(feeDefaulterEntryRepository.findAll()).isEmpty();
+
+        defaulterIndexService.ensureBuilt(schoolId, sessionId);
+
+        assertThat(feeDefaulterEntryRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void concurrent_first_uses_of_a_session_build_the_index_once() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = List.of(
+                    executor.submit(() -> ensureBuiltAfter(start)),
+                    executor.submit(() -> ensureBuiltAfter(start)));
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(feeDefaulterEntryRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void export_streams_every_defaulter_as_csv() {
+        loginAsSchoolAdmin(schoolId);
+        setSessionHeader(sessionId);
+
+        ResponseEntity<String> resp = restTemplate.exchange("/api/fees/defaulters/export?format=CSV",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getHeaders().getContentType()).isNotNull();
+        assertThat(resp.getHeaders().getContentType().toString()).startsWith("text/csv");
+        assertThat(resp.getHeaders().getContentDisposition().getFilename()).endsWith(".csv");
+
+        List<String> lines = resp.getBody().lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("Student Name,Admission No,Class");
+        assertThat(lines.subList(1, 3)).allSatisfy(line -> assertThat(line).contains("7-A", "3000.00"));
+    }
+
+    private boolean ensureBuiltAfter(CountDownLatch start) throws InterruptedException {
+        start.await();
+        TenantContext.setSchoolId(schoolId);
+        try {
+            defaulterIndexService.ensureBuilt(schoolId, sessionId);
+            return true;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private Student saveStudent(String admissionNumber) {
+        return studentRepository.save(Student.builder()
+                .admissionNumber(admissionNumber)
+                .firstName("Student " + admissionNumber)
+                .gender(Gender.MALE)
+                .schoolId(schoolId)
+                .build());
+    }
+
+    private StudentEnrollment enroll(Long studentId, Long classId) {
+        return studentEnrollmentRepository.save(StudentEnrollment.builder()
+                .studentId(studentId)
+                .classId(classId)
+                .sessionId(sessionId)
+                .enrollmentDate(LocalDate.of(2025, 4, 1))
+                .schoolId(schoolId)
+                .active(true)
+                .build());
+    }
+
+    private StudentFeeAssignment assign(Long studentId, FeeStructure fs) {
+        return assignmentRepository.save(StudentFeeAssignment.builder()
+                .studentId(studentId)
+                .feeStructureId(fs.getId())
+                .sessionId(sessionId)
+                .amount(fs.getAmount())
+                .schoolId(schoolId)
+                .build());
+    }
+}
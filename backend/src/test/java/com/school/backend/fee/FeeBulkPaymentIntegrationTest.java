@@ -0,0 +1,181 @@
+package com.school.backend.fee;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.FeeFrequency;
+import com.school.backend.common.enums.Gender;
+import com.school.backend.common.enums.LateFeeCapType;
+import com.school.backend.common.enums.LateFeeType;
+import com.school.backend.core.guardian.dto.GuardianCreateRequest;
+import com.school.backend.core.student.dto.StudentCreateRequest;
+import com.school.backend.core.student.dto.StudentDto;
+import com.school.backend.fee.dto.*;
+import com.school.backend.fee.entity.FeePaymentAllocation;
+import com.school.backend.fee.entity.FeeType;
+import com.school.backend.fee.entity.LateFeeLog;
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.repository.LateFeeLogRepository;
+import com.school.backend.school.entity.School;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class FeeBulkPaymentIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+        @Autowired
+        private LateFeeLogRepository lateFeeLogRepository;
+
+        private Long sessionId;
+        private Long firstAssignmentId;
+        private Long secondAssignmentId;
+        private Long firstStudentId;
+        private Long secondStudentId;
+
+        @BeforeEach
+        void setup() {
+                Map<String, Object> schoolReq = Map.of("name", "Bulk Payment School", "displayName", "BPS", "board",
+                                "CBSE", "schoolCode", "BPS-001");
+                ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                                new HttpEntity<>(schoolReq, headers), School.class);
+                Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+                loginAsSchoolAdmin(schoolId);
+
+                sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+                setSessionHeader(sessionId);
+
+                Map<String, Object> classReq = Map.of("name", "9", "sessionId", sessionId, "schoolId", schoolId);
+                ResponseEntity<Map> classResp = restTemplate.exchange("/api/classes", HttpMethod.POST,
+                                new HttpEntity<>(classReq, headers), Map.class);
+                Long classId = Long.valueOf(Objects.requireNonNull(classResp.getBody()).get("id").toString());
+
+                FeeType typeReq = new FeeType();
+                typeReq.setName("TUITION");
+                Long feeTypeId = Objects.requireNonNull(restTemplate
+                                .exchange("/api/fees/types", HttpMethod.POST, new HttpEntity<>(typeReq, headers),
+                                                FeeType.class)
+                                .getBody()).getId();
+
+                FeeStructureCreateRequest fsReq = new FeeStructureCreateRequest();
+                fsReq.setClassId(classId);
+                fsReq.setSessionId(sessionId);
+                fsReq.setFeeTypeId(feeTypeId);
+                fsReq.setAmount(new BigDecimal("1000.00"));
+                fsReq.setFrequency(FeeFrequency.ONE_TIME);
+                fsReq.setLateFeeType(LateFeeType.FLAT);
+                fsReq.setLateFeeAmountValue(new BigDecimal("50.00"));
+                fsReq.setLateFeeGraceDays(0);
+                fsReq.setLateFeeCapType(LateFeeCapType.NONE);
+                fsReq.setLateFeeCapValue(BigDecimal.ZERO);
+                Long feeStructureId = Objects.requireNonNull(restTemplate.exchange("/api/fees/structures",
+                                HttpMethod.POST, new HttpEntity<>(fsReq, headers), FeeStructureDto.class)
+                                .getBody()).getId();
+
+                firstStudentId = createStudent("ADM-BULK-1");
+                secondStudentId = createStudent("ADM-BULK-2");
+                firstAssignmentId = assign(firstStudentId, feeStructureId);
+                secondAssignmentId = assign(secondStudentId, feeStructureId);
+        }
+
+        @AfterEach
+        void cleanup() {
+                lateFeeLogRepository.deleteAll();
+                fullCleanup();
+        }
+
+        @Test
+        void bulk_payment_posts_valid_items_and_reports_rejected_ones() {
+                FeeBulkPaymentRequest bulk = new FeeBulkPaymentRequest();
+                bulk.setPayments(List.of(
+                                payment(firstStudentId, firstAssignmentId, "100.00"),
+                                payment(secondStudentId, secondAssignmentId, "5000.00"),
+                                payment(firstStudentId, firstAssignmentId, "100.00"),
+                                payment(secondStudentId, firstAssignmentId, "10.00")));
+
+                ResponseEntity<FeeBulkPaymentResponse> resp = restTemplate.exchange("/api/fees/payments/bulk",
+                                HttpMethod.POST, new HttpEntity<>(bulk, headers), FeeBulkPaymentResponse.class);
+                Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+                FeeBulkPaymentResponse body = Objects.requireNonNull(resp.getBody());
+                Assertions.assertThat(body.getSuccessCount()).isEqualTo(2);
+                Assertions.assertThat(body.getFailureCount()).isEqualTo(2);
+
+                List<FeeBulkPaymentResult> results = body.getResults();
+                Assertions.assertThat(results).extracting(FeeBulkPaymentResult::isSuccess)
+                                .containsExactly(true, false, true, false);
+                Assertions.assertThat(results.get(1).getError()).contains("exceeds total outstanding");
+                Assertions.assertThat(results.get(3).getError()).contains("mismatched assignment");
+
+                // First item clears the flat late fee, the second payment is all principal
+                FeePaymentDto first = results.get(0).getPayment();
+                Assertions.assertThat(first.getLateFeePaid()).isEqualByComparingTo("50.00");
+                Assertions.assertThat(first.getPrincipalPaid()).isEqualByComparingTo("50.00");
+                FeePaymentDto second = results.get(2).getPayment();
+                Assertions.assertThat(second.getLateFeePaid()).isEqualByComparingTo("0");
+                Assertions.assertThat(second.getPrincipalPaid()).isEqualByComparingTo("100.00");
+
+                StudentFeeAssignment paid = assignmentRepository.findById(firstAssignmentId).orElseThrow();
+                Assertions.assertThat(paid.getPrincipalPaid()).isEqualByComparingTo("150.00");
+                Assertions.assertThat(paid.getLateFeePaid()).isEqualByComparingTo("50.00");
+
+                StudentFeeAssignment untouched = assignmentRepository.findById(secondAssignmentId).orElseThrow();
+                Assertions.assertThat(untouched.getPrincipalPaid()).isEqualByComparingTo("0");
+                Assertions.assertThat(untouched.getLateFeeAccrued()).isEqualByComparingTo("0");
+
+                List<FeePaymentAllocation> allocations = feePaymentAllocationRepository.findAll();
+                Assertions.assertThat(allocations).hasSize(2);
+                Assertions.assertThat(allocations).extracting(FeePaymentAllocation::getFeePaymentId)
+                                .containsExactlyInAnyOrder(first.getId(), second.getId());
+
+                List<LateFeeLog> logs = lateFeeLogRepository.findAll();
+                Assertions.assertThat(logs).hasSize(1);
+                Assertions.assertThat(logs.get(0).getAssignmentId()).isEqualTo(firstAssignmentId);
+        }
+
+        private FeePaymentRequest payment(Long studentId, Long assignmentId, String amount) {
+                FeePaymentRequest req = new FeePaymentRequest();
+                req.setStudentId(studentId);
+                req.setSessionId(sessionId);
+                req.setMode("CASH");
+                req.setPaymentDate(LocalDate.now());
+                req.setAllocations(List.of(FeePaymentAllocationRequest.builder()
+                                .assignmentId(assignmentId)
+                                .principalAmount(new BigDecimal(amount))
+                                .build()));
+                return req;
+        }
+
+        private Long createStudent(String admissionNumber) {
+                StudentCreateRequest sreq = new StudentCreateRequest();
+                sreq.setAdmissionNumber(admissionNumber);
+                sreq.setFirstName("Bulk");
+                sreq.setGender(Gender.FEMALE);
+                sreq.setGuardians(List.of(GuardianCreateRequest.builder().name("G").contactNumber("1").relation("M")
+                                .primaryGuardian(true).build()));
+                return Objects.requireNonNull(restTemplate
+                                .exchange("/api/students", HttpMethod.POST, new HttpEntity<>(sreq, headers),
+                                                StudentDto.class)
+                                .getBody()).getId();
+        }
+
+        private Long assign(Long studentId, Long feeStructureId) {
+                StudentFeeAssignRequest assignReq = new StudentFeeAssignRequest();
+                assignReq.setStudentId(studentId);
+                assignReq.setFeeStructureId(feeStructureId);
+                assignReq.setSessionId(sessionId);
+                assignReq.setDueDate(LocalDate.now().minusDays(10));
+                return Objects.requireNonNull(restTemplate.exchange("/api/fees/assignments", HttpMethod.POST,
+                                new HttpEntity<>(assignReq, headers), StudentFeeAssignmentDto.class).getBody())
+                                .getId();
+        }
+}
@@ -8,9 +8,11 @@ import com.school.backend.core.classsubject.entity.SchoolClass;
 import com.school.backend.core.student.dto.StudentEnrollmentRequest;
 import com.school.backend.core.student.entity.Student;
 import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.fee.dto.FeeAssignmentBatchResult;
 import com.school.backend.fee.dto.FeeStructureCreateRequest;
 import com.school.backend.fee.dto.FeeStructureDto;
 import com.school.backend.fee.entity.FeeType;
+import com.school.backend.fee.entity.StudentFeeAssignment;
 import com.school.backend.school.entity.School;
 import com.school.backend.user.dto.AuthResponse;
 import com.school.backend.user.dto.LoginRequest;
@@ -149,6 +151,50 @@ class FeeStructureManagementIntegrationTest extends BaseAuthenticatedIntegration
         assertEquals(1, assignments.size());
     }
 
+    @Test
+    void classAssignment_shouldCreateMissingAssignmentsAndSkipExisting() {
+        Long first = createStudentAndEnrollment("ADM-FSM-10", true);
+        Long second = createStudentAndEnrollment("ADM-FSM-11", true);
+
+        FeeStructureCreateRequest createReq = new FeeStructureCreateRequest();
+        createReq.setClassId(classId);
+        createReq.setSessionId(sessionId);
+        createReq.setFeeTypeId(feeTypeId);
+        createReq.setAmount(BigDecimal.valueOf(1500));
+        createReq.setFrequency(FeeFrequency.ANNUALLY);
+        ResponseEntity<FeeStructureDto> createResp = restTemplate.exchange(
+                "/api/fees/structures",
+                HttpMethod.POST,
+                new HttpEntity<>(createReq, headers),
+                FeeStructureDto.class);
+        assertEquals(HttpStatus.OK, createResp.getStatusCode());
+        FeeStructureDto created = Objects.requireNonNull(createResp.getBody());
+        assertEquals(2, created.getAssignedCount());
+        assertEquals(0, created.getSkippedCount());
+
+        Long third = createStudentAndEnrollment("ADM-FSM-12", true);
+        ResponseEntity<FeeAssignmentBatchResult> assignResp = restTemplate.exchange(
+                "/api/fees/structures/" + created.getId() + "/assign",
+                HttpMethod.POST,
+                new HttpEntity<>(headers),
+                FeeAssignmentBatchResult.class);
+        assertEquals(HttpStatus.OK, assignResp.getStatusCode());
+        FeeAssignmentBatchResult result = Objects.requireNonNull(assignResp.getBody());
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getSkipped());
+
+        for (Long studentId : List.of(first, second, third)) {
+            List<StudentFeeAssignment> assignments = assignmentRepository.findByStudentIdAndSessionId(studentId,
+                    sessionId);
+            assertEquals(1, assignments.size());
+            StudentFeeAssignment assignment = assignments.get(0);
+            assertEquals(0, BigDecimal.valueOf(1500).compareTo(assignment.getAmount()));
+            assertEquals(schoolId, assignment.getSchoolId());
+            assertTrue(assignment.isActive());
+            assertTrue(assignment.getDueDate() != null);
+        }
+    }
+
     @Test
     void ownershipEnforcement_shouldBlockCrossTenantStructureUpdate() {
         Long otherSchoolStructureId = createStructureInOtherSchool();
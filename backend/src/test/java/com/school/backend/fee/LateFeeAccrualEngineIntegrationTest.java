@@ -0,0 +1,131 @@
+package com.school.backend.fee;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.LateFeeType;
+import com.school.backend.fee.entity.LateFeeAccrualCheckpoint;
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.repository.LateFeeLogRepository;
+import com.school.backend.fee.service.LateFeeAccrualService;
+import com.school.backend.school.entity.School;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+
+public class LateFeeAccrualEngineIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    private static final LocalDate DUE = LocalDate.of(2026, 3, 1);
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private LateFeeAccrualService lateFeeAccrualService;
+    @Autowired
+    private LateFeeLogRepository lateFeeLogRepository;
+
+    private Long schoolId;
+    private Long sessionId;
+
+    @BeforeEach
+    void setupSchool() {
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "Accrual School", "displayName", "AS", "board", "CBSE",
+                        "schoolCode", "LFA-001"), headers),
+                School.class);
+        schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+        sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+    }
+
+    @Test
+    void nightly_run_accrues_each_late_fee_type_once_per_day() {
+        StudentFeeAssignment flat = saveAssignment(6001L, "5000.00", DUE, LateFeeType.FLAT, "500.00");
+        StudentFeeAssignment percentage = saveAssignment(6002L, "2000.00", DUE, LateFeeType.PERCENTAGE, "10");
+        StudentFeeAssignment daily = saveAssignment(6003L, "1000.00", DUE, LateFeeType.DAILY_PERCENTAGE, "1");
+        StudentFeeAssignment none = saveAssignment(6004L, "1000.00", DUE, LateFeeType.NONE, null);
+        StudentFeeAssignment notDue = saveAssignment(6005L, "1000.00", RUN_DATE.plusDays(5), LateFeeType.FLAT,
+                "100.00");
+
+        Assertions.assertThat(lateFeeAccrualService.accrueAllSchools(RUN_DATE)).isEqualTo(3);
+
+        StudentFeeAssignment flatAfter = assignmentRepository.findById(flat.getId()).orElseThrow();
+        Assertions.assertThat(flatAfter.getLateFeeAccrued()).isEqualByComparingTo("500.00");
+        Assertions.assertThat(flatAfter.isLateFeeApplied()).isTrue();
+        Assertions.assertThat(accrued(percentage)).isEqualByComparingTo("200.00");
+        Assertions.assertThat(accrued(daily)).isEqualByComparingTo("90.00");
+        Assertions.assertThat(accrued(none)).isEqualByComparingTo("0");
+        Assertions.assertThat(accrued(notDue)).isEqualByComparingTo("0");
+        Assertions.assertThat(lateFeeLogRepository.findByAssignmentId(flat.getId()))
+                .singleElement()
+                .satisfies(log -> {
+                    Assertions.assertThat(log.getComputedAmount()).isEqualByComparingTo("500.00");
+                    Assertions.assertThat(log.getAppliedDate()).isEqualTo(RUN_DATE);
+                });
+
+        LateFeeAccrualCheckpoint checkpoint = lateFeeAccrualCheckpointRepository
+                .findBySchoolIdAndAccrualDate(schoolId, RUN_DATE).orElseThrow();
+        Assertions.assertThat(checkpoint.getCompletedAt()).isNotNull();
+        Assertions.assertThat(checkpoint.getAccruedAssignments()).isEqualTo(3);
+        Assertions.assertThat(checkpoint.getAccruedAmount()).isEqualByComparingTo("790.00");
+
+        // A repeated run for the same date is a no-op
+        Assertions.assertThat(lateFeeAccrualService.accrueSchool(schoolId, RUN_DATE)).isZero();
+        Assertions.assertThat(accrued(daily)).isEqualByComparingTo("90.00");
+
+        // The next day only grows the daily percentage
+        Assertions.assertThat(lateFeeAccrualService.accrueSchool(schoolId, RUN_DATE.plusDays(1))).isEqualTo(1);
+        Assertions.assertThat(accrued(daily)).isEqualByComparingTo("100.00");
+        Assertions.assertThat(accrued(flat)).isEqualByComparingTo("500.00");
+        Assertions.assertThat(lateFeeLogRepository.findByAssignmentId(daily.getId())).hasSize(2);
+    }
+
+    @Test
+    void interrupted_run_resumes_after_the_checkpoint() {
+        StudentFeeAssignment committed = saveAssignment(6101L, "1000.00", DUE, LateFeeType.FLAT, "50.00");
+        StudentFeeAssignment remaining = saveAssignment(6102L, "1000.00", DUE, LateFeeType.FLAT, "50.00");
+
+        // As left behind by a run that committed the first chunk and then died
+        lateFeeAccrualCheckpointRepository.save(LateFeeAccrualCheckpoint.builder()
+                .schoolId(schoolId)
+                .accrualDate(RUN_DATE)
+                .lastAssignmentId(committed.getId())
+                .build());
+
+        Assertions.assertThat(lateFeeAccrualService.accrueSchool(schoolId, RUN_DATE)).isEqualTo(1);
+        Assertions.assertThat(accrued(committed)).isEqualByComparingTo("0");
+        Assertions.assertThat(accrued(remaining)).isEqualByComparingTo("50.00");
+    }
+
+    private StudentFeeAssignment saveAssignment(Long studentId, String amount, LocalDate dueDate,
+            LateFeeType lateFeeType, String lateFeeValue) {
+        return assignmentRepository.save(StudentFeeAssignment.builder()
+                .schoolId(schoolId)
+                .sessionId(sessionId)
+                .studentId(studentId)
+                .feeStructureId(1L)
+                .amount(new BigDecimal(amount))
+                .dueDate(dueDate)
+                .lateFeeType(lateFeeType)
+                .lateFeeValue(lateFeeValue != null ? new BigDecimal(lateFeeValue) : null)
+                .lateFeeGraceDays(0)
+                .build());
+    }
+
+    private BigDecimal accrued(StudentFeeAssignment assignment) {
+        return assignmentRepository.findById(assignment.getId()).orElseThrow().getLateFeeAccrued();
+    }
+
+    @AfterEach
+    void cleanup() {
+        lateFeeLogRepository.deleteAll();
+        fullCleanup();
+    }
+}
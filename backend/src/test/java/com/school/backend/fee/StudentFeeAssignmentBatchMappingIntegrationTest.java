@@ -0,0 +1,190 @@
+package com.school.backend.fee;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.FeeFrequency;
+import com.school.backend.common.enums.Gender;
+import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.core.classsubject.entity.SchoolClass;
+import com.school.backend.core.student.entity.Student;
+import com.school.backend.core.student.entity.StudentEnrollment;
+import com.school.backend.fee.dto.StudentFeeAssignmentDto;
+import com.school.backend.fee.entity.FeeStructure;
+import com.school.backend.fee.entity.FeeType;
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.service.StudentFeeAssignmentService;
+import com.school.backend.school.entity.School;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class StudentFeeAssignmentBatchMappingIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    private static final int STUDENT_COUNT = 12;
+
+    @Autowired
+    private StudentFeeAssignmentService studentFeeAssignmentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<StudentFeeAssignment> assignments = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        fullCleanup();
+        School school = schoolRepository.save(School.builder()
+                .name("Batch Mapping School")
+                .displayName("Batch Mapping School")
+                .schoolCode("BMS-001")
+                .active(true)
+                .build());
+        Long schoolId = school.getId();
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+
+        SchoolClass schoolClass = schoolClassRepository.save(SchoolClass.builder()
+                .name("5")
+                .sessionId(sessionId)
+                .schoolId(schoolId)
+                .active(true)
+                .build());
+
+        FeeType tuition = feeTypeRepository.save(FeeType.builder().name("TUITION").schoolId(schoolId).build());
+        FeeType admission = feeTypeRepository.save(FeeType.builder().name("ADMISSION").schoolId(schoolId).build());
+
+        FeeStructure monthly = feeStructureRepository.save(FeeStructure.builder()
+                .classId(schoolClass.getId())
+                .sessionId(sessionId)
+                .feeType(tuition)
+                .amount(new BigDecimal("12000.00"))
+                .frequency(FeeFrequency.MONTHLY)
+                .schoolId(schoolId)
+                .build());
+        FeeStructure oneTime = feeStructureRepository.save(FeeStructure.builder()
+                .classId(schoolClass.getId())
+                .sessionId(sessionId)
+                .feeType(admission)
+                .amount(new BigDecimal("2500.00"))
+                .frequency(FeeFrequency.ONE_TIME)
+                .schoolId(schoolId)
+                .build());
+
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            Student student = studentRepository.save(Student.builder()
+                    .admissionNumber("BM-" + i)
+                    .firstName("Student" + i)
+                    .gender(Gender.FEMALE)
+                    .schoolId(schoolId)
+                    .build());
+            studentEnrollmentRepository.save(StudentEnrollment.builder()
+                    .studentId(student.getId())
+                    .classId(schoolClass.getId())
+                    .sessionId(sessionId)
+                    .enrollmentDate(LocalDate.now().minusMonths(i % 4))
+                    .schoolId(schoolId)
+                    .active(true)
+                    .build());
+            assignments.add(assignmentRepository.save(StudentFeeAssignment.builder()
+                    .studentId(student.getId())
+                    .feeStructureId(monthly.getId())
+                    .sessionId(sessionId)
+                    .amount(monthly.getAmount())
+                    .principalPaid(BigDecimal.valueOf(500L * i))
+                    .schoolId(schoolId)
+                    .build()));
+            assignments.add(assignmentRepository.save(StudentFeeAssignment.builder()
+                    .studentId(student.getId())
+                    .feeStructureId(oneTime.getId())
+                    .sessionId(sessionId)
+                    .amount(oneTime.getAmount())
+                    .totalDiscountAmount(BigDecimal.valueOf(100L * i))
+                    .lateFeeAccrued(BigDecimal.valueOf(50L * i))
+                    .lateFeePaid(BigDecimal.valueOf(10L * i))
+                    .schoolId(schoolId)
+                    .build()));
+        }
+
+        TenantContext.setSchoolId(schoolId);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+        fullCleanup();
+    }
+
+    @Test
+    void batch_mapping_matches_fixture_values() {
+        List<StudentFeeAssignmentDto> batched = studentFeeAssignmentService.toDtos(assignments);
+
+        assertThat(batched).hasSize(assignments.size());
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            StudentFeeAssignmentDto tuition = batched.get(2 * i);
+            StudentFeeAssignmentDto admission = batched.get(2 * i + 1);
+
+            // Monthly 12000 with 500*i paid, enrolled (i % 4) months ago: 1000 per period.
+            int periodsElapsed = i % 4 + 1;
+            assertThat(tuition.getId()).isEqualTo(assignments.get(2 * i).getId());
+            assertThat(tuition.getFeeTypeName()).isEqualTo("TUITION");
+            assertThat(tuition.getFrequency()).isEqualTo(FeeFrequency.MONTHLY);
+            assertThat(tuition.getPeriodsPerYear()).isEqualTo(12);
+            assertThat(tuition.getPeriodsElapsed()).isEqualTo(periodsElapsed);
+            assertMoney(tuition.getAnnualAmount(), 12000);
+            assertMoney(tuition.getAmountPerPeriod(), 1000);
+            assertMoney(tuition.getPrincipalPaid(), 500L * i);
+            assertMoney(tuition.getTotalDiscountAmount(), 0);
+            assertMoney(tuition.getLateFeeAccrued(), 0);
+            assertMoney(tuition.getDueTillDate(), 1000L * periodsElapsed);
+            assertMoney(tuition.getPendingTillDate(), Math.max(0L, 1000L * periodsElapsed - 500L * i));
+            assertMoney(tuition.getRemainingForSession(), 12000 - 500L * i);
+            assertThat(tuition.getStatus()).isEqualTo("PENDING");
+
+            // One-time 2500 with 100*i discount, 50*i late fee accrued and 10*i of it paid.
+            assertThat(admission.getId()).isEqualTo(assignments.get(2 * i + 1).getId());
+            assertThat(admission.getFeeTypeName()).isEqualTo("ADMISSION");
+            assertThat(admission.getFrequency()).isEqualTo(FeeFrequency.ONE_TIME);
+            assertThat(admission.getPeriodsElapsed()).isEqualTo(1);
+            assertMoney(admission.getAnnualAmount(), 2500);
+            assertMoney(admission.getPrincipalPaid(), 0);
+            assertMoney(admission.getTotalDiscountAmount(), 100L * i);
+            assertMoney(admission.getLateFeeAccrued(), 50L * i);
+            assertMoney(admission.getLateFeePaid(), 10L * i);
+            assertMoney(admission.getDueTillDate(), 2500);
+            assertMoney(admission.getPendingTillDate(), 2500 - 60L * i);
+            assertMoney(admission.getRemainingForSession(), 2500 - 100L * i);
+            assertThat(admission.getStatus()).isEqualTo("PENDING");
+        }
+    }
+
+    @Test
+    void batch_mapping_query_count_is_constant() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        studentFeeAssignmentService.toDtos(assignments.subList(0, 2));
+        long smallBatchStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        studentFeeAssignmentService.toDtos(assignments);
+        long fullBatchStatements = statistics.getPrepareStatementCount();
+
+        assertThat(fullBatchStatements).isEqualTo(smallBatchStatements);
+        assertThat(fullBatchStatements).isLessThanOrEqualTo(4);
+    }
+
+    private static void assertMoney(BigDecimal actual, long expected) {
+        assertThat(actual).isEqualByComparingTo(BigDecimal.valueOf(expected));
+    }
+}
@@ -43,4 +43,29 @@ class FeeMathTest {
 
         assertEquals(new BigDecimal("675.00"), FeeMath.computePending(assignment));
     }
+
+    @Test
+    @DisplayName("dueTillDate should stop at the annual amount")
+    void dueTillDate_cappedAtAnnual() {
+        assertEquals(new BigDecimal("3000.00"),
+                FeeMath.dueTillDate(new BigDecimal("10000.00"), new BigDecimal("1000.00"), 3));
+        assertEquals(new BigDecimal("10000.00"),
+                FeeMath.dueTillDate(new BigDecimal("10000.00"), new BigDecimal("833.34"), 12));
+    }
+
+    @Test
+    @DisplayName("pendingTillDate should add only outstanding late fee and never go negative")
+    void pendingTillDate_outstandingLateFee() {
+        StudentFeeAssignment assignment = StudentFeeAssignment.builder()
+                .amount(new BigDecimal("12000.00"))
+                .lateFeeAccrued(new BigDecimal("100.00"))
+                .lateFeePaid(new BigDecimal("40.00"))
+                .lateFeeWaived(new BigDecimal("10.00"))
+                .totalDiscountAmount(new BigDecimal("500.00"))
+                .principalPaid(new BigDecimal("1000.00"))
+                .build();
+
+        assertEquals(new BigDecimal("1550.00"), FeeMath.pendingTillDate(assignment, new BigDecimal("3000.00")));
+        assertEquals(new BigDecimal("0.00"), FeeMath.pendingTillDate(assignment, new BigDecimal("1000.00")));
+    }
 }
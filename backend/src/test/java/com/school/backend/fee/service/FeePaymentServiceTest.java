@@ -11,11 +11,13 @@ import com.school.backend.fee.entity.FeeStructure;
 import com.school.backend.fee.entity.FeeType;
 import com.school.backend.fee.entity.StudentFeeAssignment;
 import com.school.backend.fee.repository.FeePaymentAllocationRepository;
+import com.school.backend.fee.repository.FeePaymentJdbcRepository;
 import com.school.backend.fee.repository.FeePaymentRepository;
 import com.school.backend.fee.repository.FeeStructureRepository;
 import com.school.backend.fee.repository.LateFeeLogRepository;
 import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
 import com.school.backend.finance.repository.DayClosingRepository;
+import com.school.backend.finance.service.FinanceDailyRollupService;
 import com.school.backend.core.student.repository.StudentRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,6 +60,12 @@ class FeePaymentServiceTest {
         private FeePaymentAllocationRepository feePaymentAllocationRepository;
         @Mock
         private DayClosingRepository dayClosingRepository;
+        @Mock
+        private DefaulterIndexService defaulterIndexService;
+        @Mock
+        private FeePaymentJdbcRepository feePaymentJdbcRepository;
+        @Mock
+        private FinanceDailyRollupService financeDailyRollupService;
 
         @InjectMocks
         private FeePaymentService feePaymentService;
@@ -5,7 +5,9 @@ import com.school.backend.core.student.entity.StudentEnrollment;
 import com.school.backend.core.student.repository.StudentEnrollmentRepository;
 import com.school.backend.fee.entity.FeeStructure;
 import com.school.backend.fee.entity.StudentFeeAssignment;
+import com.school.backend.fee.dto.FeeAssignmentBatchResult;
 import com.school.backend.fee.repository.LateFeePolicyRepository;
+import com.school.backend.fee.repository.StudentFeeAssignmentJdbcRepository;
 import com.school.backend.fee.repository.StudentFeeAssignmentRepository;
 import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.repository.AcademicSessionRepository;
@@ -20,10 +22,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,11 +38,15 @@ class FeeStructureServiceTest {
     @Mock
     private StudentFeeAssignmentRepository assignmentRepository;
     @Mock
+    private StudentFeeAssignmentJdbcRepository assignmentJdbcRepository;
+    @Mock
     private AcademicSessionRepository academicSessionRepository;
     @Mock
     private LateFeePolicyRepository lateFeePolicyRepository;
     @Mock
     private FeeCalculationService feeCalculationService;
+    @Mock
+    private DefaulterIndexService defaulterIndexService;
 
     @InjectMocks
     private FeeStructureService feeStructureService;
@@ -133,6 +141,71 @@ class FeeStructureServiceTest {
         assertEquals(new BigDecimal("5000.00"), captor.getValue().getAmount());
     }
 
+    @Test
+    @DisplayName("Class-wide: one batch insert for unassigned students, pro-rated from preloaded enrollment dates")
+    void testAssignFeeToStudentsBatch() {
+        monthlyFee.setClassId(5L);
+        setupMocks(LocalDate.of(2024, 4, 1));
+        when(enrollmentRepository.findByClassIdAndSessionId(5L, 1L)).thenReturn(List.of(
+                enrollment(100L, LocalDate.of(2024, 4, 1)),
+                enrollment(101L, LocalDate.of(2024, 10, 15)),
+                enrollment(102L, LocalDate.of(2024, 4, 1))));
+        when(assignmentRepository.findAssignedStudentIds(10L, 1L)).thenReturn(List.of(102L));
+        when(feeCalculationService.isProRated(monthlyFee)).thenReturn(true);
+        when(enrollmentRepository.findByStudentIdInAndSessionIdInAndActiveTrueOrderByIdAsc(
+                List.of(100L, 101L), List.of(1L))).thenReturn(List.of(
+                        enrollment(100L, LocalDate.of(2024, 4, 1)),
+                        enrollment(101L, LocalDate.of(2024, 10, 15))));
+        when(feeCalculationService.calculateAssignableAmount(monthlyFee, session, LocalDate.of(2024, 4, 1)))
+                .thenReturn(new BigDecimal("12000.00"));
+        when(feeCalculationService.calculateAssignableAmount(monthlyFee, session, LocalDate.of(2024, 10, 15)))
+                .thenReturn(new BigDecimal("6000.00"));
+
+        FeeAssignmentBatchResult result = feeStructureService.assignFeeToStudents(monthlyFee);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getSkipped());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StudentFeeAssignment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(assignmentJdbcRepository).insertAssignments(captor.capture());
+        List<StudentFeeAssignment> inserted = captor.getValue();
+        assertEquals(2, inserted.size());
+        assertEquals(new BigDecimal("12000.00"), inserted.get(0).getAmount());
+        assertEquals(new BigDecimal("6000.00"), inserted.get(1).getAmount());
+        assertEquals(LocalDate.of(2024, 4, 10), inserted.get(1).getDueDate());
+
+        // Policy and session are resolved once for the whole class
+        verify(lateFeePolicyRepository, times(1)).findByFeeStructureId(10L);
+        verify(academicSessionRepository, times(1)).findById(1L);
+        verify(assignmentRepository, never()).save(any());
+        verify(defaulterIndexService).refreshStudents(1L, 1L, List.of(100L, 101L));
+    }
+
+    @Test
+    @DisplayName("Class-wide: nothing is written when every student already has the fee")
+    void testAssignFeeToStudentsAllSkipped() {
+        monthlyFee.setClassId(5L);
+        when(enrollmentRepository.findByClassIdAndSessionId(5L, 1L))
+                .thenReturn(List.of(enrollment(100L, LocalDate.of(2024, 4, 1))));
+        when(assignmentRepository.findAssignedStudentIds(10L, 1L)).thenReturn(List.of(100L));
+
+        FeeAssignmentBatchResult result = feeStructureService.assignFeeToStudents(monthlyFee);
+
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getSkipped());
+        verify(assignmentJdbcRepository, never()).insertAssignments(anyList());
+    }
+
+    private StudentEnrollment enrollment(Long studentId, LocalDate enrollmentDate) {
+        return StudentEnrollment.builder()
+                .studentId(studentId)
+                .sessionId(1L)
+                .enrollmentDate(enrollmentDate)
+                .active(true)
+                .build();
+    }
+
     private void setupMocks(LocalDate enrollmentDate) {
         lenient().when(academicSessionRepository.findById(1L)).thenReturn(Optional.of(session));
 
@@ -0,0 +1,60 @@
+package com.school.backend.fee.service;
+
+import com.school.backend.fee.entity.StudentFeeAssignment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaiseTest {
+
+    @Test
+    @DisplayName("of should round HALF_UP exactly like setScale(2)")
+    void of_matchesSetScaleHalfUp() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal value = BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, random.nextInt(6));
+            BigDecimal expected = value.setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, Paise.toBigDecimal(Paise.of(value)), value.toPlainString());
+        }
+        assertEquals(1L, Paise.of(new BigDecimal("0.005")));
+        assertEquals(-1L, Paise.of(new BigDecimal("-0.005")));
+        assertEquals(0L, Paise.of(null));
+    }
+
+    @Test
+    @DisplayName("conversions and arithmetic should fail instead of overflowing")
+    void overflow_isRejected() {
+        assertThrows(ArithmeticException.class, () -> Paise.of(new BigDecimal("92233720368547758.08")));
+        assertThrows(ArithmeticException.class, () -> Paise.add(Long.MAX_VALUE, 1L));
+        assertThrows(ArithmeticException.class, () -> Paise.subtract(Long.MIN_VALUE, 1L));
+    }
+
+    @Test
+    @DisplayName("paise pending should equal the BigDecimal computation for persisted amounts")
+    void computePendingPaise_matchesBigDecimal() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            StudentFeeAssignment assignment = StudentFeeAssignment.builder()
+                    .amount(money(random, 5_000_000))
+                    .lateFeeAccrued(money(random, 50_000))
+                    .totalDiscountAmount(money(random, 500_000))
+                    .lateFeeWaived(money(random, 20_000))
+                    .principalPaid(money(random, 5_000_000))
+                    .lateFeePaid(random.nextBoolean() ? null : money(random, 30_000))
+                    .build();
+
+            BigDecimal expected = FeeMath.computePending(assignment).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, Paise.toBigDecimal(FeeMath.computePendingPaise(assignment)));
+        }
+    }
+
+    private static BigDecimal money(Random random, int maxPaise) {
+        return BigDecimal.valueOf(random.nextInt(maxPaise), 2);
+    }
+}
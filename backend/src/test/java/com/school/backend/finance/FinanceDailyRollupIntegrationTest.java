@@ -0,0 +1,190 @@
+package com.school.backend.finance;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.ExpensePaymentMode;
+import com.school.backend.expense.dto.ExpenseHeadCreateRequest;
+import com.school.backend.expense.dto.ExpenseVoucherCreateRequest;
+import com.school.backend.fee.entity.FeePayment;
+import com.school.backend.finance.dto.DailyCashDashboardDto;
+import com.school.backend.finance.dto.DayClosingDto;
+import com.school.backend.finance.dto.FinanceAccountTransferRequest;
+import com.school.backend.finance.entity.FinanceDailyRollup;
+import com.school.backend.finance.service.FinanceDailyRollupService;
+import com.school.backend.finance.service.FinanceDailyRollupService.DailyTotals;
+import com.school.backend.school.entity.School;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class FinanceDailyRollupIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    @Autowired
+    private FinanceDailyRollupService financeDailyRollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static final LocalDate DATE = LocalDate.of(2026, 2, 20);
+
+    @Test
+    void rollup_is_seeded_from_existing_rows_and_kept_current_by_writes() {
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "Rollup School", "displayName", "RS", "board", "CBSE",
+                        "schoolCode", "FDR-001"), headers),
+                School.class);
+        Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        // Written before any rollup row exists for the day
+        feePaymentRepository.save(FeePayment.builder()
+                .schoolId(schoolId)
+                .sessionId(sessionId)
+                .studentId(4001L)
+                .principalPaid(new BigDecimal("500.00"))
+                .lateFeePaid(BigDecimal.ZERO)
+                .paymentDate(DATE)
+                .mode("CASH")
+                .build());
+
+        ExpenseHeadCreateRequest headReq = new ExpenseHeadCreateRequest();
+        headReq.setName("Maintenance");
+        ResponseEntity<Map> headResp = restTemplate.exchange("/api/expenses/heads", HttpMethod.POST,
+                new HttpEntity<>(headReq, headers), Map.class);
+        Long headId = Long.valueOf(Objects.requireNonNull(headResp.getBody()).get("id").toString());
+
+        Long cashVoucherId = createExpense(headId, "120.00", ExpensePaymentMode.CASH);
+        createExpense(headId, "80.00", ExpensePaymentMode.UPI);
+
+        ResponseEntity<Map> toggleResp = restTemplate.exchange("/api/expenses/" + cashVoucherId + "/toggle-active",
+                HttpMethod.PATCH, new HttpEntity<>(headers), Map.class);
+        Assertions.assertThat(toggleResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        FinanceAccountTransferRequest transferReq = new FinanceAccountTransferRequest();
+        transferReq.setTransferDate(DATE);
+        transferReq.setAmount(new BigDecimal("200.00"));
+        ResponseEntity<Map> transferResp = restTemplate.exchange("/api/finance/transfers", HttpMethod.POST,
+                new HttpEntity<>(transferReq, headers), Map.class);
+        Assertions.assertThat(transferResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        FinanceDailyRollup rollup = financeDailyRollupRepository.findBySchoolIdAndRollupDate(schoolId, DATE)
+                .orElseThrow();
+        Assertions.assertThat(rollup.getCashRevenue()).isEqualByComparingTo("500.00");
+        Assertions.assertThat(rollup.getBankRevenue()).isEqualByComparingTo("0");
+        Assertions.assertThat(rollup.getCashExpense()).isEqualByComparingTo("0");
+        Assertions.assertThat(rollup.getBankExpense()).isEqualByComparingTo("80.00");
+        Assertions.assertThat(rollup.getTransferOut()).isEqualByComparingTo("200.00");
+
+        ResponseEntity<DailyCashDashboardDto> dailyResp = restTemplate.exchange(
+                "/api/finance/overview/daily?date=" + DATE, HttpMethod.GET, new HttpEntity<>(headers),
+                DailyCashDashboardDto.class);
+        Assertions.assertThat(dailyResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        DailyCashDashboardDto daily = Objects.requireNonNull(dailyResp.getBody());
+        Assertions.assertThat(daily.getNetCash()).isEqualByComparingTo("300.00");
+        Assertions.assertThat(daily.getNetBank()).isEqualByComparingTo("120.00");
+        Assertions.assertThat(daily.isClosed()).isFalse();
+
+        ResponseEntity<DayClosingDto> closeResp = restTemplate.exchange("/api/finance/day-closing?date=" + DATE,
+                HttpMethod.POST, new HttpEntity<>(headers), DayClosingDto.class);
+        Assertions.assertThat(closeResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        DayClosingDto closing = Objects.requireNonNull(closeResp.getBody());
+        Assertions.assertThat(closing.getCashRevenue()).isEqualByComparingTo("500.00");
+        Assertions.assertThat(closing.getClosingCash()).isEqualByComparingTo("300.00");
+        Assertions.assertThat(closing.getClosingBank()).isEqualByComparingTo("120.00");
+
+        // The next day opens from the closing and reports the closed flag of its own date only
+        ResponseEntity<DailyCashDashboardDto> nextResp = restTemplate.exchange(
+                "/api/finance/overview/daily?date=" + DATE.plusDays(1), HttpMethod.GET, new HttpEntity<>(headers),
+                DailyCashDashboardDto.class);
+        DailyCashDashboardDto next = Objects.requireNonNull(nextResp.getBody());
+        Assertions.assertThat(next.isClosed()).isFalse();
+        Assertions.assertThat(next.getNetCash()).isEqualByComparingTo("300.00");
+        Assertions.assertThat(next.getNetBank()).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    void concurrent_first_writes_of_a_day_are_both_counted() throws Exception {
+        Long schoolId = schoolRepository.save(School.builder()
+                .name("Rollup Race School")
+                .displayName("RRS")
+                .schoolCode("FDR-002")
+                .active(true)
+                .build()).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Several fresh days, so at least some runs have both writers find no row
+            for (int day = 0; day < 5; day++) {
+                LocalDate date = DATE.plusDays(10 + day);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> writers = List.of(
+                        executor.submit(() -> writeAfter(start, schoolId, date, "CASH", "100.00")),
+                        executor.submit(() -> writeAfter(start, schoolId, date, "UPI", "40.00")));
+                start.countDown();
+                for (Future<Boolean> writer : writers) {
+                    Assertions.assertThat(writer.get(30, TimeUnit.SECONDS)).isTrue();
+                }
+
+                FinanceDailyRollup rollup = financeDailyRollupRepository.findBySchoolIdAndRollupDate(schoolId, date)
+                        .orElseThrow();
+                Assertions.assertThat(rollup.getCashRevenue()).isEqualByComparingTo("100.00");
+                Assertions.assertThat(rollup.getBankRevenue()).isEqualByComparingTo("40.00");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean writeAfter(CountDownLatch start, Long schoolId, LocalDate date, String mode, String amount)
+            throws InterruptedException {
+        start.await();
+        transactionTemplate.executeWithoutResult(status -> {
+            feePaymentRepository.save(FeePayment.builder()
+                    .schoolId(schoolId)
+                    .sessionId(1L)
+                    .studentId(4002L)
+                    .principalPaid(new BigDecimal(amount))
+                    .lateFeePaid(BigDecimal.ZERO)
+                    .paymentDate(date)
+                    .mode(mode)
+                    .build());
+            financeDailyRollupService.apply(schoolId, date, DailyTotals.feePayment(mode, new BigDecimal(amount)));
+        });
+        return true;
+    }
+
+    private Long createExpense(Long headId, String amount, ExpensePaymentMode mode) {
+        ExpenseVoucherCreateRequest req = new ExpenseVoucherCreateRequest();
+        req.setExpenseDate(DATE);
+        req.setExpenseHeadId(headId);
+        req.setAmount(new BigDecimal(amount));
+        req.setPaymentMode(mode);
+        ResponseEntity<Map> resp = restTemplate.exchange("/api/expenses", HttpMethod.POST,
+                new HttpEntity<>(req, headers), Map.class);
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Long.valueOf(Objects.requireNonNull(resp.getBody()).get("id").toString());
+    }
+
+    @AfterEach
+    void cleanup() {
+        fullCleanup();
+    }
+}
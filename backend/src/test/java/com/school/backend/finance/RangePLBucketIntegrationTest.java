@@ -0,0 +1,113 @@
+package com.school.backend.finance;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.ExpensePaymentMode;
+import com.school.backend.common.enums.PLGranularity;
+import com.school.backend.expense.dto.ExpenseHeadCreateRequest;
+import com.school.backend.expense.dto.ExpenseVoucherCreateRequest;
+import com.school.backend.fee.entity.FeePayment;
+import com.school.backend.finance.dto.FinancialOverviewDto;
+import com.school.backend.finance.dto.PLBucketDto;
+import com.school.backend.school.entity.School;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class RangePLBucketIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    @Test
+    void range_pl_is_bucketed_from_backfilled_and_incremental_rollup_rows() {
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "Bucket PnL School", "displayName", "BPS", "board", "CBSE",
+                        "schoolCode", "BPS-001"), headers),
+                School.class);
+        Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        // History written before the school's rollup was backfilled
+        savePayment(schoolId, sessionId, LocalDate.of(2026, 2, 10), "550.00", "CASH");
+        savePayment(schoolId, sessionId, LocalDate.of(2026, 2, 12), "300.00", "UPI");
+        savePayment(schoolId, sessionId, LocalDate.of(2026, 3, 1), "999.00", "cash");
+
+        FinancialOverviewDto monthly = rangePL("2026-02-01", "2026-03-31", "MONTH");
+        Assertions.assertThat(monthly.getGranularity()).isEqualTo(PLGranularity.MONTH);
+        Assertions.assertThat(monthly.getTotalRevenue()).isEqualByComparingTo("1849.00");
+        Assertions.assertThat(monthly.getBuckets()).extracting(PLBucketDto::getLabel)
+                .containsExactly("2026-02", "2026-03");
+        PLBucketDto feb = monthly.getBuckets().get(0);
+        Assertions.assertThat(feb.getCashRevenue()).isEqualByComparingTo("550.00");
+        Assertions.assertThat(feb.getBankRevenue()).isEqualByComparingTo("300.00");
+        Assertions.assertThat(feb.getNetProfit()).isEqualByComparingTo("850.00");
+
+        // Written through the service after the backfill: picked up incrementally
+        ExpenseHeadCreateRequest headReq = new ExpenseHeadCreateRequest();
+        headReq.setName("Stationery");
+        ResponseEntity<Map> headResp = restTemplate.exchange("/api/expenses/heads", HttpMethod.POST,
+                new HttpEntity<>(headReq, headers), Map.class);
+        Long headId = Long.valueOf(Objects.requireNonNull(headResp.getBody()).get("id").toString());
+        ExpenseVoucherCreateRequest expenseReq = new ExpenseVoucherCreateRequest();
+        expenseReq.setExpenseDate(LocalDate.of(2026, 3, 2));
+        expenseReq.setExpenseHeadId(headId);
+        expenseReq.setAmount(new BigDecimal("100.00"));
+        expenseReq.setPaymentMode(ExpensePaymentMode.CASH);
+        ResponseEntity<Map> expenseResp = restTemplate.exchange("/api/expenses", HttpMethod.POST,
+                new HttpEntity<>(expenseReq, headers), Map.class);
+        Assertions.assertThat(expenseResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        PLBucketDto march = rangePL("2026-02-01", "2026-03-31", "MONTH").getBuckets().get(1);
+        Assertions.assertThat(march.getCashRevenue()).isEqualByComparingTo("999.00");
+        Assertions.assertThat(march.getCashExpense()).isEqualByComparingTo("100.00");
+        Assertions.assertThat(march.getNetProfit()).isEqualByComparingTo("899.00");
+
+        // 2026-02-01 is a Sunday: the first ISO week is clipped to that single day
+        List<PLBucketDto> weeks = rangePL("2026-02-01", "2026-02-28", "WEEK").getBuckets();
+        Assertions.assertThat(weeks).extracting(PLBucketDto::getLabel)
+                .containsExactly("2026-W05", "2026-W06", "2026-W07", "2026-W08", "2026-W09");
+        Assertions.assertThat(weeks.get(0).getStartDate()).isEqualTo(LocalDate.of(2026, 2, 1));
+        Assertions.assertThat(weeks.get(0).getEndDate()).isEqualTo(LocalDate.of(2026, 2, 1));
+        Assertions.assertThat(weeks.get(2).getTotalRevenue()).isEqualByComparingTo("850.00");
+        Assertions.assertThat(weeks.get(4).getEndDate()).isEqualTo(LocalDate.of(2026, 2, 28));
+
+        List<PLBucketDto> days = rangePL("2026-02-10", "2026-02-12", "DAY").getBuckets();
+        Assertions.assertThat(days).hasSize(3);
+        Assertions.assertThat(days.get(1).getTotalRevenue()).isEqualByComparingTo("0");
+        Assertions.assertThat(days.get(2).getBankRevenue()).isEqualByComparingTo("300.00");
+    }
+
+    private FinancialOverviewDto rangePL(String start, String end, String granularity) {
+        ResponseEntity<FinancialOverviewDto> resp = restTemplate.exchange(
+                "/api/finance/overview/range?start=" + start + "&end=" + end + "&granularity=" + granularity,
+                HttpMethod.GET, new HttpEntity<>(headers), FinancialOverviewDto.class);
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(resp.getBody());
+    }
+
+    private void savePayment(Long schoolId, Long sessionId, LocalDate date, String amount, String mode) {
+        feePaymentRepository.save(FeePayment.builder()
+                .schoolId(schoolId)
+                .sessionId(sessionId)
+                .studentId(5001L)
+                .principalPaid(new BigDecimal(amount))
+                .lateFeePaid(BigDecimal.ZERO)
+                .paymentDate(date)
+                .mode(mode)
+                .build());
+    }
+
+    @AfterEach
+    void cleanup() {
+        fullCleanup();
+    }
+}
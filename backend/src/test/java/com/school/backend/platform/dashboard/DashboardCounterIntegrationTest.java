@@ -0,0 +1,202 @@
+package com.school.backend.platform.dashboard;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.DashboardCounterType;
+import com.school.backend.common.enums.FeeFrequency;
+import com.school.backend.common.enums.Gender;
+import com.school.backend.core.guardian.dto.GuardianCreateRequest;
+import com.school.backend.core.student.dto.StudentCreateRequest;
+import com.school.backend.core.student.dto.StudentDto;
+import com.school.backend.core.student.dto.StudentEnrollmentRequest;
+import com.school.backend.school.entity.School;
+import com.school.backend.transport.dto.PickupPointDto;
+import com.school.backend.transport.dto.TransportEnrollmentDto;
+import com.school.backend.transport.dto.TransportRouteDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class DashboardCounterIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void platform_counters_follow_writes_and_match_a_recount() {
+        Long schoolId = createSchool("Counter School", "DCP-001");
+        setupSession(schoolId, sessionRepository, schoolRepository);
+
+        Map<String, Object> before = platformStats();
+        Assertions.assertThat(count(before, "totalSchools")).isEqualTo(schoolRepository.count());
+        Assertions.assertThat(count(before, "totalActiveSessions")).isEqualTo(sessionRepository.countByActiveTrue());
+
+        createSchool("Second Counter School", "DCP-002");
+
+        Map<String, Object> after = platformStats();
+        Assertions.assertThat(count(after, "totalSchools")).isEqualTo(count(before, "totalSchools") + 1);
+
+        // Dropping the rows forces a recount from the source tables
+        dashboardCounterRepository.deleteAll();
+        Assertions.assertThat(platformStats()).isEqualTo(after);
+    }
+
+    @Test
+    void platform_deltas_are_applied_after_commit_only() {
+        long schools = count(platformStats(), "totalSchools");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dashboardCounterService.addPlatform(DashboardCounterType.SCHOOLS, 2);
+            dashboardCounterService.addPlatform(DashboardCounterType.SCHOOLS, 1);
+            Assertions.assertThat(platformSchools()).isEqualTo(schools);
+        });
+        Assertions.assertThat(platformSchools()).isEqualTo(schools + 3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dashboardCounterService.addPlatform(DashboardCounterType.SCHOOLS, 5);
+            status.setRollbackOnly();
+        });
+        Assertions.assertThat(platformSchools()).isEqualTo(schools + 3);
+    }
+
+    @Test
+    void school_counters_follow_enrollments_and_match_a_recount() {
+        Long schoolId = createSchool("Counter Admin School", "DCS-001");
+        loginAsSchoolAdmin(schoolId);
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        ResponseEntity<Map> classResp = restTemplate.exchange("/api/classes", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "5", "sessionId", sessionId, "schoolId", schoolId), headers),
+                Map.class);
+        Long classId = Long.valueOf(Objects.requireNonNull(classResp.getBody()).get("id").toString());
+
+        Map<String, Object> empty = schoolStats(sessionId);
+        Assertions.assertThat(count(empty, "totalStudents")).isZero();
+        Assertions.assertThat(count(empty, "transportCount")).isZero();
+        Assertions.assertThat(count(empty, "feePendingCount")).isZero();
+
+        Long studentId = createStudent("DCS-STU-1");
+        StudentEnrollmentRequest enrollmentRequest = new StudentEnrollmentRequest();
+        enrollmentRequest.setStudentId(studentId);
+        enrollmentRequest.setClassId(classId);
+        enrollmentRequest.setSessionId(sessionId);
+        enrollmentRequest.setEnrollmentDate(LocalDate.now());
+        ResponseEntity<Map> enrollResp = restTemplate.exchange("/api/enrollments", HttpMethod.POST,
+                new HttpEntity<>(enrollmentRequest, headers), Map.class);
+        Assertions.assertThat(enrollResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // A monthly transport fee from the session start leaves the student owing
+        enrollInTransport(studentId, sessionId);
+
+        Map<String, Object> stats = schoolStats(sessionId);
+        Assertions.assertThat(count(stats, "totalStudents")).isEqualTo(1);
+        Assertions.assertThat(count(stats, "transportCount")).isEqualTo(1);
+        Assertions.assertThat(count(stats, "feePendingCount")).isEqualTo(feeDefaulterEntryRepository
+                .countBySchoolIdAndSessionIdAndAmountDueGreaterThanEqual(schoolId, sessionId, BigDecimal.ONE));
+
+        dashboardCounterRepository.deleteAll();
+        Map<String, Object> recounted = schoolStats(sessionId);
+        for (String key : List.of("totalStudents", "transportCount", "feePendingCount", "totalTeachers")) {
+            Assertions.assertThat(count(recounted, key)).as(key).isEqualTo(count(stats, key));
+        }
+    }
+
+    private Long createSchool(String name, String code) {
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", name, "displayName", code, "board", "CBSE", "schoolCode", code),
+                        headers),
+                School.class);
+        return Objects.requireNonNull(schoolResp.getBody()).getId();
+    }
+
+    private Long createStudent(String admissionNumber) {
+        StudentCreateRequest studentReq = new StudentCreateRequest();
+        studentReq.setAdmissionNumber(admissionNumber);
+        studentReq.setFirstName("Counted");
+        studentReq.setGender(Gender.FEMALE);
+        studentReq.setGuardians(List.of(GuardianCreateRequest.builder()
+                .name("Guardian")
+                .contactNumber("9999999999")
+                .relation("MOTHER")
+                .primaryGuardian(true)
+                .build()));
+        ResponseEntity<StudentDto> studentResp = restTemplate.exchange("/api/students", HttpMethod.POST,
+                new HttpEntity<>(studentReq, headers), StudentDto.class);
+        return Objects.requireNonNull(studentResp.getBody()).getId();
+    }
+
+    private void enrollInTransport(Long studentId, Long sessionId) {
+        ResponseEntity<TransportRouteDto> routeResp = restTemplate.postForEntity("/api/transport/routes",
+                new HttpEntity<>(TransportRouteDto.builder().name("Route C").build(), headers),
+                TransportRouteDto.class);
+        Long routeId = Objects.requireNonNull(routeResp.getBody()).getId();
+
+        ResponseEntity<PickupPointDto> pointResp = restTemplate.postForEntity("/api/transport/pickup-points",
+                new HttpEntity<>(PickupPointDto.builder()
+                        .name("Stop C")
+                        .amount(new BigDecimal("1000"))
+                        .frequency(FeeFrequency.MONTHLY)
+                        .routeId(routeId)
+                        .build(), headers),
+                PickupPointDto.class);
+        Long pickupPointId = Objects.requireNonNull(pointResp.getBody()).getId();
+
+        ResponseEntity<String> enrollResp = restTemplate.postForEntity("/api/transport/enrollments",
+                new HttpEntity<>(TransportEnrollmentDto.builder()
+                        .studentId(studentId)
+                        .pickupPointId(pickupPointId)
+                        .sessionId(sessionId)
+                        .active(true)
+                        .build(), headers),
+                String.class);
+        Assertions.assertThat(enrollResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private Map<String, Object> platformStats() {
+        ResponseEntity<Map> resp = restTemplate.exchange("/api/platform/dashboard",
+                HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(resp.getBody());
+    }
+
+    private Map<String, Object> schoolStats(Long sessionId) {
+        ResponseEntity<Map> resp = restTemplate.exchange(
+                "/api/platform/dashboard/school-admin/stats?sessionId=" + sessionId, HttpMethod.GET,
+                new HttpEntity<>(headers), Map.class);
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(resp.getBody());
+    }
+
+    private long platformSchools() {
+        return dashboardCounterRepository.findBySchoolIdAndSessionIdIn(DashboardCounterService.PLATFORM,
+                        List.of(DashboardCounterService.PLATFORM)).stream()
+                .filter(c -> c.getType() == DashboardCounterType.SCHOOLS)
+                .findFirst()
+                .orElseThrow()
+                .getCounterValue();
+    }
+
+    private long count(Map<String, Object> stats, String key) {
+        return ((Number) stats.get(key)).longValue();
+    }
+
+    @AfterEach
+    void cleanup() {
+        fullCleanup();
+    }
+}
@@ -38,6 +38,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -368,6 +369,40 @@ class SubscriptionServiceIntegrationTest {
         assertTrue(ex.getMessage().contains("Record payment"));
     }
 
+    @Test
+    void dailyLifecycle_movesToPastDueThenSuspended_andLogsEvents() {
+        Long subscriptionId = createPaidSubscription(LocalDate.of(2026, 1, 1));
+        Long activeId = createOtherSchoolPaidSubscription(LocalDate.of(2026, 6, 1));
+
+        clock.setDate(LocalDate.of(2027, 1, 5)); // expired, within grace
+        SubscriptionService.LifecycleTransitionResult first = subscriptionService.runDailyLifecycleTransition();
+        assertEquals(1, first.pastDue());
+        assertEquals(0, first.suspended());
+        assertEquals(SubscriptionStatus.PAST_DUE, subscriptionRepository.findById(subscriptionId).orElseThrow().getStatus());
+        assertEquals(SubscriptionStatus.ACTIVE, subscriptionRepository.findById(activeId).orElseThrow().getStatus());
+
+        clock.setDate(LocalDate.of(2027, 1, 12)); // beyond grace (expiry 2027-01-01, grace 10)
+        SubscriptionService.LifecycleTransitionResult second = subscriptionService.runDailyLifecycleTransition();
+        assertEquals(0, second.pastDue());
+        assertEquals(1, second.suspended());
+        assertEquals(0, subscriptionService.runDailyLifecycleTransition().total());
+
+        Subscription suspended = subscriptionRepository.findById(subscriptionId).orElseThrow();
+        assertEquals(SubscriptionStatus.SUSPENDED, suspended.getStatus());
+        assertThrows(SubscriptionRuleViolationException.class,
+                () -> subscriptionAccessService.validateSchoolAccess(school.getId()));
+
+        List<SubscriptionEventDto> events = subscriptionService.getEventHistory(subscriptionId, UserRole.PLATFORM_ADMIN, null);
+        assertEquals(2, events.size());
+        assertTrue(events.stream().anyMatch(e -> e.getType() == SubscriptionEventType.AUTO_PAST_DUE
+                && e.getPreviousStatus() == SubscriptionStatus.ACTIVE
+                && e.getNewStatus() == SubscriptionStatus.PAST_DUE));
+        assertTrue(events.stream().anyMatch(e -> e.getType() == SubscriptionEventType.AUTO_SUSPENDED
+                && e.getPreviousStatus() == SubscriptionStatus.PAST_DUE
+                && e.getNewStatus() == SubscriptionStatus.SUSPENDED));
+        assertTrue(events.stream().allMatch(e -> "System".equals(e.getPerformedBy())));
+    }
+
     @Test
     void adminUsageEndpointData_shouldUseCurrentSessionActiveStudents() {
         Long subscriptionId = createPaidSubscription(LocalDate.of(2026, 1, 1));
@@ -385,6 +420,36 @@ class SubscriptionServiceIntegrationTest {
         assertEquals(LocalDate.of(2027, 1, 11), usage.getGraceEndDate());
     }
 
+    @Test
+    void adminUsageBulk_shouldMatchPerSchoolUsage() {
+        Long subscriptionId = createPaidSubscription(LocalDate.of(2026, 1, 1));
+        createCurrentSessionAndStudents(25);
+        Long otherSubscriptionId = createOtherSchoolPaidSubscription(LocalDate.of(2026, 1, 1));
+        ManualSuspendRequest suspend = new ManualSuspendRequest();
+        suspend.setReason("Unpaid");
+        subscriptionService.manualSuspend(otherSubscriptionId, suspend, actor.getId());
+        Long otherSchoolId = subscriptionRepository.findById(otherSubscriptionId).orElseThrow().getSchoolId();
+        School noPlan = schoolRepository.save(School.builder()
+                .name("Gamma School")
+                .displayName("Gamma")
+                .board("CBSE")
+                .schoolCode("GAMMA001")
+                .active(true)
+                .build());
+
+        Map<Long, AdminSubscriptionUsageDto> bulk = subscriptionService.getAdminUsageBulk(
+                List.of(school.getId(), otherSchoolId, noPlan.getId(), school.getId() + 9999));
+
+        assertEquals(3, bulk.size());
+        assertEquals(subscriptionId, bulk.get(school.getId()).getSubscriptionId());
+        assertEquals(25L, bulk.get(school.getId()).getActiveStudents());
+        assertEquals(SubscriptionStatus.SUSPENDED, bulk.get(otherSchoolId).getSubscriptionStatus());
+        assertEquals(SubscriptionStatus.NO_PLAN, bulk.get(noPlan.getId()).getSubscriptionStatus());
+        for (Long schoolId : List.of(school.getId(), otherSchoolId, noPlan.getId())) {
+            assertEquals(subscriptionService.getAdminUsageBySchool(schoolId), bulk.get(schoolId));
+        }
+    }
+
     private Long createTrialSubscription(int trialDays) {
         CreateSubscriptionTrialRequest req = new CreateSubscriptionTrialRequest();
         req.setSchoolId(school.getId());
@@ -402,6 +467,29 @@ class SubscriptionServiceIntegrationTest {
         return subscriptionService.activateSubscription(id, request, actor.getId()).getId();
     }
 
+    private Long createOtherSchoolPaidSubscription(LocalDate paymentDate) {
+        School other = schoolRepository.save(School.builder()
+                .name("Beta School")
+                .displayName("Beta")
+                .board("CBSE")
+                .medium("English")
+                .schoolCode("BETA001")
+                .city("Varanasi")
+                .state("UP")
+                .contactEmail("beta@test.com")
+                .active(true)
+                .build());
+        CreateSubscriptionTrialRequest req = new CreateSubscriptionTrialRequest();
+        req.setSchoolId(other.getId());
+        req.setPricingPlanId(basicPlan.getId());
+        req.setTrialDays(10);
+        Long id = subscriptionService.createSubscriptionWithTrial(req, actor.getId()).getId();
+        ActivateSubscriptionRequest request = new ActivateSubscriptionRequest();
+        request.setPaymentDate(paymentDate);
+        request.setReferenceNumber("PAY-" + id);
+        return subscriptionService.activateSubscription(id, request, actor.getId()).getId();
+    }
+
     private void createCurrentSessionAndStudents(int count) {
         school.setCurrentSessionId(999L);
         schoolRepository.save(school);
@@ -0,0 +1,95 @@
+package com.school.backend.school.service;
+
+import com.school.backend.school.MutableClock;
+import com.school.backend.school.service.SubscriptionAccessDecisionCache.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionAccessDecisionCacheTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionAccessDecisionCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"), ZoneId.of("UTC"));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SubscriptionAccessDecisionCache(clock, meterRegistry, Duration.ofSeconds(60));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void second_lookup_is_served_from_cache() {
+        assertThat(cache.get(1L, this::loadAllowed)).isEqualTo(Decision.ALLOWED);
+        assertThat(cache.get(1L, this::loadAllowed)).isEqualTo(Decision.ALLOWED);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(counter("hit")).isEqualTo(1.0);
+        assertThat(counter("miss")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("subscription.access.cache.size").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void invalidate_forces_reload() {
+        cache.get(1L, this::loadAllowed);
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L, id -> Decision.SUBSCRIPTION_SUSPENDED)).isEqualTo(Decision.SUBSCRIPTION_SUSPENDED);
+        assertThat(counter("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void invalidate_all_clears_every_school() {
+        cache.get(1L, this::loadAllowed);
+        cache.get(2L, this::loadAllowed);
+        cache.invalidateAll();
+
+        cache.get(1L, this::loadAllowed);
+        cache.get(2L, this::loadAllowed);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    void entry_expires_after_ttl_or_when_clock_moves_back() {
+        cache.get(1L, this::loadAllowed);
+
+        clock.setDate(LocalDate.of(2026, 1, 2));
+        cache.get(1L, this::loadAllowed);
+        assertThat(loads.get()).isEqualTo(2);
+
+        clock.setDate(LocalDate.of(2026, 1, 1));
+        cache.get(1L, this::loadAllowed);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void load_overlapping_an_invalidation_is_not_cached() {
+        cache.get(1L, id -> {
+            cache.invalidate(id);
+            return loadAllowed(id);
+        });
+
+        cache.get(1L, this::loadAllowed);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Decision loadAllowed(Long schoolId) {
+        loads.incrementAndGet();
+        return Decision.ALLOWED;
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("subscription.access.cache.requests").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,160 @@
+package com.school.backend.testmanagement;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.enums.Gender;
+import com.school.backend.common.enums.MarkCellStatus;
+import com.school.backend.core.classsubject.entity.Subject;
+import com.school.backend.core.classsubject.repository.SubjectRepository;
+import com.school.backend.core.guardian.dto.GuardianCreateRequest;
+import com.school.backend.core.student.dto.StudentCreateRequest;
+import com.school.backend.core.student.dto.StudentDto;
+import com.school.backend.school.entity.School;
+import com.school.backend.testmanagement.dto.BulkMarkEntryResponse;
+import com.school.backend.testmanagement.dto.BulkMarksDto;
+import com.school.backend.testmanagement.dto.ExamCreateRequest;
+import com.school.backend.testmanagement.dto.ExamSubjectCreateRequest;
+import com.school.backend.testmanagement.dto.MarkEntryRequest;
+import com.school.backend.testmanagement.entity.Exam;
+import com.school.backend.testmanagement.entity.ExamSubject;
+import com.school.backend.testmanagement.entity.StudentMark;
+import com.school.backend.testmanagement.repository.StudentMarkRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class MarkBulkEntryIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    @Autowired
+    private SubjectRepository subjectRepo;
+    @Autowired
+    private StudentMarkRepository markRepo;
+
+    private Long examId;
+    private Long examSubjectId;
+    private Long firstStudentId;
+    private Long secondStudentId;
+
+    @BeforeEach
+    void setup() {
+        Map<String, Object> schoolReq = Map.of("name", "Bulk Marks School", "displayName", "BMS", "board",
+                "CBSE", "schoolCode", "BMS-001");
+        ResponseEntity<School> schoolResp = restTemplate.exchange("/api/schools", HttpMethod.POST,
+                new HttpEntity<>(schoolReq, headers), School.class);
+        Long schoolId = Objects.requireNonNull(schoolResp.getBody()).getId();
+        loginAsSchoolAdmin(schoolId);
+
+        Long sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        setSessionHeader(sessionId);
+
+        Map<String, Object> classReq = Map.of("name", "6", "sessionId", sessionId, "schoolId", schoolId);
+        ResponseEntity<Map> classResp = restTemplate.exchange("/api/classes", HttpMethod.POST,
+                new HttpEntity<>(classReq, headers), Map.class);
+        Long classId = Long.valueOf(Objects.requireNonNull(classResp.getBody()).get("id").toString());
+
+        ExamCreateRequest examReq = new ExamCreateRequest();
+        examReq.setClassId(classId);
+        examReq.setSessionId(sessionId);
+        examReq.setName("Unit Test 1");
+        examReq.setExamType("UNIT");
+        examId = Objects.requireNonNull(restTemplate.exchange("/api/exams", HttpMethod.POST,
+                new HttpEntity<>(examReq, headers), Exam.class).getBody()).getId();
+
+        Subject sub = Subject.builder().name("Science").code("SCI").build();
+        sub.setSchoolId(schoolId);
+        sub = subjectRepo.save(sub);
+
+        ExamSubjectCreateRequest esReq = new ExamSubjectCreateRequest();
+        esReq.setExamId(examId);
+        esReq.setSubjectId(sub.getId());
+        esReq.setMaxMarks(100);
+        examSubjectId = Objects.requireNonNull(restTemplate.exchange("/api/exam-subjects", HttpMethod.POST,
+                new HttpEntity<>(esReq, headers), ExamSubject.class).getBody()).getId();
+
+        firstStudentId = createStudent("ADM-MK-1");
+        secondStudentId = createStudent("ADM-MK-2");
+    }
+
+    @AfterEach
+    void cleanup() {
+        fullCleanup();
+    }
+
+    @Test
+    void bulk_save_upserts_valid_cells_and_reports_rejected_ones() {
+        // Single entry with remarks; the grid save below must update it in place and keep the remarks
+        MarkEntryRequest single = new MarkEntryRequest();
+        single.setExamSubjectId(examSubjectId);
+        single.setStudentId(secondStudentId);
+        single.setMarksObtained(30);
+        single.setRemarks("Needs practice");
+        ResponseEntity<StudentMark> singleResp = restTemplate.exchange("/api/marks", HttpMethod.POST,
+                new HttpEntity<>(single, headers), StudentMark.class);
+        Assertions.assertThat(singleResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Long existingId = Objects.requireNonNull(singleResp.getBody()).getId();
+        Assertions.assertThat(existingId).isNotNull();
+        Assertions.assertThat(markRepo.findByExamSubjectIdAndStudentId(examSubjectId, secondStudentId))
+                .get().extracting(StudentMark::getId).isEqualTo(existingId);
+
+        BulkMarksDto grid = new BulkMarksDto();
+        grid.setMarks(List.of(
+                cell(firstStudentId, examSubjectId, 40),
+                cell(secondStudentId, examSubjectId, 150),
+                cell(secondStudentId, examSubjectId, 70),
+                cell(firstStudentId, examSubjectId, 45),
+                cell(firstStudentId, 999_999L, 10)));
+
+        ResponseEntity<BulkMarkEntryResponse> resp = restTemplate.exchange(
+                "/api/exams/" + examId + "/marks/bulk", HttpMethod.POST, new HttpEntity<>(grid, headers),
+                BulkMarkEntryResponse.class);
+        Assertions.assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        BulkMarkEntryResponse body = Objects.requireNonNull(resp.getBody());
+        Assertions.assertThat(body.getSavedCount()).isEqualTo(2);
+        Assertions.assertThat(body.getRejectedCount()).isEqualTo(2);
+        Assertions.assertThat(body.getSkippedCount()).isZero();
+        Assertions.assertThat(body.getResults()).extracting(BulkMarkEntryResponse.CellResult::getStatus)
+                .containsExactly(MarkCellStatus.SUPERSEDED, MarkCellStatus.REJECTED, MarkCellStatus.SAVED,
+                        MarkCellStatus.SAVED, MarkCellStatus.REJECTED);
+        Assertions.assertThat(body.getResults().get(1).getMessage()).contains("exceed maximum marks");
+        Assertions.assertThat(body.getResults().get(4).getMessage()).contains("Invalid ExamSubjectId");
+
+        Assertions.assertThat(markRepo.countByExamId(examId)).isEqualTo(2);
+        StudentMark first = markRepo.findByExamSubjectIdAndStudentId(examSubjectId, firstStudentId).orElseThrow();
+        Assertions.assertThat(first.getMarksObtained()).isEqualTo(45);
+        Assertions.assertThat(first.getExamId()).isEqualTo(examId);
+        StudentMark second = markRepo.findByExamSubjectIdAndStudentId(examSubjectId, secondStudentId).orElseThrow();
+        Assertions.assertThat(second.getId()).isEqualTo(existingId);
+        Assertions.assertThat(second.getMarksObtained()).isEqualTo(70);
+        Assertions.assertThat(second.getRemarks()).isEqualTo("Needs practice");
+    }
+
+    private BulkMarksDto.MarkItem cell(Long studentId, Long examSubjectId, int marks) {
+        BulkMarksDto.MarkItem item = new BulkMarksDto.MarkItem();
+        item.setStudentId(studentId);
+        item.setExamSubjectId(examSubjectId);
+        item.setMarksObtained(marks);
+        return item;
+    }
+
+    private Long createStudent(String admissionNumber) {
+        StudentCreateRequest sreq = new StudentCreateRequest();
+        sreq.setAdmissionNumber(admissionNumber);
+        sreq.setFirstName("Marks");
+        sreq.setGender(Gender.MALE);
+        sreq.setGuardians(List.of(GuardianCreateRequest.builder().name("G").contactNumber("1").relation("F")
+                .primaryGuardian(true).build()));
+        return Objects.requireNonNull(restTemplate
+                .exchange("/api/students", HttpMethod.POST, new HttpEntity<>(sreq, headers), StudentDto.class)
+                .getBody()).getId();
+    }
+}
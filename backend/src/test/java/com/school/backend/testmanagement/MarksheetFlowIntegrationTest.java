@@ -15,6 +15,7 @@ import com.school.backend.school.entity.AcademicSession;
 import com.school.backend.school.entity.School;
 import com.school.backend.school.repository.SchoolRepository;
 import com.school.backend.testmanagement.dto.ExamCreateRequest;
+import com.school.backend.testmanagement.dto.ExamResultSheetDto;
 import com.school.backend.testmanagement.dto.ExamSubjectCreateRequest;
 import com.school.backend.testmanagement.dto.MarkEntryRequest;
 import com.school.backend.testmanagement.dto.MarksheetDto;
@@ -274,6 +275,32 @@ public class MarksheetFlowIntegrationTest extends BaseAuthenticatedIntegrationTe
         Assertions.assertThat(ms.getGrade()).isEqualTo("A");
 
         Assertions.assertThat(ms.getSubjects()).hasSize(1);
+
+        Assertions.assertThat(ms.getRank()).isEqualTo(1);
+
+        /* ---------- Class Result Sheet ---------- */
+
+        ResponseEntity<ExamResultSheetDto> sheetResp = restTemplate.exchange(
+                "/api/marksheets/exam/" + examId + "/results",
+                HttpMethod.GET,
+                sheetEntity,
+                ExamResultSheetDto.class);
+
+        Assertions.assertThat(sheetResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ExamResultSheetDto sheet = Objects.requireNonNull(sheetResp.getBody());
+
+        Assertions.assertThat(sheet.getSubjects()).hasSize(1);
+        Assertions.assertThat(sheet.getMaxMarks()).isEqualTo(100);
+        Assertions.assertThat(sheet.getStudentCount()).isEqualTo(1);
+        Assertions.assertThat(sheet.getPassedCount()).isEqualTo(1);
+        Assertions.assertThat(sheet.getAveragePercentage()).isEqualTo(85.0);
+
+        ExamResultSheetDto.StudentResult row = sheet.getResults().get(0);
+        Assertions.assertThat(row.getStudentId()).isEqualTo(studentId);
+        Assertions.assertThat(row.getAdmissionNumber()).isEqualTo("ADM-M-1");
+        Assertions.assertThat(row.getMarksheet().getTotalMarks()).isEqualTo(85);
+        Assertions.assertThat(row.getMarksheet().getRank()).isEqualTo(1);
     }
 
     // ------------------------------------------------
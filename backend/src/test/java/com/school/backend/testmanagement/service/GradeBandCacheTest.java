@@ -0,0 +1,54 @@
+package com.school.backend.testmanagement.service;
+
+import com.school.backend.testmanagement.entity.GradePolicy;
+import com.school.backend.testmanagement.repository.GradePolicyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GradeBandCacheTest {
+
+    private static final Long SCHOOL_ID = 7L;
+
+    @Mock
+    private GradePolicyRepository gradeRepo;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bands_loaded_before_commit_are_evicted_after_commit() {
+        when(gradeRepo.findBySchoolIdOrderByMinPercentDesc(SCHOOL_ID)).thenReturn(List.of(
+                GradePolicy.builder().schoolId(SCHOOL_ID).minPercent(0.0).maxPercent(100.0).grade("A").build()));
+        GradeBandCache cache = new GradeBandCache(gradeRepo, Clock.systemUTC(), Duration.ofMinutes(10));
+        cache.forSchool(SCHOOL_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(SCHOOL_ID);
+        // A concurrent reader still sees the pre-commit policies and re-caches them
+        cache.forSchool(SCHOOL_ID);
+        cache.forSchool(SCHOOL_ID);
+        verify(gradeRepo, times(2)).findBySchoolIdOrderByMinPercentDesc(SCHOOL_ID);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.forSchool(SCHOOL_ID);
+        verify(gradeRepo, times(3)).findBySchoolIdOrderByMinPercentDesc(SCHOOL_ID);
+    }
+}
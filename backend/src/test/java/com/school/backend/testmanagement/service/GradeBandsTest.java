@@ -0,0 +1,56 @@
+package com.school.backend.testmanagement.service;
+
+import com.school.backend.testmanagement.entity.GradePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradeBandsTest {
+
+    @Test
+    void resolves_band_containing_percentage_regardless_of_input_order() {
+        GradeBands bands = GradeBands.of(List.of(
+                policy(0, 39.99, "E"),
+                policy(75, 100, "A"),
+                policy(40, 59.99, "C"),
+                policy(60, 74.99, "B")));
+
+        assertThat(bands.size()).isEqualTo(4);
+        assertThat(bands.resolve(100)).isEqualTo("A");
+        assertThat(bands.resolve(75)).isEqualTo("A");
+        assertThat(bands.resolve(74.5)).isEqualTo("B");
+        assertThat(bands.resolve(60)).isEqualTo("B");
+        assertThat(bands.resolve(45)).isEqualTo("C");
+        assertThat(bands.resolve(0)).isEqualTo("E");
+    }
+
+    @Test
+    void overlapping_bands_prefer_highest_minimum() {
+        GradeBands bands = GradeBands.of(List.of(
+                policy(50, 100, "PASS"),
+                policy(90, 100, "DISTINCTION")));
+
+        assertThat(bands.resolve(95)).isEqualTo("DISTINCTION");
+        assertThat(bands.resolve(70)).isEqualTo("PASS");
+    }
+
+    @Test
+    void falls_back_to_default_scale_outside_configured_bands() {
+        GradeBands bands = GradeBands.of(List.of(
+                policy(60, 69.99, "B"),
+                policy(80, 89.99, "A")));
+
+        // Gap between bands and values above the highest band
+        assertThat(bands.resolve(75)).isEqualTo("B+");
+        assertThat(bands.resolve(95)).isEqualTo("A+");
+        // Below the lowest band
+        assertThat(bands.resolve(20)).isEqualTo("F");
+        assertThat(GradeBands.EMPTY.resolve(85)).isEqualTo("A");
+    }
+
+    private GradePolicy policy(double min, double max, String grade) {
+        return GradePolicy.builder().minPercent(min).maxPercent(max).grade(grade).build();
+    }
+}
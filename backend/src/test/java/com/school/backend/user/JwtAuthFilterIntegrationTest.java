@@ -0,0 +1,114 @@
+package com.school.backend.user;
+
+import com.school.backend.common.BaseAuthenticatedIntegrationTest;
+import com.school.backend.common.tenant.SessionContext;
+import com.school.backend.common.tenant.TenantContext;
+import com.school.backend.school.entity.School;
+import com.school.backend.user.dto.UserDto;
+import com.school.backend.user.entity.User;
+import com.school.backend.user.security.CustomUserDetails;
+import com.school.backend.user.security.JwtAuthFilter;
+import com.school.backend.user.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class JwtAuthFilterIntegrationTest extends BaseAuthenticatedIntegrationTest {
+
+    @Autowired
+    private JwtAuthFilter jwtAuthFilter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long schoolId;
+    private Long sessionId;
+
+    @BeforeEach
+    void setup() {
+        fullCleanup();
+        School school = schoolRepository.save(School.builder()
+                .name("Auth Filter School")
+                .displayName("Auth Filter School")
+                .schoolCode("AFS-001")
+                .active(true)
+                .build());
+        schoolId = school.getId();
+        sessionId = setupSession(schoolId, sessionRepository, schoolRepository);
+        loginAsSchoolAdmin(schoolId);
+    }
+
+    @AfterEach
+    void cleanup() {
+        clearRequestContext();
+        fullCleanup();
+    }
+
+    @Test
+    void warm_filter_authenticates_without_database_queries() throws Exception {
+        runFilter();
+        clearRequestContext();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        runFilter();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getPrincipal()).isInstanceOf(CustomUserDetails.class);
+        assertThat(((CustomUserDetails) auth.getPrincipal()).getSchoolId()).isEqualTo(schoolId);
+        assertThat(TenantContext.getSchoolId()).isEqualTo(schoolId);
+        assertThat(SessionContext.getSessionId()).isEqualTo(sessionId);
+    }
+
+    @Test
+    void deactivating_user_revokes_cached_principal() throws Exception {
+        runFilter();
+        clearRequestContext();
+
+        User admin = userRepository.findByEmailAndActiveTrue("admin" + schoolId + "@test.com").orElseThrow();
+        UserDto update = new UserDto();
+        update.setEmail(admin.getEmail());
+        update.setFullName(admin.getFullName());
+        update.setRole(admin.getRole());
+        update.setActive(false);
+        userService.updateUser(admin.getId(), update);
+
+        runFilter();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private void runFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("Authorization", "Bearer " + token);
+        request.addHeader("X-Session-Id", String.valueOf(sessionId));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtAuthFilter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private void clearRequestContext() {
+        SecurityContextHolder.clearContext();
+        TenantContext.clear();
+        SessionContext.clear();
+    }
+}
@@ -121,33 +121,10 @@ export default function FeeDefaultersPage() {
       if (selectedClass) params.append("classId", selectedClass);
       if (minAmount) params.append("minAmountDue", minAmount);
       if (minDays) params.append("minDaysOverdue", minDays);
+      params.append("format", "CSV");
 
-      const res = await api.get(`/api/fees/defaulters/export?${params.toString()}`);
-      const exportData: Defaulter[] = res.data || [];
-
-      if (exportData.length === 0) {
-        showToast("No data to export", "warning");
-        return;
-      }
-
-      const headers = ["Student Name", "Admission No", "Class", "Accrued Amount Due", "Accrued Late Fee", "Days Overdue", "Last Payment", "Parent Contact"];
-      const rows = exportData.map(d => [
-        `"${d.studentName}"`,
-        `"${d.admissionNumber}"`,
-        `"${d.className}-${d.classSection}"`,
-        d.amountDue,
-        d.lateFeeAccrued ?? 0,
-        d.daysOverdue,
-        d.lastPaymentDate || "Never",
-        `"${d.parentContact}"`
-      ]);
-
-      const csv = [
-        headers.join(","),
-        ...rows.map(row => row.join(","))
-      ].join("\n");
-
-      const blob = new Blob([csv], { type: "text/csv;charset=utf-8;" });
+      const res = await api.get(`/api/fees/defaulters/export?${params.toString()}`, { responseType: "blob" });
+      const blob = new Blob([res.data], { type: "text/csv;charset=utf-8;" });
       const url = URL.createObjectURL(blob);
       const a = document.createElement("a");
       a.href = url;
@@ -1,7 +1,7 @@
 "use client";
 
 import { useState, useEffect, useCallback } from "react";
-import { financeApi, FinancialOverviewData } from "@/lib/financeApi";
+import { financeApi, FinancialOverviewData, PLGranularity } from "@/lib/financeApi";
 import { useToast } from "@/components/ui/Toast";
 import { Skeleton } from "@/components/ui/Skeleton";
 import { downloadExcel } from "@/lib/fileUtils";
@@ -24,22 +24,25 @@ export default function RangePLOverview() {
     // Effective state (used for fetching and labels)
     const [startDate, setStartDate] = useState<string>(defaultStart);
     const [endDate, setEndDate] = useState<string>(defaultEnd);
+    const [granularityInput, setGranularityInput] = useState<PLGranularity>("MONTH");
+    const [granularity, setGranularity] = useState<PLGranularity>("MONTH");
 
     const [loading, setLoading] = useState(false);
     const [isExporting, setIsExporting] = useState(false);
     const [data, setData] = useState<FinancialOverviewData | null>(null);
     const [error, setError] = useState<string | null>(null);
 
-    const fetchData = useCallback(async (startToUse: string, endToUse: string) => {
+    const fetchData = useCallback(async (startToUse: string, endToUse: string, granularityToUse: PLGranularity) => {
         if (!startToUse || !endToUse) return;
         setLoading(true);
         setError(null);
         try {
-            const result = await financeApi.getRangePL(startToUse, endToUse);
+            const result = await financeApi.getRangePL(startToUse, endToUse, granularityToUse);
             setData(result);
             // Sync effective state only on success
             setStartDate(startToUse);
             setEndDate(endToUse);
+            setGranularity(granularityToUse);
         } catch (err: any) {
             console.error("Error fetching P&L:", err);
             setError(err.message || "Failed to fetch P&L data");
@@ -52,13 +55,13 @@ export default function RangePLOverview() {
     // Initial load removed to enforce manual fetching
 
     const handleGo = () => {
-        fetchData(startDateInput, endDateInput);
+        fetchData(startDateInput, endDateInput, granularityInput);
     };
 
     const handleExport = async () => {
         try {
             setIsExporting(true);
-            const blob = await financeApi.exportRangePL(startDate, endDate);
+            const blob = await financeApi.exportRangePL(startDate, endDate, granularity);
             downloadExcel(blob, `pl-report-${startDate}-to-${endDate}.xlsx`);
             showToast("Export successful", "success");
         } catch (error: any) {
@@ -98,6 +101,17 @@ export default function RangePLOverview() {
                             disabled={loading}
                             className="text-sm font-medium border-none focus:ring-0 outline-none p-0.5"
                         />
+                        <span className="text-[10px] font-bold text-gray-400 uppercase ml-2">By</span>
+                        <select
+                            value={granularityInput}
+                            onChange={(e) => setGranularityInput(e.target.value as PLGranularity)}
+                            disabled={loading}
+                            className="text-sm font-medium border-none focus:ring-0 outline-none p-0.5 bg-transparent"
+                        >
+                            <option value="DAY">Day</option>
+                            <option value="WEEK">Week</option>
+                            <option value="MONTH">Month</option>
+                        </select>
                     </div>
 
                     <button
@@ -225,6 +239,41 @@ export default function RangePLOverview() {
                                     </div>
                                 </div>
                             </div>
+
+                            {/* Row 4: Period Breakdown */}
+                            {!loading && data && data.buckets.length > 0 && (
+                                <div className="bg-white rounded-2xl border border-gray-100 shadow-sm overflow-hidden">
+                                    <div className="px-6 py-4 bg-gray-50/50 border-b border-gray-100">
+                                        <h4 className="text-xs font-bold uppercase tracking-widest text-gray-500">Period Breakdown</h4>
+                                    </div>
+                                    <div className="overflow-x-auto">
+                                        <table className="w-full text-sm">
+                                            <thead className="text-[10px] font-bold text-gray-400 uppercase">
+                                                <tr>
+                                                    <th className="px-6 py-3 text-left">Period</th>
+                                                    <th className="px-6 py-3 text-right">Cash Revenue</th>
+                                                    <th className="px-6 py-3 text-right">Bank Revenue</th>
+                                                    <th className="px-6 py-3 text-right">Cash Expense</th>
+                                                    <th className="px-6 py-3 text-right">Bank Expense</th>
+                                                    <th className="px-6 py-3 text-right">Net Profit</th>
+                                                </tr>
+                                            </thead>
+                                            <tbody className="divide-y divide-gray-50">
+                                                {data.buckets.map((bucket) => (
+                                                    <tr key={bucket.startDate}>
+                                                        <td className="px-6 py-3 font-medium text-gray-700">{bucket.label}</td>
+                                                        <td className="px-6 py-3 text-right">{formatCurrency(bucket.cashRevenue)}</td>
+                                                        <td className="px-6 py-3 text-right">{formatCurrency(bucket.bankRevenue)}</td>
+                                                        <td className="px-6 py-3 text-right text-red-600">{formatCurrency(bucket.cashExpense)}</td>
+                                                        <td className="px-6 py-3 text-right text-red-600">{formatCurrency(bucket.bankExpense)}</td>
+                                                        <td className={`px-6 py-3 text-right font-bold ${bucket.netProfit >= 0 ? "text-green-600" : "text-red-600"}`}>{formatCurrency(bucket.netProfit)}</td>
+                                                    </tr>
+                                                ))}
+                                            </tbody>
+                                        </table>
+                                    </div>
+                                </div>
+                            )}
                         </div>
                     )}
                 </div>
@@ -252,8 +252,12 @@ export default function MarksheetsPage() {
                 return { studentId, examSubjectId, marksObtained: val };
             });
 
-            await api.post(`/api/exams/${selectedExam}/marks/bulk`, { marks: markItems });
-            showToast("All marks saved successfully", "success");
+            const res = await api.post(`/api/exams/${selectedExam}/marks/bulk`, { marks: markItems });
+            if (res.data?.rejectedCount > 0) {
+                showToast(`Saved ${res.data.savedCount} entries. Rejected ${res.data.rejectedCount}`, "warning");
+            } else {
+                showToast("All marks saved successfully", "success");
+            }
         } catch (err: unknown) {
             showToast(getErrorMessage(err) || "Failed to save marks", "error");
         } finally {
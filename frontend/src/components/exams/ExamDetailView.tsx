@@ -168,7 +168,10 @@ export default function ExamDetailView({ exam: initialExam, classId, onClose }:
             const res = await examApi.saveMarksBulk(exam.id, { marks: editedMarks });
             const data = res.data;
 
-            if (data?.skippedCount > 0) {
+            if (data?.rejectedCount > 0) {
+                const firstError = data.results?.find((r: any) => r.status === "REJECTED")?.message;
+                showToast(`Saved ${data.savedCount} entries. Rejected ${data.rejectedCount}${firstError ? `: ${firstError}` : ""}`, "warning");
+            } else if (data?.skippedCount > 0) {
                 const skippedText = data.skippedSubjects
                     .map((s: any) => s.subjectName || `Subject #${s.subjectId}`)
                     .join(", ");
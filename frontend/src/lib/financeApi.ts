@@ -78,6 +78,23 @@ export interface FinancialOverviewData {
     bankExpense: number;
     netCash: number;
     netBank: number;
+    granularity: PLGranularity;
+    buckets: PLBucket[];
+}
+
+export type PLGranularity = "DAY" | "WEEK" | "MONTH";
+
+export interface PLBucket {
+    label: string;
+    startDate: string;
+    endDate: string;
+    cashRevenue: number;
+    bankRevenue: number;
+    cashExpense: number;
+    bankExpense: number;
+    totalRevenue: number;
+    totalExpense: number;
+    netProfit: number;
 }
 
 export interface FeeHeadSummary {
@@ -100,8 +117,8 @@ export const financeApi = {
     },
 
     // P&L Reports
-    getRangePL: async (start: string, end: string) => {
-        const response = await api.get<FinancialOverviewData>(`/api/finance/overview/range?start=${start}&end=${end}`);
+    getRangePL: async (start: string, end: string, granularity: PLGranularity = "MONTH") => {
+        const response = await api.get<FinancialOverviewData>(`/api/finance/overview/range?start=${start}&end=${end}&granularity=${granularity}`);
         return response.data;
     },
 
@@ -111,8 +128,8 @@ export const financeApi = {
         return new Blob([response.data], { type: "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" });
     },
 
-    exportRangePL: async (start: string, end: string) => {
-        const response = await api.get(`/api/finance/export/range-pl?start=${start}&end=${end}`, { responseType: "blob" });
+    exportRangePL: async (start: string, end: string, granularity: PLGranularity = "MONTH") => {
+        const response = await api.get(`/api/finance/export/range-pl?start=${start}&end=${end}&granularity=${granularity}`, { responseType: "blob" });
         return new Blob([response.data], { type: "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" });
     },
 